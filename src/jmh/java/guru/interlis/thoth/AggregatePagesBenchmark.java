@@ -0,0 +1,61 @@
+package guru.interlis.thoth;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregatePagesBenchmark {
+    @Param({"100", "1000", "10000"})
+    public int postCount;
+
+    private Path root;
+    private SiteGenerator generator;
+    private List<Post> sortedPosts;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("thoth-jmh-aggregate");
+        SyntheticCorpus.writeSiteConfig(root.resolve("input"));
+        generator = new SiteGenerator(root.resolve("input"), root.resolve("output"));
+        generator.replacePosts(new SyntheticCorpus(SyntheticCorpus.DEFAULT_SEED).posts(postCount));
+        sortedPosts = generator.sortedPosts();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        generator.close();
+        SyntheticCorpus.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public void renderAggregatedPages() throws IOException {
+        generator.renderAggregatedPages(AggregateChanges.all());
+    }
+
+    @Benchmark
+    public void writeSearchIndex() throws IOException {
+        generator.writeSearchIndex(sortedPosts);
+    }
+}
@@ -0,0 +1,64 @@
+package guru.interlis.thoth;
+
+import org.asciidoctor.Asciidoctor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostParserBenchmark {
+    @Param({"small", "medium", "code"})
+    public String shape;
+
+    private Path inputRoot;
+    private Path source;
+    private Asciidoctor asciidoctor;
+    private PostParser parser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        inputRoot = Files.createTempDirectory("thoth-jmh-parse");
+        source = inputRoot.resolve("blog/2026/benchmark.adoc");
+        Files.createDirectories(source.getParent());
+
+        SyntheticCorpus.Shape corpusShape = SyntheticCorpus.Shape.valueOf(shape.toUpperCase(Locale.ROOT));
+        String content = new SyntheticCorpus(SyntheticCorpus.DEFAULT_SEED).adocSource(corpusShape);
+        Files.writeString(source, content, StandardCharsets.UTF_8);
+
+        asciidoctor = Asciidoctor.Factory.create();
+        parser = new PostParser(asciidoctor, "https://example.org");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        asciidoctor.shutdown();
+        SyntheticCorpus.deleteRecursively(inputRoot);
+    }
+
+    @Benchmark
+    public Post parse() throws IOException {
+        return parser.parse(source, inputRoot);
+    }
+}
@@ -0,0 +1,228 @@
+package guru.interlis.thoth;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+public final class SyntheticCorpus {
+    public static final long DEFAULT_SEED = 20260112L;
+
+    private static final String[] WORDS = {
+        "geodata", "model", "transfer", "schema", "validation", "server", "client", "index", "query", "layer",
+        "raster", "vector", "coordinate", "reference", "system", "cadastre", "parcel", "building", "address", "street",
+        "interface", "service", "catalogue", "release", "version", "upgrade", "migration", "database", "table", "column",
+        "Gemeinde", "Grundstück", "Gebäude", "Strasse", "Höhe", "Fläche", "Zürich", "Solothurn", "Kanton", "Bund",
+        "the", "and", "with", "from", "into", "about", "because", "which", "should", "would"
+    };
+
+    private static final String[] TAGS = {
+        "Java", "INTERLIS", "GeoPackage", "PostGIS", "QGIS", "Gradle", "AsciiDoc", "Lunr", "Jsoup", "FreeMarker",
+        "Zürich", "Solothurn", "Grundbuch", "Geodienste", "Amtliche Vermessung", "Raumplanung", "Öffentlicher Verkehr",
+        "Web Services", "OGC API", "WMS", "WFS", "STAC", "Cloud Native", "COG", "Parquet", "DuckDB", "Kotlin",
+        "Spring Boot", "Micronaut", "Quarkus", "GraalVM", "Docker", "Kubernetes", "CI/CD", "GitHub Actions",
+        "Testing", "Performance", "Security", "Open Data", "Äpfel & Birnen"
+    };
+
+    private static final String[] LANGUAGES = {"java", "sql", "bash", "xml", "json", "yaml", "ini", "python"};
+
+    public enum Shape {
+        SMALL(3, 40, 0),
+        MEDIUM(25, 120, 2),
+        CODE(8, 60, 12);
+
+        private final int paragraphs;
+        private final int wordsPerParagraph;
+        private final int codeBlocks;
+
+        Shape(int paragraphs, int wordsPerParagraph, int codeBlocks) {
+            this.paragraphs = paragraphs;
+            this.wordsPerParagraph = wordsPerParagraph;
+            this.codeBlocks = codeBlocks;
+        }
+    }
+
+    private final long seed;
+
+    public SyntheticCorpus(long seed) {
+        this.seed = seed;
+    }
+
+    public List<Post> posts(int count) {
+        Random random = new Random(seed);
+        List<Post> posts = new ArrayList<>(count);
+        LocalDate newest = LocalDate.of(2026, 1, 12);
+        for (int i = 0; i < count; i++) {
+            posts.add(post(random, i, newest.minusDays(i / 2)));
+        }
+        return List.copyOf(posts);
+    }
+
+    public List<String> tagNames(int count) {
+        Random random = new Random(seed);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String tag = TAGS[random.nextInt(TAGS.length)];
+            names.add(random.nextBoolean() ? tag : "  " + tag.toUpperCase(Locale.ROOT) + ", " + words(random, 2));
+        }
+        return names;
+    }
+
+    public String adocSource(Shape shape) {
+        Random random = new Random(seed + shape.ordinal());
+        StringBuilder source = new StringBuilder();
+        source.append("---\n")
+            .append("= ").append(capitalize(words(random, 5))).append('\n')
+            .append("Jane Doe\n")
+            .append("2026-01-12\n")
+            .append(":thoth-tags: ").append(String.join(", ", tags(random))).append('\n')
+            .append("---\n");
+
+        int codeEvery = shape.codeBlocks == 0 ? Integer.MAX_VALUE : Math.max(1, shape.paragraphs / shape.codeBlocks);
+        int codeBlocks = 0;
+        for (int i = 0; i < shape.paragraphs; i++) {
+            if (i % 5 == 0) {
+                source.append("\n== ").append(capitalize(words(random, 3))).append('\n');
+            }
+            source.append('\n').append(sentences(random, shape.wordsPerParagraph));
+            source.append(" See link:other-").append(i).append(".adoc[the related post] and image:images/figure-")
+                .append(i).append(".png[Figure].\n");
+
+            if (codeBlocks < shape.codeBlocks && i % codeEvery == 0) {
+                source.append(codeBlock(random, codeBlocks));
+                codeBlocks++;
+            }
+        }
+        while (codeBlocks < shape.codeBlocks) {
+            source.append(codeBlock(random, codeBlocks));
+            codeBlocks++;
+        }
+        return source.toString();
+    }
+
+    public static void writeSiteConfig(Path inputRoot) throws IOException {
+        Files.createDirectories(inputRoot);
+        Files.writeString(inputRoot.resolve(SiteConfig.FILE_NAME), """
+            site.title=Benchmark Blog
+            site.description=Synthetic corpus
+            site.baseUrl=https://example.org
+            site.language=de-CH
+            site.dateFormat=d. MMMM yyyy
+            """, StandardCharsets.UTF_8);
+    }
+
+    public static void deleteRecursively(Path root) throws IOException {
+        if (root == null || !Files.exists(root)) {
+            return;
+        }
+        try (var stream = Files.walk(root)) {
+            for (Path path : stream.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private Post post(Random random, int index, LocalDate date) {
+        String slug = "post-" + index;
+        String year = Integer.toString(date.getYear());
+        String relative = "blog/" + year + "/" + slug;
+
+        StringBuilder html = new StringBuilder();
+        StringBuilder plainText = new StringBuilder();
+        int paragraphs = 3 + random.nextInt(12);
+        for (int i = 0; i < paragraphs; i++) {
+            String paragraph = sentences(random, 30 + random.nextInt(90));
+            html.append("<div class=\"paragraph\">\n <p>").append(paragraph)
+                .append(" <a href=\"/blog/").append(year).append("/post-").append(random.nextInt(index + 1)).append("/\">related</a></p>\n</div>\n");
+            plainText.append(i == 0 ? "" : " ").append(paragraph).append(" related");
+        }
+
+        String htmlContent = html.toString();
+        String text = plainText.toString();
+        String teaser = text.length() <= 400 ? text : text.substring(0, 400).trim();
+        String coverImage = random.nextInt(4) == 0 ? "https://example.org/images/" + slug + ".png" : null;
+
+        List<TagRef> tags = new ArrayList<>();
+        for (String tag : tags(random)) {
+            tags.add(new TagRef(tag, TagSlugger.slugify(tag)));
+        }
+
+        return new Post(
+            Path.of(relative + ".adoc"),
+            capitalize(words(random, 3 + random.nextInt(6))),
+            "Jane Doe",
+            date,
+            "published",
+            List.copyOf(tags),
+            teaser,
+            coverImage,
+            htmlContent,
+            htmlContent.replace("href=\"/", "href=\"https://example.org/"),
+            text,
+            List.of(),
+            List.of(),
+            false,
+            "/" + relative + "/",
+            relative + "/",
+            Path.of(relative, "index.html")
+        );
+    }
+
+    private List<String> tags(Random random) {
+        Set<String> tags = new LinkedHashSet<>();
+        int count = 1 + random.nextInt(4);
+        while (tags.size() < count) {
+            tags.add(TAGS[random.nextInt(TAGS.length)]);
+        }
+        return List.copyOf(tags);
+    }
+
+    private String codeBlock(Random random, int index) {
+        String language = LANGUAGES[index % LANGUAGES.length];
+        StringBuilder block = new StringBuilder("\n[source,").append(language).append(index % 3 == 0 ? ",linenums" : "").append("]\n----\n");
+        int lines = 8 + random.nextInt(24);
+        for (int i = 0; i < lines; i++) {
+            block.append("    ").append(words(random, 2).replace(' ', '_')).append(" = \"")
+                .append(words(random, 3)).append("\"; // ").append(i).append('\n');
+        }
+        return block.append("----\n").toString();
+    }
+
+    private String sentences(Random random, int wordCount) {
+        StringBuilder text = new StringBuilder();
+        int sentenceLength = 0;
+        for (int i = 0; i < wordCount; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (sentenceLength == 0) {
+                word = capitalize(word);
+            }
+            text.append(i == 0 ? "" : " ").append(word);
+            sentenceLength++;
+            if (sentenceLength > 6 && random.nextInt(8) == 0) {
+                text.append('.');
+                sentenceLength = 0;
+            }
+        }
+        return text.append('.').toString();
+    }
+
+    private String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private String capitalize(String value) {
+        return value.isEmpty() ? value : Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
@@ -0,0 +1,51 @@
+package guru.interlis.thoth;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TagSluggerBenchmark {
+    private static final int TAG_COUNT = 1024;
+
+    private String[] tags;
+    private TagSlugger slugger;
+
+    @Setup
+    public void setUp() {
+        tags = new SyntheticCorpus(SyntheticCorpus.DEFAULT_SEED).tagNames(TAG_COUNT).toArray(String[]::new);
+        slugger = new TagSlugger(TagSlugger.DEFAULT_TRANSLITERATIONS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAG_COUNT)
+    public void slugify(Blackhole blackhole) {
+        for (String tag : tags) {
+            blackhole.consume(TagSlugger.slugify(tag));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TAG_COUNT)
+    public void slugifyUncached(Blackhole blackhole) {
+        for (String tag : tags) {
+            blackhole.consume(slugger.slugUncached(tag));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package guru.interlis.thoth;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+    @Param({"post.ftl", "index.ftl", "archive.ftl", "tag.ftl", "search.ftl", "feed.ftl"})
+    public String template;
+
+    @Param({"100"})
+    public int postCount;
+
+    private Path root;
+    private SiteGenerator generator;
+    private TemplateService templateService;
+    private Map<String, Object> model;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        root = Files.createTempDirectory("thoth-jmh-template");
+        SyntheticCorpus.writeSiteConfig(root.resolve("input"));
+        generator = new SiteGenerator(root.resolve("input"), root.resolve("output"));
+        generator.replacePosts(new SyntheticCorpus(SyntheticCorpus.DEFAULT_SEED).posts(postCount));
+        templateService = new TemplateService();
+
+        List<Post> sortedPosts = generator.sortedPosts();
+        model = switch (template) {
+            case "post.ftl" -> generator.postModel(sortedPosts.get(0));
+            case "index.ftl" -> generator.indexModel(sortedPosts);
+            case "archive.ftl" -> generator.archiveModel(sortedPosts);
+            case "tag.ftl" -> generator.tagModel("Java", sortedPosts.subList(0, Math.min(20, sortedPosts.size())));
+            case "search.ftl" -> generator.searchModel();
+            case "feed.ftl" -> generator.feedModel(sortedPosts);
+            default -> throw new IllegalArgumentException("Unknown template: " + template);
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        generator.close();
+        SyntheticCorpus.deleteRecursively(root);
+    }
+
+    @Benchmark
+    public String render() {
+        return templateService.render(template, model);
+    }
+}
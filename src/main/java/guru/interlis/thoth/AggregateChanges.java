@@ -0,0 +1,125 @@
+package guru.interlis.thoth;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+public final class AggregateChanges {
+    public enum Page {
+        INDEX,
+        ARCHIVE,
+        SEARCH_PAGE,
+        TAG_PAGES,
+        FEED,
+        SEARCH_INDEX
+    }
+
+    private static final Set<Page> LISTINGS = EnumSet.of(Page.INDEX, Page.ARCHIVE, Page.TAG_PAGES, Page.FEED, Page.SEARCH_INDEX);
+
+    // Which aggregate outputs read which post fields (see the templates and writeSearchIndex).
+    private static final List<Dependency> DEPENDENCIES = List.of(
+        new Dependency(Post::title, LISTINGS),
+        new Dependency(Post::date, LISTINGS),
+        new Dependency(Post::url, LISTINGS),
+        new Dependency(Post::guid, EnumSet.of(Page.FEED)),
+        new Dependency(Post::tags, EnumSet.of(Page.TAG_PAGES, Page.SEARCH_INDEX)),
+        new Dependency(Post::teaser, EnumSet.of(Page.INDEX, Page.FEED, Page.SEARCH_INDEX)),
+        new Dependency(Post::coverImage, EnumSet.of(Page.INDEX)),
+        new Dependency(Post::htmlContent, EnumSet.of(Page.FEED)),
+        new Dependency(Post::feedHtml, EnumSet.of(Page.FEED)),
+        new Dependency(Post::plainText, EnumSet.of(Page.FEED, Page.SEARCH_INDEX))
+    );
+
+    private static final AggregateChanges NONE = new AggregateChanges(EnumSet.noneOf(Page.class), Set.of(), false);
+    private static final AggregateChanges ALL = new AggregateChanges(EnumSet.allOf(Page.class), Set.of(), true);
+
+    private final Set<Page> pages;
+    private final Set<String> tagSlugs;
+    private final boolean allTags;
+
+    private AggregateChanges(Set<Page> pages, Set<String> tagSlugs, boolean allTags) {
+        this.pages = Collections.unmodifiableSet(pages);
+        this.tagSlugs = Collections.unmodifiableSet(tagSlugs);
+        this.allTags = allTags;
+    }
+
+    public static AggregateChanges none() {
+        return NONE;
+    }
+
+    public static AggregateChanges all() {
+        return ALL;
+    }
+
+    public static AggregateChanges between(Post before, Post after) {
+        if (before == null && after == null) {
+            return NONE;
+        }
+
+        EnumSet<Page> pages = EnumSet.noneOf(Page.class);
+        if (before == null || after == null) {
+            pages.addAll(LISTINGS);
+        } else {
+            for (Dependency dependency : DEPENDENCIES) {
+                if (!Objects.equals(dependency.field().apply(before), dependency.field().apply(after))) {
+                    pages.addAll(dependency.pages());
+                }
+            }
+        }
+
+        Set<String> tagSlugs = new TreeSet<>();
+        if (pages.contains(Page.TAG_PAGES)) {
+            addTagSlugs(tagSlugs, before);
+            addTagSlugs(tagSlugs, after);
+        }
+        return new AggregateChanges(pages, tagSlugs, false);
+    }
+
+    public AggregateChanges merge(AggregateChanges other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+
+        EnumSet<Page> mergedPages = EnumSet.noneOf(Page.class);
+        mergedPages.addAll(pages);
+        mergedPages.addAll(other.pages);
+        Set<String> mergedSlugs = new TreeSet<>(tagSlugs);
+        mergedSlugs.addAll(other.tagSlugs);
+        return new AggregateChanges(mergedPages, mergedSlugs, allTags || other.allTags);
+    }
+
+    public boolean isEmpty() {
+        return pages.isEmpty();
+    }
+
+    public boolean affects(Page page) {
+        return pages.contains(page);
+    }
+
+    public boolean affectsTag(String slug) {
+        return allTags || tagSlugs.contains(slug);
+    }
+
+    public boolean affectsAllTags() {
+        return allTags;
+    }
+
+    private static void addTagSlugs(Set<String> target, Post post) {
+        if (post == null) {
+            return;
+        }
+        for (TagRef tag : post.tags()) {
+            target.add(tag.slug());
+        }
+    }
+
+    private record Dependency(Function<Post, Object> field, Set<Page> pages) {
+    }
+}
@@ -0,0 +1,86 @@
+package guru.interlis.thoth;
+
+import org.asciidoctor.Asciidoctor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public final class AsciidoctorPool implements AutoCloseable {
+    private final int maxEngines;
+    private final BlockingQueue<Asciidoctor> idleEngines;
+    private final List<Asciidoctor> engines;
+
+    private int reservedEngines;
+
+    public AsciidoctorPool(int maxEngines) {
+        this.maxEngines = Math.max(1, maxEngines);
+        this.idleEngines = new LinkedBlockingQueue<>();
+        this.engines = new ArrayList<>();
+    }
+
+    public <T> T withEngine(EngineTask<T> task) throws IOException {
+        Asciidoctor engine = acquire();
+        try {
+            return task.run(engine);
+        } finally {
+            idleEngines.offer(engine);
+        }
+    }
+
+    private Asciidoctor acquire() throws IOException {
+        Asciidoctor engine = idleEngines.poll();
+        if (engine != null) {
+            return engine;
+        }
+
+        if (reserveEngineSlot()) {
+            try {
+                engine = Asciidoctor.Factory.create();
+            } catch (RuntimeException ex) {
+                releaseEngineSlot();
+                throw ex;
+            }
+            synchronized (this) {
+                engines.add(engine);
+            }
+            return engine;
+        }
+
+        try {
+            return idleEngines.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for an Asciidoctor engine");
+        }
+    }
+
+    private synchronized boolean reserveEngineSlot() {
+        if (reservedEngines >= maxEngines) {
+            return false;
+        }
+        reservedEngines++;
+        return true;
+    }
+
+    private synchronized void releaseEngineSlot() {
+        reservedEngines--;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Asciidoctor engine : engines) {
+            engine.shutdown();
+        }
+        engines.clear();
+        idleEngines.clear();
+    }
+
+    @FunctionalInterface
+    public interface EngineTask<T> {
+        T run(Asciidoctor engine) throws IOException;
+    }
+}
@@ -0,0 +1,226 @@
+package guru.interlis.thoth;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class AssetSynchronizer {
+    public enum Mode {
+        COPY,
+        HARDLINK,
+        SYMLINK;
+
+        public static Mode parse(String value) {
+            for (Mode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value.trim())) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Unknown assets.mode '" + value + "' (expected copy, hardlink or symlink)");
+        }
+    }
+
+    private enum Outcome {
+        UNCHANGED,
+        COPIED,
+        LINKED
+    }
+
+    private final Path inputRoot;
+    private final Path outputRoot;
+    private final Path manifestFile;
+    private final Set<String> publishedAssets;
+    private final OutputListener outputListener;
+    private final AtomicBoolean linksUnsupported;
+
+    public AssetSynchronizer(Path inputRoot, Path outputRoot, Path manifestFile) throws IOException {
+        this(inputRoot, outputRoot, manifestFile, OutputListener.NONE);
+    }
+
+    public AssetSynchronizer(Path inputRoot, Path outputRoot, Path manifestFile, OutputListener outputListener) throws IOException {
+        this.inputRoot = inputRoot;
+        this.outputRoot = outputRoot;
+        this.manifestFile = manifestFile;
+        this.outputListener = outputListener;
+        this.publishedAssets = new TreeSet<>(readManifest());
+        this.linksUnsupported = new AtomicBoolean();
+    }
+
+    public SyncResult synchronize(List<InputInventory.Entry> assets, Mode mode, TaskRunner workers) throws IOException {
+        Set<String> currentAssets = new TreeSet<>();
+        List<Callable<Outcome>> tasks = new ArrayList<>(assets.size());
+        for (InputInventory.Entry asset : assets) {
+            Path relativePath = asset.relativePath();
+            currentAssets.add(toUnixPath(relativePath));
+            tasks.add(() -> {
+                Outcome outcome = publishIfChanged(relativePath, asset.size(), asset.modifiedMillis(), mode);
+                if (outcome != Outcome.UNCHANGED) {
+                    System.out.println((outcome == Outcome.LINKED ? "[link] " : "[copy] ") + toUnixPath(relativePath));
+                }
+                return outcome;
+            });
+        }
+
+        int copied = 0;
+        int linked = 0;
+        int skipped = 0;
+        for (Outcome outcome : workers.invokeAll(tasks)) {
+            switch (outcome) {
+                case COPIED -> copied++;
+                case LINKED -> linked++;
+                case UNCHANGED -> skipped++;
+            }
+        }
+
+        int removed = 0;
+        for (String stale : publishedAssets) {
+            if (!currentAssets.contains(stale) && deleteOutput(Path.of(stale))) {
+                System.out.println("[delete] " + stale);
+                removed++;
+            }
+        }
+
+        publishedAssets.clear();
+        publishedAssets.addAll(currentAssets);
+        writeManifest();
+        return new SyncResult(copied, linked, skipped, removed);
+    }
+
+    public boolean publish(Path relativePath, Mode mode) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(inputRoot.resolve(relativePath), BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            return false;
+        }
+
+        Outcome outcome = publishIfChanged(relativePath, attributes.size(), attributes.lastModifiedTime().toMillis(), mode);
+        if (publishedAssets.add(toUnixPath(relativePath))) {
+            writeManifest();
+        }
+        return outcome != Outcome.UNCHANGED;
+    }
+
+    public boolean remove(Path relativePath) throws IOException {
+        boolean deleted = deleteOutput(relativePath);
+        if (publishedAssets.remove(toUnixPath(relativePath))) {
+            writeManifest();
+        }
+        return deleted;
+    }
+
+    private Outcome publishIfChanged(Path relativePath, long sourceSize, long sourceModifiedMillis, Mode mode) throws IOException {
+        Path source = inputRoot.resolve(relativePath);
+        Path target = outputRoot.resolve(relativePath);
+        Mode effectiveMode = linksUnsupported.get() ? Mode.COPY : mode;
+        if (isUpToDate(source, target, sourceSize, sourceModifiedMillis, effectiveMode)) {
+            return Outcome.UNCHANGED;
+        }
+
+        Files.createDirectories(target.getParent());
+        if (effectiveMode != Mode.COPY && link(source, target, effectiveMode)) {
+            outputListener.outputChanged(target);
+            return Outcome.LINKED;
+        }
+
+        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        outputListener.outputChanged(target);
+        return Outcome.COPIED;
+    }
+
+    private boolean link(Path source, Path target, Mode mode) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            if (mode == Mode.HARDLINK) {
+                Files.createLink(target, source);
+            } else {
+                Files.createSymbolicLink(target, source);
+            }
+            return true;
+        } catch (NoSuchFileException ex) {
+            throw ex;
+        } catch (UnsupportedOperationException | FileSystemException ex) {
+            if (linksUnsupported.compareAndSet(false, true)) {
+                System.err.println("[warn] assets.mode=" + mode.name().toLowerCase(Locale.ROOT)
+                    + " is not possible here (" + ex.getMessage() + "), copying assets instead");
+            }
+            return false;
+        }
+    }
+
+    private boolean isUpToDate(Path source, Path target, long sourceSize, long sourceModifiedMillis, Mode mode) throws IOException {
+        BasicFileAttributes targetAttributes;
+        try {
+            targetAttributes = Files.readAttributes(target, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        } catch (NoSuchFileException ex) {
+            return false;
+        }
+
+        return switch (mode) {
+            case COPY -> targetAttributes.isRegularFile()
+                && targetAttributes.size() == sourceSize
+                && targetAttributes.lastModifiedTime().toMillis() == sourceModifiedMillis;
+            case HARDLINK -> targetAttributes.isRegularFile() && Files.isSameFile(source, target);
+            case SYMLINK -> targetAttributes.isSymbolicLink() && Files.readSymbolicLink(target).equals(source);
+        };
+    }
+
+    private boolean deleteOutput(Path relativePath) throws IOException {
+        Path target = outputRoot.resolve(relativePath).normalize();
+        if (!target.startsWith(outputRoot) || !Files.deleteIfExists(target)) {
+            return false;
+        }
+        outputListener.outputChanged(target);
+
+        Path directory = target.getParent();
+        while (directory != null && !directory.equals(outputRoot) && directory.startsWith(outputRoot)) {
+            try (var entries = Files.list(directory)) {
+                if (entries.findAny().isPresent()) {
+                    break;
+                }
+            }
+            Files.delete(directory);
+            directory = directory.getParent();
+        }
+        return true;
+    }
+
+    private List<String> readManifest() throws IOException {
+        if (!Files.exists(manifestFile)) {
+            return List.of();
+        }
+
+        List<String> entries = new ArrayList<>();
+        for (String line : Files.readAllLines(manifestFile, StandardCharsets.UTF_8)) {
+            if (!line.isBlank()) {
+                entries.add(line);
+            }
+        }
+        return entries;
+    }
+
+    private void writeManifest() throws IOException {
+        Files.createDirectories(manifestFile.getParent());
+        Files.write(manifestFile, publishedAssets, StandardCharsets.UTF_8);
+    }
+
+    private String toUnixPath(Path path) {
+        return path.toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    public record SyncResult(int copied, int linked, int skipped, int removed) {
+    }
+}
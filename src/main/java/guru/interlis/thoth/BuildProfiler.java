@@ -0,0 +1,260 @@
+package guru.interlis.thoth;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class BuildProfiler {
+    public static final String PHASE = "phase";
+    public static final String PARSE = "parse";
+    public static final String CONVERT = "convert";
+    public static final String POST_PROCESS = "postprocess";
+    public static final String RENDER = "render";
+    public static final String WRITE = "write";
+    public static final String THUMBNAIL = "thumbnail";
+
+    private static final List<String> POST_CATEGORIES = List.of(PARSE, CONVERT, POST_PROCESS, RENDER, WRITE);
+    private static final BuildProfiler DISABLED = new BuildProfiler(false);
+    private static final Span NOOP_SPAN = new Span(null, null, null, null, 0L);
+
+    private final boolean enabled;
+    private final long originNanos;
+    private final ConcurrentLinkedQueue<Event> events;
+    private final Map<Long, String> threadNames;
+    private final Map<String, Map<String, AtomicLong>> postNanos;
+    private final AtomicLong bytesWritten;
+
+    private BuildProfiler(boolean enabled) {
+        this.enabled = enabled;
+        this.originNanos = System.nanoTime();
+        this.events = new ConcurrentLinkedQueue<>();
+        this.threadNames = new ConcurrentHashMap<>();
+        this.postNanos = new ConcurrentHashMap<>();
+        this.bytesWritten = new AtomicLong();
+    }
+
+    public static BuildProfiler disabled() {
+        return DISABLED;
+    }
+
+    public static BuildProfiler enabled() {
+        return new BuildProfiler(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Span span(String name, String category) {
+        return span(name, category, null);
+    }
+
+    public Span span(String name, String category, String post) {
+        if (!enabled) {
+            return NOOP_SPAN;
+        }
+        return new Span(this, name, category, post, System.nanoTime());
+    }
+
+    public void addBytesWritten(long bytes) {
+        if (enabled) {
+            bytesWritten.addAndGet(bytes);
+        }
+    }
+
+    public void writeTrace(Path traceFile) throws IOException {
+        Path parent = traceFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try (Writer writer = Files.newBufferedWriter(traceFile, StandardCharsets.UTF_8)) {
+            JsonWriter json = new JsonWriter(writer);
+            json.beginObject();
+            json.name("displayTimeUnit").value("ms");
+            json.name("traceEvents").beginArray();
+
+            for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+                json.beginObject()
+                    .name("name").value("thread_name")
+                    .name("ph").value("M")
+                    .name("pid").value(1)
+                    .name("tid").value(thread.getKey())
+                    .name("args").beginObject().name("name").value(thread.getValue()).endObject()
+                    .endObject();
+            }
+
+            for (Event event : events) {
+                json.beginObject()
+                    .name("name").value(event.name())
+                    .name("cat").value(event.category())
+                    .name("ph").value("X")
+                    .name("ts").value(event.startNanos() / 1_000L)
+                    .name("dur").value(event.durationNanos() / 1_000L)
+                    .name("pid").value(1)
+                    .name("tid").value(event.threadId());
+                json.name("args").beginObject();
+                if (event.post() != null) {
+                    json.name("post").value(event.post());
+                }
+                for (Map.Entry<String, Object> arg : event.args().entrySet()) {
+                    json.name(arg.getKey());
+                    if (arg.getValue() instanceof Number number) {
+                        json.value(number.longValue());
+                    } else if (arg.getValue() instanceof Boolean bool) {
+                        json.value(bool.booleanValue());
+                    } else {
+                        json.value(String.valueOf(arg.getValue()));
+                    }
+                }
+                json.endObject();
+                json.endObject();
+            }
+
+            json.endArray();
+            json.endObject();
+            writer.write('\n');
+        }
+    }
+
+    public void printSummary(PrintStream out, int topPosts) {
+        Map<String, Long> phaseNanos = new LinkedHashMap<>();
+        long thumbnailNanos = 0;
+        int thumbnails = 0;
+        for (Event event : events) {
+            if (PHASE.equals(event.category())) {
+                phaseNanos.merge(event.name(), event.durationNanos(), Long::sum);
+            } else if (THUMBNAIL.equals(event.category())) {
+                thumbnailNanos += event.durationNanos();
+                thumbnails++;
+            }
+        }
+
+        out.println("[profile] phases:");
+        for (Map.Entry<String, Long> phase : phaseNanos.entrySet()) {
+            out.println("[profile]   " + String.format(Locale.ROOT, "%-22s %10s", phase.getKey(), millis(phase.getValue())));
+        }
+
+        List<Map.Entry<String, Map<String, AtomicLong>>> slowest = new ArrayList<>(postNanos.entrySet());
+        slowest.sort(Comparator.comparingLong((Map.Entry<String, Map<String, AtomicLong>> entry) -> total(entry.getValue())).reversed());
+
+        out.println("[profile] slowest posts:");
+        for (int i = 0; i < Math.min(topPosts, slowest.size()); i++) {
+            Map.Entry<String, Map<String, AtomicLong>> entry = slowest.get(i);
+            StringBuilder line = new StringBuilder("[profile]   ")
+                .append(i + 1).append(". ").append(entry.getKey())
+                .append(" ").append(millis(total(entry.getValue())));
+
+            List<String> parts = new ArrayList<>();
+            for (String category : POST_CATEGORIES) {
+                AtomicLong nanos = entry.getValue().get(category);
+                if (nanos != null) {
+                    parts.add(category + " " + millis(nanos.get()));
+                }
+            }
+            line.append(" (").append(String.join(", ", parts)).append(")");
+            out.println(line);
+        }
+
+        out.println("[profile] thumbnails: " + thumbnails + " in " + millis(thumbnailNanos));
+        out.println("[profile] bytes written: " + bytesWritten.get());
+    }
+
+    private void record(Span span, long endNanos) {
+        Thread thread = Thread.currentThread();
+        threadNames.putIfAbsent(thread.threadId(), thread.getName());
+
+        long duration = endNanos - span.startNanos;
+        events.add(new Event(
+            span.name,
+            span.category,
+            span.post,
+            span.startNanos - originNanos,
+            duration,
+            thread.threadId(),
+            span.args == null ? Map.of() : span.args
+        ));
+
+        if (span.post != null && POST_CATEGORIES.contains(span.category)) {
+            postNanos.computeIfAbsent(span.post, ignored -> new ConcurrentHashMap<>())
+                .computeIfAbsent(span.category, ignored -> new AtomicLong())
+                .addAndGet(duration);
+        }
+    }
+
+    // parse already contains convert and postprocess, so the total is parse plus the output phases.
+    private static long total(Map<String, AtomicLong> nanosByCategory) {
+        long total = 0;
+        for (String category : List.of(PARSE, RENDER, WRITE)) {
+            AtomicLong nanos = nanosByCategory.get(category);
+            if (nanos != null) {
+                total += nanos.get();
+            }
+        }
+        return total;
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.1f ms", nanos / 1_000_000.0d);
+    }
+
+    public static final class Span implements AutoCloseable {
+        private final BuildProfiler profiler;
+        private final String name;
+        private final String category;
+        private final String post;
+        private final long startNanos;
+        private Map<String, Object> args;
+        private boolean closed;
+
+        private Span(BuildProfiler profiler, String name, String category, String post, long startNanos) {
+            this.profiler = profiler;
+            this.name = name;
+            this.category = category;
+            this.post = post;
+            this.startNanos = startNanos;
+        }
+
+        public Span arg(String key, Object value) {
+            if (profiler != null) {
+                if (args == null) {
+                    args = new LinkedHashMap<>();
+                }
+                args.put(key, value);
+            }
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if (profiler == null || closed) {
+                return;
+            }
+            closed = true;
+            profiler.record(this, System.nanoTime());
+        }
+    }
+
+    private record Event(
+        String name,
+        String category,
+        String post,
+        long startNanos,
+        long durationNanos,
+        long threadId,
+        Map<String, Object> args
+    ) {
+    }
+}
@@ -0,0 +1,147 @@
+package guru.interlis.thoth;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class BundledAssets {
+    public static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String RESOURCE_ROOT = "site-assets/";
+    private static final String OUTPUT_ROOT = "assets/";
+    private static final int HASH_LENGTH = 10;
+    private static final Pattern ASSET_URL = Pattern.compile("/" + OUTPUT_ROOT + "[A-Za-z0-9_./-]+");
+
+    private static final List<String> FILES = List.of(
+        "zurich.css",
+        "fonts/Zurich/306E22_0_0.eot",
+        "fonts/Zurich/306E22_0_0.ttf",
+        "fonts/Zurich/306E22_0_0.woff",
+        "fonts/Zurich/306E22_0_0.woff2",
+        "fonts/Zurich/306E22_1_0.eot",
+        "fonts/Zurich/306E22_1_0.ttf",
+        "fonts/Zurich/306E22_1_0.woff",
+        "fonts/Zurich/306E22_1_0.woff2",
+        "styles-light.css",
+        "styles-dark.css",
+        "theme.js",
+        "search.js",
+        "lunr.min.js",
+        "fonts/JetBrainsMono/JetBrainsMono-Regular.woff2",
+        "fonts/JetBrainsMono/JetBrainsMono-Bold.woff2",
+        "fonts/JetBrainsMono/JetBrainsMono-Italic.woff2"
+    );
+
+    private static BundledAssets instance;
+
+    private final Map<String, String> outputPaths;
+    private final Map<String, String> urls;
+    private final Map<String, byte[]> contents;
+
+    private BundledAssets(Map<String, String> outputPaths, Map<String, byte[]> contents) {
+        Map<String, String> urls = new LinkedHashMap<>();
+        outputPaths.forEach((logicalPath, outputPath) -> urls.put("/" + logicalPath, "/" + outputPath));
+        this.outputPaths = Collections.unmodifiableMap(outputPaths);
+        this.urls = Collections.unmodifiableMap(urls);
+        this.contents = Collections.unmodifiableMap(contents);
+    }
+
+    public static synchronized BundledAssets load() {
+        if (instance == null) {
+            instance = create();
+        }
+        return instance;
+    }
+
+    public Set<String> logicalPaths() {
+        return outputPaths.keySet();
+    }
+
+    public String outputPath(String logicalPath) {
+        return outputPaths.get(logicalPath);
+    }
+
+    public Map<String, String> urls() {
+        return urls;
+    }
+
+    public Set<String> outputPaths() {
+        return contents.keySet();
+    }
+
+    public byte[] content(String outputPath) {
+        return contents.get(outputPath);
+    }
+
+    public boolean isCurrentOutputPath(String outputPath) {
+        return contents.containsKey(outputPath);
+    }
+
+    private static BundledAssets create() {
+        List<String> ordered = new ArrayList<>();
+        FILES.stream().filter(file -> !file.endsWith(".css")).forEach(ordered::add);
+        FILES.stream().filter(file -> file.endsWith(".css")).forEach(ordered::add);
+
+        Map<String, String> outputPaths = new LinkedHashMap<>();
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        for (String file : ordered) {
+            byte[] content = readResource(RESOURCE_ROOT + file);
+            if (file.endsWith(".css")) {
+                content = rewriteUrls(new String(content, StandardCharsets.UTF_8), outputPaths).getBytes(StandardCharsets.UTF_8);
+            }
+            String outputPath = hashedName(OUTPUT_ROOT + file, content);
+            outputPaths.put(OUTPUT_ROOT + file, outputPath);
+            contents.put(outputPath, content);
+        }
+        return new BundledAssets(outputPaths, contents);
+    }
+
+    private static String rewriteUrls(String css, Map<String, String> outputPaths) {
+        Matcher matcher = ASSET_URL.matcher(css);
+        StringBuilder rewritten = new StringBuilder(css.length());
+        while (matcher.find()) {
+            String outputPath = outputPaths.get(matcher.group().substring(1));
+            matcher.appendReplacement(rewritten, Matcher.quoteReplacement(outputPath == null ? matcher.group() : "/" + outputPath));
+        }
+        matcher.appendTail(rewritten);
+        return rewritten.toString();
+    }
+
+    static String hashedName(String path, byte[] content) {
+        String hash;
+        try {
+            hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content), 0, HASH_LENGTH / 2);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        if (dot <= slash) {
+            return path + "." + hash;
+        }
+        return path.substring(0, dot) + "." + hash + path.substring(dot);
+    }
+
+    private static byte[] readResource(String resourcePath) {
+        try (InputStream in = BundledAssets.class.getClassLoader().getResourceAsStream(resourcePath)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing bundled asset: " + resourcePath);
+            }
+            return in.readAllBytes();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
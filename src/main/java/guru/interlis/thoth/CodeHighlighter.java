@@ -0,0 +1,301 @@
+package guru.interlis.thoth;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Build-time port of Prism's tokenizer. It runs the grammars of the bundled Prism components and emits
+ * the same token spans Prism would produce in the browser, so pages need no highlighting script.
+ */
+public final class CodeHighlighter {
+    public static final String HIGHLIGHTED_ATTRIBUTE = "data-highlighted";
+
+    public enum Mode {
+        CLIENT,
+        BUILD;
+
+        public static Mode parse(String value) {
+            for (Mode mode : values()) {
+                if (mode.name().equalsIgnoreCase(value.trim())) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Unknown highlight.mode '" + value + "' (expected client or build)");
+        }
+    }
+
+    private static final Pattern LINE_BREAK = Pattern.compile("\\n(?!\\z)");
+    private static final Map<String, Grammar> LANGUAGES = PrismGrammars.create();
+
+    private CodeHighlighter() {
+    }
+
+    public static boolean supports(String language) {
+        return LANGUAGES.containsKey(language);
+    }
+
+    public static String highlight(String code, String language) {
+        Grammar grammar = LANGUAGES.get(language);
+        if (grammar == null) {
+            throw new IllegalArgumentException("Unsupported language: " + language);
+        }
+        StringBuilder html = new StringBuilder(code.length() * 2);
+        for (Object value : tokenize(code, grammar)) {
+            stringify(value, html);
+        }
+        return html.toString();
+    }
+
+    public static String lineNumberRows(String code) {
+        Matcher matcher = LINE_BREAK.matcher(code);
+        int lines = 1;
+        while (matcher.find()) {
+            lines++;
+        }
+        return "<span aria-hidden=\"true\" class=\"line-numbers-rows\">" + "<span></span>".repeat(lines) + "</span>";
+    }
+
+    static TokenPattern pattern(String regex, int flags, boolean lookbehind, boolean greedy, Grammar inside, String... aliases) {
+        return new TokenPattern(Pattern.compile(regex, flags), lookbehind, greedy, inside, List.of(aliases));
+    }
+
+    private static List<Object> tokenize(String text, Grammar grammar) {
+        TokenList tokenList = new TokenList();
+        tokenList.addAfter(tokenList.head, text);
+        matchGrammar(text, tokenList, grammar, tokenList.head, 0, null);
+        List<Object> values = new ArrayList<>(tokenList.length);
+        for (Node node = tokenList.head.next; node != tokenList.tail; node = node.next) {
+            values.add(node.value);
+        }
+        return values;
+    }
+
+    private static void matchGrammar(String text, TokenList tokenList, Grammar grammar, Node startNode, int startPos, Rematch rematch) {
+        for (int i = 0; i < grammar.tokens.size(); i++) {
+            String token = grammar.tokens.get(i);
+            List<TokenPattern> patterns = grammar.patterns.get(i);
+
+            for (int j = 0; j < patterns.size(); j++) {
+                if (rematch != null && rematch.tokenIndex == i && rematch.patternIndex == j) {
+                    return;
+                }
+
+                TokenPattern patternObj = patterns.get(j);
+                Node currentNode = startNode.next;
+                for (int pos = startPos; currentNode != tokenList.tail; pos += length(currentNode.value), currentNode = currentNode.next) {
+                    if (rematch != null && pos >= rematch.reach) {
+                        break;
+                    }
+                    if (tokenList.length > text.length()) {
+                        return;
+                    }
+                    if (currentNode.value instanceof Token) {
+                        continue;
+                    }
+
+                    String str = (String) currentNode.value;
+                    int removeCount = 1;
+                    Match match;
+
+                    if (patternObj.greedy()) {
+                        match = matchPattern(patternObj, pos, text);
+                        if (match == null || match.index >= text.length()) {
+                            break;
+                        }
+
+                        int from = match.index;
+                        int to = match.index + match.text.length();
+                        int p = pos;
+
+                        p += length(currentNode.value);
+                        while (from >= p) {
+                            currentNode = currentNode.next;
+                            p += length(currentNode.value);
+                        }
+                        p -= length(currentNode.value);
+                        pos = p;
+
+                        if (currentNode.value instanceof Token) {
+                            continue;
+                        }
+
+                        for (Node k = currentNode; k != tokenList.tail && (p < to || k.value instanceof String); k = k.next) {
+                            removeCount++;
+                            p += length(k.value);
+                        }
+                        removeCount--;
+
+                        str = text.substring(pos, p);
+                        match = new Match(match.index - pos, match.text);
+                    } else {
+                        match = matchPattern(patternObj, 0, str);
+                        if (match == null) {
+                            continue;
+                        }
+                    }
+
+                    int from = match.index;
+                    String matchStr = match.text;
+                    String before = str.substring(0, from);
+                    String after = str.substring(from + matchStr.length());
+
+                    int reach = pos + str.length();
+                    if (rematch != null && reach > rematch.reach) {
+                        rematch.reach = reach;
+                    }
+
+                    Node removeFrom = currentNode.prev;
+                    if (!before.isEmpty()) {
+                        removeFrom = tokenList.addAfter(removeFrom, before);
+                        pos += before.length();
+                    }
+                    tokenList.removeRange(removeFrom, removeCount);
+
+                    Object content = patternObj.inside() != null ? tokenize(matchStr, patternObj.inside()) : matchStr;
+                    currentNode = tokenList.addAfter(removeFrom, new Token(token, content, patternObj.aliases(), matchStr.length()));
+                    if (!after.isEmpty()) {
+                        tokenList.addAfter(currentNode, after);
+                    }
+
+                    if (removeCount > 1) {
+                        Rematch nestedRematch = new Rematch(i, j, reach);
+                        matchGrammar(text, tokenList, grammar, currentNode.prev, pos, nestedRematch);
+                        if (rematch != null && nestedRematch.reach > rematch.reach) {
+                            rematch.reach = nestedRematch.reach;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static Match matchPattern(TokenPattern patternObj, int pos, String text) {
+        Matcher matcher = patternObj.pattern().matcher(text);
+        if (!matcher.find(pos)) {
+            return null;
+        }
+        int index = matcher.start();
+        String matched = matcher.group();
+        if (patternObj.lookbehind() && matcher.groupCount() >= 1 && matcher.group(1) != null && !matcher.group(1).isEmpty()) {
+            int lookbehindLength = matcher.group(1).length();
+            index += lookbehindLength;
+            matched = matched.substring(lookbehindLength);
+        }
+        return new Match(index, matched);
+    }
+
+    private static int length(Object value) {
+        return value instanceof Token token ? token.length() : ((String) value).length();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void stringify(Object value, StringBuilder html) {
+        if (value instanceof String text) {
+            encode(text, html);
+            return;
+        }
+        Token token = (Token) value;
+        html.append("<span class=\"token ").append(token.type());
+        for (String alias : token.aliases()) {
+            html.append(' ').append(alias);
+        }
+        html.append("\">");
+        if (token.content() instanceof String text) {
+            encode(text, html);
+        } else {
+            for (Object nested : (List<Object>) token.content()) {
+                stringify(nested, html);
+            }
+        }
+        html.append("</span>");
+    }
+
+    private static void encode(String text, StringBuilder html) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> html.append("&amp;");
+                case '<' -> html.append("&lt;");
+                case '\u00a0' -> html.append(' ');
+                default -> html.append(c);
+            }
+        }
+    }
+
+    static final class Grammar {
+        private final List<String> tokens = new ArrayList<>();
+        private final List<List<TokenPattern>> patterns = new ArrayList<>();
+
+        void add(String token, TokenPattern... tokenPatterns) {
+            tokens.add(token);
+            patterns.add(List.of(tokenPatterns));
+        }
+    }
+
+    record TokenPattern(Pattern pattern, boolean lookbehind, boolean greedy, Grammar inside, List<String> aliases) {
+    }
+
+    private record Token(String type, Object content, List<String> aliases, int length) {
+    }
+
+    private record Match(int index, String text) {
+    }
+
+    private static final class Rematch {
+        private final int tokenIndex;
+        private final int patternIndex;
+        private int reach;
+
+        private Rematch(int tokenIndex, int patternIndex, int reach) {
+            this.tokenIndex = tokenIndex;
+            this.patternIndex = patternIndex;
+            this.reach = reach;
+        }
+    }
+
+    private static final class Node {
+        private final Object value;
+        private Node prev;
+        private Node next;
+
+        private Node(Object value) {
+            this.value = value;
+        }
+    }
+
+    private static final class TokenList {
+        private final Node head = new Node(null);
+        private final Node tail = new Node(null);
+        private int length;
+
+        private TokenList() {
+            head.next = tail;
+            tail.prev = head;
+        }
+
+        private Node addAfter(Node node, Object value) {
+            Node next = node.next;
+            Node added = new Node(value);
+            added.prev = node;
+            added.next = next;
+            node.next = added;
+            next.prev = added;
+            length++;
+            return added;
+        }
+
+        private void removeRange(Node node, int count) {
+            Node next = node.next;
+            int removed = 0;
+            for (; removed < count && next != tail; removed++) {
+                next = next.next;
+            }
+            node.next = next;
+            next.prev = node;
+            length -= removed;
+        }
+    }
+}
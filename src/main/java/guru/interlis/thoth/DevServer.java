@@ -7,38 +7,113 @@ import com.sun.net.httpserver.HttpServer;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 public final class DevServer {
+    private static final DateTimeFormatter HTTP_DATE_FORMATTER =
+        DateTimeFormatter.RFC_1123_DATE_TIME.withLocale(Locale.ENGLISH).withZone(ZoneOffset.UTC);
+    private static final Path NOT_FOUND = Path.of("");
+    private static final long MAX_CACHED_FILE_SIZE = 1024 * 1024;
+    private static final int MAX_CACHED_ROUTES = 4096;
+    private static final int MAX_CACHED_RESPONSES = 4096;
+    private static final long MAX_CACHED_BYTES = 64L * 1024 * 1024;
+    private static final ByteRange UNSATISFIABLE_RANGE = new ByteRange(-1L, -1L);
+
     private final Path outputRoot;
     private final int port;
+    private final boolean liveReload;
+    private final PageSource pageSource;
+    private final Map<String, Path> routes;
+    private final ResponseCache responses;
 
     private HttpServer server;
     private ExecutorService executor;
+    private LiveReloadChannel liveReloadChannel;
 
     public DevServer(Path outputRoot, int port) {
+        this(outputRoot, port, false);
+    }
+
+    public DevServer(Path outputRoot, int port, boolean liveReload) {
+        this(outputRoot, port, liveReload, null);
+    }
+
+    public DevServer(Path outputRoot, int port, boolean liveReload, PageSource pageSource) {
+        this(outputRoot, port, liveReload, pageSource, MAX_CACHED_BYTES);
+    }
+
+    DevServer(Path outputRoot, int port, boolean liveReload, PageSource pageSource, long maxCachedBytes) {
         this.outputRoot = outputRoot.toAbsolutePath().normalize();
         this.port = port;
+        this.liveReload = liveReload;
+        this.pageSource = pageSource;
+        this.routes = new ConcurrentHashMap<>();
+        this.responses = new ResponseCache(MAX_CACHED_RESPONSES, maxCachedBytes);
     }
 
     public void start() throws IOException {
         server = HttpServer.create(new InetSocketAddress(port), 0);
         executor = Executors.newFixedThreadPool(4);
-        server.createContext("/", new StaticFileHandler(outputRoot));
+        server.createContext("/", new StaticFileHandler());
+        if (liveReload) {
+            liveReloadChannel = new LiveReloadChannel();
+            server.createContext(LiveReloadChannel.CONTEXT_PATH, liveReloadChannel);
+        }
         server.setExecutor(executor);
         server.start();
-        System.out.println("[serve] http://localhost:" + port + "/");
+        System.out.println("[serve] http://localhost:" + port() + "/");
+    }
+
+    public int port() {
+        return server != null ? server.getAddress().getPort() : port;
+    }
+
+    public void invalidate(Path file) {
+        Path normalized = file.toAbsolutePath().normalize();
+        responses.remove(normalized);
+        routes.clear();
+    }
+
+    public void publishChanges(Collection<String> urls) {
+        if (liveReloadChannel != null) {
+            liveReloadChannel.publish(urls);
+        }
     }
 
     public void stop() {
+        if (liveReloadChannel != null) {
+            liveReloadChannel.close();
+        }
         if (server != null) {
             server.stop(1);
         }
@@ -47,15 +122,9 @@ public final class DevServer {
         }
     }
 
-    private static final class StaticFileHandler implements HttpHandler {
+    private final class StaticFileHandler implements HttpHandler {
         private static final Map<String, String> CONTENT_TYPES = createContentTypes();
 
-        private final Path outputRoot;
-
-        private StaticFileHandler(Path outputRoot) {
-            this.outputRoot = outputRoot;
-        }
-
         @Override
         public void handle(HttpExchange exchange) throws IOException {
             if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())
@@ -64,27 +133,284 @@ public final class DevServer {
                 return;
             }
 
-            Path filePath = resolvePath(exchange.getRequestURI().getPath());
-            if (filePath == null || !Files.exists(filePath) || Files.isDirectory(filePath)) {
+            String requestPath = exchange.getRequestURI().getPath();
+            Path filePath = routes.get(requestPath);
+            CachedResponse response;
+            if (filePath != null) {
+                response = cachedResponse(filePath);
+            } else {
+                try {
+                    filePath = resolvePath(requestPath);
+                } catch (UncheckedIOException ex) {
+                    throw ex.getCause();
+                }
+                response = filePath == NOT_FOUND ? null : cachedResponse(filePath);
+                if (response != null) {
+                    cacheRoute(requestPath, filePath);
+                }
+            }
+            if (response == null) {
                 send(exchange, 404, "Not Found", "text/plain; charset=utf-8");
                 return;
             }
 
-            byte[] body = Files.readAllBytes(filePath);
-            String contentType = contentType(filePath);
+            Headers requestHeaders = exchange.getRequestHeaders();
             Headers headers = exchange.getResponseHeaders();
-            headers.set("Content-Type", contentType);
+            headers.set("Content-Type", response.contentType());
+            headers.set("Accept-Ranges", "bytes");
+            if (GzipPrecompressor.isCompressible(filePath) && !(liveReload && isHtml(filePath))) {
+                headers.set("Vary", "Accept-Encoding");
+                if (acceptsGzip(requestHeaders) && !requestHeaders.containsKey("Range")) {
+                    CachedResponse compressed = cachedResponse(GzipPrecompressor.siblingOf(filePath));
+                    if (compressed != null && compressed.modifiedMillis() == response.modifiedMillis()) {
+                        response = compressed;
+                        headers.set("Content-Encoding", "gzip");
+                    }
+                }
+            }
+            headers.set("ETag", response.etag());
+            headers.set("Last-Modified", response.lastModifiedHeader());
+            headers.set("Cache-Control", isImmutable(filePath) ? BundledAssets.IMMUTABLE_CACHE_CONTROL : "no-cache");
+
+            if (isNotModified(requestHeaders, response)) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+
+            int status = 200;
+            long start = 0;
+            long length = response.size();
+            String rangeHeader = requestHeaders.getFirst("Range");
+            if (rangeHeader != null && ifRangeMatches(requestHeaders, response)) {
+                ByteRange range = parseRange(rangeHeader, response.size());
+                if (range == UNSATISFIABLE_RANGE) {
+                    headers.set("Content-Range", "bytes */" + response.size());
+                    exchange.sendResponseHeaders(416, -1);
+                    exchange.close();
+                    return;
+                }
+                if (range != null) {
+                    status = 206;
+                    start = range.start();
+                    length = range.end() - range.start() + 1;
+                    headers.set("Content-Range", "bytes " + range.start() + "-" + range.end() + "/" + response.size());
+                }
+            }
 
-            if ("HEAD".equalsIgnoreCase(exchange.getRequestMethod())) {
-                exchange.sendResponseHeaders(200, -1);
+            if ("HEAD".equalsIgnoreCase(exchange.getRequestMethod()) || length == 0) {
+                exchange.sendResponseHeaders(status, -1);
                 exchange.close();
                 return;
             }
 
-            exchange.sendResponseHeaders(200, body.length);
+            exchange.sendResponseHeaders(status, length);
             try (OutputStream out = exchange.getResponseBody()) {
-                out.write(body);
+                if (response.body() != null) {
+                    out.write(response.body(), (int) start, (int) length);
+                } else {
+                    streamFile(response.file(), start, length, out);
+                }
+            }
+        }
+
+        private void streamFile(Path file, long start, long length, OutputStream out) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                WritableByteChannel target = Channels.newChannel(out);
+                long position = start;
+                long remaining = length;
+                while (remaining > 0) {
+                    long transferred = channel.transferTo(position, remaining, target);
+                    if (transferred <= 0) {
+                        throw new IOException("File shrank while streaming: " + file);
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                }
+            }
+        }
+
+        private boolean ifRangeMatches(Headers requestHeaders, CachedResponse response) {
+            String ifRange = requestHeaders.getFirst("If-Range");
+            if (ifRange == null) {
+                return true;
+            }
+            if (ifRange.startsWith("\"")) {
+                return ifRange.equals(response.etag());
+            }
+            return ifRange.equals(response.lastModifiedHeader());
+        }
+
+        private ByteRange parseRange(String header, long size) {
+            if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+                return null;
+            }
+
+            String spec = header.substring("bytes=".length()).trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+
+            try {
+                String first = spec.substring(0, dash).trim();
+                String last = spec.substring(dash + 1).trim();
+                if (first.isEmpty()) {
+                    if (last.isEmpty()) {
+                        return null;
+                    }
+                    long suffixLength = Long.parseLong(last);
+                    if (suffixLength == 0 || size == 0) {
+                        return UNSATISFIABLE_RANGE;
+                    }
+                    return new ByteRange(Math.max(0, size - suffixLength), size - 1);
+                }
+
+                long start = Long.parseLong(first);
+                long end = last.isEmpty() ? size - 1 : Math.min(Long.parseLong(last), size - 1);
+                if (start >= size) {
+                    return UNSATISFIABLE_RANGE;
+                }
+                return start <= end ? new ByteRange(start, end) : null;
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+
+        /**
+         * Misses are not cached: arbitrary request paths must not grow the cache, and an output that
+         * appears later is picked up without an invalidation.
+         */
+        private void cacheRoute(String requestPath, Path filePath) {
+            if (routes.size() >= MAX_CACHED_ROUTES) {
+                routes.clear();
+            }
+            routes.put(requestPath, filePath);
+        }
+
+        private CachedResponse cachedResponse(Path filePath) throws IOException {
+            CachedResponse cached = responses.get(filePath);
+            if (cached != null) {
+                return cached;
+            }
+
+            long generation = responses.generation();
+            CachedResponse loaded = loadResponse(filePath);
+            return loaded == null ? null : responses.putIfAbsent(filePath, loaded, generation);
+        }
+
+        private boolean acceptsGzip(Headers requestHeaders) {
+            for (String header : requestHeaders.getOrDefault("Accept-Encoding", List.of())) {
+                for (String coding : header.split(",")) {
+                    String[] parts = coding.trim().split(";");
+                    if (!"gzip".equalsIgnoreCase(parts[0].trim())) {
+                        continue;
+                    }
+                    for (int i = 1; i < parts.length; i++) {
+                        String parameter = parts[i].trim();
+                        if (parameter.matches("q=0(\\.0{0,3})?")) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
             }
+            return false;
+        }
+
+        private CachedResponse loadResponse(Path file) throws IOException {
+            if (pageSource == null) {
+                return loadFile(file, file);
+            }
+
+            String outputPath = toUnixPath(outputRoot.relativize(file));
+            byte[] body;
+            try {
+                body = pageSource.renderPage(outputPath);
+            } catch (RuntimeException ex) {
+                throw new IOException("Failed to render " + outputPath, ex);
+            }
+            if (body == null) {
+                Path source = pageSource.sourceFile(outputPath);
+                return source == null ? null : loadFile(file, source);
+            }
+            if (liveReload && isHtml(file)) {
+                body = LiveReloadChannel.injectScript(body);
+            }
+
+            Instant rendered = Instant.now();
+            Instant lastModified = rendered.truncatedTo(ChronoUnit.SECONDS);
+            return new CachedResponse(
+                file,
+                body,
+                body.length,
+                contentType(file),
+                "\"" + contentHash(body) + "\"",
+                lastModified,
+                HTTP_DATE_FORMATTER.format(lastModified),
+                rendered.toEpochMilli()
+            );
+        }
+
+        private CachedResponse loadFile(Path file, Path source) throws IOException {
+            BasicFileAttributes attributes;
+            byte[] body = null;
+            try {
+                attributes = Files.readAttributes(source, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) {
+                    return null;
+                }
+                if (attributes.size() <= MAX_CACHED_FILE_SIZE) {
+                    body = Files.readAllBytes(source);
+                    if (liveReload && isHtml(file)) {
+                        body = LiveReloadChannel.injectScript(body);
+                    }
+                }
+            } catch (NoSuchFileException ex) {
+                return null;
+            }
+
+            Instant lastModified = attributes.lastModifiedTime().toInstant().truncatedTo(ChronoUnit.SECONDS);
+            String etag = body != null
+                ? contentHash(body)
+                : Long.toHexString(attributes.size()) + "-" + Long.toHexString(attributes.lastModifiedTime().toMillis());
+            return new CachedResponse(
+                source,
+                body,
+                body != null ? body.length : attributes.size(),
+                contentType(file),
+                "\"" + etag + "\"",
+                lastModified,
+                HTTP_DATE_FORMATTER.format(lastModified),
+                attributes.lastModifiedTime().toMillis()
+            );
+        }
+
+        private boolean isNotModified(Headers requestHeaders, CachedResponse response) {
+            String ifNoneMatch = requestHeaders.getFirst("If-None-Match");
+            if (ifNoneMatch != null) {
+                for (String candidate : ifNoneMatch.split(",")) {
+                    String tag = candidate.trim();
+                    if (tag.startsWith("W/")) {
+                        tag = tag.substring(2);
+                    }
+                    if (tag.equals("*") || tag.equals(response.etag())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            String ifModifiedSince = requestHeaders.getFirst("If-Modified-Since");
+            if (ifModifiedSince != null) {
+                try {
+                    Instant since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+                    return !response.lastModified().isAfter(since);
+                } catch (DateTimeParseException ignored) {
+                    return false;
+                }
+            }
+            return false;
         }
 
         private Path resolvePath(String rawPath) {
@@ -94,9 +420,12 @@ public final class DevServer {
             }
 
             String withoutLeadingSlash = decoded.startsWith("/") ? decoded.substring(1) : decoded;
+            if (pageSource != null) {
+                return resolvePagePath(withoutLeadingSlash);
+            }
             Path candidate = outputRoot.resolve(withoutLeadingSlash).normalize();
             if (!candidate.startsWith(outputRoot)) {
-                return null;
+                return NOT_FOUND;
             }
 
             if (Files.isDirectory(candidate)) {
@@ -113,6 +442,24 @@ public final class DevServer {
             return candidate;
         }
 
+        private Path resolvePagePath(String withoutLeadingSlash) {
+            String relative = withoutLeadingSlash.endsWith("/") ? withoutLeadingSlash + "index.html" : withoutLeadingSlash;
+            Path candidate = outputRoot.resolve(relative).normalize();
+            if (!candidate.startsWith(outputRoot)) {
+                return NOT_FOUND;
+            }
+
+            try {
+                if (cachedResponse(candidate) != null || relative.endsWith(".html")) {
+                    return candidate;
+                }
+                Path prettyUrlCandidate = candidate.resolve("index.html");
+                return cachedResponse(prettyUrlCandidate) != null ? prettyUrlCandidate : candidate;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
         private String contentType(Path file) throws IOException {
             String probed = Files.probeContentType(file);
             if (probed != null) {
@@ -146,6 +493,30 @@ public final class DevServer {
             return types;
         }
 
+        private boolean isHtml(Path file) {
+            return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".html");
+        }
+
+        private String contentHash(byte[] body) {
+            try {
+                return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body), 0, 16);
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 not available", ex);
+            }
+        }
+
+        private boolean isImmutable(Path file) {
+            if (!file.startsWith(outputRoot)) {
+                return false;
+            }
+            String outputPath = toUnixPath(outputRoot.relativize(file));
+            return BundledAssets.load().isCurrentOutputPath(outputPath) || PrismBundle.isOutputPath(outputPath);
+        }
+
+        private String toUnixPath(Path path) {
+            return path.toString().replace(path.getFileSystem().getSeparator(), "/");
+        }
+
         private void send(HttpExchange exchange, int statusCode, String body, String contentType) throws IOException {
             byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
             exchange.getResponseHeaders().set("Content-Type", contentType);
@@ -155,4 +526,77 @@ public final class DevServer {
             }
         }
     }
+
+    private record CachedResponse(
+        Path file,
+        byte[] body,
+        long size,
+        String contentType,
+        String etag,
+        Instant lastModified,
+        String lastModifiedHeader,
+        long modifiedMillis
+    ) {
+    }
+
+    private record ByteRange(long start, long end) {
+    }
+
+    /**
+     * Least-recently-used response cache bounded by entry count and by the summed size of the buffered bodies.
+     * Responses are loaded outside the lock; a response larger than the whole budget, or one whose load raced with
+     * an invalidation, is returned but not stored.
+     */
+    private static final class ResponseCache {
+        private final int maxEntries;
+        private final long maxBytes;
+        private final LinkedHashMap<Path, CachedResponse> entries;
+        private long bytes;
+        private long generation;
+
+        private ResponseCache(int maxEntries, long maxBytes) {
+            this.maxEntries = maxEntries;
+            this.maxBytes = maxBytes;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        }
+
+        private synchronized CachedResponse get(Path file) {
+            return entries.get(file);
+        }
+
+        private synchronized long generation() {
+            return generation;
+        }
+
+        private synchronized CachedResponse putIfAbsent(Path file, CachedResponse response, long loadedGeneration) {
+            CachedResponse existing = entries.get(file);
+            if (existing != null) {
+                return existing;
+            }
+            if (loadedGeneration != generation || weight(response) > maxBytes) {
+                return response;
+            }
+
+            entries.put(file, response);
+            bytes += weight(response);
+            Iterator<Map.Entry<Path, CachedResponse>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+                bytes -= weight(eldest.next().getValue());
+                eldest.remove();
+            }
+            return response;
+        }
+
+        private synchronized void remove(Path file) {
+            generation++;
+            CachedResponse removed = entries.remove(file);
+            if (removed != null) {
+                bytes -= weight(removed);
+            }
+        }
+
+        private static long weight(CachedResponse response) {
+            return response.body() != null ? response.body().length : 0;
+        }
+    }
 }
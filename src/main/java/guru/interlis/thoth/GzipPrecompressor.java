@@ -0,0 +1,186 @@
+package guru.interlis.thoth;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+public final class GzipPrecompressor {
+    public static final String EXTENSION = ".gz";
+
+    private static final Set<String> COMPRESSIBLE_EXTENSIONS = Set.of("html", "css", "js", "json", "xml", "svg");
+
+    private final Path outputRoot;
+    private final Path manifestFile;
+    private final OutputListener outputListener;
+    private final Set<String> compressedFiles;
+
+    public GzipPrecompressor(Path outputRoot, Path manifestFile, OutputListener outputListener) throws IOException {
+        this.outputRoot = outputRoot;
+        this.manifestFile = manifestFile;
+        this.outputListener = outputListener;
+        this.compressedFiles = new TreeSet<>(readManifest());
+    }
+
+    public static boolean isCompressible(Path file) {
+        String fileName = file.getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        return extensionIndex >= 0
+            && COMPRESSIBLE_EXTENSIONS.contains(fileName.substring(extensionIndex + 1).toLowerCase(Locale.ROOT));
+    }
+
+    public static Path siblingOf(Path file) {
+        return file.resolveSibling(file.getFileName() + EXTENSION);
+    }
+
+    public int synchronize(List<Path> outputFiles, long minSize, TaskRunner workers) throws IOException {
+        Set<String> current = new TreeSet<>();
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (Path file : outputFiles) {
+            if (!isCompressible(file)) {
+                continue;
+            }
+            String relative = toUnixPath(outputRoot.relativize(file));
+            tasks.add(() -> compress(file, minSize));
+            current.add(relative);
+        }
+
+        int written = 0;
+        List<Boolean> results = workers.invokeAll(tasks);
+        for (boolean result : results) {
+            if (result) {
+                written++;
+            }
+        }
+
+        for (String stale : compressedFiles) {
+            if (!current.contains(stale)) {
+                deleteSibling(outputRoot.resolve(stale));
+            }
+        }
+
+        compressedFiles.clear();
+        for (String relative : current) {
+            if (Files.exists(siblingOf(outputRoot.resolve(relative)))) {
+                compressedFiles.add(relative);
+            }
+        }
+        writeManifest();
+        return written;
+    }
+
+    public void update(Collection<Path> changedFiles, long minSize, TaskRunner workers) throws IOException {
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (Path file : changedFiles) {
+            if (isCompressible(file) && file.startsWith(outputRoot)) {
+                tasks.add(() -> compress(file, minSize));
+            }
+        }
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        workers.invokeAll(tasks);
+        boolean manifestChanged = false;
+        for (Path file : changedFiles) {
+            if (!isCompressible(file) || !file.startsWith(outputRoot)) {
+                continue;
+            }
+            String relative = toUnixPath(outputRoot.relativize(file));
+            if (Files.exists(siblingOf(file))) {
+                manifestChanged |= compressedFiles.add(relative);
+            } else {
+                manifestChanged |= compressedFiles.remove(relative);
+            }
+        }
+        if (manifestChanged) {
+            writeManifest();
+        }
+    }
+
+    private boolean compress(Path file, long minSize) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            deleteSibling(file);
+            return false;
+        }
+        if (!attributes.isRegularFile() || attributes.size() < minSize) {
+            deleteSibling(file);
+            return false;
+        }
+
+        Path sibling = siblingOf(file);
+        FileTime sourceModified = attributes.lastModifiedTime();
+        if (Files.exists(sibling) && Files.getLastModifiedTime(sibling).toMillis() == sourceModified.toMillis()) {
+            return false;
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream((int) Math.min(attributes.size(), Integer.MAX_VALUE - 8));
+        try (InputStream in = Files.newInputStream(file);
+             OutputStream gzip = new BestCompressionGzipOutputStream(compressed)) {
+            in.transferTo(gzip);
+        }
+        if (compressed.size() >= attributes.size()) {
+            deleteSibling(file);
+            return false;
+        }
+
+        try (WriteIfChangedOutputStream out = new WriteIfChangedOutputStream(sibling)) {
+            compressed.writeTo(out);
+            out.commit();
+        }
+        Files.setLastModifiedTime(sibling, sourceModified);
+        outputListener.outputChanged(sibling);
+        return true;
+    }
+
+    private void deleteSibling(Path file) throws IOException {
+        Path sibling = siblingOf(file);
+        if (Files.deleteIfExists(sibling)) {
+            outputListener.outputChanged(sibling);
+        }
+    }
+
+    private List<String> readManifest() throws IOException {
+        try {
+            return Files.readAllLines(manifestFile, StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank())
+                .toList();
+        } catch (NoSuchFileException ex) {
+            return List.of();
+        }
+    }
+
+    private void writeManifest() throws IOException {
+        Files.createDirectories(manifestFile.getParent());
+        Files.write(manifestFile, compressedFiles, StandardCharsets.UTF_8);
+    }
+
+    private String toUnixPath(Path path) {
+        return path.toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    private static final class BestCompressionGzipOutputStream extends GZIPOutputStream {
+        private BestCompressionGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 64 * 1024);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
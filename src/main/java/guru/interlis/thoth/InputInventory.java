@@ -0,0 +1,137 @@
+package guru.interlis.thoth;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public final class InputInventory {
+    public enum Kind {
+        POST,
+        ASSET
+    }
+
+    private final Path inputRoot;
+    private final Path excludedDirectory;
+    private final Map<Path, Entry> entries;
+
+    private InputInventory(Path inputRoot, Path excludedDirectory, Map<Path, Entry> entries) {
+        this.inputRoot = inputRoot;
+        this.excludedDirectory = excludedDirectory;
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    public static InputInventory scan(Path inputRoot, Path excludedDirectory) throws IOException {
+        Map<Path, Entry> entries = new TreeMap<>();
+        Files.walkFileTree(inputRoot, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return dir.equals(excludedDirectory) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                BasicFileAttributes attributes = attrs.isSymbolicLink() ? readAttributes(file) : attrs;
+                if (attributes != null && attributes.isRegularFile()) {
+                    Path relativePath = inputRoot.relativize(file);
+                    entries.put(relativePath, entry(relativePath, attributes));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException exc) {
+                System.err.println("[warn] Could not read " + file + ": " + exc.getMessage());
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return new InputInventory(inputRoot, excludedDirectory, entries);
+    }
+
+    public List<Entry> entries() {
+        return List.copyOf(entries.values());
+    }
+
+    public List<Entry> posts() {
+        return entriesOfKind(Kind.POST);
+    }
+
+    public List<Entry> assets() {
+        return entriesOfKind(Kind.ASSET);
+    }
+
+    public Entry get(Path relativePath) {
+        return entries.get(relativePath);
+    }
+
+    public InputInventory update(Path relativePath) throws IOException {
+        Path file = inputRoot.resolve(relativePath);
+        BasicFileAttributes attributes = file.startsWith(excludedDirectory) ? null : readAttributes(file);
+        Entry current = attributes != null && attributes.isRegularFile() ? entry(relativePath, attributes) : null;
+        if (current == null ? !entries.containsKey(relativePath) : current.equals(entries.get(relativePath))) {
+            return this;
+        }
+
+        Map<Path, Entry> updated = new TreeMap<>(entries);
+        if (current == null) {
+            updated.remove(relativePath);
+        } else {
+            updated.put(relativePath, current);
+        }
+        return new InputInventory(inputRoot, excludedDirectory, updated);
+    }
+
+    public Diff diff(InputInventory previous) {
+        List<Entry> added = new ArrayList<>();
+        List<Entry> modified = new ArrayList<>();
+        List<Entry> removed = new ArrayList<>();
+        for (Entry entry : entries.values()) {
+            Entry before = previous.entries.get(entry.relativePath());
+            if (before == null) {
+                added.add(entry);
+            } else if (!before.equals(entry)) {
+                modified.add(entry);
+            }
+        }
+        for (Entry before : previous.entries.values()) {
+            if (!entries.containsKey(before.relativePath())) {
+                removed.add(before);
+            }
+        }
+        return new Diff(List.copyOf(added), List.copyOf(modified), List.copyOf(removed));
+    }
+
+    private List<Entry> entriesOfKind(Kind kind) {
+        return entries.values().stream().filter(entry -> entry.kind() == kind).toList();
+    }
+
+    private static Entry entry(Path relativePath, BasicFileAttributes attributes) {
+        Kind kind = relativePath.toString().endsWith(".adoc") ? Kind.POST : Kind.ASSET;
+        return new Entry(relativePath, kind, attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    private static BasicFileAttributes readAttributes(Path file) throws IOException {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            return null;
+        }
+    }
+
+    public record Entry(Path relativePath, Kind kind, long size, long modifiedMillis) {
+    }
+
+    public record Diff(List<Entry> added, List<Entry> modified, List<Entry> removed) {
+        public boolean isEmpty() {
+            return added.isEmpty() && modified.isEmpty() && removed.isEmpty();
+        }
+    }
+}
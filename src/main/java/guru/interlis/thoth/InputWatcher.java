@@ -10,28 +10,35 @@ import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public final class InputWatcher implements AutoCloseable {
+    private static final int MAX_BATCH_DELAY_FACTOR = 10;
+
     private final Path root;
     private final WatchService watchService;
     private final Map<WatchKey, Path> keyToPath;
     private final AtomicBoolean running;
-    private final BiConsumer<Path, String> handler;
+    private final long quietPeriodNanos;
+    private final Consumer<Batch> handler;
 
     private Thread watchThread;
 
-    public InputWatcher(Path root, BiConsumer<Path, String> handler) throws IOException {
+    public InputWatcher(Path root, Duration quietPeriod, Consumer<Batch> handler) throws IOException {
         this.root = root;
+        this.quietPeriodNanos = quietPeriod.toNanos();
         this.handler = handler;
         this.watchService = root.getFileSystem().newWatchService();
         this.keyToPath = new HashMap<>();
         this.running = new AtomicBoolean(false);
 
-        registerRecursively(root);
+        registerRecursively(root, null);
     }
 
     public void start() {
@@ -45,10 +52,21 @@ public final class InputWatcher implements AutoCloseable {
     }
 
     private void watchLoop() {
+        Map<Path, WatchEvent.Kind<?>> pending = new LinkedHashMap<>();
+        boolean overflow = false;
+        long batchStart = 0;
+
         while (running.get()) {
             WatchKey key;
             try {
-                key = watchService.take();
+                if (pending.isEmpty() && !overflow) {
+                    key = watchService.take();
+                    batchStart = System.nanoTime();
+                } else {
+                    long untilDeadline = quietPeriodNanos * MAX_BATCH_DELAY_FACTOR - (System.nanoTime() - batchStart);
+                    long wait = Math.min(quietPeriodNanos, untilDeadline);
+                    key = wait > 0 ? watchService.poll(wait, TimeUnit.NANOSECONDS) : null;
+                }
             } catch (InterruptedException ex) {
                 Thread.currentThread().interrupt();
                 break;
@@ -57,50 +75,85 @@ public final class InputWatcher implements AutoCloseable {
                 break;
             }
 
-            Path watchedDir = keyToPath.get(key);
-            if (watchedDir == null) {
-                key.reset();
+            if (key == null) {
+                flush(pending, overflow);
+                pending = new LinkedHashMap<>();
+                overflow = false;
                 continue;
             }
 
-            for (WatchEvent<?> event : key.pollEvents()) {
-                WatchEvent.Kind<?> kind = event.kind();
-                if (kind == StandardWatchEventKinds.OVERFLOW) {
-                    continue;
-                }
+            overflow |= collect(key, pending);
+        }
+    }
 
-                @SuppressWarnings("unchecked")
-                WatchEvent<Path> pathEvent = (WatchEvent<Path>) event;
-                Path changedPath = watchedDir.resolve(pathEvent.context());
+    private boolean collect(WatchKey key, Map<Path, WatchEvent.Kind<?>> pending) {
+        boolean overflow = false;
+        Path watchedDir = keyToPath.get(key);
+        if (watchedDir == null) {
+            key.reset();
+            return false;
+        }
 
-                if (kind == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changedPath)) {
-                    try {
-                        registerRecursively(changedPath);
-                    } catch (IOException ex) {
-                        System.err.println("[warn] Could not watch new directory " + changedPath + ": " + ex.getMessage());
-                    }
-                }
+        for (WatchEvent<?> event : key.pollEvents()) {
+            WatchEvent.Kind<?> kind = event.kind();
+            if (kind == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+                continue;
+            }
 
-                String eventType;
-                if (kind == StandardWatchEventKinds.ENTRY_CREATE) {
-                    eventType = "CREATE";
-                } else if (kind == StandardWatchEventKinds.ENTRY_MODIFY) {
-                    eventType = "MODIFY";
-                } else {
-                    eventType = "DELETE";
+            @SuppressWarnings("unchecked")
+            WatchEvent<Path> pathEvent = (WatchEvent<Path>) event;
+            Path changedPath = watchedDir.resolve(pathEvent.context());
+
+            if (kind == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changedPath)) {
+                try {
+                    registerRecursively(changedPath, pending);
+                } catch (IOException ex) {
+                    System.err.println("[warn] Could not watch new directory " + changedPath + ": " + ex.getMessage());
                 }
+            }
+
+            pending.putIfAbsent(changedPath, kind);
+        }
 
-                handler.accept(changedPath, eventType);
+        boolean valid = key.reset();
+        if (!valid) {
+            keyToPath.remove(key);
+        }
+        return overflow;
+    }
+
+    private void flush(Map<Path, WatchEvent.Kind<?>> pending, boolean overflow) {
+        if (overflow) {
+            System.out.println("[watch] event overflow, rescanning input");
+            try {
+                registerRecursively(root, null);
+            } catch (IOException ex) {
+                System.err.println("[warn] Could not rescan watched directories: " + ex.getMessage());
             }
+        }
 
-            boolean valid = key.reset();
-            if (!valid) {
-                keyToPath.remove(key);
+        Map<Path, String> events = new LinkedHashMap<>();
+        for (Map.Entry<Path, WatchEvent.Kind<?>> entry : pending.entrySet()) {
+            String eventType;
+            if (!Files.exists(entry.getKey())) {
+                eventType = "DELETE";
+            } else if (entry.getValue() == StandardWatchEventKinds.ENTRY_CREATE) {
+                eventType = "CREATE";
+            } else {
+                eventType = "MODIFY";
             }
+            events.put(entry.getKey(), eventType);
+        }
+
+        try {
+            handler.accept(new Batch(events, overflow));
+        } catch (Exception ex) {
+            System.err.println("[warn] Failed handling file events: " + ex.getMessage());
         }
     }
 
-    private void registerRecursively(Path start) throws IOException {
+    private void registerRecursively(Path start, Map<Path, WatchEvent.Kind<?>> discovered) throws IOException {
         Files.walkFileTree(start, new FileVisitor<>() {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
@@ -110,6 +163,9 @@ public final class InputWatcher implements AutoCloseable {
 
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+                if (discovered != null) {
+                    discovered.putIfAbsent(file, StandardWatchEventKinds.ENTRY_CREATE);
+                }
                 return FileVisitResult.CONTINUE;
             }
 
@@ -143,4 +199,7 @@ public final class InputWatcher implements AutoCloseable {
         }
         watchService.close();
     }
+
+    public record Batch(Map<Path, String> events, boolean overflow) {
+    }
 }
@@ -0,0 +1,150 @@
+package guru.interlis.thoth;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+final class LiveReloadChannel implements HttpHandler {
+    static final String CONTEXT_PATH = "/__thoth/";
+    static final String EVENTS_PATH = CONTEXT_PATH + "livereload";
+    static final String SCRIPT_PATH = CONTEXT_PATH + "livereload.js";
+
+    private static final byte[] SCRIPT_TAG = ("<script src=\"" + SCRIPT_PATH + "\" defer></script>\n").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] BODY_END = "</body>".getBytes(StandardCharsets.UTF_8);
+    private static final long HEARTBEAT_SECONDS = 20;
+
+    private final List<HttpExchange> clients;
+    private final byte[] script;
+    private final ScheduledExecutorService heartbeat;
+
+    LiveReloadChannel() throws IOException {
+        this.clients = new CopyOnWriteArrayList<>();
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream("dev-server/livereload.js")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing live reload script");
+            }
+            this.script = in.readAllBytes();
+        }
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "thoth-livereload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(() -> broadcast(": ping\n\n"), HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (SCRIPT_PATH.equals(path)) {
+            exchange.getResponseHeaders().set("Content-Type", "application/javascript; charset=utf-8");
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            exchange.sendResponseHeaders(200, script.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(script);
+            }
+            return;
+        }
+
+        if (!EVENTS_PATH.equals(path)) {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        out.write("retry: 1000\n\n".getBytes(StandardCharsets.UTF_8));
+        out.flush();
+        clients.add(exchange);
+    }
+
+    void publish(Collection<String> urls) {
+        if (urls.isEmpty() || clients.isEmpty()) {
+            return;
+        }
+
+        StringWriter data = new StringWriter();
+        try {
+            JsonWriter json = new JsonWriter(data);
+            json.beginObject().name("urls").beginArray();
+            for (String url : urls) {
+                json.value(url);
+            }
+            json.endArray().endObject();
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to encode live reload event", ex);
+        }
+        broadcast("event: change\ndata: " + data + "\n\n");
+    }
+
+    int clientCount() {
+        return clients.size();
+    }
+
+    static byte[] injectScript(byte[] html) {
+        int insertAt = lastIndexOfIgnoreCase(html, BODY_END);
+        if (insertAt < 0) {
+            insertAt = html.length;
+        }
+
+        byte[] injected = new byte[html.length + SCRIPT_TAG.length];
+        System.arraycopy(html, 0, injected, 0, insertAt);
+        System.arraycopy(SCRIPT_TAG, 0, injected, insertAt, SCRIPT_TAG.length);
+        System.arraycopy(html, insertAt, injected, insertAt + SCRIPT_TAG.length, html.length - insertAt);
+        return injected;
+    }
+
+    void close() {
+        heartbeat.shutdownNow();
+        for (HttpExchange client : clients) {
+            client.close();
+        }
+        clients.clear();
+    }
+
+    private void broadcast(String message) {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        for (HttpExchange client : clients) {
+            try {
+                OutputStream out = client.getResponseBody();
+                synchronized (client) {
+                    out.write(bytes);
+                    out.flush();
+                }
+            } catch (IOException ex) {
+                clients.remove(client);
+                client.close();
+            }
+        }
+    }
+
+    private static int lastIndexOfIgnoreCase(byte[] haystack, byte[] needle) {
+        for (int start = haystack.length - needle.length; start >= 0; start--) {
+            boolean matches = true;
+            for (int i = 0; i < needle.length; i++) {
+                if (Character.toLowerCase(haystack[start + i]) != needle[i]) {
+                    matches = false;
+                    break;
+                }
+            }
+            if (matches) {
+                return start;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,198 @@
+package guru.interlis.thoth;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public final class LunrIndexBuilder {
+    public static final String LUNR_VERSION = "2.3.9";
+
+    private static final double K1 = 1.2d;
+    private static final double B = 0.75d;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "able", "about", "across", "after", "all", "almost", "also", "am", "among", "an", "and", "any", "are",
+        "as", "at", "be", "because", "been", "but", "by", "can", "cannot", "could", "dear", "did", "do", "does",
+        "either", "else", "ever", "every", "for", "from", "get", "got", "had", "has", "have", "he", "her", "hers",
+        "him", "his", "how", "however", "i", "if", "in", "into", "is", "it", "its", "just", "least", "let", "like",
+        "likely", "may", "me", "might", "most", "must", "my", "neither", "no", "nor", "not", "of", "off", "often",
+        "on", "only", "or", "other", "our", "own", "rather", "said", "say", "says", "she", "should", "since", "so",
+        "some", "than", "that", "the", "their", "them", "then", "there", "these", "they", "this", "tis", "to", "too",
+        "twas", "us", "wants", "was", "we", "were", "what", "when", "where", "which", "while", "who", "whom", "why",
+        "will", "with", "would", "yet", "you", "your"
+    );
+
+    private final List<String> fields;
+    private final Map<String, Posting> invertedIndex;
+    private final Map<String, FieldEntry> fieldEntries;
+    private int documentCount;
+
+    public LunrIndexBuilder(List<String> fields) {
+        this.fields = List.copyOf(fields);
+        this.invertedIndex = new HashMap<>();
+        this.fieldEntries = new LinkedHashMap<>();
+    }
+
+    public void add(String ref, Map<String, String> document) {
+        documentCount++;
+
+        for (String fieldName : fields) {
+            List<String> terms = new ArrayList<>();
+            for (String token : tokenize(document.get(fieldName))) {
+                String trimmed = trim(token);
+                if (STOP_WORDS.contains(trimmed)) {
+                    continue;
+                }
+                terms.add(LunrStemmer.stem(trimmed));
+            }
+
+            Map<String, Integer> termFrequencies = new LinkedHashMap<>();
+            for (String term : terms) {
+                termFrequencies.merge(term, 1, Integer::sum);
+                Posting posting = invertedIndex.computeIfAbsent(term, key -> new Posting(invertedIndex.size(), fields));
+                posting.documentsByField().get(fieldName).add(ref);
+            }
+            fieldEntries.put(fieldName + "/" + ref, new FieldEntry(fieldName, terms.size(), termFrequencies));
+        }
+    }
+
+    public void writeTo(JsonWriter json) throws IOException {
+        Map<String, Double> averageFieldLengths = averageFieldLengths();
+        Map<String, Double> idfCache = new HashMap<>();
+
+        json.beginObject();
+        json.name("version").value(LUNR_VERSION);
+
+        json.name("fields").beginArray();
+        for (String field : fields) {
+            json.value(field);
+        }
+        json.endArray();
+
+        json.name("fieldVectors").beginArray();
+        for (Map.Entry<String, FieldEntry> entry : fieldEntries.entrySet()) {
+            FieldEntry fieldEntry = entry.getValue();
+            TreeMap<Integer, Double> vector = new TreeMap<>();
+            for (Map.Entry<String, Integer> termFrequency : fieldEntry.termFrequencies().entrySet()) {
+                Posting posting = invertedIndex.get(termFrequency.getKey());
+                double idf = idfCache.computeIfAbsent(termFrequency.getKey(), key -> idf(posting));
+                int tf = termFrequency.getValue();
+                double score = idf * ((K1 + 1) * tf)
+                    / (K1 * (1 - B + B * (fieldEntry.length() / averageFieldLengths.get(fieldEntry.fieldName()))) + tf);
+                vector.put(posting.index(), Math.round(score * 1000) / 1000.0d);
+            }
+
+            json.beginArray().value(entry.getKey()).beginArray();
+            for (Map.Entry<Integer, Double> element : vector.entrySet()) {
+                json.value(element.getKey().longValue()).value(element.getValue());
+            }
+            json.endArray().endArray();
+        }
+        json.endArray();
+
+        json.name("invertedIndex").beginArray();
+        for (Map.Entry<String, Posting> entry : new TreeMap<>(invertedIndex).entrySet()) {
+            Posting posting = entry.getValue();
+            json.beginArray().value(entry.getKey()).beginObject();
+            json.name("_index").value(posting.index());
+            for (String field : fields) {
+                json.name(field).beginObject();
+                for (String ref : posting.documentsByField().get(field)) {
+                    json.name(ref).beginObject().endObject();
+                }
+                json.endObject();
+            }
+            json.endObject().endArray();
+        }
+        json.endArray();
+
+        json.name("pipeline").beginArray().value("stemmer").endArray();
+        json.endObject();
+    }
+
+    static List<String> tokenize(String value) {
+        if (value == null) {
+            return List.of();
+        }
+
+        String text = value.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int sliceStart = 0;
+        for (int sliceEnd = 0; sliceEnd <= text.length(); sliceEnd++) {
+            if (sliceEnd == text.length() || isSeparator(text.charAt(sliceEnd))) {
+                if (sliceEnd > sliceStart) {
+                    tokens.add(text.substring(sliceStart, sliceEnd));
+                }
+                sliceStart = sliceEnd + 1;
+            }
+        }
+        return tokens;
+    }
+
+    static String trim(String token) {
+        int start = 0;
+        int end = token.length();
+        while (start < end && !isWordCharacter(token.charAt(start))) {
+            start++;
+        }
+        while (end > start && !isWordCharacter(token.charAt(end - 1))) {
+            end--;
+        }
+        return token.substring(start, end);
+    }
+
+    private Map<String, Double> averageFieldLengths() {
+        Map<String, Integer> totalLengths = new HashMap<>();
+        Map<String, Integer> documentsWithField = new HashMap<>();
+        for (FieldEntry entry : fieldEntries.values()) {
+            totalLengths.merge(entry.fieldName(), entry.length(), Integer::sum);
+            documentsWithField.merge(entry.fieldName(), 1, Integer::sum);
+        }
+
+        Map<String, Double> averages = new HashMap<>();
+        for (String field : fields) {
+            averages.put(field, (double) totalLengths.getOrDefault(field, 0) / documentsWithField.getOrDefault(field, 0));
+        }
+        return averages;
+    }
+
+    // Mirrors lunr.idf, which counts field occurrences rather than distinct documents.
+    private double idf(Posting posting) {
+        int documentsWithTerm = 0;
+        for (Set<String> refs : posting.documentsByField().values()) {
+            documentsWithTerm += refs.size();
+        }
+        double x = (documentCount - documentsWithTerm + 0.5d) / (documentsWithTerm + 0.5d);
+        return StrictMath.log(1 + Math.abs(x));
+    }
+
+    private static boolean isSeparator(char ch) {
+        return switch (ch) {
+            case '-', ' ', '\t', '\n', '\u000B', '\f', '\r', '\u00A0', '\u1680', '\u2028', '\u2029', '\u202F', '\u205F', '\u3000', '\uFEFF' -> true;
+            default -> ch >= '\u2000' && ch <= '\u200A';
+        };
+    }
+
+    private static boolean isWordCharacter(char ch) {
+        return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9') || ch == '_';
+    }
+
+    private record Posting(int index, Map<String, Set<String>> documentsByField) {
+        Posting(int index, List<String> fields) {
+            this(index, new LinkedHashMap<>());
+            for (String field : fields) {
+                documentsByField.put(field, new LinkedHashSet<>());
+            }
+        }
+    }
+
+    private record FieldEntry(String fieldName, int length, Map<String, Integer> termFrequencies) {
+    }
+}
@@ -0,0 +1,215 @@
+package guru.interlis.thoth;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class LunrStemmer {
+    private static final int FLAGS = Pattern.DOTALL | Pattern.UNIX_LINES;
+    private static final char SURROGATE_STANDIN_OFFSET = (char) (0xE000 - Character.MIN_SURROGATE);
+
+    private static final String CONSONANT = "[^aeiou]";
+    private static final String VOWEL = "[aeiouy]";
+    private static final String CONSONANT_SEQUENCE = CONSONANT + "[^aeiouy]*";
+    private static final String VOWEL_SEQUENCE = VOWEL + "[aeiou]*";
+
+    private static final Pattern MEASURE_GT_0 = Pattern.compile(
+        "^(" + CONSONANT_SEQUENCE + ")?" + VOWEL_SEQUENCE + CONSONANT_SEQUENCE, FLAGS);
+    private static final Pattern MEASURE_EQ_1 = Pattern.compile(
+        "^(" + CONSONANT_SEQUENCE + ")?" + VOWEL_SEQUENCE + CONSONANT_SEQUENCE + "(" + VOWEL_SEQUENCE + ")?$", FLAGS);
+    private static final Pattern MEASURE_GT_1 = Pattern.compile(
+        "^(" + CONSONANT_SEQUENCE + ")?" + VOWEL_SEQUENCE + CONSONANT_SEQUENCE + VOWEL_SEQUENCE + CONSONANT_SEQUENCE, FLAGS);
+    private static final Pattern VOWEL_IN_STEM = Pattern.compile("^(" + CONSONANT_SEQUENCE + ")?" + VOWEL, FLAGS);
+
+    private static final Pattern STEP_1A = Pattern.compile("^(.+?)(ss|i)es$", FLAGS);
+    private static final Pattern STEP_1A_2 = Pattern.compile("^(.+?)([^s])s$", FLAGS);
+    private static final Pattern STEP_1B = Pattern.compile("^(.+?)eed$", FLAGS);
+    private static final Pattern STEP_1B_2 = Pattern.compile("^(.+?)(ed|ing)$", FLAGS);
+    private static final Pattern LAST_CHARACTER = Pattern.compile(".$", FLAGS);
+    private static final Pattern STEP_1B_AT_BL_IZ = Pattern.compile("(at|bl|iz)$", FLAGS);
+    private static final Pattern STEP_1B_DOUBLE = Pattern.compile("([^aeiouylsz])\\1$", FLAGS);
+    private static final Pattern CVC = Pattern.compile("^" + CONSONANT_SEQUENCE + VOWEL + "[^aeiouwxy]$", FLAGS);
+    private static final Pattern STEP_1C = Pattern.compile("^(.+?[^aeiou])y$", FLAGS);
+    private static final Pattern STEP_2 = Pattern.compile(
+        "^(.+?)(ational|tional|enci|anci|izer|bli|alli|entli|eli|ousli|ization|ation|ator|alism|iveness|fulness|ousness|aliti|iviti|biliti|logi)$",
+        FLAGS);
+    private static final Pattern STEP_3 = Pattern.compile("^(.+?)(icate|ative|alize|iciti|ical|ful|ness)$", FLAGS);
+    private static final Pattern STEP_4 = Pattern.compile(
+        "^(.+?)(al|ance|ence|er|ic|able|ible|ant|ement|ment|ent|ou|ism|ate|iti|ous|ive|ize)$", FLAGS);
+    private static final Pattern STEP_4_2 = Pattern.compile("^(.+?)(s|t)(ion)$", FLAGS);
+    private static final Pattern STEP_5 = Pattern.compile("^(.+?)e$", FLAGS);
+    private static final Pattern STEP_5_LL = Pattern.compile("ll$", FLAGS);
+
+    private static final Map<String, String> STEP_2_SUFFIXES = Map.ofEntries(
+        Map.entry("ational", "ate"),
+        Map.entry("tional", "tion"),
+        Map.entry("enci", "ence"),
+        Map.entry("anci", "ance"),
+        Map.entry("izer", "ize"),
+        Map.entry("bli", "ble"),
+        Map.entry("alli", "al"),
+        Map.entry("entli", "ent"),
+        Map.entry("eli", "e"),
+        Map.entry("ousli", "ous"),
+        Map.entry("ization", "ize"),
+        Map.entry("ation", "ate"),
+        Map.entry("ator", "ate"),
+        Map.entry("alism", "al"),
+        Map.entry("iveness", "ive"),
+        Map.entry("fulness", "ful"),
+        Map.entry("ousness", "ous"),
+        Map.entry("aliti", "al"),
+        Map.entry("iviti", "ive"),
+        Map.entry("biliti", "ble"),
+        Map.entry("logi", "log")
+    );
+
+    private static final Map<String, String> STEP_3_SUFFIXES = Map.of(
+        "icate", "ic",
+        "ative", "",
+        "alize", "al",
+        "iciti", "ic",
+        "ical", "ic",
+        "ful", "",
+        "ness", ""
+    );
+
+    private LunrStemmer() {
+    }
+
+    public static String stem(String word) {
+        if (word.length() < 3) {
+            return word;
+        }
+        if (!containsSurrogates(word) || containsSurrogateStandIns(word)) {
+            return porterStem(word);
+        }
+        return shiftSurrogates(porterStem(shiftSurrogates(word, true)), false);
+    }
+
+    private static String porterStem(String word) {
+        String w = word;
+        boolean initialY = w.charAt(0) == 'y';
+        if (initialY) {
+            w = "Y" + w.substring(1);
+        }
+
+        Matcher matcher = STEP_1A.matcher(w);
+        if (matcher.find()) {
+            w = matcher.group(1) + matcher.group(2);
+        } else if ((matcher = STEP_1A_2.matcher(w)).find()) {
+            w = matcher.group(1) + matcher.group(2);
+        }
+
+        matcher = STEP_1B.matcher(w);
+        if (matcher.find()) {
+            if (MEASURE_GT_0.matcher(matcher.group(1)).find()) {
+                w = removeLastCharacter(w);
+            }
+        } else if ((matcher = STEP_1B_2.matcher(w)).find()) {
+            String stem = matcher.group(1);
+            if (VOWEL_IN_STEM.matcher(stem).find()) {
+                w = stem;
+                if (STEP_1B_AT_BL_IZ.matcher(w).find()) {
+                    w = w + "e";
+                } else if (STEP_1B_DOUBLE.matcher(w).find()) {
+                    w = removeLastCharacter(w);
+                } else if (CVC.matcher(w).find()) {
+                    w = w + "e";
+                }
+            }
+        }
+
+        matcher = STEP_1C.matcher(w);
+        if (matcher.find()) {
+            w = matcher.group(1) + "i";
+        }
+
+        matcher = STEP_2.matcher(w);
+        if (matcher.find()) {
+            String stem = matcher.group(1);
+            if (MEASURE_GT_0.matcher(stem).find()) {
+                w = stem + STEP_2_SUFFIXES.get(matcher.group(2));
+            }
+        }
+
+        matcher = STEP_3.matcher(w);
+        if (matcher.find()) {
+            String stem = matcher.group(1);
+            if (MEASURE_GT_0.matcher(stem).find()) {
+                w = stem + STEP_3_SUFFIXES.get(matcher.group(2));
+            }
+        }
+
+        matcher = STEP_4.matcher(w);
+        if (matcher.find()) {
+            String stem = matcher.group(1);
+            if (MEASURE_GT_1.matcher(stem).find()) {
+                w = stem;
+            }
+        } else if ((matcher = STEP_4_2.matcher(w)).find()) {
+            String stem = matcher.group(1) + matcher.group(2);
+            if (MEASURE_GT_1.matcher(stem).find()) {
+                w = stem;
+            }
+        }
+
+        matcher = STEP_5.matcher(w);
+        if (matcher.find()) {
+            String stem = matcher.group(1);
+            if (MEASURE_GT_1.matcher(stem).find()
+                || (MEASURE_EQ_1.matcher(stem).find() && !CVC.matcher(stem).find())) {
+                w = stem;
+            }
+        }
+
+        if (STEP_5_LL.matcher(w).find() && MEASURE_GT_1.matcher(w).find()) {
+            w = removeLastCharacter(w);
+        }
+
+        if (initialY) {
+            w = "y" + w.substring(1);
+        }
+        return w;
+    }
+
+    private static boolean containsSurrogates(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isSurrogate(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsSurrogateStandIns(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (isSurrogateStandIn(value.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isSurrogateStandIn(char ch) {
+        return ch >= Character.MIN_SURROGATE + SURROGATE_STANDIN_OFFSET && ch <= Character.MAX_SURROGATE + SURROGATE_STANDIN_OFFSET;
+    }
+
+    // java.util.regex matches code points while lunr's JavaScript regexes match UTF-16 units; moving surrogates
+    // to private-use stand-ins makes every unit a separate character here as well.
+    private static String shiftSurrogates(String value, boolean toStandIns) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            if (toStandIns && Character.isSurrogate(chars[i])) {
+                chars[i] += SURROGATE_STANDIN_OFFSET;
+            } else if (!toStandIns && isSurrogateStandIn(chars[i])) {
+                chars[i] -= SURROGATE_STANDIN_OFFSET;
+            }
+        }
+        return new String(chars);
+    }
+
+    private static String removeLastCharacter(String value) {
+        return LAST_CHARACTER.matcher(value).replaceFirst("");
+    }
+}
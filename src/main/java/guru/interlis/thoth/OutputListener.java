@@ -0,0 +1,11 @@
+package guru.interlis.thoth;
+
+import java.nio.file.Path;
+
+@FunctionalInterface
+public interface OutputListener {
+    OutputListener NONE = file -> {
+    };
+
+    void outputChanged(Path file);
+}
@@ -0,0 +1,10 @@
+package guru.interlis.thoth;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface PageSource {
+    byte[] renderPage(String outputPath) throws IOException;
+
+    Path sourceFile(String outputPath);
+}
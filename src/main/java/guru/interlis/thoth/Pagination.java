@@ -0,0 +1,62 @@
+package guru.interlis.thoth;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class Pagination {
+    private Pagination() {
+    }
+
+    /**
+     * Splits a listing into pages of {@code pageSize} posts; a page size of zero or less keeps everything on one page.
+     * The first page lives at {@code listingUrl}, page N at {@code listingUrl + "page/N/"}.
+     */
+    public static List<Page> paginate(List<Post> posts, int pageSize, String listingUrl) {
+        if (pageSize <= 0 || posts.size() <= pageSize) {
+            return List.of(new Page(listingUrl, 1, 1, posts));
+        }
+
+        int pageCount = (posts.size() + pageSize - 1) / pageSize;
+        List<Page> pages = new ArrayList<>(pageCount);
+        for (int number = 1; number <= pageCount; number++) {
+            int from = (number - 1) * pageSize;
+            pages.add(new Page(listingUrl, number, pageCount, posts.subList(from, Math.min(from + pageSize, posts.size()))));
+        }
+        return pages;
+    }
+
+    public static int pageCount(int postCount, int pageSize) {
+        return pageSize <= 0 || postCount <= pageSize ? 1 : (postCount + pageSize - 1) / pageSize;
+    }
+
+    public static String pageUrl(String listingUrl, int number) {
+        return number == 1 ? listingUrl : listingUrl + "page/" + number + "/";
+    }
+
+    public static Path outputRelativePath(String listingUrl, int number) {
+        return Path.of(pageUrl(listingUrl, number).substring(1)).resolve("index.html");
+    }
+
+    public record Page(String listingUrl, int number, int pageCount, List<Post> posts) {
+        public String url() {
+            return pageUrl(listingUrl, number);
+        }
+
+        public String previousUrl() {
+            return number > 1 ? pageUrl(listingUrl, number - 1) : null;
+        }
+
+        public String nextUrl() {
+            return number < pageCount ? pageUrl(listingUrl, number + 1) : null;
+        }
+
+        public Path outputRelativePath() {
+            return Pagination.outputRelativePath(listingUrl, number);
+        }
+
+        public Page withPosts(List<Post> replacement) {
+            return new Page(listingUrl, number, pageCount, replacement);
+        }
+    }
+}
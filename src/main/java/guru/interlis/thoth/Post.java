@@ -14,7 +14,11 @@ public record Post(
     String teaser,
     String coverImage,
     String htmlContent,
+    String feedHtml,
     String plainText,
+    List<String> codeLanguages,
+    List<String> codePlugins,
+    boolean highlightedCode,
     String url,
     String guid,
     Path outputRelativePath
@@ -22,4 +26,12 @@ public record Post(
     public String tagsAsText() {
         return tags.stream().map(TagRef::name).reduce((left, right) -> left + ", " + right).orElse("");
     }
+
+    public boolean hasCode() {
+        return highlightedCode || hasClientCode();
+    }
+
+    public boolean hasClientCode() {
+        return !codeLanguages.isEmpty() || !codePlugins.isEmpty();
+    }
 }
@@ -0,0 +1,325 @@
+package guru.interlis.thoth;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class PostCache {
+    private static final int MAGIC = 0x54484F54;
+    private static final int FORMAT_VERSION = 5;
+    private static final String ENTRY_EXTENSION = ".bin";
+    private static final Pattern INCLUDE_DIRECTIVE = Pattern.compile("^include::([^\\s\\[](?:[^\\[]*[^\\s\\[])?)\\[.*]$", Pattern.MULTILINE);
+    private static final List<Class<?>> PARSER_CLASSES =
+        List.of(PostParser.class, PrismBundle.class, CodeHighlighter.class, PrismGrammars.class, TagSlugger.class);
+
+    private final Path directory;
+    private final String thothVersion;
+    private final AtomicInteger hits;
+    private final AtomicInteger misses;
+    private final Set<String> usedKeys;
+
+    public PostCache(Path directory) {
+        this.directory = directory;
+        this.thothVersion = thothVersion();
+        this.hits = new AtomicInteger();
+        this.misses = new AtomicInteger();
+        this.usedKeys = ConcurrentHashMap.newKeySet();
+    }
+
+    public Post load(
+        Path sourceFile,
+        Path sourceRelativePath,
+        String siteBaseUrl,
+        CodeHighlighter.Mode highlightMode,
+        Map<String, String> tagTransliterations,
+        PostLoader loader
+    ) throws IOException {
+        String key = cacheKey(sourceFile, sourceRelativePath, siteBaseUrl, highlightMode, tagTransliterations);
+        if (key == null) {
+            misses.incrementAndGet();
+            return loader.load();
+        }
+        usedKeys.add(key);
+
+        Path entry = directory.resolve(key + ENTRY_EXTENSION);
+        Post cached = read(entry);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        misses.incrementAndGet();
+        Post post = loader.load();
+        write(entry, post);
+        return post;
+    }
+
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        usedKeys.clear();
+    }
+
+    public int hits() {
+        return hits.get();
+    }
+
+    public int misses() {
+        return misses.get();
+    }
+
+    public void pruneUnused() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        try (var stream = Files.list(directory)) {
+            for (Path entry : stream.toList()) {
+                String fileName = entry.getFileName().toString();
+                if (!fileName.endsWith(ENTRY_EXTENSION)) {
+                    continue;
+                }
+                String key = fileName.substring(0, fileName.length() - ENTRY_EXTENSION.length());
+                if (!usedKeys.contains(key)) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns {@code null} when the source includes a file whose path depends on document attributes;
+     * such posts are parsed on every build because their dependencies cannot be known up front.
+     */
+    private String cacheKey(
+        Path sourceFile,
+        Path sourceRelativePath,
+        String siteBaseUrl,
+        CodeHighlighter.Mode highlightMode,
+        Map<String, String> tagTransliterations
+    ) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(("thoth-post-cache:" + FORMAT_VERSION + ":" + thothVersion + "\n").getBytes(StandardCharsets.UTF_8));
+        digest.update((toUnixPath(sourceRelativePath) + "\n").getBytes(StandardCharsets.UTF_8));
+        digest.update((siteBaseUrl + "\n").getBytes(StandardCharsets.UTF_8));
+        digest.update((highlightMode + "\n").getBytes(StandardCharsets.UTF_8));
+        digest.update((new TreeMap<>(tagTransliterations) + "\n").getBytes(StandardCharsets.UTF_8));
+        if (!digestWithIncludes(digest, sourceFile, new HashSet<>())) {
+            return null;
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private boolean digestWithIncludes(MessageDigest digest, Path file, Set<Path> visited) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        digest.update(content);
+        Matcher matcher = INCLUDE_DIRECTIVE.matcher(new String(content, StandardCharsets.UTF_8));
+        while (matcher.find()) {
+            String target = matcher.group(1);
+            if (target.contains("{")) {
+                return false;
+            }
+            if (target.contains("://")) {
+                continue;
+            }
+
+            Path included = file.toAbsolutePath().getParent().resolve(target).normalize();
+            digest.update(("\ninclude:" + included + "\n").getBytes(StandardCharsets.UTF_8));
+            if (!Files.isRegularFile(included)) {
+                digest.update((byte) 0);
+            } else if (visited.add(included) && !digestWithIncludes(digest, included, visited)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Post read(Path entry) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+
+            Path sourceRelativePath = Path.of(readString(in));
+            String title = readString(in);
+            String author = readString(in);
+            LocalDate date = LocalDate.ofEpochDay(in.readLong());
+            String status = readString(in);
+
+            int tagCount = in.readInt();
+            List<TagRef> tags = new ArrayList<>(tagCount);
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(new TagRef(readString(in), readString(in)));
+            }
+
+            String teaser = readString(in);
+            String coverImage = readString(in);
+            String htmlContent = readString(in);
+            String feedHtml = readString(in);
+            String plainText = readString(in);
+            List<String> codeLanguages = readStrings(in);
+            List<String> codePlugins = readStrings(in);
+            boolean highlightedCode = in.readBoolean();
+            return new Post(
+                sourceRelativePath,
+                title,
+                author,
+                date,
+                status,
+                List.copyOf(tags),
+                teaser,
+                coverImage,
+                htmlContent,
+                feedHtml,
+                plainText,
+                codeLanguages,
+                codePlugins,
+                highlightedCode,
+                readString(in),
+                readString(in),
+                Path.of(readString(in))
+            );
+        } catch (NoSuchFileException ex) {
+            return null;
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("[warn] Ignoring unreadable cache entry " + entry.getFileName() + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private void write(Path entry, Post post) throws IOException {
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "entry", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, toUnixPath(post.sourceRelativePath()));
+                writeString(out, post.title());
+                writeString(out, post.author());
+                out.writeLong(post.date().toEpochDay());
+                writeString(out, post.status());
+                out.writeInt(post.tags().size());
+                for (TagRef tag : post.tags()) {
+                    writeString(out, tag.name());
+                    writeString(out, tag.slug());
+                }
+                writeString(out, post.teaser());
+                writeString(out, post.coverImage());
+                writeString(out, post.htmlContent());
+                writeString(out, post.feedHtml());
+                writeString(out, post.plainText());
+                writeStrings(out, post.codeLanguages());
+                writeStrings(out, post.codePlugins());
+                out.writeBoolean(post.highlightedCode());
+                writeString(out, post.url());
+                writeString(out, post.guid());
+                writeString(out, toUnixPath(post.outputRelativePath()));
+            }
+            Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private List<String> readStrings(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return List.copyOf(values);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new IOException("Truncated cache entry");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String thothVersion() {
+        String implementationVersion = PostCache.class.getPackage().getImplementationVersion();
+        if (implementationVersion != null) {
+            return implementationVersion;
+        }
+
+        // Builds run from classes instead of the released jar have no version; hash the parser code instead,
+        // so editing it invalidates entries parsed by the previous code.
+        MessageDigest digest = sha256();
+        for (Class<?> parserClass : PARSER_CLASSES) {
+            for (Class<?> member : parserClass.getNestMembers()) {
+                try (InputStream in = member.getResourceAsStream("/" + member.getName().replace('.', '/') + ".class")) {
+                    if (in != null) {
+                        digest.update(in.readAllBytes());
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }
+        return "dev-" + HexFormat.of().formatHex(digest.digest(), 0, 8);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private String toUnixPath(Path path) {
+        return path.toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    @FunctionalInterface
+    public interface PostLoader {
+        Post load() throws IOException;
+    }
+}
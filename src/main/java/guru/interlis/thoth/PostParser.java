@@ -19,6 +19,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -28,13 +30,108 @@ public final class PostParser {
     private static final int TEASER_SENTENCE_LOOKAHEAD = 220;
 
     private final Asciidoctor asciidoctor;
+    private final String siteBaseUrl;
+    private final CodeHighlighter.Mode highlightMode;
+    private final TagSlugger tagSlugger;
+    private final BuildProfiler profiler;
 
     public PostParser(Asciidoctor asciidoctor) {
+        this(asciidoctor, "");
+    }
+
+    public PostParser(Asciidoctor asciidoctor, String siteBaseUrl) {
+        this(asciidoctor, siteBaseUrl, BuildProfiler.disabled());
+    }
+
+    public PostParser(Asciidoctor asciidoctor, String siteBaseUrl, BuildProfiler profiler) {
+        this(asciidoctor, siteBaseUrl, CodeHighlighter.Mode.CLIENT, profiler);
+    }
+
+    public PostParser(Asciidoctor asciidoctor, String siteBaseUrl, CodeHighlighter.Mode highlightMode, BuildProfiler profiler) {
+        this(asciidoctor, siteBaseUrl, highlightMode, TagSlugger.defaults(), profiler);
+    }
+
+    public PostParser(
+        Asciidoctor asciidoctor,
+        String siteBaseUrl,
+        CodeHighlighter.Mode highlightMode,
+        TagSlugger tagSlugger,
+        BuildProfiler profiler
+    ) {
         this.asciidoctor = asciidoctor;
+        this.siteBaseUrl = siteBaseUrl;
+        this.highlightMode = highlightMode;
+        this.tagSlugger = tagSlugger;
+        this.profiler = profiler;
     }
 
     public Post parse(Path sourceFile, Path inputRoot) throws IOException {
         Path sourceRelativePath = inputRoot.relativize(sourceFile);
+        FrontMatter frontMatter = readFrontMatter(sourceFile, sourceRelativePath);
+        Map<String, String> attributes = frontMatter.attributes();
+
+        String body = frontMatter.body();
+        List<Boolean> sourceBlockLineNumbers = detectSourceBlockLineNumbers(body);
+        String profileKey = toUnixPath(sourceRelativePath);
+        String renderedHtml;
+        try (BuildProfiler.Span ignored = profiler.span("asciidoctor", BuildProfiler.CONVERT, profileKey)) {
+            renderedHtml = renderAsciiDoc(body, sourceFile);
+        }
+
+        String normalizedHtml;
+        String plainText;
+        String teaser;
+        String coverImage;
+        String feedHtml;
+        Set<String> codeLanguages = new TreeSet<>();
+        Set<String> codePlugins = new TreeSet<>();
+        boolean highlightedCode;
+        try (BuildProfiler.Span ignored = profiler.span("jsoup", BuildProfiler.POST_PROCESS, profileKey)) {
+            Document document = Jsoup.parseBodyFragment(renderedHtml);
+            rewriteRelativeLinks(document, sourceRelativePath.getParent());
+            highlightedCode = normalizeCodeBlocksForPrism(document, sourceBlockLineNumbers, codeLanguages, codePlugins);
+            normalizedHtml = document.body().html();
+            plainText = collapseWhitespace(document.text());
+
+            teaser = resolveTeaser(attributes.get("thoth-teaser"), plainText);
+            coverImage = resolveCover(attributes.get("thoth-cover-image"), document, sourceRelativePath.getParent());
+            feedHtml = absolutizeLinks(document);
+        }
+
+        return createPost(
+            sourceRelativePath,
+            frontMatter,
+            teaser,
+            coverImage,
+            normalizedHtml,
+            feedHtml,
+            plainText,
+            List.copyOf(codeLanguages),
+            List.copyOf(codePlugins),
+            highlightedCode
+        );
+    }
+
+    public Post parseMetadata(Path sourceFile, Path inputRoot) throws IOException {
+        Path sourceRelativePath = inputRoot.relativize(sourceFile);
+        FrontMatter frontMatter = readFrontMatter(sourceFile, sourceRelativePath);
+        String teaser = frontMatter.attributes().get("thoth-teaser");
+        String coverImage = frontMatter.attributes().get("thoth-cover-image");
+        return createPost(
+            sourceRelativePath,
+            frontMatter,
+            teaser == null || teaser.isBlank() ? null : teaser.trim(),
+            coverImage == null || coverImage.isBlank() ? null : resolveSiteUrl(coverImage.trim(), sourceRelativePath.getParent(), false),
+            null,
+            null,
+            null,
+            List.of(),
+            List.of(),
+            false
+        );
+    }
+
+    private FrontMatter readFrontMatter(Path sourceFile, Path sourceRelativePath) throws IOException {
         List<String> lines = java.nio.file.Files.readAllLines(sourceFile, StandardCharsets.UTF_8);
 
         if (lines.isEmpty() || !"---".equals(lines.get(0).trim())) {
@@ -60,20 +157,24 @@ public final class PostParser {
         String author = headerLines.get(1).trim();
         LocalDate date = LocalDate.parse(headerLines.get(2).trim(), DateTimeFormatter.ISO_LOCAL_DATE);
         Map<String, String> attributes = parseAttributes(headerLines.subList(3, headerLines.size()));
-
         String body = String.join("\n", lines.subList(secondDelimiter + 1, lines.size()));
-        List<Boolean> sourceBlockLineNumbers = detectSourceBlockLineNumbers(body);
-        String renderedHtml = renderAsciiDoc(body, sourceFile);
-        String normalizedHtml = rewriteRelativeLinks(renderedHtml, sourceRelativePath.getParent(), sourceBlockLineNumbers);
-
-        Document document = Jsoup.parseBodyFragment(normalizedHtml);
-        String plainText = collapseWhitespace(document.text());
-
-        String teaser = resolveTeaser(attributes.get("thoth-teaser"), plainText);
-        String coverImage = resolveCover(attributes.get("thoth-cover-image"), document, sourceRelativePath.getParent());
+        return new FrontMatter(title, author, date, attributes, body);
+    }
 
-        String status = attributes.getOrDefault("thoth-status", "published").trim();
-        List<TagRef> tags = parseTags(attributes.get("thoth-tags"));
+    private Post createPost(
+        Path sourceRelativePath,
+        FrontMatter frontMatter,
+        String teaser,
+        String coverImage,
+        String htmlContent,
+        String feedHtml,
+        String plainText,
+        List<String> codeLanguages,
+        List<String> codePlugins,
+        boolean highlightedCode
+    ) {
+        String status = frontMatter.attributes().getOrDefault("thoth-status", "published").trim();
+        List<TagRef> tags = parseTags(frontMatter.attributes().get("thoth-tags"));
 
         String relativeWithoutExtension = removeExtension(toUnixPath(sourceRelativePath));
         String url = "/" + relativeWithoutExtension + "/";
@@ -82,15 +183,19 @@ public final class PostParser {
 
         return new Post(
             sourceRelativePath,
-            title,
-            author,
-            date,
+            frontMatter.title(),
+            frontMatter.author(),
+            frontMatter.date(),
             status,
             tags,
             teaser,
             coverImage,
-            normalizedHtml,
+            htmlContent,
+            feedHtml,
             plainText,
+            codeLanguages,
+            codePlugins,
+            highlightedCode,
             url,
             guid,
             outputRelativePath
@@ -132,9 +237,7 @@ public final class PostParser {
         return asciidoctor.convert(body, options.build());
     }
 
-    private String rewriteRelativeLinks(String html, Path sourceDirectory, List<Boolean> sourceBlockLineNumbers) {
-        Document document = Jsoup.parseBodyFragment(html);
-
+    private void rewriteRelativeLinks(Document document, Path sourceDirectory) {
         for (Element element : document.select("[src]")) {
             String rewritten = resolveSiteUrl(element.attr("src"), sourceDirectory, false);
             element.attr("src", rewritten);
@@ -144,13 +247,49 @@ public final class PostParser {
             String rewritten = resolveSiteUrl(element.attr("href"), sourceDirectory, true);
             element.attr("href", rewritten);
         }
+    }
+
+    private String absolutizeLinks(Document document) {
+        for (Element element : document.select("[href]")) {
+            element.attr("href", absolutizeUrl(element.attr("href")));
+        }
 
-        normalizeCodeBlocksForPrism(document, sourceBlockLineNumbers);
+        for (Element element : document.select("[src]")) {
+            element.attr("src", absolutizeUrl(element.attr("src")));
+        }
 
         return document.body().html();
     }
 
-    private void normalizeCodeBlocksForPrism(Document document, List<Boolean> sourceBlockLineNumbers) {
+    private String absolutizeUrl(String value) {
+        if (value == null || value.isBlank()) {
+            return value;
+        }
+
+        String normalized = value.trim();
+        if (normalized.startsWith("#") || normalized.startsWith("?")) {
+            return normalized;
+        }
+
+        if (normalized.startsWith("http://")
+            || normalized.startsWith("https://")
+            || normalized.startsWith("//")
+            || normalized.startsWith("mailto:")
+            || normalized.startsWith("tel:")
+            || normalized.startsWith("data:")) {
+            return normalized;
+        }
+
+        return SiteConfig.absoluteUrl(siteBaseUrl, normalized);
+    }
+
+    private boolean normalizeCodeBlocksForPrism(
+        Document document,
+        List<Boolean> sourceBlockLineNumbers,
+        Set<String> codeLanguages,
+        Set<String> codePlugins
+    ) {
+        boolean highlightedCode = false;
         int sourceBlockIndex = 0;
         for (Element code : document.select("pre > code")) {
             String language = detectLanguage(code);
@@ -163,15 +302,42 @@ public final class PostParser {
             code.removeAttr("data-lang");
 
             Element pre = code.parent();
-            if (pre != null && "pre".equals(pre.tagName())) {
-                pre.addClass("language-" + normalizedLanguage);
-                if (sourceBlockIndex < sourceBlockLineNumbers.size() && sourceBlockLineNumbers.get(sourceBlockIndex)) {
-                    pre.addClass("line-numbers");
-                }
+            boolean lineNumbers = sourceBlockIndex < sourceBlockLineNumbers.size() && sourceBlockLineNumbers.get(sourceBlockIndex);
+            pre.addClass("language-" + normalizedLanguage);
+            if (lineNumbers) {
+                pre.addClass("line-numbers");
             }
-
             sourceBlockIndex++;
+
+            if (highlightAtBuildTime(code, pre, normalizedLanguage, lineNumbers)) {
+                highlightedCode = true;
+                continue;
+            }
+            codeLanguages.add(normalizedLanguage);
+            if (lineNumbers) {
+                codePlugins.add(PrismBundle.LINE_NUMBERS);
+            }
+            if (pre.hasAttr("data-line")) {
+                codePlugins.add(PrismBundle.LINE_HIGHLIGHT);
+            }
         }
+        return highlightedCode;
+    }
+
+    private boolean highlightAtBuildTime(Element code, Element pre, String language, boolean lineNumbers) {
+        // Blocks with callouts or highlighted lines stay with the client-side highlighter.
+        if (highlightMode != CodeHighlighter.Mode.BUILD
+            || !CodeHighlighter.supports(language)
+            || !code.children().isEmpty()
+            || pre.hasAttr("data-line")) {
+            return false;
+        }
+
+        String source = code.wholeText();
+        String highlighted = CodeHighlighter.highlight(source, language);
+        code.html(lineNumbers ? highlighted + CodeHighlighter.lineNumberRows(source) : highlighted);
+        code.attr(CodeHighlighter.HIGHLIGHTED_ATTRIBUTE, true);
+        return true;
     }
 
     private String detectLanguage(Element code) {
@@ -351,7 +517,7 @@ public final class PostParser {
             }
             String key = tag.toLowerCase(Locale.ROOT);
             if (seen.add(key)) {
-                tags.add(new TagRef(tag, TagSlugger.slugify(tag)));
+                tags.add(new TagRef(tag, tagSlugger.slug(tag)));
             }
         }
         return tags;
@@ -425,4 +591,7 @@ public final class PostParser {
     private String toUnixPath(Path path) {
         return path.toString().replace(path.getFileSystem().getSeparator(), "/");
     }
+
+    private record FrontMatter(String title, String author, LocalDate date, Map<String, String> attributes, String body) {
+    }
 }
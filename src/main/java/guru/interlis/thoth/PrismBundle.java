@@ -0,0 +1,205 @@
+package guru.interlis.thoth;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class PrismBundle {
+    public static final String LINE_NUMBERS = "line-numbers";
+    public static final String LINE_HIGHLIGHT = "line-highlight";
+
+    private static final String RESOURCE_ROOT = "site-assets/prism/";
+    private static final String CORE_SECTION = "prism-core";
+    private static final Pattern OUTPUT_PATH = Pattern.compile("assets/prism\\.[0-9a-f]+\\.(?:js|css)");
+    private static final Pattern SECTION_BANNER = Pattern.compile("/\\* \\*+\\s+Begin (prism-[a-z-]+)\\.js\\s+\\*+ \\*/");
+    private static final List<String> PLUGINS = List.of(LINE_HIGHLIGHT, LINE_NUMBERS);
+    private static final Map<String, List<String>> LANGUAGES = languageRequirements();
+    private static final Map<String, String> RESOURCES = new ConcurrentHashMap<>();
+    private static final String SKIP_HIGHLIGHTED_HOOK = "Prism.hooks.add('before-all-elements-highlight',function(e){"
+        + "e.elements=e.elements.filter(function(n){return!n.hasAttribute('" + CodeHighlighter.HIGHLIGHTED_ATTRIBUTE + "')})});";
+
+    private final List<String> languages;
+    private final List<String> plugins;
+    private final String scriptPath;
+    private final String stylesheetPath;
+    private final byte[] script;
+    private final byte[] stylesheet;
+
+    private PrismBundle(List<String> languages, List<String> plugins, byte[] script, byte[] stylesheet) {
+        this.languages = languages;
+        this.plugins = plugins;
+        this.script = script;
+        this.stylesheet = stylesheet;
+        this.scriptPath = BundledAssets.hashedName("assets/prism.js", script);
+        this.stylesheetPath = BundledAssets.hashedName("assets/prism.css", stylesheet);
+    }
+
+    public static PrismBundle of(Collection<String> usedLanguages, Collection<String> usedPlugins) {
+        Set<String> required = new LinkedHashSet<>();
+        for (String language : usedLanguages) {
+            require(language, required);
+        }
+        List<String> languages = LANGUAGES.keySet().stream().filter(required::contains).toList();
+        List<String> plugins = PLUGINS.stream().filter(usedPlugins::contains).toList();
+
+        StringBuilder script = new StringBuilder(stripComments(coreScript()));
+        script.append(SKIP_HIGHLIGHTED_HOOK).append('\n');
+        for (String language : languages) {
+            String suffix = language.equals("interlis") ? ".js" : ".min.js";
+            appendScript(script, "components/prism-" + language + suffix);
+        }
+        for (String plugin : plugins) {
+            appendScript(script, "plugins/" + plugin + "/prism-" + plugin + ".min.js");
+        }
+
+        // Build-time highlighted blocks need the plugin styles without the plugin scripts.
+        StringBuilder stylesheet = new StringBuilder(stripComments(resource("prism.css")));
+        for (String plugin : PLUGINS) {
+            stylesheet.append(resource("plugins/" + plugin + "/prism-" + plugin + ".min.css").strip()).append('\n');
+        }
+        return new PrismBundle(
+            languages,
+            plugins,
+            script.toString().getBytes(StandardCharsets.UTF_8),
+            stylesheet.toString().getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    public static PrismBundle full() {
+        return of(LANGUAGES.keySet(), PLUGINS);
+    }
+
+    public static boolean isOutputPath(String outputPath) {
+        return OUTPUT_PATH.matcher(outputPath).matches();
+    }
+
+    public List<String> languages() {
+        return languages;
+    }
+
+    public List<String> plugins() {
+        return plugins;
+    }
+
+    public String scriptPath() {
+        return scriptPath;
+    }
+
+    public String stylesheetPath() {
+        return stylesheetPath;
+    }
+
+    public List<String> outputPaths() {
+        return List.of(scriptPath, stylesheetPath);
+    }
+
+    public byte[] content(String outputPath) {
+        if (scriptPath.equals(outputPath)) {
+            return script;
+        }
+        return stylesheetPath.equals(outputPath) ? stylesheet : null;
+    }
+
+    public boolean sameContent(PrismBundle other) {
+        return other != null && scriptPath.equals(other.scriptPath) && stylesheetPath.equals(other.stylesheetPath);
+    }
+
+    private static void require(String language, Set<String> required) {
+        List<String> requirements = LANGUAGES.get(language);
+        if (requirements == null || !required.add(language)) {
+            return;
+        }
+        for (String requirement : requirements) {
+            require(requirement, required);
+        }
+    }
+
+    private static void appendScript(StringBuilder script, String resourcePath) {
+        script.append(';').append(stripComments(resource(resourcePath)));
+    }
+
+    private static String coreScript() {
+        String prism = resource("prism.js");
+        Matcher matcher = SECTION_BANNER.matcher(prism);
+        while (matcher.find()) {
+            if (matcher.group(1).equals(CORE_SECTION)) {
+                int start = matcher.end();
+                return prism.substring(start, matcher.find() ? matcher.start() : prism.length());
+            }
+        }
+        throw new IllegalStateException("Missing " + CORE_SECTION + " section in prism.js");
+    }
+
+    static String stripComments(String source) {
+        StringBuilder stripped = new StringBuilder(source.length());
+        boolean inComment = false;
+        for (String line : source.split("\\R")) {
+            String trimmed = line.strip();
+            if (inComment) {
+                int end = trimmed.indexOf("*/");
+                if (end < 0) {
+                    continue;
+                }
+                inComment = false;
+                trimmed = trimmed.substring(end + 2).strip();
+            }
+            if (trimmed.startsWith("/*")) {
+                int end = trimmed.indexOf("*/", 2);
+                if (end < 0) {
+                    inComment = true;
+                    continue;
+                }
+                trimmed = trimmed.substring(end + 2).strip();
+            }
+            if (!trimmed.isEmpty() && !trimmed.startsWith("//")) {
+                stripped.append(trimmed).append('\n');
+            }
+        }
+        return stripped.toString();
+    }
+
+    private static String resource(String resourcePath) {
+        return RESOURCES.computeIfAbsent(resourcePath, path -> {
+            try (InputStream in = PrismBundle.class.getClassLoader().getResourceAsStream(RESOURCE_ROOT + path)) {
+                if (in == null) {
+                    throw new IllegalStateException("Missing bundled asset: " + RESOURCE_ROOT + path);
+                }
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private static Map<String, List<String>> languageRequirements() {
+        Map<String, List<String>> languages = new LinkedHashMap<>();
+        languages.put("markup", List.of());
+        languages.put("css", List.of());
+        languages.put("clike", List.of());
+        languages.put("javascript", List.of("clike"));
+        languages.put("ini", List.of());
+        languages.put("interlis", List.of());
+        languages.put("java", List.of("clike"));
+        languages.put("typescript", List.of("javascript"));
+        languages.put("json", List.of());
+        languages.put("bash", List.of());
+        languages.put("sql", List.of());
+        languages.put("python", List.of());
+        languages.put("yaml", List.of());
+        languages.put("kotlin", List.of("clike"));
+        languages.put("go", List.of("clike"));
+        languages.put("c", List.of("clike"));
+        languages.put("cpp", List.of("c"));
+        return languages;
+    }
+}
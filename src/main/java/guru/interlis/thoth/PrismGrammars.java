@@ -0,0 +1,752 @@
+package guru.interlis.thoth;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static guru.interlis.thoth.CodeHighlighter.pattern;
+
+// Grammars of the Prism components under site-assets/prism, transcribed to java.util.regex.
+// Keep in sync when the components are updated.
+// Loops that cannot give back a match (string bodies, comments, template interpolations) are possessive,
+// so long literals do not recurse through the regex engine; the match sets are unchanged.
+final class PrismGrammars {
+    private PrismGrammars() {
+    }
+
+    static Map<String, CodeHighlighter.Grammar> create() {
+        CodeHighlighter.Grammar css = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar css1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar css2 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar javascript = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar javascript1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar javascript2 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar javascript3 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar javascript4 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar ini = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar ini1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar ini2 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar interlis = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar java = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar java1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar java2 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar java3 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar java4 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar java5 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar java6 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar typescript = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar typescript1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar typescript2 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar typescript3 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar typescript4 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar typescript5 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar typescript6 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar typescript7 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar typescript8 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar typescript9 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar json = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar bash = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar bash1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar bash2 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar bash3 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar bash4 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar bash5 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar bash6 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar bash7 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar bash8 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar sql = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar sql1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar python = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar python1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar python2 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar python3 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar yaml = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar kotlin = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar kotlin1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar kotlin2 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar kotlin3 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar go = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar c = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar c1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar cpp = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar cpp1 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar cpp2 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar cpp3 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar cpp4 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar cpp5 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar cpp6 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar cpp7 = new CodeHighlighter.Grammar();
+        CodeHighlighter.Grammar cpp8 = new CodeHighlighter.Grammar();
+
+        css.add("comment", pattern("\\/\\*[\\s\\S]*?\\*\\/", 0, false, false, null));
+        css.add("atrule", pattern("@[\\w-](?:[^;{\\s\"']|\\s+(?![\\s{])|(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n])*+'))*+(?:;|(?=\\s*\\{))", 0, false, false, css1));
+        css.add("url", pattern("\\burl\\((?:(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n])*+')|(?:[^\\\\\\r\\n()\"']|\\\\[\\s\\S])*+)\\)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, css2));
+        css.add("selector", pattern("(^|[{}\\s])[^{}\\s](?:[^{};\"'\\s]|\\s+(?![\\s{])|(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n])*+'))*+(?=\\s*\\{)", 0, true, false, null));
+        css.add("string", pattern("(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n])*+')", 0, false, true, null));
+        css.add("property", pattern("(^|[^-\\w\\xA0-\\uFFFF])(?!\\s)[-_a-z\\xA0-\\uFFFF](?:(?!\\s)[-\\w\\xA0-\\uFFFF])*(?=\\s*:)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null));
+        css.add("important", pattern("!important\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        css.add("function", pattern("(^|[^-a-z0-9])[-a-z0-9]+(?=\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null));
+        css.add("punctuation", pattern("[(){};:,]", 0, false, false, null));
+
+        css1.add("rule", pattern("^@[\\w-]+", 0, false, false, null));
+        css1.add("selector-function-argument", pattern("(\\bselector\\s*\\(\\s*(?![\\s)]))(?:[^()\\s]|\\s+(?![\\s)])|\\((?:[^()]|\\([^()]*\\))*+\\))++(?=\\s*\\))", 0, true, false, null, "selector"));
+        css1.add("keyword", pattern("(^|[^\\w-])(?:and|not|only|or)(?![\\w-])", 0, true, false, null));
+        css1.add("comment", pattern("\\/\\*[\\s\\S]*?\\*\\/", 0, false, false, null));
+        css1.add("atrule", pattern("@[\\w-](?:[^;{\\s\"']|\\s+(?![\\s{])|(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n])*+'))*+(?:;|(?=\\s*\\{))", 0, false, false, css1));
+        css1.add("url", pattern("\\burl\\((?:(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n])*+')|(?:[^\\\\\\r\\n()\"']|\\\\[\\s\\S])*+)\\)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, css2));
+        css1.add("selector", pattern("(^|[{}\\s])[^{}\\s](?:[^{};\"'\\s]|\\s+(?![\\s{])|(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n])*+'))*+(?=\\s*\\{)", 0, true, false, null));
+        css1.add("string", pattern("(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n])*+')", 0, false, true, null));
+        css1.add("property", pattern("(^|[^-\\w\\xA0-\\uFFFF])(?!\\s)[-_a-z\\xA0-\\uFFFF](?:(?!\\s)[-\\w\\xA0-\\uFFFF])*(?=\\s*:)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null));
+        css1.add("important", pattern("!important\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        css1.add("function", pattern("(^|[^-a-z0-9])[-a-z0-9]+(?=\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null));
+        css1.add("punctuation", pattern("[(){};:,]", 0, false, false, null));
+
+        css2.add("function", pattern("^url", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        css2.add("punctuation", pattern("^\\(|\\)\\z", 0, false, false, null));
+        css2.add("string", pattern("^(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n])*+')\\z", 0, false, false, null, "url"));
+
+        javascript.add("comment",
+            pattern("(^|[^\\\\])\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, true, true, null),
+            pattern("(^|[^\\\\:])\\/\\/.*", 0, true, true, null)
+        );
+        javascript.add("hashbang", pattern("^#!.*", 0, false, true, null, "comment"));
+        javascript.add("template-string", pattern("`(?:\\\\[\\s\\S]|\\$\\{(?:[^{}]|\\{(?:[^{}]|\\{[^}]*\\})*+\\})++\\}|(?!\\$\\{)[^\\\\`])*+`", 0, false, true, javascript1));
+        javascript.add("string-property", pattern("((?:^|[,{])[ \\t]*)([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\2)[^\\\\\\r\\n])*+\\2(?=\\s*:)", Pattern.MULTILINE, true, true, null, "property"));
+        javascript.add("string", pattern("([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\1)[^\\\\\\r\\n])*+\\1", 0, false, true, null));
+        javascript.add("class-name",
+            pattern("(\\b(?:class|extends|implements|instanceof|interface|new)\\s+)[\\w.\\\\]+", 0, true, false, javascript3),
+            pattern("(^|[^$\\w\\xA0-\\uFFFF])(?!\\s)[_$A-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\.(?:constructor|prototype))", 0, true, false, null)
+        );
+        javascript.add("regex", pattern("((?:^|[^$\\w\\xA0-\\uFFFF.\"'\\])\\s]|\\b(?:return|yield))\\s*)\\/(?:(?:\\[(?:[^\\]\\\\\\r\\n]|\\\\.)*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}|(?:\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.)*+\\])*+\\])*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}v[dgimyus]{0,7})(?=(?:\\s|\\/\\*(?:[^*]|\\*(?!\\/))*+\\*\\/)*(?:\\z|[\\r\\n,.;:})\\]]|\\/\\/))", 0, true, true, javascript4));
+        javascript.add("function-variable", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*[=:]\\s*(?:async\\s*)?(?:\\bfunction\\b|(?:\\((?:[^()]|\\([^()]*\\))*\\)|(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*)\\s*=>))", 0, false, false, null, "function"));
+        javascript.add("parameter",
+            pattern("(function(?:\\s+(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*)?\\s*\\(\\s*)(?!\\s)(?:[^()\\s]|\\s+(?![\\s)])|\\([^()]*\\))++(?=\\s*\\))", 0, true, false, javascript),
+            pattern("(^|[^$\\w\\xA0-\\uFFFF])(?!\\s)[_$a-z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*=>)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, javascript),
+            pattern("(\\(\\s*)(?!\\s)(?:[^()\\s]|\\s+(?![\\s)])|\\([^()]*\\))++(?=\\s*\\)\\s*=>)", 0, true, false, javascript),
+            pattern("((?:\\b|\\s|^)(?!(?:as|async|await|break|case|catch|class|const|continue|debugger|default|delete|do|else|enum|export|extends|finally|for|from|function|get|if|implements|import|in|instanceof|interface|let|new|null|of|package|private|protected|public|return|set|static|super|switch|this|throw|try|typeof|undefined|var|void|while|with|yield)(?![$\\w\\xA0-\\uFFFF]))(?:(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*\\s*)\\(\\s*|\\]\\s*\\(\\s*)(?!\\s)(?:[^()\\s]|\\s+(?![\\s)])|\\([^()]*\\))++(?=\\s*\\)\\s*\\{)", 0, true, false, javascript)
+        );
+        javascript.add("constant", pattern("\\b[A-Z](?:[A-Z_]|\\dx?)*\\b", 0, false, false, null));
+        javascript.add("keyword",
+            pattern("((?:^|\\})\\s*)catch\\b", 0, true, false, null),
+            pattern("(^|[^.]|\\.\\.\\.\\s*)\\b(?:as|assert(?=\\s*\\{)|async(?=\\s*(?:function\\b|\\(|[$\\w\\xA0-\\uFFFF]|\\z))|await|break|case|class|const|continue|debugger|default|delete|do|else|enum|export|extends|finally(?=\\s*(?:\\{|\\z))|for|from(?=\\s*(?:['\"]|\\z))|function|(?:get|set)(?=\\s*(?:[#\\[$\\w\\xA0-\\uFFFF]|\\z))|if|implements|import|in|instanceof|interface|let|new|null|of|package|private|protected|public|return|static|super|switch|this|throw|try|typeof|undefined|var|void|while|with|yield)\\b", 0, true, false, null)
+        );
+        javascript.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+        javascript.add("function", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*(?:\\.\\s*(?:apply|bind|call)\\s*)?\\()", 0, false, false, null));
+        javascript.add("number", pattern("(^|[^\\w$])(?:NaN|Infinity|0[bB][01]+(?:_[01]+)*n?|0[oO][0-7]+(?:_[0-7]+)*n?|0[xX][\\dA-Fa-f]+(?:_[\\dA-Fa-f]+)*n?|\\d+(?:_\\d+)*n|(?:\\d+(?:_\\d+)*(?:\\.(?:\\d+(?:_\\d+)*)?)?|\\.\\d+(?:_\\d+)*)(?:[Ee][+-]?\\d+(?:_\\d+)*)?)(?![\\w$])", 0, true, false, null));
+        javascript.add("literal-property", pattern("((?:^|[,{])[ \\t]*)(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*:)", Pattern.MULTILINE, true, false, null, "property"));
+        javascript.add("operator", pattern("--|\\+\\+|\\*\\*=?|=>|&&=?|\\|\\|=?|[!=]==|<<=?|>>>?=?|[-+*/%\\&|^!=<>]=?|\\.{3}|\\?\\?=?|\\?\\.?|[~:]", 0, false, false, null));
+        javascript.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+
+        javascript1.add("template-punctuation", pattern("^`|`\\z", 0, false, false, null, "string"));
+        javascript1.add("interpolation", pattern("((?:^|[^\\\\])(?:\\\\{2})*)\\$\\{(?:[^{}]|\\{(?:[^{}]|\\{[^}]*\\})*+\\})++\\}", 0, true, false, javascript2));
+        javascript1.add("string", pattern("[\\s\\S]+", 0, false, false, null));
+
+        javascript2.add("interpolation-punctuation", pattern("^\\$\\{|\\}\\z", 0, false, false, null, "punctuation"));
+        javascript2.add("comment",
+            pattern("(^|[^\\\\])\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, true, true, null),
+            pattern("(^|[^\\\\:])\\/\\/.*", 0, true, true, null)
+        );
+        javascript2.add("hashbang", pattern("^#!.*", 0, false, true, null, "comment"));
+        javascript2.add("template-string", pattern("`(?:\\\\[\\s\\S]|\\$\\{(?:[^{}]|\\{(?:[^{}]|\\{[^}]*\\})*+\\})++\\}|(?!\\$\\{)[^\\\\`])*+`", 0, false, true, javascript1));
+        javascript2.add("string-property", pattern("((?:^|[,{])[ \\t]*)([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\2)[^\\\\\\r\\n])*+\\2(?=\\s*:)", Pattern.MULTILINE, true, true, null, "property"));
+        javascript2.add("string", pattern("([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\1)[^\\\\\\r\\n])*+\\1", 0, false, true, null));
+        javascript2.add("class-name",
+            pattern("(\\b(?:class|extends|implements|instanceof|interface|new)\\s+)[\\w.\\\\]+", 0, true, false, javascript3),
+            pattern("(^|[^$\\w\\xA0-\\uFFFF])(?!\\s)[_$A-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\.(?:constructor|prototype))", 0, true, false, null)
+        );
+        javascript2.add("regex", pattern("((?:^|[^$\\w\\xA0-\\uFFFF.\"'\\])\\s]|\\b(?:return|yield))\\s*)\\/(?:(?:\\[(?:[^\\]\\\\\\r\\n]|\\\\.)*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}|(?:\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.)*+\\])*+\\])*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}v[dgimyus]{0,7})(?=(?:\\s|\\/\\*(?:[^*]|\\*(?!\\/))*+\\*\\/)*(?:\\z|[\\r\\n,.;:})\\]]|\\/\\/))", 0, true, true, javascript4));
+        javascript2.add("function-variable", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*[=:]\\s*(?:async\\s*)?(?:\\bfunction\\b|(?:\\((?:[^()]|\\([^()]*\\))*\\)|(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*)\\s*=>))", 0, false, false, null, "function"));
+        javascript2.add("parameter",
+            pattern("(function(?:\\s+(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*)?\\s*\\(\\s*)(?!\\s)(?:[^()\\s]|\\s+(?![\\s)])|\\([^()]*\\))++(?=\\s*\\))", 0, true, false, javascript),
+            pattern("(^|[^$\\w\\xA0-\\uFFFF])(?!\\s)[_$a-z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*=>)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, javascript),
+            pattern("(\\(\\s*)(?!\\s)(?:[^()\\s]|\\s+(?![\\s)])|\\([^()]*\\))++(?=\\s*\\)\\s*=>)", 0, true, false, javascript),
+            pattern("((?:\\b|\\s|^)(?!(?:as|async|await|break|case|catch|class|const|continue|debugger|default|delete|do|else|enum|export|extends|finally|for|from|function|get|if|implements|import|in|instanceof|interface|let|new|null|of|package|private|protected|public|return|set|static|super|switch|this|throw|try|typeof|undefined|var|void|while|with|yield)(?![$\\w\\xA0-\\uFFFF]))(?:(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*\\s*)\\(\\s*|\\]\\s*\\(\\s*)(?!\\s)(?:[^()\\s]|\\s+(?![\\s)])|\\([^()]*\\))++(?=\\s*\\)\\s*\\{)", 0, true, false, javascript)
+        );
+        javascript2.add("constant", pattern("\\b[A-Z](?:[A-Z_]|\\dx?)*\\b", 0, false, false, null));
+        javascript2.add("keyword",
+            pattern("((?:^|\\})\\s*)catch\\b", 0, true, false, null),
+            pattern("(^|[^.]|\\.\\.\\.\\s*)\\b(?:as|assert(?=\\s*\\{)|async(?=\\s*(?:function\\b|\\(|[$\\w\\xA0-\\uFFFF]|\\z))|await|break|case|class|const|continue|debugger|default|delete|do|else|enum|export|extends|finally(?=\\s*(?:\\{|\\z))|for|from(?=\\s*(?:['\"]|\\z))|function|(?:get|set)(?=\\s*(?:[#\\[$\\w\\xA0-\\uFFFF]|\\z))|if|implements|import|in|instanceof|interface|let|new|null|of|package|private|protected|public|return|static|super|switch|this|throw|try|typeof|undefined|var|void|while|with|yield)\\b", 0, true, false, null)
+        );
+        javascript2.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+        javascript2.add("function", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*(?:\\.\\s*(?:apply|bind|call)\\s*)?\\()", 0, false, false, null));
+        javascript2.add("number", pattern("(^|[^\\w$])(?:NaN|Infinity|0[bB][01]+(?:_[01]+)*n?|0[oO][0-7]+(?:_[0-7]+)*n?|0[xX][\\dA-Fa-f]+(?:_[\\dA-Fa-f]+)*n?|\\d+(?:_\\d+)*n|(?:\\d+(?:_\\d+)*(?:\\.(?:\\d+(?:_\\d+)*)?)?|\\.\\d+(?:_\\d+)*)(?:[Ee][+-]?\\d+(?:_\\d+)*)?)(?![\\w$])", 0, true, false, null));
+        javascript2.add("literal-property", pattern("((?:^|[,{])[ \\t]*)(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*:)", Pattern.MULTILINE, true, false, null, "property"));
+        javascript2.add("operator", pattern("--|\\+\\+|\\*\\*=?|=>|&&=?|\\|\\|=?|[!=]==|<<=?|>>>?=?|[-+*/%\\&|^!=<>]=?|\\.{3}|\\?\\?=?|\\?\\.?|[~:]", 0, false, false, null));
+        javascript2.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+
+        javascript3.add("punctuation", pattern("[.\\\\]", 0, false, false, null));
+
+        javascript4.add("regex-source", pattern("^(\\/)[\\s\\S]+(?=\\/[a-z]*\\z)", 0, true, false, null, "language-regex"));
+        javascript4.add("regex-delimiter", pattern("^\\/|\\/\\z", 0, false, false, null));
+        javascript4.add("regex-flags", pattern("^[a-z]+\\z", 0, false, false, null));
+
+        ini.add("comment", pattern("(^[ \\f\\t\\v]*)[#;][^\\n\\r]*", Pattern.MULTILINE, true, false, null));
+        ini.add("section", pattern("(^[ \\f\\t\\v]*)\\[[^\\n\\r\\]]*\\]?", Pattern.MULTILINE, true, false, ini1));
+        ini.add("key", pattern("(^[ \\f\\t\\v]*)[^ \\f\\n\\r\\t\\v=]+(?:[ \\f\\t\\v]+[^ \\f\\n\\r\\t\\v=]+)*(?=[ \\f\\t\\v]*=)", Pattern.MULTILINE, true, false, null, "attr-name"));
+        ini.add("value", pattern("(=[ \\f\\t\\v]*)[^ \\f\\n\\r\\t\\v]+(?:[ \\f\\t\\v]+[^ \\f\\n\\r\\t\\v]+)*", 0, true, false, ini2, "attr-value"));
+        ini.add("punctuation", pattern("=", 0, false, false, null));
+
+        ini1.add("section-name", pattern("(^\\[[ \\f\\t\\v]*)[^ \\f\\t\\v\\]]+(?:[ \\f\\t\\v]+[^ \\f\\t\\v\\]]+)*", 0, true, false, null, "selector"));
+        ini1.add("punctuation", pattern("\\[|\\]", 0, false, false, null));
+
+        ini2.add("inner-value", pattern("^(\"|').+(?=\\1\\z)", 0, true, false, null));
+
+        interlis.add("comment",
+            pattern("!!.*", 0, false, true, null),
+            pattern("\\/\\*[\\s\\S]*?\\*\\/", 0, false, true, null)
+        );
+        interlis.add("string", pattern("\"(?:\\\\.|[^\"\\\\])*+\"", 0, false, true, null));
+        interlis.add("keyword", pattern("\\b(NOINCREMENTALTRANSFER|COUNTERCLOCKWISE|ANYSTRUCTURE|AGGREGATION|ASSOCIATION|CARDINALITY|CONSTRAINTS|DERIVATIVES|ENUMTREEVAL|INHERITANCE|RESTRICTION|SUBDIVISION|TRANSLATION|UNQUALIFIED|AGGREGATES|ATTRIBUTES|CONSTRAINT|CONTINUOUS|CONTRACTED|HALIGNMENT|INSPECTION|METAOBJECT|PROJECTION|VALIGNMENT|VERTEXINFO|ACCORDING|ATTRIBUTE|CLOCKWISE|EXISTENCE|MANDATORY|PARAMETER|PERIPHERY|REFERENCE|REFSYSTEM|STRUCTURE|SYMBOLOGY|TRANSIENT|UNDEFINED|ABSTRACT|ANYCLASS|CIRCULAR|CONTINUE|DEFERRED|EXTENDED|EXTERNAL|FUNCTION|GENERICS|INTERLIS|LINEATTR|LINESIZE|OPTIONAL|OVERLAPS|REQUIRED|ROTATION|THATAREA|THISAREA|TRANSFER|CONTEXT|CONTOUR|DEFAULT|DEFINED|DEGREES|DEPENDS|DERIVED|ENUMVAL|EXTENDS|GENERIC|GRAPHIC|IMPORTS|OBJECTS|ORDERED|RADIANS|TIDSIZE|VERSION|WITHOUT|BASKET|DOMAIN|FORMAT|HIDING|LNBASE|OBJECT|OTHERS|PARENT|REFSYS|UNIQUE|VERTEX|BASED|BLANK|CLASS|EQUAL|FINAL|FIRST|GRADS|IDENT|LOCAL|MODEL|TABLE|TOPIC|UNION|WHERE|XMLNS|BASE|CODE|DIM1|DIM2|FONT|FORM|FREE|FROM|JOIN|LAST|LINE|LIST|NAME|NULL|SIGN|THIS|TYPE|UNIT|VIEW|WHEN|WITH|ALL|AND|ANY|BAG|END|FIX|I16|I32|NOT|OID|SET|TID|URI|AS|AT|BY|IN|NO|OF|ON|OR|PI|TO)\\b", 0, false, true, null));
+        interlis.add("type", pattern("\\b(ARCS|AREA|BINARY|BLACKBOX|BOOLEAN|COORD|COORD2|COORD3|DATE|DATETIME|DIRECTED|MULTIAREA|MULTICOORD|MULTIPOLYLINE|MULTISURFACE|NUMERIC|POLYLINE|STRAIGHTS|SURFACE|TEXT|MTEXT|TIMEOFDAY|XML)\\b", 0, false, false, null, "builtin"));
+        interlis.add("number", pattern("\\b(\\+|-)?([1-9]\\d*\\.?|0\\.)\\d*([Ee][+-]?[1-9]\\d*)?\\b", 0, false, true, null));
+        interlis.add("operator",
+            pattern("--<#>", 0, false, false, null, "important"),
+            pattern("--<>", 0, false, false, null, "important"),
+            pattern("--", 0, false, false, null),
+            pattern("[;=:]", 0, false, false, null)
+        );
+
+        java.add("comment",
+            pattern("(^|[^\\\\])\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, true, true, null),
+            pattern("(^|[^\\\\:])\\/\\/.*", 0, true, true, null)
+        );
+        java.add("triple-quoted-string", pattern("\"\"\"[ \\t]*[\\r\\n](?:(?:\"|\"\")?(?:\\\\.|[^\"\\\\]))*+\"\"\"", 0, false, true, null, "string"));
+        java.add("char", pattern("'(?:\\\\.|[^'\\\\\\r\\n]){1,6}'", 0, false, true, null));
+        java.add("string", pattern("(^|[^\\\\])\"(?:\\\\.|[^\"\\\\\\r\\n])*+\"", 0, true, true, null));
+        java.add("annotation", pattern("(^|[^.])@\\w+(?:\\s*\\.\\s*\\w+)*", 0, true, false, null, "punctuation"));
+        java.add("generics", pattern("<(?:[\\w\\s,.?]|&(?!&)|<(?:[\\w\\s,.?]|&(?!&)|<(?:[\\w\\s,.?]|&(?!&)|<(?:[\\w\\s,.?]|&(?!&))*>)*>)*>)*>", 0, false, false, java1));
+        java.add("import",
+            pattern("(\\bimport\\s+)(?:[a-z]\\w*\\s*\\.\\s*)*(?:[A-Z]\\w*\\s*\\.\\s*)*(?:[A-Z]\\w*|\\*)(?=\\s*;)", 0, true, false, java4),
+            pattern("(\\bimport\\s+static\\s+)(?:[a-z]\\w*\\s*\\.\\s*)*(?:[A-Z]\\w*\\s*\\.\\s*)*(?:\\w+|\\*)(?=\\s*;)", 0, true, false, java5, "static")
+        );
+        java.add("namespace", pattern("(\\b(?:exports|import(?:\\s+static)?|module|open|opens|package|provides|requires|to|transitive|uses|with)\\s+)(?!\\b(?:abstract|assert|boolean|break|byte|case|catch|char|class|const|continue|default|do|double|else|enum|exports|extends|final|finally|float|for|goto|if|implements|import|instanceof|int|interface|long|module|native|new|non-sealed|null|open|opens|package|permits|private|protected|provides|public|record(?!\\s*[(){}\\[\\]<>=%~.:,;?+\\-*/\\&|^])|requires|return|sealed|short|static|strictfp|super|switch|synchronized|this|throw|throws|to|transient|transitive|try|uses|var|void|volatile|while|with|yield)\\b)[a-z]\\w*(?:\\.[a-z]\\w*)*\\.?", 0, true, false, java6));
+        java.add("class-name",
+            pattern("(^|[^\\w.])(?:[a-z]\\w*\\s*\\.\\s*)*(?:[A-Z]\\w*\\s*\\.\\s*)*[A-Z](?:[\\d_A-Z]*[a-z]\\w*)?\\b", 0, true, false, java2),
+            pattern("(^|[^\\w.])(?:[a-z]\\w*\\s*\\.\\s*)*(?:[A-Z]\\w*\\s*\\.\\s*)*[A-Z]\\w*(?=\\s+\\w+\\s*[;,=()]|\\s*(?:\\[[\\s,]*\\]\\s*)?::\\s*new\\b)", 0, true, false, java2),
+            pattern("(\\b(?:class|enum|extends|implements|instanceof|interface|new|record|throws)\\s+)(?:[a-z]\\w*\\s*\\.\\s*)*(?:[A-Z]\\w*\\s*\\.\\s*)*[A-Z]\\w*\\b", 0, true, false, java2)
+        );
+        java.add("keyword", pattern("\\b(?:abstract|assert|boolean|break|byte|case|catch|char|class|const|continue|default|do|double|else|enum|exports|extends|final|finally|float|for|goto|if|implements|import|instanceof|int|interface|long|module|native|new|non-sealed|null|open|opens|package|permits|private|protected|provides|public|record(?!\\s*[(){}\\[\\]<>=%~.:,;?+\\-*/\\&|^])|requires|return|sealed|short|static|strictfp|super|switch|synchronized|this|throw|throws|to|transient|transitive|try|uses|var|void|volatile|while|with|yield)\\b", 0, false, false, null));
+        java.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+        java.add("function",
+            pattern("\\b\\w+(?=\\()", 0, false, false, null),
+            pattern("(::\\s*)[a-z_]\\w*", 0, true, false, null)
+        );
+        java.add("number", pattern("\\b0b[01][01_]*L?\\b|\\b0x(?:\\.[\\da-f_p+-]+|[\\da-f_]+(?:\\.[\\da-f_p+-]+)?)\\b|(?:\\b\\d[\\d_]*(?:\\.[\\d_]*)?|\\B\\.\\d[\\d_]*)(?:e[+-]?\\d[\\d_]*)?[dfl]?", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        java.add("operator", pattern("(^|[^.])(?:<<=?|>>>?=?|->|--|\\+\\+|&&|\\|\\||::|[?:~]|[-+*/%\\&|^!=<>]=?)", Pattern.MULTILINE, true, false, null));
+        java.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+        java.add("constant", pattern("\\b[A-Z][A-Z_\\d]+\\b", 0, false, false, null));
+
+        java1.add("class-name", pattern("(^|[^\\w.])(?:[a-z]\\w*\\s*\\.\\s*)*(?:[A-Z]\\w*\\s*\\.\\s*)*[A-Z](?:[\\d_A-Z]*[a-z]\\w*)?\\b", 0, true, false, java2));
+        java1.add("keyword", pattern("\\b(?:abstract|assert|boolean|break|byte|case|catch|char|class|const|continue|default|do|double|else|enum|exports|extends|final|finally|float|for|goto|if|implements|import|instanceof|int|interface|long|module|native|new|non-sealed|null|open|opens|package|permits|private|protected|provides|public|record(?!\\s*[(){}\\[\\]<>=%~.:,;?+\\-*/\\&|^])|requires|return|sealed|short|static|strictfp|super|switch|synchronized|this|throw|throws|to|transient|transitive|try|uses|var|void|volatile|while|with|yield)\\b", 0, false, false, null));
+        java1.add("punctuation", pattern("[<>(),.:]", 0, false, false, null));
+        java1.add("operator", pattern("[?\\&|]", 0, false, false, null));
+
+        java2.add("namespace", pattern("^[a-z]\\w*(?:\\s*\\.\\s*[a-z]\\w*)*(?:\\s*\\.)?", 0, false, false, java3));
+        java2.add("punctuation", pattern("\\.", 0, false, false, null));
+
+        java3.add("punctuation", pattern("\\.", 0, false, false, null));
+
+        java4.add("namespace", pattern("^[a-z]\\w*(?:\\s*\\.\\s*[a-z]\\w*)*(?:\\s*\\.)?", 0, false, false, java3));
+        java4.add("punctuation", pattern("\\.", 0, false, false, null));
+        java4.add("operator", pattern("\\*", 0, false, false, null));
+        java4.add("class-name", pattern("\\w+", 0, false, false, null));
+
+        java5.add("namespace", pattern("^[a-z]\\w*(?:\\s*\\.\\s*[a-z]\\w*)*(?:\\s*\\.)?", 0, false, false, java3));
+        java5.add("static", pattern("\\b\\w+\\z", 0, false, false, null));
+        java5.add("punctuation", pattern("\\.", 0, false, false, null));
+        java5.add("operator", pattern("\\*", 0, false, false, null));
+        java5.add("class-name", pattern("\\w+", 0, false, false, null));
+
+        java6.add("punctuation", pattern("\\.", 0, false, false, null));
+
+        typescript.add("comment",
+            pattern("(^|[^\\\\])\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, true, true, null),
+            pattern("(^|[^\\\\:])\\/\\/.*", 0, true, true, null)
+        );
+        typescript.add("hashbang", pattern("^#!.*", 0, false, true, null, "comment"));
+        typescript.add("template-string", pattern("`(?:\\\\[\\s\\S]|\\$\\{(?:[^{}]|\\{(?:[^{}]|\\{[^}]*\\})*+\\})++\\}|(?!\\$\\{)[^\\\\`])*+`", 0, false, true, typescript1));
+        typescript.add("string-property", pattern("((?:^|[,{])[ \\t]*)([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\2)[^\\\\\\r\\n])*+\\2(?=\\s*:)", Pattern.MULTILINE, true, true, null, "property"));
+        typescript.add("string", pattern("([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\1)[^\\\\\\r\\n])*+\\1", 0, false, true, null));
+        typescript.add("class-name", pattern("(\\b(?:class|extends|implements|instanceof|interface|new|type)\\s+)(?!keyof\\b)(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?:\\s*<(?:[^<>]|<(?:[^<>]|<[^<>]*>)*>)*>)?", 0, true, true, typescript3));
+        typescript.add("regex", pattern("((?:^|[^$\\w\\xA0-\\uFFFF.\"'\\])\\s]|\\b(?:return|yield))\\s*)\\/(?:(?:\\[(?:[^\\]\\\\\\r\\n]|\\\\.)*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}|(?:\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.)*+\\])*+\\])*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}v[dgimyus]{0,7})(?=(?:\\s|\\/\\*(?:[^*]|\\*(?!\\/))*+\\*\\/)*(?:\\z|[\\r\\n,.;:})\\]]|\\/\\/))", 0, true, true, typescript7));
+        typescript.add("function-variable", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*[=:]\\s*(?:async\\s*)?(?:\\bfunction\\b|(?:\\((?:[^()]|\\([^()]*\\))*\\)|(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*)\\s*=>))", 0, false, false, null, "function"));
+        typescript.add("constant", pattern("\\b[A-Z](?:[A-Z_]|\\dx?)*\\b", 0, false, false, null));
+        typescript.add("keyword",
+            pattern("((?:^|\\})\\s*)catch\\b", 0, true, false, null),
+            pattern("(^|[^.]|\\.\\.\\.\\s*)\\b(?:as|assert(?=\\s*\\{)|async(?=\\s*(?:function\\b|\\(|[$\\w\\xA0-\\uFFFF]|\\z))|await|break|case|class|const|continue|debugger|default|delete|do|else|enum|export|extends|finally(?=\\s*(?:\\{|\\z))|for|from(?=\\s*(?:['\"]|\\z))|function|(?:get|set)(?=\\s*(?:[#\\[$\\w\\xA0-\\uFFFF]|\\z))|if|implements|import|in|instanceof|interface|let|new|null|of|package|private|protected|public|return|static|super|switch|this|throw|try|typeof|undefined|var|void|while|with|yield)\\b", 0, true, false, null),
+            pattern("\\b(?:abstract|declare|is|keyof|readonly|require)\\b", 0, false, false, null),
+            pattern("\\b(?:asserts|infer|interface|module|namespace|type)\\b(?=\\s*(?:[{_$a-zA-Z\\xA0-\\uFFFF]|\\z))", 0, false, false, null),
+            pattern("\\btype\\b(?=\\s*(?:[\\{*]|\\z))", 0, false, false, null)
+        );
+        typescript.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+        typescript.add("decorator", pattern("@[$\\w\\xA0-\\uFFFF]+", 0, false, false, typescript8));
+        typescript.add("generic-function", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*\\s*<(?:[^<>]|<(?:[^<>]|<[^<>]*>)*>)*>(?=\\s*\\()", 0, false, true, typescript9));
+        typescript.add("function", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*(?:\\.\\s*(?:apply|bind|call)\\s*)?\\()", 0, false, false, null));
+        typescript.add("number", pattern("(^|[^\\w$])(?:NaN|Infinity|0[bB][01]+(?:_[01]+)*n?|0[oO][0-7]+(?:_[0-7]+)*n?|0[xX][\\dA-Fa-f]+(?:_[\\dA-Fa-f]+)*n?|\\d+(?:_\\d+)*n|(?:\\d+(?:_\\d+)*(?:\\.(?:\\d+(?:_\\d+)*)?)?|\\.\\d+(?:_\\d+)*)(?:[Ee][+-]?\\d+(?:_\\d+)*)?)(?![\\w$])", 0, true, false, null));
+        typescript.add("operator", pattern("--|\\+\\+|\\*\\*=?|=>|&&=?|\\|\\|=?|[!=]==|<<=?|>>>?=?|[-+*/%\\&|^!=<>]=?|\\.{3}|\\?\\?=?|\\?\\.?|[~:]", 0, false, false, null));
+        typescript.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+        typescript.add("builtin", pattern("\\b(?:Array|Function|Promise|any|boolean|console|never|number|string|symbol|unknown)\\b", 0, false, false, null));
+
+        typescript1.add("template-punctuation", pattern("^`|`\\z", 0, false, false, null, "string"));
+        typescript1.add("interpolation", pattern("((?:^|[^\\\\])(?:\\\\{2})*)\\$\\{(?:[^{}]|\\{(?:[^{}]|\\{[^}]*\\})*+\\})++\\}", 0, true, false, typescript2));
+        typescript1.add("string", pattern("[\\s\\S]+", 0, false, false, null));
+
+        typescript2.add("interpolation-punctuation", pattern("^\\$\\{|\\}\\z", 0, false, false, null, "punctuation"));
+        typescript2.add("comment",
+            pattern("(^|[^\\\\])\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, true, true, null),
+            pattern("(^|[^\\\\:])\\/\\/.*", 0, true, true, null)
+        );
+        typescript2.add("hashbang", pattern("^#!.*", 0, false, true, null, "comment"));
+        typescript2.add("template-string", pattern("`(?:\\\\[\\s\\S]|\\$\\{(?:[^{}]|\\{(?:[^{}]|\\{[^}]*\\})*+\\})++\\}|(?!\\$\\{)[^\\\\`])*+`", 0, false, true, typescript1));
+        typescript2.add("string-property", pattern("((?:^|[,{])[ \\t]*)([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\2)[^\\\\\\r\\n])*+\\2(?=\\s*:)", Pattern.MULTILINE, true, true, null, "property"));
+        typescript2.add("string", pattern("([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\1)[^\\\\\\r\\n])*+\\1", 0, false, true, null));
+        typescript2.add("class-name", pattern("(\\b(?:class|extends|implements|instanceof|interface|new|type)\\s+)(?!keyof\\b)(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?:\\s*<(?:[^<>]|<(?:[^<>]|<[^<>]*>)*>)*>)?", 0, true, true, typescript3));
+        typescript2.add("regex", pattern("((?:^|[^$\\w\\xA0-\\uFFFF.\"'\\])\\s]|\\b(?:return|yield))\\s*)\\/(?:(?:\\[(?:[^\\]\\\\\\r\\n]|\\\\.)*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}|(?:\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.)*+\\])*+\\])*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}v[dgimyus]{0,7})(?=(?:\\s|\\/\\*(?:[^*]|\\*(?!\\/))*+\\*\\/)*(?:\\z|[\\r\\n,.;:})\\]]|\\/\\/))", 0, true, true, typescript7));
+        typescript2.add("function-variable", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*[=:]\\s*(?:async\\s*)?(?:\\bfunction\\b|(?:\\((?:[^()]|\\([^()]*\\))*\\)|(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*)\\s*=>))", 0, false, false, null, "function"));
+        typescript2.add("constant", pattern("\\b[A-Z](?:[A-Z_]|\\dx?)*\\b", 0, false, false, null));
+        typescript2.add("keyword",
+            pattern("((?:^|\\})\\s*)catch\\b", 0, true, false, null),
+            pattern("(^|[^.]|\\.\\.\\.\\s*)\\b(?:as|assert(?=\\s*\\{)|async(?=\\s*(?:function\\b|\\(|[$\\w\\xA0-\\uFFFF]|\\z))|await|break|case|class|const|continue|debugger|default|delete|do|else|enum|export|extends|finally(?=\\s*(?:\\{|\\z))|for|from(?=\\s*(?:['\"]|\\z))|function|(?:get|set)(?=\\s*(?:[#\\[$\\w\\xA0-\\uFFFF]|\\z))|if|implements|import|in|instanceof|interface|let|new|null|of|package|private|protected|public|return|static|super|switch|this|throw|try|typeof|undefined|var|void|while|with|yield)\\b", 0, true, false, null),
+            pattern("\\b(?:abstract|declare|is|keyof|readonly|require)\\b", 0, false, false, null),
+            pattern("\\b(?:asserts|infer|interface|module|namespace|type)\\b(?=\\s*(?:[{_$a-zA-Z\\xA0-\\uFFFF]|\\z))", 0, false, false, null),
+            pattern("\\btype\\b(?=\\s*(?:[\\{*]|\\z))", 0, false, false, null)
+        );
+        typescript2.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+        typescript2.add("decorator", pattern("@[$\\w\\xA0-\\uFFFF]+", 0, false, false, typescript8));
+        typescript2.add("generic-function", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*\\s*<(?:[^<>]|<(?:[^<>]|<[^<>]*>)*>)*>(?=\\s*\\()", 0, false, true, typescript9));
+        typescript2.add("function", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*(?:\\.\\s*(?:apply|bind|call)\\s*)?\\()", 0, false, false, null));
+        typescript2.add("number", pattern("(^|[^\\w$])(?:NaN|Infinity|0[bB][01]+(?:_[01]+)*n?|0[oO][0-7]+(?:_[0-7]+)*n?|0[xX][\\dA-Fa-f]+(?:_[\\dA-Fa-f]+)*n?|\\d+(?:_\\d+)*n|(?:\\d+(?:_\\d+)*(?:\\.(?:\\d+(?:_\\d+)*)?)?|\\.\\d+(?:_\\d+)*)(?:[Ee][+-]?\\d+(?:_\\d+)*)?)(?![\\w$])", 0, true, false, null));
+        typescript2.add("operator", pattern("--|\\+\\+|\\*\\*=?|=>|&&=?|\\|\\|=?|[!=]==|<<=?|>>>?=?|[-+*/%\\&|^!=<>]=?|\\.{3}|\\?\\?=?|\\?\\.?|[~:]", 0, false, false, null));
+        typescript2.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+        typescript2.add("builtin", pattern("\\b(?:Array|Function|Promise|any|boolean|console|never|number|string|symbol|unknown)\\b", 0, false, false, null));
+
+        typescript3.add("comment",
+            pattern("(^|[^\\\\])\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, true, true, null),
+            pattern("(^|[^\\\\:])\\/\\/.*", 0, true, true, null)
+        );
+        typescript3.add("hashbang", pattern("^#!.*", 0, false, true, null, "comment"));
+        typescript3.add("template-string", pattern("`(?:\\\\[\\s\\S]|\\$\\{(?:[^{}]|\\{(?:[^{}]|\\{[^}]*\\})*+\\})++\\}|(?!\\$\\{)[^\\\\`])*+`", 0, false, true, typescript4));
+        typescript3.add("string-property", pattern("((?:^|[,{])[ \\t]*)([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\2)[^\\\\\\r\\n])*+\\2(?=\\s*:)", Pattern.MULTILINE, true, true, null, "property"));
+        typescript3.add("string", pattern("([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\1)[^\\\\\\r\\n])*+\\1", 0, false, true, null));
+        typescript3.add("regex", pattern("((?:^|[^$\\w\\xA0-\\uFFFF.\"'\\])\\s]|\\b(?:return|yield))\\s*)\\/(?:(?:\\[(?:[^\\]\\\\\\r\\n]|\\\\.)*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}|(?:\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.)*+\\])*+\\])*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}v[dgimyus]{0,7})(?=(?:\\s|\\/\\*(?:[^*]|\\*(?!\\/))*+\\*\\/)*(?:\\z|[\\r\\n,.;:})\\]]|\\/\\/))", 0, true, true, typescript6));
+        typescript3.add("function-variable", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*[=:]\\s*(?:async\\s*)?(?:\\bfunction\\b|(?:\\((?:[^()]|\\([^()]*\\))*\\)|(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*)\\s*=>))", 0, false, false, null, "function"));
+        typescript3.add("constant", pattern("\\b[A-Z](?:[A-Z_]|\\dx?)*\\b", 0, false, false, null));
+        typescript3.add("keyword",
+            pattern("((?:^|\\})\\s*)catch\\b", 0, true, false, null),
+            pattern("(^|[^.]|\\.\\.\\.\\s*)\\b(?:as|assert(?=\\s*\\{)|async(?=\\s*(?:function\\b|\\(|[$\\w\\xA0-\\uFFFF]|\\z))|await|break|case|class|const|continue|debugger|default|delete|do|else|enum|export|extends|finally(?=\\s*(?:\\{|\\z))|for|from(?=\\s*(?:['\"]|\\z))|function|(?:get|set)(?=\\s*(?:[#\\[$\\w\\xA0-\\uFFFF]|\\z))|if|implements|import|in|instanceof|interface|let|new|null|of|package|private|protected|public|return|static|super|switch|this|throw|try|typeof|undefined|var|void|while|with|yield)\\b", 0, true, false, null),
+            pattern("\\b(?:abstract|declare|is|keyof|readonly|require)\\b", 0, false, false, null),
+            pattern("\\b(?:asserts|infer|interface|module|namespace|type)\\b(?=\\s*(?:[{_$a-zA-Z\\xA0-\\uFFFF]|\\z))", 0, false, false, null),
+            pattern("\\btype\\b(?=\\s*(?:[\\{*]|\\z))", 0, false, false, null)
+        );
+        typescript3.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+        typescript3.add("function", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*(?:\\.\\s*(?:apply|bind|call)\\s*)?\\()", 0, false, false, null));
+        typescript3.add("number", pattern("(^|[^\\w$])(?:NaN|Infinity|0[bB][01]+(?:_[01]+)*n?|0[oO][0-7]+(?:_[0-7]+)*n?|0[xX][\\dA-Fa-f]+(?:_[\\dA-Fa-f]+)*n?|\\d+(?:_\\d+)*n|(?:\\d+(?:_\\d+)*(?:\\.(?:\\d+(?:_\\d+)*)?)?|\\.\\d+(?:_\\d+)*)(?:[Ee][+-]?\\d+(?:_\\d+)*)?)(?![\\w$])", 0, true, false, null));
+        typescript3.add("operator", pattern("--|\\+\\+|\\*\\*=?|=>|&&=?|\\|\\|=?|[!=]==|<<=?|>>>?=?|[-+*/%\\&|^!=<>]=?|\\.{3}|\\?\\?=?|\\?\\.?|[~:]", 0, false, false, null));
+        typescript3.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+        typescript3.add("builtin", pattern("\\b(?:Array|Function|Promise|any|boolean|console|never|number|string|symbol|unknown)\\b", 0, false, false, null));
+
+        typescript4.add("template-punctuation", pattern("^`|`\\z", 0, false, false, null, "string"));
+        typescript4.add("interpolation", pattern("((?:^|[^\\\\])(?:\\\\{2})*)\\$\\{(?:[^{}]|\\{(?:[^{}]|\\{[^}]*\\})*+\\})++\\}", 0, true, false, typescript5));
+        typescript4.add("string", pattern("[\\s\\S]+", 0, false, false, null));
+
+        typescript5.add("interpolation-punctuation", pattern("^\\$\\{|\\}\\z", 0, false, false, null, "punctuation"));
+        typescript5.add("comment",
+            pattern("(^|[^\\\\])\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, true, true, null),
+            pattern("(^|[^\\\\:])\\/\\/.*", 0, true, true, null)
+        );
+        typescript5.add("hashbang", pattern("^#!.*", 0, false, true, null, "comment"));
+        typescript5.add("template-string", pattern("`(?:\\\\[\\s\\S]|\\$\\{(?:[^{}]|\\{(?:[^{}]|\\{[^}]*\\})*+\\})++\\}|(?!\\$\\{)[^\\\\`])*+`", 0, false, true, typescript4));
+        typescript5.add("string-property", pattern("((?:^|[,{])[ \\t]*)([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\2)[^\\\\\\r\\n])*+\\2(?=\\s*:)", Pattern.MULTILINE, true, true, null, "property"));
+        typescript5.add("string", pattern("([\"'])(?:\\\\(?:\\r\\n|[\\s\\S])|(?!\\1)[^\\\\\\r\\n])*+\\1", 0, false, true, null));
+        typescript5.add("regex", pattern("((?:^|[^$\\w\\xA0-\\uFFFF.\"'\\])\\s]|\\b(?:return|yield))\\s*)\\/(?:(?:\\[(?:[^\\]\\\\\\r\\n]|\\\\.)*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}|(?:\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.|\\[(?:[^\\[\\]\\\\\\r\\n]|\\\\.)*+\\])*+\\])*+\\]|\\\\.|[^/\\\\\\[\\r\\n])++\\/[dgimyus]{0,7}v[dgimyus]{0,7})(?=(?:\\s|\\/\\*(?:[^*]|\\*(?!\\/))*+\\*\\/)*(?:\\z|[\\r\\n,.;:})\\]]|\\/\\/))", 0, true, true, typescript6));
+        typescript5.add("function-variable", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*[=:]\\s*(?:async\\s*)?(?:\\bfunction\\b|(?:\\((?:[^()]|\\([^()]*\\))*\\)|(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*)\\s*=>))", 0, false, false, null, "function"));
+        typescript5.add("constant", pattern("\\b[A-Z](?:[A-Z_]|\\dx?)*\\b", 0, false, false, null));
+        typescript5.add("keyword",
+            pattern("((?:^|\\})\\s*)catch\\b", 0, true, false, null),
+            pattern("(^|[^.]|\\.\\.\\.\\s*)\\b(?:as|assert(?=\\s*\\{)|async(?=\\s*(?:function\\b|\\(|[$\\w\\xA0-\\uFFFF]|\\z))|await|break|case|class|const|continue|debugger|default|delete|do|else|enum|export|extends|finally(?=\\s*(?:\\{|\\z))|for|from(?=\\s*(?:['\"]|\\z))|function|(?:get|set)(?=\\s*(?:[#\\[$\\w\\xA0-\\uFFFF]|\\z))|if|implements|import|in|instanceof|interface|let|new|null|of|package|private|protected|public|return|static|super|switch|this|throw|try|typeof|undefined|var|void|while|with|yield)\\b", 0, true, false, null),
+            pattern("\\b(?:abstract|declare|is|keyof|readonly|require)\\b", 0, false, false, null),
+            pattern("\\b(?:asserts|infer|interface|module|namespace|type)\\b(?=\\s*(?:[{_$a-zA-Z\\xA0-\\uFFFF]|\\z))", 0, false, false, null),
+            pattern("\\btype\\b(?=\\s*(?:[\\{*]|\\z))", 0, false, false, null)
+        );
+        typescript5.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+        typescript5.add("function", pattern("#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*(?=\\s*(?:\\.\\s*(?:apply|bind|call)\\s*)?\\()", 0, false, false, null));
+        typescript5.add("number", pattern("(^|[^\\w$])(?:NaN|Infinity|0[bB][01]+(?:_[01]+)*n?|0[oO][0-7]+(?:_[0-7]+)*n?|0[xX][\\dA-Fa-f]+(?:_[\\dA-Fa-f]+)*n?|\\d+(?:_\\d+)*n|(?:\\d+(?:_\\d+)*(?:\\.(?:\\d+(?:_\\d+)*)?)?|\\.\\d+(?:_\\d+)*)(?:[Ee][+-]?\\d+(?:_\\d+)*)?)(?![\\w$])", 0, true, false, null));
+        typescript5.add("operator", pattern("--|\\+\\+|\\*\\*=?|=>|&&=?|\\|\\|=?|[!=]==|<<=?|>>>?=?|[-+*/%\\&|^!=<>]=?|\\.{3}|\\?\\?=?|\\?\\.?|[~:]", 0, false, false, null));
+        typescript5.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+        typescript5.add("builtin", pattern("\\b(?:Array|Function|Promise|any|boolean|console|never|number|string|symbol|unknown)\\b", 0, false, false, null));
+
+        typescript6.add("regex-source", pattern("^(\\/)[\\s\\S]+(?=\\/[a-z]*\\z)", 0, true, false, null, "language-regex"));
+        typescript6.add("regex-delimiter", pattern("^\\/|\\/\\z", 0, false, false, null));
+        typescript6.add("regex-flags", pattern("^[a-z]+\\z", 0, false, false, null));
+
+        typescript7.add("regex-source", pattern("^(\\/)[\\s\\S]+(?=\\/[a-z]*\\z)", 0, true, false, null, "language-regex"));
+        typescript7.add("regex-delimiter", pattern("^\\/|\\/\\z", 0, false, false, null));
+        typescript7.add("regex-flags", pattern("^[a-z]+\\z", 0, false, false, null));
+
+        typescript8.add("at", pattern("^@", 0, false, false, null, "operator"));
+        typescript8.add("function", pattern("^[\\s\\S]+", 0, false, false, null));
+
+        typescript9.add("function", pattern("^#?(?!\\s)[_$a-zA-Z\\xA0-\\uFFFF](?:(?!\\s)[$\\w\\xA0-\\uFFFF])*", 0, false, false, null));
+        typescript9.add("generic", pattern("<[\\s\\S]+", 0, false, false, typescript3, "class-name"));
+
+        json.add("property", pattern("(^|[^\\\\])\"(?:\\\\.|[^\\\\\"\\r\\n])*+\"(?=\\s*:)", 0, true, true, null));
+        json.add("string", pattern("(^|[^\\\\])\"(?:\\\\.|[^\\\\\"\\r\\n])*+\"(?!\\s*:)", 0, true, true, null));
+        json.add("comment", pattern("\\/\\/.*|\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, false, true, null));
+        json.add("number", pattern("-?\\b\\d+(?:\\.\\d+)?(?:e[+-]?\\d+)?\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        json.add("punctuation", pattern("[{}\\[\\],]", 0, false, false, null));
+        json.add("operator", pattern(":", 0, false, false, null));
+        json.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+        json.add("null", pattern("\\bnull\\b", 0, false, false, null, "keyword"));
+
+        bash.add("shebang", pattern("^#!\\s*\\/.*", 0, false, false, null, "important"));
+        bash.add("comment", pattern("(^|[^\"{\\\\$])#.*", 0, true, false, null));
+        bash.add("function-name",
+            pattern("(\\bfunction\\s+)[\\w-]+(?=(?:\\s*\\(?:\\s*\\))?\\s*\\{)", 0, true, false, null, "function"),
+            pattern("\\b[\\w-]+(?=\\s*\\(\\s*\\)\\s*\\{)", 0, false, false, null, "function")
+        );
+        bash.add("for-or-select", pattern("(\\b(?:for|select)\\s+)\\w+(?=\\s+in\\s)", 0, true, false, null, "variable"));
+        bash.add("assign-left", pattern("(^|[\\s;|\\&]|[<>]\\()\\w+(?:\\.\\w+)*(?=\\+?=)", 0, true, false, bash1, "variable"));
+        bash.add("parameter", pattern("(^|\\s)-{1,2}(?:\\w+:[+-]?)?\\w+(?:\\.\\w+)*(?=[=\\s]|\\z)", 0, true, false, null, "variable"));
+        bash.add("string",
+            pattern("((?:^|[^<])<<-?\\s*)(\\w+)\\s[\\s\\S]*?(?:\\r?\\n|\\r)\\2", 0, true, true, bash2),
+            pattern("((?:^|[^<])<<-?\\s*)([\"'])(\\w+)\\2\\s[\\s\\S]*?(?:\\r?\\n|\\r)\\3", 0, true, true, bash5),
+            pattern("(^|[^\\\\](?:\\\\\\\\)*)\"(?:\\\\[\\s\\S]|\\$\\([^)]+\\)|\\$(?!\\()|`[^`]+`|[^\"\\\\`$])*+\"", 0, true, true, bash2),
+            pattern("(^|[^$\\\\])'[^']*'", 0, true, true, null),
+            pattern("\\$'(?:[^'\\\\]|\\\\[\\s\\S])*+'", 0, false, true, bash6)
+        );
+        bash.add("environment", pattern("\\$?\\b(?:BASH|BASHOPTS|BASH_ALIASES|BASH_ARGC|BASH_ARGV|BASH_CMDS|BASH_COMPLETION_COMPAT_DIR|BASH_LINENO|BASH_REMATCH|BASH_SOURCE|BASH_VERSINFO|BASH_VERSION|COLORTERM|COLUMNS|COMP_WORDBREAKS|DBUS_SESSION_BUS_ADDRESS|DEFAULTS_PATH|DESKTOP_SESSION|DIRSTACK|DISPLAY|EUID|GDMSESSION|GDM_LANG|GNOME_KEYRING_CONTROL|GNOME_KEYRING_PID|GPG_AGENT_INFO|GROUPS|HISTCONTROL|HISTFILE|HISTFILESIZE|HISTSIZE|HOME|HOSTNAME|HOSTTYPE|IFS|INSTANCE|JOB|LANG|LANGUAGE|LC_ADDRESS|LC_ALL|LC_IDENTIFICATION|LC_MEASUREMENT|LC_MONETARY|LC_NAME|LC_NUMERIC|LC_PAPER|LC_TELEPHONE|LC_TIME|LESSCLOSE|LESSOPEN|LINES|LOGNAME|LS_COLORS|MACHTYPE|MAILCHECK|MANDATORY_PATH|NO_AT_BRIDGE|OLDPWD|OPTERR|OPTIND|ORBIT_SOCKETDIR|OSTYPE|PAPERSIZE|PATH|PIPESTATUS|PPID|PS1|PS2|PS3|PS4|PWD|RANDOM|REPLY|SECONDS|SELINUX_INIT|SESSION|SESSIONTYPE|SESSION_MANAGER|SHELL|SHELLOPTS|SHLVL|SSH_AUTH_SOCK|TERM|UID|UPSTART_EVENTS|UPSTART_INSTANCE|UPSTART_JOB|UPSTART_SESSION|USER|WINDOWID|XAUTHORITY|XDG_CONFIG_DIRS|XDG_CURRENT_DESKTOP|XDG_DATA_DIRS|XDG_GREETER_DATA_DIR|XDG_MENU_PREFIX|XDG_RUNTIME_DIR|XDG_SEAT|XDG_SEAT_PATH|XDG_SESSION_DESKTOP|XDG_SESSION_ID|XDG_SESSION_PATH|XDG_SESSION_TYPE|XDG_VTNR|XMODIFIERS)\\b", 0, false, false, null, "constant"));
+        bash.add("variable",
+            pattern("\\$?\\(\\([\\s\\S]+?\\)\\)", 0, false, true, bash3),
+            pattern("\\$\\((?:\\([^)]+\\)|[^()])+\\)|`[^`]+`", 0, false, true, bash4),
+            pattern("\\$\\{[^}]+\\}", 0, false, true, bash8),
+            pattern("\\$(?:\\w+|[#?*!@$])", 0, false, false, null)
+        );
+        bash.add("function", pattern("(^|[\\s;|\\&]|[<>]\\()(?:add|apropos|apt|apt-cache|apt-get|aptitude|aspell|automysqlbackup|awk|basename|bash|bc|bconsole|bg|bzip2|cal|cargo|cat|cfdisk|chgrp|chkconfig|chmod|chown|chroot|cksum|clear|cmp|column|comm|composer|cp|cron|crontab|csplit|curl|cut|date|dc|dd|ddrescue|debootstrap|df|diff|diff3|dig|dir|dircolors|dirname|dirs|dmesg|docker|docker-compose|du|egrep|eject|env|ethtool|expand|expect|expr|fdformat|fdisk|fg|fgrep|file|find|fmt|fold|format|free|fsck|ftp|fuser|gawk|git|gparted|grep|groupadd|groupdel|groupmod|groups|grub-mkconfig|gzip|halt|head|hg|history|host|hostname|htop|iconv|id|ifconfig|ifdown|ifup|import|install|ip|java|jobs|join|kill|killall|less|link|ln|locate|logname|logrotate|look|lpc|lpr|lprint|lprintd|lprintq|lprm|ls|lsof|lynx|make|man|mc|mdadm|mkconfig|mkdir|mke2fs|mkfifo|mkfs|mkisofs|mknod|mkswap|mmv|more|most|mount|mtools|mtr|mutt|mv|nano|nc|netstat|nice|nl|node|nohup|notify-send|npm|nslookup|op|open|parted|passwd|paste|pathchk|ping|pkill|pnpm|podman|podman-compose|popd|pr|printcap|printenv|ps|pushd|pv|quota|quotacheck|quotactl|ram|rar|rcp|reboot|remsync|rename|renice|rev|rm|rmdir|rpm|rsync|scp|screen|sdiff|sed|sendmail|seq|service|sftp|sh|shellcheck|shuf|shutdown|sleep|slocate|sort|split|ssh|stat|strace|su|sudo|sum|suspend|swapon|sync|sysctl|tac|tail|tar|tee|time|timeout|top|touch|tr|traceroute|tsort|tty|umount|uname|unexpand|uniq|units|unrar|unshar|unzip|update-grub|uptime|useradd|userdel|usermod|users|uudecode|uuencode|v|vcpkg|vdir|vi|vim|virsh|vmstat|wait|watch|wc|wget|whereis|which|who|whoami|write|xargs|xdg-open|yarn|yes|zenity|zip|zsh|zypper)(?=\\z|[)\\s;|\\&])", 0, true, false, null));
+        bash.add("keyword", pattern("(^|[\\s;|\\&]|[<>]\\()(?:case|do|done|elif|else|esac|fi|for|function|if|in|select|then|until|while)(?=\\z|[)\\s;|\\&])", 0, true, false, null));
+        bash.add("builtin", pattern("(^|[\\s;|\\&]|[<>]\\()(?:\\.|:|alias|bind|break|builtin|caller|cd|command|continue|declare|echo|enable|eval|exec|exit|export|getopts|hash|help|let|local|logout|mapfile|printf|pwd|read|readarray|readonly|return|set|shift|shopt|source|test|times|trap|type|typeset|ulimit|umask|unalias|unset)(?=\\z|[)\\s;|\\&])", 0, true, false, null, "class-name"));
+        bash.add("boolean", pattern("(^|[\\s;|\\&]|[<>]\\()(?:false|true)(?=\\z|[)\\s;|\\&])", 0, true, false, null));
+        bash.add("file-descriptor", pattern("\\B&\\d\\b", 0, false, false, null, "important"));
+        bash.add("operator", pattern("\\d?<>|>\\||\\+=|=[=~]?|!=?|<<[<-]?|[\\&\\d]?>>|\\d[<>]&?|[<>][\\&=]?|&[>\\&]?|\\|[\\&|]?", 0, false, false, bash7));
+        bash.add("punctuation", pattern("\\$?\\(\\(?|\\)\\)?|\\.\\.|[{}\\[\\];\\\\]", 0, false, false, null));
+        bash.add("number", pattern("(^|\\s)(?:[1-9]\\d*|0)(?:[.,]\\d+)?\\b", 0, true, false, null));
+
+        bash1.add("environment", pattern("(^|[\\s;|\\&]|[<>]\\()\\b(?:BASH|BASHOPTS|BASH_ALIASES|BASH_ARGC|BASH_ARGV|BASH_CMDS|BASH_COMPLETION_COMPAT_DIR|BASH_LINENO|BASH_REMATCH|BASH_SOURCE|BASH_VERSINFO|BASH_VERSION|COLORTERM|COLUMNS|COMP_WORDBREAKS|DBUS_SESSION_BUS_ADDRESS|DEFAULTS_PATH|DESKTOP_SESSION|DIRSTACK|DISPLAY|EUID|GDMSESSION|GDM_LANG|GNOME_KEYRING_CONTROL|GNOME_KEYRING_PID|GPG_AGENT_INFO|GROUPS|HISTCONTROL|HISTFILE|HISTFILESIZE|HISTSIZE|HOME|HOSTNAME|HOSTTYPE|IFS|INSTANCE|JOB|LANG|LANGUAGE|LC_ADDRESS|LC_ALL|LC_IDENTIFICATION|LC_MEASUREMENT|LC_MONETARY|LC_NAME|LC_NUMERIC|LC_PAPER|LC_TELEPHONE|LC_TIME|LESSCLOSE|LESSOPEN|LINES|LOGNAME|LS_COLORS|MACHTYPE|MAILCHECK|MANDATORY_PATH|NO_AT_BRIDGE|OLDPWD|OPTERR|OPTIND|ORBIT_SOCKETDIR|OSTYPE|PAPERSIZE|PATH|PIPESTATUS|PPID|PS1|PS2|PS3|PS4|PWD|RANDOM|REPLY|SECONDS|SELINUX_INIT|SESSION|SESSIONTYPE|SESSION_MANAGER|SHELL|SHELLOPTS|SHLVL|SSH_AUTH_SOCK|TERM|UID|UPSTART_EVENTS|UPSTART_INSTANCE|UPSTART_JOB|UPSTART_SESSION|USER|WINDOWID|XAUTHORITY|XDG_CONFIG_DIRS|XDG_CURRENT_DESKTOP|XDG_DATA_DIRS|XDG_GREETER_DATA_DIR|XDG_MENU_PREFIX|XDG_RUNTIME_DIR|XDG_SEAT|XDG_SEAT_PATH|XDG_SESSION_DESKTOP|XDG_SESSION_ID|XDG_SESSION_PATH|XDG_SESSION_TYPE|XDG_VTNR|XMODIFIERS)\\b", 0, true, false, null, "constant"));
+
+        bash2.add("bash", pattern("(^([\"']?)\\w+\\2)[ \\t]+\\S.*", 0, true, false, bash, "punctuation"));
+        bash2.add("environment", pattern("\\$\\b(?:BASH|BASHOPTS|BASH_ALIASES|BASH_ARGC|BASH_ARGV|BASH_CMDS|BASH_COMPLETION_COMPAT_DIR|BASH_LINENO|BASH_REMATCH|BASH_SOURCE|BASH_VERSINFO|BASH_VERSION|COLORTERM|COLUMNS|COMP_WORDBREAKS|DBUS_SESSION_BUS_ADDRESS|DEFAULTS_PATH|DESKTOP_SESSION|DIRSTACK|DISPLAY|EUID|GDMSESSION|GDM_LANG|GNOME_KEYRING_CONTROL|GNOME_KEYRING_PID|GPG_AGENT_INFO|GROUPS|HISTCONTROL|HISTFILE|HISTFILESIZE|HISTSIZE|HOME|HOSTNAME|HOSTTYPE|IFS|INSTANCE|JOB|LANG|LANGUAGE|LC_ADDRESS|LC_ALL|LC_IDENTIFICATION|LC_MEASUREMENT|LC_MONETARY|LC_NAME|LC_NUMERIC|LC_PAPER|LC_TELEPHONE|LC_TIME|LESSCLOSE|LESSOPEN|LINES|LOGNAME|LS_COLORS|MACHTYPE|MAILCHECK|MANDATORY_PATH|NO_AT_BRIDGE|OLDPWD|OPTERR|OPTIND|ORBIT_SOCKETDIR|OSTYPE|PAPERSIZE|PATH|PIPESTATUS|PPID|PS1|PS2|PS3|PS4|PWD|RANDOM|REPLY|SECONDS|SELINUX_INIT|SESSION|SESSIONTYPE|SESSION_MANAGER|SHELL|SHELLOPTS|SHLVL|SSH_AUTH_SOCK|TERM|UID|UPSTART_EVENTS|UPSTART_INSTANCE|UPSTART_JOB|UPSTART_SESSION|USER|WINDOWID|XAUTHORITY|XDG_CONFIG_DIRS|XDG_CURRENT_DESKTOP|XDG_DATA_DIRS|XDG_GREETER_DATA_DIR|XDG_MENU_PREFIX|XDG_RUNTIME_DIR|XDG_SEAT|XDG_SEAT_PATH|XDG_SESSION_DESKTOP|XDG_SESSION_ID|XDG_SESSION_PATH|XDG_SESSION_TYPE|XDG_VTNR|XMODIFIERS)\\b", 0, false, false, null, "constant"));
+        bash2.add("variable",
+            pattern("\\$?\\(\\([\\s\\S]+?\\)\\)", 0, false, true, bash3),
+            pattern("\\$\\((?:\\([^)]+\\)|[^()])+\\)|`[^`]+`", 0, false, true, bash4),
+            pattern("\\$\\{[^}]+\\}", 0, false, true, bash8),
+            pattern("\\$(?:\\w+|[#?*!@$])", 0, false, false, null)
+        );
+        bash2.add("entity", pattern("\\\\(?:[abceEfnrtv\\\\\"]|O?[0-7]{1,3}|U[0-9a-fA-F]{8}|u[0-9a-fA-F]{4}|x[0-9a-fA-F]{1,2})", 0, false, false, null));
+
+        bash3.add("variable",
+            pattern("(^\\$\\(\\([\\s\\S]+)\\)\\)", 0, true, false, null),
+            pattern("^\\$\\(\\(", 0, false, false, null)
+        );
+        bash3.add("number", pattern("\\b0x[\\dA-Fa-f]+\\b|(?:\\b\\d+(?:\\.\\d*)?|\\B\\.\\d+)(?:[Ee]-?\\d+)?", 0, false, false, null));
+        bash3.add("operator", pattern("--|\\+\\+|\\*\\*=?|<<=?|>>=?|&&|\\|\\||[=!+\\-*/%<>^\\&|]=?|[?~:]", 0, false, false, null));
+        bash3.add("punctuation", pattern("\\(\\(?|\\)\\)?|,|;", 0, false, false, null));
+
+        bash4.add("variable", pattern("^\\$\\(|^`|\\)\\z|`\\z", 0, false, false, null));
+        bash4.add("comment", pattern("(^|[^\"{\\\\$])#.*", 0, true, false, null));
+        bash4.add("function-name",
+            pattern("(\\bfunction\\s+)[\\w-]+(?=(?:\\s*\\(?:\\s*\\))?\\s*\\{)", 0, true, false, null, "function"),
+            pattern("\\b[\\w-]+(?=\\s*\\(\\s*\\)\\s*\\{)", 0, false, false, null, "function")
+        );
+        bash4.add("for-or-select", pattern("(\\b(?:for|select)\\s+)\\w+(?=\\s+in\\s)", 0, true, false, null, "variable"));
+        bash4.add("assign-left", pattern("(^|[\\s;|\\&]|[<>]\\()\\w+(?:\\.\\w+)*(?=\\+?=)", 0, true, false, bash1, "variable"));
+        bash4.add("parameter", pattern("(^|\\s)-{1,2}(?:\\w+:[+-]?)?\\w+(?:\\.\\w+)*(?=[=\\s]|\\z)", 0, true, false, null, "variable"));
+        bash4.add("string",
+            pattern("((?:^|[^<])<<-?\\s*)(\\w+)\\s[\\s\\S]*?(?:\\r?\\n|\\r)\\2", 0, true, true, bash2),
+            pattern("((?:^|[^<])<<-?\\s*)([\"'])(\\w+)\\2\\s[\\s\\S]*?(?:\\r?\\n|\\r)\\3", 0, true, true, bash5),
+            pattern("(^|[^\\\\](?:\\\\\\\\)*)\"(?:\\\\[\\s\\S]|\\$\\([^)]+\\)|\\$(?!\\()|`[^`]+`|[^\"\\\\`$])*+\"", 0, true, true, bash2),
+            pattern("(^|[^$\\\\])'[^']*'", 0, true, true, null),
+            pattern("\\$'(?:[^'\\\\]|\\\\[\\s\\S])*+'", 0, false, true, bash6)
+        );
+        bash4.add("environment", pattern("\\$?\\b(?:BASH|BASHOPTS|BASH_ALIASES|BASH_ARGC|BASH_ARGV|BASH_CMDS|BASH_COMPLETION_COMPAT_DIR|BASH_LINENO|BASH_REMATCH|BASH_SOURCE|BASH_VERSINFO|BASH_VERSION|COLORTERM|COLUMNS|COMP_WORDBREAKS|DBUS_SESSION_BUS_ADDRESS|DEFAULTS_PATH|DESKTOP_SESSION|DIRSTACK|DISPLAY|EUID|GDMSESSION|GDM_LANG|GNOME_KEYRING_CONTROL|GNOME_KEYRING_PID|GPG_AGENT_INFO|GROUPS|HISTCONTROL|HISTFILE|HISTFILESIZE|HISTSIZE|HOME|HOSTNAME|HOSTTYPE|IFS|INSTANCE|JOB|LANG|LANGUAGE|LC_ADDRESS|LC_ALL|LC_IDENTIFICATION|LC_MEASUREMENT|LC_MONETARY|LC_NAME|LC_NUMERIC|LC_PAPER|LC_TELEPHONE|LC_TIME|LESSCLOSE|LESSOPEN|LINES|LOGNAME|LS_COLORS|MACHTYPE|MAILCHECK|MANDATORY_PATH|NO_AT_BRIDGE|OLDPWD|OPTERR|OPTIND|ORBIT_SOCKETDIR|OSTYPE|PAPERSIZE|PATH|PIPESTATUS|PPID|PS1|PS2|PS3|PS4|PWD|RANDOM|REPLY|SECONDS|SELINUX_INIT|SESSION|SESSIONTYPE|SESSION_MANAGER|SHELL|SHELLOPTS|SHLVL|SSH_AUTH_SOCK|TERM|UID|UPSTART_EVENTS|UPSTART_INSTANCE|UPSTART_JOB|UPSTART_SESSION|USER|WINDOWID|XAUTHORITY|XDG_CONFIG_DIRS|XDG_CURRENT_DESKTOP|XDG_DATA_DIRS|XDG_GREETER_DATA_DIR|XDG_MENU_PREFIX|XDG_RUNTIME_DIR|XDG_SEAT|XDG_SEAT_PATH|XDG_SESSION_DESKTOP|XDG_SESSION_ID|XDG_SESSION_PATH|XDG_SESSION_TYPE|XDG_VTNR|XMODIFIERS)\\b", 0, false, false, null, "constant"));
+        bash4.add("function", pattern("(^|[\\s;|\\&]|[<>]\\()(?:add|apropos|apt|apt-cache|apt-get|aptitude|aspell|automysqlbackup|awk|basename|bash|bc|bconsole|bg|bzip2|cal|cargo|cat|cfdisk|chgrp|chkconfig|chmod|chown|chroot|cksum|clear|cmp|column|comm|composer|cp|cron|crontab|csplit|curl|cut|date|dc|dd|ddrescue|debootstrap|df|diff|diff3|dig|dir|dircolors|dirname|dirs|dmesg|docker|docker-compose|du|egrep|eject|env|ethtool|expand|expect|expr|fdformat|fdisk|fg|fgrep|file|find|fmt|fold|format|free|fsck|ftp|fuser|gawk|git|gparted|grep|groupadd|groupdel|groupmod|groups|grub-mkconfig|gzip|halt|head|hg|history|host|hostname|htop|iconv|id|ifconfig|ifdown|ifup|import|install|ip|java|jobs|join|kill|killall|less|link|ln|locate|logname|logrotate|look|lpc|lpr|lprint|lprintd|lprintq|lprm|ls|lsof|lynx|make|man|mc|mdadm|mkconfig|mkdir|mke2fs|mkfifo|mkfs|mkisofs|mknod|mkswap|mmv|more|most|mount|mtools|mtr|mutt|mv|nano|nc|netstat|nice|nl|node|nohup|notify-send|npm|nslookup|op|open|parted|passwd|paste|pathchk|ping|pkill|pnpm|podman|podman-compose|popd|pr|printcap|printenv|ps|pushd|pv|quota|quotacheck|quotactl|ram|rar|rcp|reboot|remsync|rename|renice|rev|rm|rmdir|rpm|rsync|scp|screen|sdiff|sed|sendmail|seq|service|sftp|sh|shellcheck|shuf|shutdown|sleep|slocate|sort|split|ssh|stat|strace|su|sudo|sum|suspend|swapon|sync|sysctl|tac|tail|tar|tee|time|timeout|top|touch|tr|traceroute|tsort|tty|umount|uname|unexpand|uniq|units|unrar|unshar|unzip|update-grub|uptime|useradd|userdel|usermod|users|uudecode|uuencode|v|vcpkg|vdir|vi|vim|virsh|vmstat|wait|watch|wc|wget|whereis|which|who|whoami|write|xargs|xdg-open|yarn|yes|zenity|zip|zsh|zypper)(?=\\z|[)\\s;|\\&])", 0, true, false, null));
+        bash4.add("keyword", pattern("(^|[\\s;|\\&]|[<>]\\()(?:case|do|done|elif|else|esac|fi|for|function|if|in|select|then|until|while)(?=\\z|[)\\s;|\\&])", 0, true, false, null));
+        bash4.add("builtin", pattern("(^|[\\s;|\\&]|[<>]\\()(?:\\.|:|alias|bind|break|builtin|caller|cd|command|continue|declare|echo|enable|eval|exec|exit|export|getopts|hash|help|let|local|logout|mapfile|printf|pwd|read|readarray|readonly|return|set|shift|shopt|source|test|times|trap|type|typeset|ulimit|umask|unalias|unset)(?=\\z|[)\\s;|\\&])", 0, true, false, null, "class-name"));
+        bash4.add("boolean", pattern("(^|[\\s;|\\&]|[<>]\\()(?:false|true)(?=\\z|[)\\s;|\\&])", 0, true, false, null));
+        bash4.add("file-descriptor", pattern("\\B&\\d\\b", 0, false, false, null, "important"));
+        bash4.add("operator", pattern("\\d?<>|>\\||\\+=|=[=~]?|!=?|<<[<-]?|[\\&\\d]?>>|\\d[<>]&?|[<>][\\&=]?|&[>\\&]?|\\|[\\&|]?", 0, false, false, bash7));
+        bash4.add("punctuation", pattern("\\$?\\(\\(?|\\)\\)?|\\.\\.|[{}\\[\\];\\\\]", 0, false, false, null));
+        bash4.add("number", pattern("(^|\\s)(?:[1-9]\\d*|0)(?:[.,]\\d+)?\\b", 0, true, false, null));
+
+        bash5.add("bash", pattern("(^([\"']?)\\w+\\2)[ \\t]+\\S.*", 0, true, false, bash, "punctuation"));
+
+        bash6.add("entity", pattern("\\\\(?:[abceEfnrtv\\\\\"]|O?[0-7]{1,3}|U[0-9a-fA-F]{8}|u[0-9a-fA-F]{4}|x[0-9a-fA-F]{1,2})", 0, false, false, null));
+
+        bash7.add("file-descriptor", pattern("^\\d", 0, false, false, null, "important"));
+
+        bash8.add("operator", pattern(":[-=?+]?|[!\\/]|##?|%%?|\\^\\^?|,,?", 0, false, false, null));
+        bash8.add("punctuation", pattern("[\\[\\]]", 0, false, false, null));
+        bash8.add("environment", pattern("(\\{)\\b(?:BASH|BASHOPTS|BASH_ALIASES|BASH_ARGC|BASH_ARGV|BASH_CMDS|BASH_COMPLETION_COMPAT_DIR|BASH_LINENO|BASH_REMATCH|BASH_SOURCE|BASH_VERSINFO|BASH_VERSION|COLORTERM|COLUMNS|COMP_WORDBREAKS|DBUS_SESSION_BUS_ADDRESS|DEFAULTS_PATH|DESKTOP_SESSION|DIRSTACK|DISPLAY|EUID|GDMSESSION|GDM_LANG|GNOME_KEYRING_CONTROL|GNOME_KEYRING_PID|GPG_AGENT_INFO|GROUPS|HISTCONTROL|HISTFILE|HISTFILESIZE|HISTSIZE|HOME|HOSTNAME|HOSTTYPE|IFS|INSTANCE|JOB|LANG|LANGUAGE|LC_ADDRESS|LC_ALL|LC_IDENTIFICATION|LC_MEASUREMENT|LC_MONETARY|LC_NAME|LC_NUMERIC|LC_PAPER|LC_TELEPHONE|LC_TIME|LESSCLOSE|LESSOPEN|LINES|LOGNAME|LS_COLORS|MACHTYPE|MAILCHECK|MANDATORY_PATH|NO_AT_BRIDGE|OLDPWD|OPTERR|OPTIND|ORBIT_SOCKETDIR|OSTYPE|PAPERSIZE|PATH|PIPESTATUS|PPID|PS1|PS2|PS3|PS4|PWD|RANDOM|REPLY|SECONDS|SELINUX_INIT|SESSION|SESSIONTYPE|SESSION_MANAGER|SHELL|SHELLOPTS|SHLVL|SSH_AUTH_SOCK|TERM|UID|UPSTART_EVENTS|UPSTART_INSTANCE|UPSTART_JOB|UPSTART_SESSION|USER|WINDOWID|XAUTHORITY|XDG_CONFIG_DIRS|XDG_CURRENT_DESKTOP|XDG_DATA_DIRS|XDG_GREETER_DATA_DIR|XDG_MENU_PREFIX|XDG_RUNTIME_DIR|XDG_SEAT|XDG_SEAT_PATH|XDG_SESSION_DESKTOP|XDG_SESSION_ID|XDG_SESSION_PATH|XDG_SESSION_TYPE|XDG_VTNR|XMODIFIERS)\\b", 0, true, false, null, "constant"));
+
+        sql.add("comment", pattern("(^|[^\\\\])(?:\\/\\*[\\s\\S]*?\\*\\/|(?:--|\\/\\/|#).*)", 0, true, false, null));
+        sql.add("variable",
+            pattern("@([\"'`])(?:\\\\[\\s\\S]|(?!\\1)[^\\\\])+\\1", 0, false, true, null),
+            pattern("@[\\w.$]+", 0, false, false, null)
+        );
+        sql.add("string", pattern("(^|[^@\\\\])(\"|')(?:\\\\[\\s\\S]|(?!\\2)[^\\\\]|\\2\\2(?=(?:\\\\[\\s\\S]|(?!\\2)[^\\\\])*+\\2))*+\\2", 0, true, true, null));
+        sql.add("identifier", pattern("(^|[^@\\\\])`(?:\\\\[\\s\\S]|[^`\\\\]|``(?=(?:\\\\[\\s\\S]|[^`\\\\])*+`))*+`", 0, true, true, sql1));
+        sql.add("function", pattern("\\b(?:AVG|COUNT|FIRST|FORMAT|LAST|LCASE|LEN|MAX|MID|MIN|MOD|NOW|ROUND|SUM|UCASE)(?=\\s*\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        sql.add("keyword", pattern("\\b(?:ACTION|ADD|AFTER|ALGORITHM|ALL|ALTER|ANALYZE|ANY|APPLY|AS|ASC|AUTHORIZATION|AUTO_INCREMENT|BACKUP|BDB|BEGIN|BERKELEYDB|BIGINT|BINARY|BIT|BLOB|BOOL|BOOLEAN|BREAK|BROWSE|BTREE|BULK|BY|CALL|CASCADED?|CASE|CHAIN|CHAR(?:ACTER|SET)?|CHECK(?:POINT)?|CLOSE|CLUSTERED|COALESCE|COLLATE|COLUMNS?|COMMENT|COMMIT(?:TED)?|COMPUTE|CONNECT|CONSISTENT|CONSTRAINT|CONTAINS(?:TABLE)?|CONTINUE|CONVERT|CREATE|CROSS|CURRENT(?:_DATE|_TIME|_TIMESTAMP|_USER)?|CURSOR|CYCLE|DATA(?:BASES?)?|DATE(?:TIME)?|DAY|DBCC|DEALLOCATE|DEC|DECIMAL|DECLARE|DEFAULT|DEFINER|DELAYED|DELETE|DELIMITERS?|DENY|DESC|DESCRIBE|DETERMINISTIC|DISABLE|DISCARD|DISK|DISTINCT|DISTINCTROW|DISTRIBUTED|DO|DOUBLE|DROP|DUMMY|DUMP(?:FILE)?|DUPLICATE|ELSE(?:IF)?|ENABLE|ENCLOSED|END|ENGINE|ENUM|ERRLVL|ERRORS|ESCAPED?|EXCEPT|EXEC(?:UTE)?|EXISTS|EXIT|EXPLAIN|EXTENDED|FETCH|FIELDS|FILE|FILLFACTOR|FIRST|FIXED|FLOAT|FOLLOWING|FOR(?: EACH ROW)?|FORCE|FOREIGN|FREETEXT(?:TABLE)?|FROM|FULL|FUNCTION|GEOMETRY(?:COLLECTION)?|GLOBAL|GOTO|GRANT|GROUP|HANDLER|HASH|HAVING|HOLDLOCK|HOUR|IDENTITY(?:COL|_INSERT)?|IF|IGNORE|IMPORT|INDEX|INFILE|INNER|INNODB|INOUT|INSERT|INT|INTEGER|INTERSECT|INTERVAL|INTO|INVOKER|ISOLATION|ITERATE|JOIN|KEYS?|KILL|LANGUAGE|LAST|LEAVE|LEFT|LEVEL|LIMIT|LINENO|LINES|LINESTRING|LOAD|LOCAL|LOCK|LONG(?:BLOB|TEXT)|LOOP|MATCH(?:ED)?|MEDIUM(?:BLOB|INT|TEXT)|MERGE|MIDDLEINT|MINUTE|MODE|MODIFIES|MODIFY|MONTH|MULTI(?:LINESTRING|POINT|POLYGON)|NATIONAL|NATURAL|NCHAR|NEXT|NO|NONCLUSTERED|NULLIF|NUMERIC|OFF?|OFFSETS?|ON|OPEN(?:DATASOURCE|QUERY|ROWSET)?|OPTIMIZE|OPTION(?:ALLY)?|ORDER|OUT(?:ER|FILE)?|OVER|PARTIAL|PARTITION|PERCENT|PIVOT|PLAN|POINT|POLYGON|PRECEDING|PRECISION|PREPARE|PREV|PRIMARY|PRINT|PRIVILEGES|PROC(?:EDURE)?|PUBLIC|PURGE|QUICK|RAISERROR|READS?|REAL|RECONFIGURE|REFERENCES|RELEASE|RENAME|REPEAT(?:ABLE)?|REPLACE|REPLICATION|REQUIRE|RESIGNAL|RESTORE|RESTRICT|RETURN(?:ING|S)?|REVOKE|RIGHT|ROLLBACK|ROUTINE|ROW(?:COUNT|GUIDCOL|S)?|RTREE|RULE|SAVE(?:POINT)?|SCHEMA|SECOND|SELECT|SERIAL(?:IZABLE)?|SESSION(?:_USER)?|SET(?:USER)?|SHARE|SHOW|SHUTDOWN|SIMPLE|SMALLINT|SNAPSHOT|SOME|SONAME|SQL|START(?:ING)?|STATISTICS|STATUS|STRIPED|SYSTEM_USER|TABLES?|TABLESPACE|TEMP(?:ORARY|TABLE)?|TERMINATED|TEXT(?:SIZE)?|THEN|TIME(?:STAMP)?|TINY(?:BLOB|INT|TEXT)|TOP?|TRAN(?:SACTIONS?)?|TRIGGER|TRUNCATE|TSEQUAL|TYPES?|UNBOUNDED|UNCOMMITTED|UNDEFINED|UNION|UNIQUE|UNLOCK|UNPIVOT|UNSIGNED|UPDATE(?:TEXT)?|USAGE|USE|USER|USING|VALUES?|VAR(?:BINARY|CHAR|CHARACTER|YING)|VIEW|WAITFOR|WARNINGS|WHEN|WHERE|WHILE|WITH(?: ROLLUP|IN)?|WORK|WRITE(?:TEXT)?|YEAR)\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        sql.add("boolean", pattern("\\b(?:FALSE|NULL|TRUE)\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        sql.add("number", pattern("\\b0x[\\da-f]+\\b|\\b\\d+(?:\\.\\d*)?|\\B\\.\\d+\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        sql.add("operator", pattern("[-+*\\/=%^~]|&&?|\\|\\|?|!=?|<(?:=>?|<|>)?|>[>=]?|\\b(?:AND|BETWEEN|DIV|ILIKE|IN|IS|LIKE|NOT|OR|REGEXP|RLIKE|SOUNDS LIKE|XOR)\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        sql.add("punctuation", pattern("[;\\[\\]()`,.]", 0, false, false, null));
+
+        sql1.add("punctuation", pattern("^`|`\\z", 0, false, false, null));
+
+        python.add("comment", pattern("(^|[^\\\\])#.*", 0, true, true, null));
+        python.add("string-interpolation", pattern("(?:f|fr|rf)(?:(\"\"\"|''')[\\s\\S]*?\\1|(\"|')(?:\\\\.|(?!\\2)[^\\\\\\r\\n])*+\\2)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, python1));
+        python.add("triple-quoted-string", pattern("(?:[rub]|br|rb)?(\"\"\"|''')[\\s\\S]*?\\1", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, null, "string"));
+        python.add("string", pattern("(?:[rub]|br|rb)?(\"|')(?:\\\\.|(?!\\1)[^\\\\\\r\\n])*+\\1", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, null));
+        python.add("function", pattern("((?:^|\\s)def[ \\t]+)[a-zA-Z_]\\w*(?=\\s*\\()", 0, true, false, null));
+        python.add("class-name", pattern("(\\bclass\\s+)\\w+", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null));
+        python.add("decorator", pattern("(^[\\t ]*)@\\w+(?:\\.\\w+)*", Pattern.MULTILINE, true, false, python3, "annotation", "punctuation"));
+        python.add("keyword", pattern("\\b(?:_(?=\\s*:)|and|as|assert|async|await|break|case|class|continue|def|del|elif|else|except|exec|finally|for|from|global|if|import|in|is|lambda|match|nonlocal|not|or|pass|print|raise|return|try|while|with|yield)\\b", 0, false, false, null));
+        python.add("builtin", pattern("\\b(?:__import__|abs|all|any|apply|ascii|basestring|bin|bool|buffer|bytearray|bytes|callable|chr|classmethod|cmp|coerce|compile|complex|delattr|dict|dir|divmod|enumerate|eval|execfile|file|filter|float|format|frozenset|getattr|globals|hasattr|hash|help|hex|id|input|int|intern|isinstance|issubclass|iter|len|list|locals|long|map|max|memoryview|min|next|object|oct|open|ord|pow|property|range|raw_input|reduce|reload|repr|reversed|round|set|setattr|slice|sorted|staticmethod|str|sum|super|tuple|type|unichr|unicode|vars|xrange|zip)\\b", 0, false, false, null));
+        python.add("boolean", pattern("\\b(?:False|None|True)\\b", 0, false, false, null));
+        python.add("number", pattern("\\b0(?:b(?:_?[01])+|o(?:_?[0-7])+|x(?:_?[a-f0-9])+)\\b|(?:\\b\\d+(?:_\\d+)*(?:\\.(?:\\d+(?:_\\d+)*)?)?|\\B\\.\\d+(?:_\\d+)*)(?:e[+-]?\\d+(?:_\\d+)*)?j?(?!\\w)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        python.add("operator", pattern("[-+%=]=?|!=|:=|\\*\\*?=?|\\/\\/?=?|<[<=>]?|>[=>]?|[\\&|^~]", 0, false, false, null));
+        python.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+
+        python1.add("interpolation", pattern("((?:^|[^{])(?:\\{\\{)*)\\{(?!\\{)(?:[^{}]|\\{(?!\\{)(?:[^{}]|\\{(?!\\{)(?:[^{}])+\\})++\\})++\\}", 0, true, false, python2));
+        python1.add("string", pattern("[\\s\\S]+", 0, false, false, null));
+
+        python2.add("format-spec", pattern("(:)[^:(){}]+(?=\\}\\z)", 0, true, false, null));
+        python2.add("conversion-option", pattern("![sra](?=[:}]\\z)", 0, false, false, null, "punctuation"));
+        python2.add("comment", pattern("(^|[^\\\\])#.*", 0, true, true, null));
+        python2.add("string-interpolation", pattern("(?:f|fr|rf)(?:(\"\"\"|''')[\\s\\S]*?\\1|(\"|')(?:\\\\.|(?!\\2)[^\\\\\\r\\n])*+\\2)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, python1));
+        python2.add("triple-quoted-string", pattern("(?:[rub]|br|rb)?(\"\"\"|''')[\\s\\S]*?\\1", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, null, "string"));
+        python2.add("string", pattern("(?:[rub]|br|rb)?(\"|')(?:\\\\.|(?!\\1)[^\\\\\\r\\n])*+\\1", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, null));
+        python2.add("function", pattern("((?:^|\\s)def[ \\t]+)[a-zA-Z_]\\w*(?=\\s*\\()", 0, true, false, null));
+        python2.add("class-name", pattern("(\\bclass\\s+)\\w+", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null));
+        python2.add("decorator", pattern("(^[\\t ]*)@\\w+(?:\\.\\w+)*", Pattern.MULTILINE, true, false, python3, "annotation", "punctuation"));
+        python2.add("keyword", pattern("\\b(?:_(?=\\s*:)|and|as|assert|async|await|break|case|class|continue|def|del|elif|else|except|exec|finally|for|from|global|if|import|in|is|lambda|match|nonlocal|not|or|pass|print|raise|return|try|while|with|yield)\\b", 0, false, false, null));
+        python2.add("builtin", pattern("\\b(?:__import__|abs|all|any|apply|ascii|basestring|bin|bool|buffer|bytearray|bytes|callable|chr|classmethod|cmp|coerce|compile|complex|delattr|dict|dir|divmod|enumerate|eval|execfile|file|filter|float|format|frozenset|getattr|globals|hasattr|hash|help|hex|id|input|int|intern|isinstance|issubclass|iter|len|list|locals|long|map|max|memoryview|min|next|object|oct|open|ord|pow|property|range|raw_input|reduce|reload|repr|reversed|round|set|setattr|slice|sorted|staticmethod|str|sum|super|tuple|type|unichr|unicode|vars|xrange|zip)\\b", 0, false, false, null));
+        python2.add("boolean", pattern("\\b(?:False|None|True)\\b", 0, false, false, null));
+        python2.add("number", pattern("\\b0(?:b(?:_?[01])+|o(?:_?[0-7])+|x(?:_?[a-f0-9])+)\\b|(?:\\b\\d+(?:_\\d+)*(?:\\.(?:\\d+(?:_\\d+)*)?)?|\\B\\.\\d+(?:_\\d+)*)(?:e[+-]?\\d+(?:_\\d+)*)?j?(?!\\w)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        python2.add("operator", pattern("[-+%=]=?|!=|:=|\\*\\*?=?|\\/\\/?=?|<[<=>]?|>[=>]?|[\\&|^~]", 0, false, false, null));
+        python2.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+
+        python3.add("punctuation", pattern("\\.", 0, false, false, null));
+
+        yaml.add("scalar", pattern("([\\-:]\\s*(?:\\s(?:!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?(?:[ \t]+[*\\&][^\\s\\[\\]{},]+)?|[*\\&][^\\s\\[\\]{},]+(?:[ \t]+!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?)?)[ \t]+)?[|>])[ \t]*(?:((?:\\r?\\n|\\r)[ \t]+)\\S[^\\r\\n]*(?:\\2[^\\r\\n]+)*+)", 0, true, false, null, "string"));
+        yaml.add("comment", pattern("#.*", 0, false, false, null));
+        yaml.add("key", pattern("((?:^|[:\\-,\\[{\\r\\n?])[ \t]*(?:(?:!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?(?:[ \t]+[*\\&][^\\s\\[\\]{},]+)?|[*\\&][^\\s\\[\\]{},]+(?:[ \t]+!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?)?)[ \t]+)?)(?:(?:[^\\s\\x00-\\x08\\x0e-\\x1f!\"#%\\&'*,\\-:>?@\\[\\]`{|}\\x7f-\\x84\\x86-\\x9f\\ud800-\\udfff\\ufffe\\uffff]|[?:-][^\\s\\x00-\\x08\\x0e-\\x1f,\\[\\]{}\\x7f-\\x84\\x86-\\x9f\\ud800-\\udfff\\ufffe\\uffff])(?:[ \t]*(?:(?![#:])[^\\s\\x00-\\x08\\x0e-\\x1f,\\[\\]{}\\x7f-\\x84\\x86-\\x9f\\ud800-\\udfff\\ufffe\\uffff]|:[^\\s\\x00-\\x08\\x0e-\\x1f,\\[\\]{}\\x7f-\\x84\\x86-\\x9f\\ud800-\\udfff\\ufffe\\uffff]))*+|\"(?:[^\"\\\\\\r\\n]|\\\\.)*+\"|'(?:[^'\\\\\\r\\n]|\\\\.)*+')(?=\\s*:\\s)", 0, true, true, null, "atrule"));
+        yaml.add("directive", pattern("(^[ \\t]*)%.+", Pattern.MULTILINE, true, false, null, "important"));
+        yaml.add("datetime", pattern("([:\\-,\\[{]\\s*(?:\\s(?:!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?(?:[ \t]+[*\\&][^\\s\\[\\]{},]+)?|[*\\&][^\\s\\[\\]{},]+(?:[ \t]+!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?)?)[ \t]+)?)(?:\\d{4}-\\d\\d?-\\d\\d?(?:[tT]|[ \t]+)\\d\\d?:\\d{2}:\\d{2}(?:\\.\\d*)?(?:[ \t]*(?:Z|[-+]\\d\\d?(?::\\d{2})?))?|\\d{4}-\\d{2}-\\d{2}|\\d\\d?:\\d{2}(?::\\d{2}(?:\\.\\d*)?)?)(?=[ \t]*(?:$|,|\\]|\\}|(?:[\\r\\n]\\s*)?#))", Pattern.MULTILINE, true, false, null, "number"));
+        yaml.add("boolean", pattern("([:\\-,\\[{]\\s*(?:\\s(?:!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?(?:[ \t]+[*\\&][^\\s\\[\\]{},]+)?|[*\\&][^\\s\\[\\]{},]+(?:[ \t]+!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?)?)[ \t]+)?)(?:false|true)(?=[ \t]*(?:$|,|\\]|\\}|(?:[\\r\\n]\\s*)?#))", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.MULTILINE, true, false, null, "important"));
+        yaml.add("null", pattern("([:\\-,\\[{]\\s*(?:\\s(?:!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?(?:[ \t]+[*\\&][^\\s\\[\\]{},]+)?|[*\\&][^\\s\\[\\]{},]+(?:[ \t]+!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?)?)[ \t]+)?)(?:null|~)(?=[ \t]*(?:$|,|\\]|\\}|(?:[\\r\\n]\\s*)?#))", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.MULTILINE, true, false, null, "important"));
+        yaml.add("string", pattern("([:\\-,\\[{]\\s*(?:\\s(?:!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?(?:[ \t]+[*\\&][^\\s\\[\\]{},]+)?|[*\\&][^\\s\\[\\]{},]+(?:[ \t]+!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?)?)[ \t]+)?)(?:\"(?:[^\"\\\\\\r\\n]|\\\\.)*+\"|'(?:[^'\\\\\\r\\n]|\\\\.)*+')(?=[ \t]*(?:$|,|\\]|\\}|(?:[\\r\\n]\\s*)?#))", Pattern.MULTILINE, true, true, null));
+        yaml.add("number", pattern("([:\\-,\\[{]\\s*(?:\\s(?:!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?(?:[ \t]+[*\\&][^\\s\\[\\]{},]+)?|[*\\&][^\\s\\[\\]{},]+(?:[ \t]+!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?)?)[ \t]+)?)(?:[+-]?(?:0x[\\da-f]+|0o[0-7]+|(?:\\d+(?:\\.\\d*)?|\\.\\d+)(?:e[+-]?\\d+)?|\\.inf|\\.nan))(?=[ \t]*(?:$|,|\\]|\\}|(?:[\\r\\n]\\s*)?#))", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.MULTILINE, true, false, null));
+        yaml.add("tag", pattern("!(?:<[\\w\\-%#;/?:@\\&=+$,.!~*'()\\[\\]]+>|(?:[a-zA-Z\\d-]*!)?[\\w\\-%#;/?:@\\&=+$.~*'()]+)?", 0, false, false, null));
+        yaml.add("important", pattern("[*\\&][^\\s\\[\\]{},]+", 0, false, false, null));
+        yaml.add("punctuation", pattern("---|[:\\[\\]{}\\-,|>?]|\\.\\.\\.", 0, false, false, null));
+
+        kotlin.add("comment",
+            pattern("(^|[^\\\\])\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, true, true, null),
+            pattern("(^|[^\\\\:])\\/\\/.*", 0, true, true, null)
+        );
+        kotlin.add("string-literal",
+            pattern("\"\"\"(?:[^$\"]|\"(?!\"\")|\\$(?:(?!\\{)|\\{[^{}]*\\}))*+\"\"\"", 0, false, false, kotlin1, "multiline"),
+            pattern("\"(?:[^\"\\\\\\r\\n$]|\\\\.|\\$(?:(?!\\{)|\\{[^{}]*\\}))*+\"", 0, false, false, kotlin3, "singleline")
+        );
+        kotlin.add("char", pattern("'(?:[^'\\\\\\r\\n]|\\\\(?:.|u[a-fA-F0-9]{0,4}))'", 0, false, true, null));
+        kotlin.add("annotation", pattern("\\B@(?:\\w+:)?(?:[A-Z]\\w*|\\[[^\\]]+\\])", 0, false, false, null, "builtin"));
+        kotlin.add("keyword", pattern("(^|[^.])\\b(?:abstract|actual|annotation|as|break|by|catch|class|companion|const|constructor|continue|crossinline|data|do|dynamic|else|enum|expect|external|final|finally|for|fun|get|if|import|in|infix|init|inline|inner|interface|internal|is|lateinit|noinline|null|object|open|operator|out|override|package|private|protected|public|reified|return|sealed|set|super|suspend|tailrec|this|throw|to|try|typealias|val|var|vararg|when|where|while)\\b", 0, true, false, null));
+        kotlin.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+        kotlin.add("label", pattern("\\b\\w+@|@\\w+\\b", 0, false, false, null, "symbol"));
+        kotlin.add("function",
+            pattern("(?:`[^\\r\\n`]+`|\\b\\w+)(?=\\s*\\()", 0, false, true, null),
+            pattern("(\\.)(?:`[^\\r\\n`]+`|\\w+)(?=\\s*\\{)", 0, true, true, null)
+        );
+        kotlin.add("number", pattern("\\b(?:0[xX][\\da-fA-F]+(?:_[\\da-fA-F]+)*|0[bB][01]+(?:_[01]+)*|\\d+(?:_\\d+)*(?:\\.\\d+(?:_\\d+)*)?(?:[eE][+-]?\\d+(?:_\\d+)*)?[fFL]?)\\b", 0, false, false, null));
+        kotlin.add("operator", pattern("\\+[+=]?|-[-=>]?|==?=?|!(?:!|==?)?|[\\/*%<>]=?|[?:]:?|\\.\\.|&&|\\|\\||\\b(?:and|inv|or|shl|shr|ushr|xor)\\b", 0, false, false, null));
+        kotlin.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+
+        kotlin1.add("interpolation", pattern("\\$(?:[a-z_]\\w*|\\{[^{}]*\\})", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, kotlin2));
+        kotlin1.add("string", pattern("[\\s\\S]+", 0, false, false, null));
+
+        kotlin2.add("interpolation-punctuation", pattern("^\\$\\{?|\\}\\z", 0, false, false, null, "punctuation"));
+        kotlin2.add("expression", pattern("[\\s\\S]+", 0, false, false, kotlin));
+
+        kotlin3.add("interpolation", pattern("((?:^|[^\\\\])(?:\\\\{2})*)\\$(?:[a-z_]\\w*|\\{[^{}]*\\})", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, kotlin2));
+        kotlin3.add("string", pattern("[\\s\\S]+", 0, false, false, null));
+
+        go.add("comment",
+            pattern("(^|[^\\\\])\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, true, true, null),
+            pattern("(^|[^\\\\:])\\/\\/.*", 0, true, true, null)
+        );
+        go.add("char", pattern("'(?:\\\\.|[^'\\\\\\r\\n]){0,10}'", 0, false, true, null));
+        go.add("string", pattern("(^|[^\\\\])\"(?:\\\\.|[^\"\\\\\\r\\n])*+\"|`[^`]*`", 0, true, true, null));
+        go.add("keyword", pattern("\\b(?:break|case|chan|const|continue|default|defer|else|fallthrough|for|func|go(?:to)?|if|import|interface|map|package|range|return|select|struct|switch|type|var)\\b", 0, false, false, null));
+        go.add("boolean", pattern("\\b(?:_|false|iota|nil|true)\\b", 0, false, false, null));
+        go.add("function", pattern("\\b\\w+(?=\\()", 0, false, false, null));
+        go.add("number",
+            pattern("\\b0(?:b[01_]+|o[0-7_]+)i?\\b", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null),
+            pattern("\\b0x(?:[a-f\\d_]+(?:\\.[a-f\\d_]*)?|\\.[a-f\\d_]+)(?:p[+-]?\\d+(?:_\\d+)*)?i?(?!\\w)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null),
+            pattern("(?:\\b\\d[\\d_]*(?:\\.[\\d_]*)?|\\B\\.\\d[\\d_]*)(?:e[+-]?[\\d_]+)?i?(?!\\w)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null)
+        );
+        go.add("operator", pattern("[*\\/%^!=]=?|\\+[=+]?|-[=-]?|\\|[=|]?|&(?:=|&|\\^=?)?|>(?:>=?|=)?|<(?:<=?|=|-)?|:=|\\.\\.\\.", 0, false, false, null));
+        go.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+        go.add("builtin", pattern("\\b(?:append|bool|byte|cap|close|complex|complex(?:64|128)|copy|delete|error|float(?:32|64)|u?int(?:8|16|32|64)?|imag|len|make|new|panic|print(?:ln)?|real|recover|rune|string|uintptr)\\b", 0, false, false, null));
+
+        c.add("comment", pattern("\\/\\/(?:[^\\r\\n\\\\]|\\\\(?:\\r\\n?|\\n|(?![\\r\\n])))*+|\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, false, true, null));
+        c.add("char", pattern("'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n]){0,32}'", 0, false, true, null));
+        c.add("macro", pattern("(^[\\t ]*)#\\s*[a-z](?:[^\\r\\n\\\\/]|\\/(?!\\*)|\\/\\*(?:[^*]|\\*(?!\\/))*+\\*\\/|\\\\(?:\\r\\n|[\\s\\S]))*+", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.MULTILINE, true, true, c1, "property"));
+        c.add("string", pattern("\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"", 0, false, true, null));
+        c.add("class-name", pattern("(\\b(?:enum|struct)\\s+(?:__attribute__\\s*\\(\\([\\s\\S]*?\\)\\)\\s*)?)\\w+|\\b[a-z]\\w*_t\\b", 0, true, false, null));
+        c.add("keyword", pattern("\\b(?:_Alignas|_Alignof|_Atomic|_Bool|_Complex|_Generic|_Imaginary|_Noreturn|_Static_assert|_Thread_local|__attribute__|asm|auto|break|case|char|const|continue|default|do|double|else|enum|extern|float|for|goto|if|inline|int|long|register|return|short|signed|sizeof|static|struct|switch|typedef|typeof|union|unsigned|void|volatile|while)\\b", 0, false, false, null));
+        c.add("constant", pattern("\\b(?:EOF|NULL|SEEK_CUR|SEEK_END|SEEK_SET|__DATE__|__FILE__|__LINE__|__TIMESTAMP__|__TIME__|__func__|stderr|stdin|stdout)\\b", 0, false, false, null));
+        c.add("function", pattern("\\b[a-z_]\\w*(?=\\s*\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        c.add("number", pattern("(?:\\b0x(?:[\\da-f]+(?:\\.[\\da-f]*)?|\\.[\\da-f]+)(?:p[+-]?\\d+)?|(?:\\b\\d+(?:\\.\\d*)?|\\B\\.\\d+)(?:e[+-]?\\d+)?)[ful]{0,4}", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        c.add("operator", pattern(">>=?|<<=?|->|([-+\\&|:])\\1|[?:~]|[-+*/%\\&|^!=<>]=?", 0, false, false, null));
+        c.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+
+        c1.add("string",
+            pattern("^(#\\s*include\\s*)<[^>]+>", 0, true, false, null),
+            pattern("\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"", 0, false, true, null)
+        );
+        c1.add("char", pattern("'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n]){0,32}'", 0, false, true, null));
+        c1.add("comment", pattern("\\/\\/(?:[^\\r\\n\\\\]|\\\\(?:\\r\\n?|\\n|(?![\\r\\n])))*+|\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, false, true, null));
+        c1.add("macro-name",
+            pattern("(^#\\s*define\\s+)\\w+\\b(?!\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null),
+            pattern("(^#\\s*define\\s+)\\w+\\b(?=\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null, "function")
+        );
+        c1.add("directive", pattern("^(#\\s*)[a-z]+", 0, true, false, null, "keyword"));
+        c1.add("directive-hash", pattern("^#", 0, false, false, null));
+        c1.add("punctuation", pattern("##|\\\\(?=[\\r\\n])", 0, false, false, null));
+        c1.add("expression", pattern("\\S[\\s\\S]*", 0, false, false, c));
+
+        cpp.add("comment", pattern("\\/\\/(?:[^\\r\\n\\\\]|\\\\(?:\\r\\n?|\\n|(?![\\r\\n])))*+|\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, false, true, null));
+        cpp.add("char", pattern("'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n]){0,32}'", 0, false, true, null));
+        cpp.add("macro", pattern("(^[\\t ]*)#\\s*[a-z](?:[^\\r\\n\\\\/]|\\/(?!\\*)|\\/\\*(?:[^*]|\\*(?!\\/))*+\\*\\/|\\\\(?:\\r\\n|[\\s\\S]))*+", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.MULTILINE, true, true, cpp1, "property"));
+        cpp.add("module", pattern("(\\b(?:import|module)\\s+)(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|<[^<>\\r\\n]*>|\\b(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+(?:\\s*\\.\\s*\\w+)*\\b(?:\\s*:\\s*\\b(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+(?:\\s*\\.\\s*\\w+)*\\b)?|:\\s*\\b(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+(?:\\s*\\.\\s*\\w+)*\\b)", 0, true, true, cpp2));
+        cpp.add("raw-string", pattern("R\"([^()\\\\ ]{0,16})\\([\\s\\S]*?\\)\\1\"", 0, false, true, null, "string"));
+        cpp.add("string", pattern("\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"", 0, false, true, null));
+        cpp.add("base-clause", pattern("(\\b(?:class|struct)\\s+\\w+\\s*:\\s*)[^;{}\"'\\s]+(?:\\s+[^;{}\"'\\s]+)*(?=\\s*[;{])", 0, true, true, cpp3));
+        cpp.add("class-name",
+            pattern("(\\b(?:class|concept|enum|struct|typename)\\s+)(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+", 0, true, false, null),
+            pattern("\\b[A-Z]\\w*(?=\\s*::\\s*\\w+\\s*\\()", 0, false, false, null),
+            pattern("\\b[A-Z_]\\w*(?=\\s*::\\s*~\\w+\\s*\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null),
+            pattern("\\b\\w+(?=\\s*<(?:[^<>]|<(?:[^<>]|<[^<>]*>)*>)*>\\s*::\\s*\\w+\\s*\\()", 0, false, false, null)
+        );
+        cpp.add("generic-function", pattern("\\b(?!operator\\b)[a-z_]\\w*\\s*<(?:[^<>]|<[^<>]*>)*>(?=\\s*\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, cpp8));
+        cpp.add("keyword", pattern("\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b", 0, false, false, null));
+        cpp.add("constant", pattern("\\b(?:EOF|NULL|SEEK_CUR|SEEK_END|SEEK_SET|__DATE__|__FILE__|__LINE__|__TIMESTAMP__|__TIME__|__func__|stderr|stdin|stdout)\\b", 0, false, false, null));
+        cpp.add("function", pattern("\\b[a-z_]\\w*(?=\\s*\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        cpp.add("number", pattern("(?:\\b0b[01']+|\\b0x(?:[\\da-f']+(?:\\.[\\da-f']*)?|\\.[\\da-f']+)(?:p[+-]?[\\d']+)?|(?:\\b[\\d']+(?:\\.[\\d']*)?|\\B\\.[\\d']+)(?:e[+-]?[\\d']+)?)[ful]{0,4}", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, null));
+        cpp.add("double-colon", pattern("::", 0, false, false, null, "punctuation"));
+        cpp.add("operator", pattern(">>=?|<<=?|->|--|\\+\\+|&&|\\|\\||[?:~]|<=>|[-+*/%\\&|^!=<>]=?|\\b(?:and|and_eq|bitand|bitor|not|not_eq|or|or_eq|xor|xor_eq)\\b", 0, false, false, null));
+        cpp.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+        cpp.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+
+        cpp1.add("string",
+            pattern("^(#\\s*include\\s*)<[^>]+>", 0, true, false, null),
+            pattern("\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"", 0, false, true, null)
+        );
+        cpp1.add("char", pattern("'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n]){0,32}'", 0, false, true, null));
+        cpp1.add("comment", pattern("\\/\\/(?:[^\\r\\n\\\\]|\\\\(?:\\r\\n?|\\n|(?![\\r\\n])))*+|\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, false, true, null));
+        cpp1.add("macro-name",
+            pattern("(^#\\s*define\\s+)\\w+\\b(?!\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null),
+            pattern("(^#\\s*define\\s+)\\w+\\b(?=\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null, "function")
+        );
+        cpp1.add("directive", pattern("^(#\\s*)[a-z]+", 0, true, false, null, "keyword"));
+        cpp1.add("directive-hash", pattern("^#", 0, false, false, null));
+        cpp1.add("punctuation", pattern("##|\\\\(?=[\\r\\n])", 0, false, false, null));
+        cpp1.add("expression", pattern("\\S[\\s\\S]*", 0, false, false, cpp));
+
+        cpp2.add("string", pattern("^[<\"][\\s\\S]+", 0, false, false, null));
+        cpp2.add("operator", pattern(":", 0, false, false, null));
+        cpp2.add("punctuation", pattern("\\.", 0, false, false, null));
+
+        cpp3.add("comment", pattern("\\/\\/(?:[^\\r\\n\\\\]|\\\\(?:\\r\\n?|\\n|(?![\\r\\n])))*+|\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, false, true, null));
+        cpp3.add("char", pattern("'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n]){0,32}'", 0, false, true, null));
+        cpp3.add("macro", pattern("(^[\\t ]*)#\\s*[a-z](?:[^\\r\\n\\\\/]|\\/(?!\\*)|\\/\\*(?:[^*]|\\*(?!\\/))*+\\*\\/|\\\\(?:\\r\\n|[\\s\\S]))*+", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.MULTILINE, true, true, cpp4, "property"));
+        cpp3.add("module", pattern("(\\b(?:import|module)\\s+)(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|<[^<>\\r\\n]*>|\\b(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+(?:\\s*\\.\\s*\\w+)*\\b(?:\\s*:\\s*\\b(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+(?:\\s*\\.\\s*\\w+)*\\b)?|:\\s*\\b(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+(?:\\s*\\.\\s*\\w+)*\\b)", 0, true, true, cpp6));
+        cpp3.add("raw-string", pattern("R\"([^()\\\\ ]{0,16})\\([\\s\\S]*?\\)\\1\"", 0, false, true, null, "string"));
+        cpp3.add("string", pattern("\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"", 0, false, true, null));
+        cpp3.add("generic-function", pattern("\\b(?!operator\\b)[a-z_]\\w*\\s*<(?:[^<>]|<[^<>]*>)*>(?=\\s*\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, cpp7));
+        cpp3.add("keyword", pattern("\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b", 0, false, false, null));
+        cpp3.add("constant", pattern("\\b(?:EOF|NULL|SEEK_CUR|SEEK_END|SEEK_SET|__DATE__|__FILE__|__LINE__|__TIMESTAMP__|__TIME__|__func__|stderr|stdin|stdout)\\b", 0, false, false, null));
+        cpp3.add("function", pattern("\\b[a-z_]\\w*(?=\\s*\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        cpp3.add("number", pattern("(?:\\b0b[01']+|\\b0x(?:[\\da-f']+(?:\\.[\\da-f']*)?|\\.[\\da-f']+)(?:p[+-]?[\\d']+)?|(?:\\b[\\d']+(?:\\.[\\d']*)?|\\B\\.[\\d']+)(?:e[+-]?[\\d']+)?)[ful]{0,4}", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, null));
+        cpp3.add("class-name", pattern("\\b[a-z_]\\w*\\b(?!\\s*::)", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        cpp3.add("double-colon", pattern("::", 0, false, false, null, "punctuation"));
+        cpp3.add("operator", pattern(">>=?|<<=?|->|--|\\+\\+|&&|\\|\\||[?:~]|<=>|[-+*/%\\&|^!=<>]=?|\\b(?:and|and_eq|bitand|bitor|not|not_eq|or|or_eq|xor|xor_eq)\\b", 0, false, false, null));
+        cpp3.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+        cpp3.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+
+        cpp4.add("string",
+            pattern("^(#\\s*include\\s*)<[^>]+>", 0, true, false, null),
+            pattern("\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"", 0, false, true, null)
+        );
+        cpp4.add("char", pattern("'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n]){0,32}'", 0, false, true, null));
+        cpp4.add("comment", pattern("\\/\\/(?:[^\\r\\n\\\\]|\\\\(?:\\r\\n?|\\n|(?![\\r\\n])))*+|\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, false, true, null));
+        cpp4.add("macro-name",
+            pattern("(^#\\s*define\\s+)\\w+\\b(?!\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null),
+            pattern("(^#\\s*define\\s+)\\w+\\b(?=\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, true, false, null, "function")
+        );
+        cpp4.add("directive", pattern("^(#\\s*)[a-z]+", 0, true, false, null, "keyword"));
+        cpp4.add("directive-hash", pattern("^#", 0, false, false, null));
+        cpp4.add("punctuation", pattern("##|\\\\(?=[\\r\\n])", 0, false, false, null));
+        cpp4.add("expression", pattern("\\S[\\s\\S]*", 0, false, false, cpp5));
+
+        cpp5.add("comment", pattern("\\/\\/(?:[^\\r\\n\\\\]|\\\\(?:\\r\\n?|\\n|(?![\\r\\n])))*+|\\/\\*[\\s\\S]*?(?:\\*\\/|\\z)", 0, false, true, null));
+        cpp5.add("char", pattern("'(?:\\\\(?:\\r\\n|[\\s\\S])|[^'\\\\\\r\\n]){0,32}'", 0, false, true, null));
+        cpp5.add("macro", pattern("(^[\\t ]*)#\\s*[a-z](?:[^\\r\\n\\\\/]|\\/(?!\\*)|\\/\\*(?:[^*]|\\*(?!\\/))*+\\*\\/|\\\\(?:\\r\\n|[\\s\\S]))*+", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE | Pattern.MULTILINE, true, true, cpp4, "property"));
+        cpp5.add("module", pattern("(\\b(?:import|module)\\s+)(?:\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"|<[^<>\\r\\n]*>|\\b(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+(?:\\s*\\.\\s*\\w+)*\\b(?:\\s*:\\s*\\b(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+(?:\\s*\\.\\s*\\w+)*\\b)?|:\\s*\\b(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+(?:\\s*\\.\\s*\\w+)*\\b)", 0, true, true, cpp6));
+        cpp5.add("raw-string", pattern("R\"([^()\\\\ ]{0,16})\\([\\s\\S]*?\\)\\1\"", 0, false, true, null, "string"));
+        cpp5.add("string", pattern("\"(?:\\\\(?:\\r\\n|[\\s\\S])|[^\"\\\\\\r\\n])*+\"", 0, false, true, null));
+        cpp5.add("class-name",
+            pattern("(\\b(?:class|concept|enum|struct|typename)\\s+)(?!\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b)\\w+", 0, true, false, null),
+            pattern("\\b[A-Z]\\w*(?=\\s*::\\s*\\w+\\s*\\()", 0, false, false, null),
+            pattern("\\b[A-Z_]\\w*(?=\\s*::\\s*~\\w+\\s*\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null),
+            pattern("\\b\\w+(?=\\s*<(?:[^<>]|<(?:[^<>]|<[^<>]*>)*>)*>\\s*::\\s*\\w+\\s*\\()", 0, false, false, null)
+        );
+        cpp5.add("generic-function", pattern("\\b(?!operator\\b)[a-z_]\\w*\\s*<(?:[^<>]|<[^<>]*>)*>(?=\\s*\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, cpp7));
+        cpp5.add("keyword", pattern("\\b(?:alignas|alignof|asm|auto|bool|break|case|catch|char|char16_t|char32_t|char8_t|class|co_await|co_return|co_yield|compl|concept|const|const_cast|consteval|constexpr|constinit|continue|decltype|default|delete|do|double|dynamic_cast|else|enum|explicit|export|extern|final|float|for|friend|goto|if|import|inline|int|int16_t|int32_t|int64_t|int8_t|long|module|mutable|namespace|new|noexcept|nullptr|operator|override|private|protected|public|register|reinterpret_cast|requires|return|short|signed|sizeof|static|static_assert|static_cast|struct|switch|template|this|thread_local|throw|try|typedef|typeid|typename|uint16_t|uint32_t|uint64_t|uint8_t|union|unsigned|using|virtual|void|volatile|wchar_t|while)\\b", 0, false, false, null));
+        cpp5.add("constant", pattern("\\b(?:EOF|NULL|SEEK_CUR|SEEK_END|SEEK_SET|__DATE__|__FILE__|__LINE__|__TIMESTAMP__|__TIME__|__func__|stderr|stdin|stdout)\\b", 0, false, false, null));
+        cpp5.add("function", pattern("\\b[a-z_]\\w*(?=\\s*\\()", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, false, null));
+        cpp5.add("number", pattern("(?:\\b0b[01']+|\\b0x(?:[\\da-f']+(?:\\.[\\da-f']*)?|\\.[\\da-f']+)(?:p[+-]?[\\d']+)?|(?:\\b[\\d']+(?:\\.[\\d']*)?|\\B\\.[\\d']+)(?:e[+-]?[\\d']+)?)[ful]{0,4}", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE, false, true, null));
+        cpp5.add("double-colon", pattern("::", 0, false, false, null, "punctuation"));
+        cpp5.add("operator", pattern(">>=?|<<=?|->|--|\\+\\+|&&|\\|\\||[?:~]|<=>|[-+*/%\\&|^!=<>]=?|\\b(?:and|and_eq|bitand|bitor|not|not_eq|or|or_eq|xor|xor_eq)\\b", 0, false, false, null));
+        cpp5.add("punctuation", pattern("[{}\\[\\];(),.:]", 0, false, false, null));
+        cpp5.add("boolean", pattern("\\b(?:false|true)\\b", 0, false, false, null));
+
+        cpp6.add("string", pattern("^[<\"][\\s\\S]+", 0, false, false, null));
+        cpp6.add("operator", pattern(":", 0, false, false, null));
+        cpp6.add("punctuation", pattern("\\.", 0, false, false, null));
+
+        cpp7.add("function", pattern("^\\w+", 0, false, false, null));
+        cpp7.add("generic", pattern("<[\\s\\S]+", 0, false, false, cpp5, "class-name"));
+
+        cpp8.add("function", pattern("^\\w+", 0, false, false, null));
+        cpp8.add("generic", pattern("<[\\s\\S]+", 0, false, false, cpp, "class-name"));
+
+        Map<String, CodeHighlighter.Grammar> languages = new LinkedHashMap<>();
+        languages.put("css", css);
+        languages.put("javascript", javascript);
+        languages.put("ini", ini);
+        languages.put("interlis", interlis);
+        languages.put("java", java);
+        languages.put("typescript", typescript);
+        languages.put("json", json);
+        languages.put("bash", bash);
+        languages.put("sql", sql);
+        languages.put("python", python);
+        languages.put("yaml", yaml);
+        languages.put("kotlin", kotlin);
+        languages.put("go", go);
+        languages.put("c", c);
+        languages.put("cpp", cpp);
+        return languages;
+    }
+}
@@ -0,0 +1,11 @@
+package guru.interlis.thoth;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface RebuildListener {
+    RebuildListener NONE = changedUrls -> {
+    };
+
+    void rebuilt(List<String> changedUrls);
+}
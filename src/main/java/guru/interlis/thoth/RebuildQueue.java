@@ -0,0 +1,114 @@
+package guru.interlis.thoth;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+public final class RebuildQueue implements AutoCloseable {
+    private final Rebuild rebuild;
+    private final ExecutorService executor;
+    private final Object lock = new Object();
+
+    private Map<Path, String> pendingEvents = new LinkedHashMap<>();
+    private boolean pendingOverflow;
+    private boolean scheduled;
+    private boolean closed;
+    private InputWatcher.Batch runningBatch;
+    private AtomicBoolean runningCancelled;
+
+    public RebuildQueue(Rebuild rebuild) {
+        this.rebuild = rebuild;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "thoth-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void submit(InputWatcher.Batch batch) {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+
+            pendingEvents.putAll(batch.events());
+            pendingOverflow |= batch.overflow();
+            if (runningBatch != null && supersedes(batch, runningBatch)) {
+                runningCancelled.set(true);
+            }
+            if (!scheduled) {
+                scheduled = true;
+                executor.execute(this::drain);
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            InputWatcher.Batch batch;
+            AtomicBoolean cancelled = new AtomicBoolean();
+            synchronized (lock) {
+                if (closed || (pendingEvents.isEmpty() && !pendingOverflow)) {
+                    scheduled = false;
+                    return;
+                }
+                batch = new InputWatcher.Batch(Collections.unmodifiableMap(pendingEvents), pendingOverflow);
+                pendingEvents = new LinkedHashMap<>();
+                pendingOverflow = false;
+                runningBatch = batch;
+                runningCancelled = cancelled;
+            }
+
+            boolean completed = true;
+            try {
+                completed = rebuild.rebuild(batch, cancelled::get);
+            } catch (RuntimeException ex) {
+                System.err.println("[warn] Rebuild failed: " + ex.getMessage());
+            }
+
+            synchronized (lock) {
+                runningBatch = null;
+                runningCancelled = null;
+                if (!completed) {
+                    Map<Path, String> requeued = new LinkedHashMap<>(batch.events());
+                    requeued.putAll(pendingEvents);
+                    pendingEvents = requeued;
+                    pendingOverflow |= batch.overflow();
+                }
+            }
+        }
+    }
+
+    private boolean supersedes(InputWatcher.Batch newer, InputWatcher.Batch running) {
+        if (newer.overflow()) {
+            return true;
+        }
+        for (Path path : newer.events().keySet()) {
+            if (running.events().containsKey(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            if (runningCancelled != null) {
+                runningCancelled.set(true);
+            }
+        }
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    public interface Rebuild {
+        boolean rebuild(InputWatcher.Batch batch, BooleanSupplier cancelled);
+    }
+}
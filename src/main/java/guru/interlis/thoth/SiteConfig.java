@@ -7,19 +7,34 @@ import java.nio.file.Path;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.TreeMap;
 
 public final class SiteConfig {
     public static final String FILE_NAME = "thoth.properties";
     public static final ZoneId ZURICH = ZoneId.of("Europe/Zurich");
 
+    private static final String TRANSLITERATE_PREFIX = "tags.transliterate.";
+
     private final String title;
     private final String description;
     private final String baseUrl;
     private final String language;
     private final String dateFormat;
+    private final int pageSize;
     private final int devPort;
+    private final int watchQuietMillis;
+    private final int buildThreads;
+    private final int ioThreads;
+    private final String cacheDir;
+    private final boolean gzip;
+    private final long gzipMinSize;
+    private final AssetSynchronizer.Mode assetsMode;
+    private final CodeHighlighter.Mode highlightMode;
+    private final Map<String, String> tagTransliterations;
+    private final TagSlugger tagSlugger;
     private final DateTimeFormatter htmlDateFormatter;
 
     private SiteConfig(
@@ -28,7 +43,18 @@ public final class SiteConfig {
         String baseUrl,
         String language,
         String dateFormat,
+        int pageSize,
         int devPort,
+        int watchQuietMillis,
+        int buildThreads,
+        int ioThreads,
+        String cacheDir,
+        boolean gzip,
+        long gzipMinSize,
+        AssetSynchronizer.Mode assetsMode,
+        CodeHighlighter.Mode highlightMode,
+        Map<String, String> tagTransliterations,
+        TagSlugger tagSlugger,
         DateTimeFormatter htmlDateFormatter
     ) {
         this.title = title;
@@ -36,7 +62,18 @@ public final class SiteConfig {
         this.baseUrl = baseUrl;
         this.language = language;
         this.dateFormat = dateFormat;
+        this.pageSize = pageSize;
         this.devPort = devPort;
+        this.watchQuietMillis = watchQuietMillis;
+        this.buildThreads = buildThreads;
+        this.ioThreads = ioThreads;
+        this.cacheDir = cacheDir;
+        this.gzip = gzip;
+        this.gzipMinSize = gzipMinSize;
+        this.assetsMode = assetsMode;
+        this.highlightMode = highlightMode;
+        this.tagTransliterations = tagTransliterations;
+        this.tagSlugger = tagSlugger;
         this.htmlDateFormatter = htmlDateFormatter;
     }
 
@@ -57,14 +94,57 @@ public final class SiteConfig {
         String language = required(properties, "site.language");
         String dateFormat = required(properties, "site.dateFormat");
 
+        int pageSize = Integer.parseInt(properties.getProperty("site.pageSize", "0").trim());
         int devPort = Integer.parseInt(properties.getProperty("dev.port", "8080").trim());
+        int watchQuietMillis = Integer.parseInt(properties.getProperty("dev.watchQuietMillis", "200").trim());
+        int buildThreads = Integer.parseInt(properties.getProperty("build.threads", "0").trim());
+        if (buildThreads <= 0) {
+            buildThreads = Runtime.getRuntime().availableProcessors();
+        }
+        int ioThreads = Integer.parseInt(properties.getProperty("build.ioThreads", "0").trim());
+        if (ioThreads <= 0) {
+            ioThreads = 2 * buildThreads;
+        }
+        String cacheDir = properties.getProperty("build.cacheDir", "").trim();
+        boolean gzip = Boolean.parseBoolean(properties.getProperty("build.gzip", "false").trim());
+        long gzipMinSize = Long.parseLong(properties.getProperty("build.gzipMinSize", "1024").trim());
+        AssetSynchronizer.Mode assetsMode = AssetSynchronizer.Mode.parse(properties.getProperty("assets.mode", "copy"));
+        CodeHighlighter.Mode highlightMode = CodeHighlighter.Mode.parse(properties.getProperty("highlight.mode", "client"));
+
+        Map<String, String> tagTransliterations = new TreeMap<>(TagSlugger.DEFAULT_TRANSLITERATIONS);
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(TRANSLITERATE_PREFIX)) {
+                tagTransliterations.put(name.substring(TRANSLITERATE_PREFIX.length()), properties.getProperty(name).trim());
+            }
+        }
+        TagSlugger tagSlugger = new TagSlugger(tagTransliterations);
+
         Locale locale = Locale.forLanguageTag(language);
         if (locale.getLanguage().isBlank()) {
             locale = Locale.ENGLISH;
         }
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern(dateFormat, locale);
-        return new SiteConfig(title, description, baseUrl, language, dateFormat, devPort, formatter);
+        return new SiteConfig(
+            title,
+            description,
+            baseUrl,
+            language,
+            dateFormat,
+            pageSize,
+            devPort,
+            watchQuietMillis,
+            buildThreads,
+            ioThreads,
+            cacheDir,
+            gzip,
+            gzipMinSize,
+            assetsMode,
+            highlightMode,
+            Map.copyOf(tagTransliterations),
+            tagSlugger,
+            formatter
+        );
     }
 
     public String title() {
@@ -87,10 +167,54 @@ public final class SiteConfig {
         return dateFormat;
     }
 
+    public int pageSize() {
+        return pageSize;
+    }
+
     public int devPort() {
         return devPort;
     }
 
+    public int watchQuietMillis() {
+        return watchQuietMillis;
+    }
+
+    public int buildThreads() {
+        return buildThreads;
+    }
+
+    public int ioThreads() {
+        return ioThreads;
+    }
+
+    public String cacheDir() {
+        return cacheDir;
+    }
+
+    public boolean gzip() {
+        return gzip;
+    }
+
+    public long gzipMinSize() {
+        return gzipMinSize;
+    }
+
+    public AssetSynchronizer.Mode assetsMode() {
+        return assetsMode;
+    }
+
+    public CodeHighlighter.Mode highlightMode() {
+        return highlightMode;
+    }
+
+    public Map<String, String> tagTransliterations() {
+        return tagTransliterations;
+    }
+
+    public TagSlugger tagSlugger() {
+        return tagSlugger;
+    }
+
     public DateTimeFormatter htmlDateFormatter() {
         return htmlDateFormatter;
     }
@@ -100,6 +224,10 @@ public final class SiteConfig {
     }
 
     public String absoluteUrl(String path) {
+        return absoluteUrl(baseUrl, path);
+    }
+
+    public static String absoluteUrl(String baseUrl, String path) {
         Objects.requireNonNull(path, "path must not be null");
         if (path.startsWith("http://") || path.startsWith("https://")) {
             return path;
@@ -1,27 +1,23 @@
 package guru.interlis.thoth;
 
-import org.asciidoctor.Asciidoctor;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-
-import javax.imageio.ImageIO;
-import java.awt.Graphics2D;
-import java.awt.RenderingHints;
-import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
-import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -30,233 +26,873 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
-
-public final class SiteGenerator implements AutoCloseable {
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class SiteGenerator implements AutoCloseable, PageSource {
+    private static final String DEFAULT_CACHE_SUFFIX = ".thoth-cache";
+    private static final String LEGACY_CACHE_DIRECTORY = ".thoth-cache";
+    private static final BooleanSupplier NOT_CANCELLED = () -> false;
+    private static final Pattern PAGE_DIRECTORY = Pattern.compile("(?:(.+)/)?page/([1-9][0-9]{0,8})");
+    private static final Pattern LISTING_PAGE_FILE = Pattern.compile("page/([1-9][0-9]{0,8})/index\\.html");
+    private static final List<String> SEARCH_INDEX_FIELDS = List.of("title", "tags", "teaser", "body");
     private static final DateTimeFormatter FEED_DATE_FORMATTER =
         DateTimeFormatter.RFC_1123_DATE_TIME.withLocale(Locale.ENGLISH);
-    private static final int INDEX_THUMBNAIL_MAX_WIDTH = 360;
-    private static final int INDEX_THUMBNAIL_MAX_HEIGHT = 240;
-    private static final Set<String> THUMBNAIL_EXTENSIONS = Set.of("png", "jpg", "jpeg");
-
-    private static final List<String> BUNDLED_ASSETS = List.of(
-        "site-assets/zurich.css::assets/zurich.css",
-        "site-assets/fonts/Zurich/306E22_0_0.eot::assets/fonts/Zurich/306E22_0_0.eot",
-        "site-assets/fonts/Zurich/306E22_0_0.ttf::assets/fonts/Zurich/306E22_0_0.ttf",
-        "site-assets/fonts/Zurich/306E22_0_0.woff::assets/fonts/Zurich/306E22_0_0.woff",
-        "site-assets/fonts/Zurich/306E22_0_0.woff2::assets/fonts/Zurich/306E22_0_0.woff2",
-        "site-assets/fonts/Zurich/306E22_1_0.eot::assets/fonts/Zurich/306E22_1_0.eot",
-        "site-assets/fonts/Zurich/306E22_1_0.ttf::assets/fonts/Zurich/306E22_1_0.ttf",
-        "site-assets/fonts/Zurich/306E22_1_0.woff::assets/fonts/Zurich/306E22_1_0.woff",
-        "site-assets/fonts/Zurich/306E22_1_0.woff2::assets/fonts/Zurich/306E22_1_0.woff2",
-        "site-assets/styles-light.css::assets/styles-light.css",
-        "site-assets/styles-dark.css::assets/styles-dark.css",
-        "site-assets/theme.js::assets/theme.js",
-        "site-assets/search.js::assets/search.js",
-        "site-assets/lunr.min.js::assets/lunr.min.js",
-        "site-assets/prism/prism.css::assets/prism/prism.css",
-        "site-assets/prism/prism.js::assets/prism/prism.js",
-        "site-assets/prism/components/prism-markup.min.js::assets/prism/components/prism-markup.min.js",
-        "site-assets/prism/components/prism-clike.min.js::assets/prism/components/prism-clike.min.js",
-        "site-assets/prism/components/prism-javascript.min.js::assets/prism/components/prism-javascript.min.js",
-        "site-assets/prism/components/prism-css.min.js::assets/prism/components/prism-css.min.js",
-        "site-assets/prism/components/prism-ini.min.js::assets/prism/components/prism-ini.min.js",
-        "site-assets/prism/components/prism-interlis.js::assets/prism/components/prism-interlis.js",
-        "site-assets/prism/components/prism-java.min.js::assets/prism/components/prism-java.min.js",
-        "site-assets/prism/components/prism-typescript.min.js::assets/prism/components/prism-typescript.min.js",
-        "site-assets/prism/components/prism-json.min.js::assets/prism/components/prism-json.min.js",
-        "site-assets/prism/components/prism-bash.min.js::assets/prism/components/prism-bash.min.js",
-        "site-assets/prism/components/prism-sql.min.js::assets/prism/components/prism-sql.min.js",
-        "site-assets/prism/components/prism-python.min.js::assets/prism/components/prism-python.min.js",
-        "site-assets/prism/components/prism-yaml.min.js::assets/prism/components/prism-yaml.min.js",
-        "site-assets/prism/components/prism-kotlin.min.js::assets/prism/components/prism-kotlin.min.js",
-        "site-assets/prism/components/prism-go.min.js::assets/prism/components/prism-go.min.js",
-        "site-assets/prism/components/prism-c.min.js::assets/prism/components/prism-c.min.js",
-        "site-assets/prism/components/prism-cpp.min.js::assets/prism/components/prism-cpp.min.js",
-        "site-assets/prism/plugins/line-highlight/prism-line-highlight.min.css::assets/prism/plugins/line-highlight/prism-line-highlight.min.css",
-        "site-assets/prism/plugins/line-highlight/prism-line-highlight.min.js::assets/prism/plugins/line-highlight/prism-line-highlight.min.js",
-        "site-assets/prism/plugins/line-numbers/prism-line-numbers.min.css::assets/prism/plugins/line-numbers/prism-line-numbers.min.css",
-        "site-assets/prism/plugins/line-numbers/prism-line-numbers.min.js::assets/prism/plugins/line-numbers/prism-line-numbers.min.js",
-        "site-assets/fonts/JetBrainsMono/JetBrainsMono-Regular.woff2::assets/fonts/JetBrainsMono/JetBrainsMono-Regular.woff2",
-        "site-assets/fonts/JetBrainsMono/JetBrainsMono-Bold.woff2::assets/fonts/JetBrainsMono/JetBrainsMono-Bold.woff2",
-        "site-assets/fonts/JetBrainsMono/JetBrainsMono-Italic.woff2::assets/fonts/JetBrainsMono/JetBrainsMono-Italic.woff2"
-    );
 
     private final Path inputRoot;
     private final Path outputRoot;
+    private final Path cacheRoot;
     private final TemplateService templateService;
-    private final Asciidoctor asciidoctor;
-    private final PostParser postParser;
+    private final AsciidoctorPool asciidoctorPool;
+    private final TaskRunner workers;
+    private final TaskRunner ioWorkers;
+    private final PostCache postCache;
+    private final AssetSynchronizer assetSynchronizer;
+    private final ThumbnailService thumbnailService;
+    private final GzipPrecompressor gzipPrecompressor;
+    private final BundledAssets bundledAssets;
+    private final Path bundledManifest;
+    private final Path prismManifest;
+    private final Path listingsManifest;
+    private final Set<Path> pendingOutputChanges;
     private final Map<Path, Post> posts;
     private final Set<String> generatedTagSlugs;
+    private final Map<Path, Map<String, Object>> renderedListings;
+    private final Set<String> listingPageFiles;
+    private final BuildProfiler profiler;
 
     private SiteConfig config;
+    private volatile OutputListener outputListener = OutputListener.NONE;
+    private volatile RebuildListener rebuildListener = RebuildListener.NONE;
+    private volatile Set<Path> eventOutputChanges;
+    private volatile BooleanSupplier cancellation = NOT_CANCELLED;
+    private volatile boolean onDemand;
+    private volatile InputInventory inventory;
+    private volatile PrismBundle prismBundle;
+    private AggregateChanges deferredAggregateChanges = AggregateChanges.none();
+    private boolean deferredRescan;
 
     public SiteGenerator(Path inputRoot, Path outputRoot) throws IOException {
+        this(inputRoot, outputRoot, BuildProfiler.disabled());
+    }
+
+    public SiteGenerator(Path inputRoot, Path outputRoot, BuildProfiler profiler) throws IOException {
+        this.profiler = profiler;
         this.inputRoot = inputRoot.toAbsolutePath().normalize();
         this.outputRoot = outputRoot.toAbsolutePath().normalize();
         this.config = SiteConfig.load(this.inputRoot);
-        this.templateService = new TemplateService();
-        this.asciidoctor = Asciidoctor.Factory.create();
-        this.postParser = new PostParser(asciidoctor);
+        this.cacheRoot = resolveCacheRoot(config.cacheDir());
+        this.templateService = new TemplateService(profiler, this::outputChanged);
+        this.asciidoctorPool = new AsciidoctorPool(config.buildThreads());
+        this.workers = new TaskRunner("thoth-worker", config.buildThreads());
+        this.ioWorkers = new TaskRunner("thoth-io", config.ioThreads());
+        this.postCache = new PostCache(cacheRoot.resolve("posts"));
+        this.assetSynchronizer = new AssetSynchronizer(this.inputRoot, this.outputRoot, cacheRoot.resolve("assets.manifest"), this::outputChanged);
+        this.thumbnailService = new ThumbnailService(this.outputRoot, cacheRoot.resolve("thumbnails"), profiler, this::outputChanged);
+        this.gzipPrecompressor = new GzipPrecompressor(this.outputRoot, cacheRoot.resolve("gzip.manifest"), this::outputChanged);
+        this.bundledAssets = BundledAssets.load();
+        this.bundledManifest = cacheRoot.resolve("bundled.manifest");
+        this.prismManifest = cacheRoot.resolve("prism.manifest");
+        this.listingsManifest = cacheRoot.resolve("listings.manifest");
+        this.pendingOutputChanges = ConcurrentHashMap.newKeySet();
         this.posts = new ConcurrentHashMap<>();
         this.generatedTagSlugs = new HashSet<>();
+        this.renderedListings = new HashMap<>();
+        this.listingPageFiles = new TreeSet<>(readManifest(listingsManifest));
     }
 
     public SiteConfig config() {
         return config;
     }
 
+    public void setOutputListener(OutputListener outputListener) {
+        this.outputListener = outputListener;
+    }
+
+    public void setRebuildListener(RebuildListener rebuildListener) {
+        this.rebuildListener = rebuildListener;
+    }
+
     public void buildAll(boolean cleanOutput) throws IOException {
         if (cleanOutput && Files.exists(outputRoot)) {
             deleteRecursively(outputRoot);
+            listingPageFiles.clear();
         }
 
         Files.createDirectories(outputRoot);
+        removeLegacyCache();
+        try (BuildProfiler.Span ignored = profiler.span("config", BuildProfiler.PHASE)) {
+            reloadConfig();
+        }
+        try (BuildProfiler.Span ignored = profiler.span("input.scan", BuildProfiler.PHASE)) {
+            scanInput();
+        }
+        FutureTask<Void> assets = new FutureTask<>(() -> {
+            try (BuildProfiler.Span ignored = profiler.span("assets.sync", BuildProfiler.PHASE)) {
+                synchronizeAssets();
+            }
+            try (BuildProfiler.Span ignored = profiler.span("assets.bundled", BuildProfiler.PHASE)) {
+                writeBundledAssets();
+            }
+            return null;
+        });
+        Thread assetThread = new Thread(assets, "thoth-assets");
+        assetThread.setDaemon(true);
+        assetThread.start();
+        try (BuildProfiler.Span ignored = profiler.span("posts.parse", BuildProfiler.PHASE)) {
+            loadAllPosts();
+        } catch (IOException | RuntimeException ex) {
+            try {
+                awaitAssets(assets);
+            } catch (IOException | RuntimeException assetFailure) {
+                ex.addSuppressed(assetFailure);
+            }
+            throw ex;
+        }
+        awaitAssets(assets);
+        try (BuildProfiler.Span ignored = profiler.span("posts.render", BuildProfiler.PHASE)) {
+            renderAllPosts();
+        }
+        try (BuildProfiler.Span ignored = profiler.span("aggregates", BuildProfiler.PHASE)) {
+            renderAggregatedPages(AggregateChanges.all());
+        }
+        try (BuildProfiler.Span ignored = profiler.span("thumbnails.prune", BuildProfiler.PHASE)) {
+            thumbnailService.pruneUnused();
+        }
+        try (BuildProfiler.Span ignored = profiler.span("gzip", BuildProfiler.PHASE)) {
+            compressOutputs();
+        }
+
+        System.out.println("[cache] posts: " + postCache.hits() + " hits, " + postCache.misses() + " misses");
+    }
+
+    public synchronized void prepareOnDemand() throws IOException {
         reloadConfig();
-        loadAllPosts();
-        copyAllNonAdocAssets();
-        writeBundledAssets();
-        renderAllPosts();
-        renderAggregatedPages();
+        scanInput();
+        loadAllMetadata();
+        prismBundle = PrismBundle.full();
+        onDemand = true;
     }
 
-    public void handleInputEvent(Path changedFile, String eventType) {
-        try {
-            Path absolutePath = changedFile.toAbsolutePath().normalize();
-            if (!absolutePath.startsWith(inputRoot)) {
-                return;
-            }
+    @Override
+    public synchronized byte[] renderPage(String outputPath) throws IOException {
+        byte[] bundled = bundledAssets.content(outputPath);
+        if (bundled == null) {
+            bundled = prismBundle.content(outputPath);
+        }
+        if (bundled != null) {
+            return bundled;
+        }
 
-            Path relativePath = inputRoot.relativize(absolutePath);
-            if (Files.exists(absolutePath) && Files.isDirectory(absolutePath)) {
-                return;
+        String content = switch (outputPath) {
+            case "index.html" -> renderOnDemandListingPage("", 1);
+            case "archive.html" -> templateService.render("archive.ftl", archiveModel(sortedPosts()));
+            case "search.html" -> templateService.render("search.ftl", searchModel());
+            case "feed.xml" -> templateService.render("feed.ftl", feedModel(fullySortedPosts()));
+            case "assets/search-index.json" -> {
+                StringWriter writer = new StringWriter();
+                writeSearchIndex(fullySortedPosts(), writer);
+                yield writer.toString();
             }
+            default -> renderDirectoryPage(outputPath);
+        };
+        return content == null ? null : content.getBytes(StandardCharsets.UTF_8);
+    }
 
-            boolean isAdoc = relativePath.toString().endsWith(".adoc");
-            if ("DELETE".equals(eventType)) {
-                handleDelete(relativePath, isAdoc);
-                return;
-            }
+    @Override
+    public Path sourceFile(String outputPath) {
+        Path candidate = inputRoot.resolve(outputPath).normalize();
+        if (!candidate.startsWith(inputRoot) || candidate.startsWith(cacheRoot)
+            || candidate.toString().endsWith(".adoc") || !Files.isRegularFile(candidate)) {
+            return null;
+        }
+        return candidate;
+    }
+
+    public void handleInputEvent(Path changedFile, String eventType) {
+        handleInputBatch(new InputWatcher.Batch(Map.of(changedFile, eventType), false));
+    }
 
-            if (isAdoc) {
-                updateSinglePost(relativePath);
-                renderAggregatedPages();
+    public void handleInputBatch(InputWatcher.Batch batch) {
+        handleInputBatch(batch, NOT_CANCELLED);
+    }
+
+    public boolean handleInputBatch(InputWatcher.Batch batch, BooleanSupplier cancelled) {
+        if (onDemand) {
+            return handleOnDemandBatch(batch);
+        }
+        if (eventOutputChanges == null) {
+            eventOutputChanges = ConcurrentHashMap.newKeySet();
+        }
+        cancellation = cancelled;
+        try {
+            if (batch.overflow()) {
+                deferredRescan = true;
+                deferredAggregateChanges = deferredAggregateChanges.merge(rescanInput());
             } else {
-                copySingleAsset(relativePath);
-                if (SiteConfig.FILE_NAME.equals(relativePath.toString())) {
-                    reloadConfig();
-                    renderAllPosts();
-                    renderAggregatedPages();
+                for (Map.Entry<Path, String> event : batch.events().entrySet()) {
+                    checkCancelled();
+                    try {
+                        deferredAggregateChanges = deferredAggregateChanges.merge(applyInputEvent(event.getKey(), event.getValue()));
+                    } catch (CancellationException ex) {
+                        throw ex;
+                    } catch (Exception ex) {
+                        System.err.println("[warn] Failed handling file event for " + event.getKey() + ": " + ex.getMessage());
+                    }
+                    deferredRescan |= isConfigFile(event.getKey());
                 }
             }
+
+            checkCancelled();
+            renderAggregatedPages(deferredAggregateChanges);
+            if (deferredRescan) {
+                compressOutputs();
+            } else {
+                compressChangedOutputs();
+            }
+        } catch (CancellationException ex) {
+            System.out.println("[watch] rebuild superseded by newer changes");
+            return false;
         } catch (Exception ex) {
-            System.err.println("[warn] Failed handling file event for " + changedFile + ": " + ex.getMessage());
+            System.err.println("[warn] Failed handling file events: " + ex.getMessage());
+        } finally {
+            cancellation = NOT_CANCELLED;
+        }
+
+        Set<Path> changes = eventOutputChanges;
+        eventOutputChanges = null;
+        deferredAggregateChanges = AggregateChanges.none();
+        deferredRescan = false;
+        if (!changes.isEmpty()) {
+            rebuildListener.rebuilt(outputUrls(changes));
         }
+        return true;
     }
 
     public int resolveServePort(Integer commandLinePort) {
         return commandLinePort != null ? commandLinePort : config.devPort();
     }
 
-    private void handleDelete(Path relativePath, boolean isAdoc) throws IOException {
+    private boolean handleOnDemandBatch(InputWatcher.Batch batch) {
+        Set<Path> changes = ConcurrentHashMap.newKeySet();
+        eventOutputChanges = changes;
+        try {
+            synchronized (this) {
+                if (batch.overflow()) {
+                    InputInventory.Diff diff = scanInput();
+                    reloadOnDemandPages();
+                    for (List<InputInventory.Entry> entries : List.of(diff.added(), diff.modified(), diff.removed())) {
+                        for (InputInventory.Entry entry : entries) {
+                            outputChanged(outputRoot.resolve(entry.relativePath()));
+                        }
+                    }
+                }
+                for (Map.Entry<Path, String> event : batch.events().entrySet()) {
+                    try {
+                        applyOnDemandEvent(event.getKey(), event.getValue());
+                    } catch (Exception ex) {
+                        System.err.println("[warn] Failed handling file event for " + event.getKey() + ": " + ex.getMessage());
+                    }
+                }
+            }
+        } catch (Exception ex) {
+            System.err.println("[warn] Failed handling file events: " + ex.getMessage());
+        } finally {
+            eventOutputChanges = null;
+        }
+
+        if (!changes.isEmpty()) {
+            rebuildListener.rebuilt(outputUrls(changes));
+        }
+        return true;
+    }
+
+    private void applyOnDemandEvent(Path changedFile, String eventType) throws IOException {
+        Path absolutePath = changedFile.toAbsolutePath().normalize();
+        if (!absolutePath.startsWith(inputRoot) || absolutePath.startsWith(cacheRoot) || Files.isDirectory(absolutePath)) {
+            return;
+        }
+
+        Path relativePath = inputRoot.relativize(absolutePath);
+        inventory = inventory.update(relativePath);
+        if (!relativePath.toString().endsWith(".adoc")) {
+            outputChanged(outputRoot.resolve(relativePath));
+            if (isConfigFile(absolutePath)) {
+                reloadOnDemandPages();
+            }
+            return;
+        }
+
+        Post current = "DELETE".equals(eventType) || !Files.exists(absolutePath) ? null : parseMetadata(absolutePath);
+        Post previous = current == null ? posts.remove(relativePath) : posts.put(relativePath, current);
+        System.out.println((current == null ? "[remove] " : "[update] ") + toUnixPath(relativePath));
+
+        AggregateChanges changes = AggregateChanges.between(previous, current);
+        Map<String, Integer> tagCounts = tagCounts();
+        for (Post post : Arrays.asList(previous, current)) {
+            if (post == null) {
+                continue;
+            }
+            outputChanged(outputRoot.resolve(post.outputRelativePath()));
+            for (TagRef tag : post.tags()) {
+                if (changes.affectsTag(tag.slug())) {
+                    listingPages(tagListingUrl(tag.slug()), tagCounts.getOrDefault(tag.slug(), 0) + 1).forEach(this::outputChanged);
+                }
+            }
+        }
+        if (changes.affects(AggregateChanges.Page.ARCHIVE)) {
+            outputChanged(outputRoot.resolve("archive.html"));
+        }
+        // One post more, so a removal that shortened a listing still reaches its former last page.
+        listingPages("/", posts.size() + 1).forEach(this::outputChanged);
+        outputChanged(outputRoot.resolve("feed.xml"));
+        outputChanged(outputRoot.resolve("assets/search-index.json"));
+    }
+
+    private void reloadOnDemandPages() throws IOException {
+        Set<Path> pages = onDemandPages();
+        reloadConfig();
+        loadAllMetadata();
+        pages.addAll(onDemandPages());
+        pages.forEach(this::outputChanged);
+    }
+
+    private Set<Path> onDemandPages() {
+        Set<Path> pages = new HashSet<>();
+        for (String page : List.of("archive.html", "search.html", "feed.xml", "assets/search-index.json")) {
+            pages.add(outputRoot.resolve(page));
+        }
+        pages.addAll(listingPages("/", posts.size()));
+        for (Post post : posts.values()) {
+            pages.add(outputRoot.resolve(post.outputRelativePath()));
+        }
+        tagCounts().forEach((slug, count) -> pages.addAll(listingPages(tagListingUrl(slug), count)));
+        return pages;
+    }
+
+    private String renderDirectoryPage(String outputPath) throws IOException {
+        if (!outputPath.endsWith("/index.html")) {
+            return null;
+        }
+
+        String directory = outputPath.substring(0, outputPath.length() - "/index.html".length());
+        Matcher paged = PAGE_DIRECTORY.matcher(directory);
+        String listing = paged.matches() ? Objects.requireNonNullElse(paged.group(1), "") : directory;
+        int pageNumber = paged.matches() ? Integer.parseInt(paged.group(2)) : 1;
+        if (pageNumber > 1 || listing.startsWith("tags/")) {
+            String content = renderOnDemandListingPage(listing, pageNumber);
+            if (content != null) {
+                return content;
+            }
+        }
+
+        Post post = posts.get(Path.of(directory + ".adoc"));
+        return post == null ? null : templateService.render("post.ftl", postModel(fullPost(post)));
+    }
+
+    private String renderOnDemandListingPage(String listing, int pageNumber) throws IOException {
+        if (listing.isEmpty()) {
+            List<Pagination.Page> pages = Pagination.paginate(sortedPosts(), config.pageSize(), "/");
+            if (pageNumber > pages.size()) {
+                return null;
+            }
+            Pagination.Page page = pages.get(pageNumber - 1);
+            parseOnDemand(page.posts());
+            List<Post> parsed = page.posts().stream().map(post -> posts.get(post.sourceRelativePath())).toList();
+            return templateService.render("index.ftl", indexModel(page.withPosts(parsed), Map.of()));
+        }
+        if (!listing.startsWith("tags/")) {
+            return null;
+        }
+
+        String slug = listing.substring("tags/".length());
+        String displayName = null;
+        List<Post> taggedPosts = new ArrayList<>();
+        for (Post post : sortedPosts()) {
+            for (TagRef tag : post.tags()) {
+                if (tag.slug().equals(slug)) {
+                    displayName = displayName == null ? tag.name() : displayName;
+                    taggedPosts.add(post);
+                    break;
+                }
+            }
+        }
+        List<Pagination.Page> pages = Pagination.paginate(taggedPosts, config.pageSize(), tagListingUrl(slug));
+        if (taggedPosts.isEmpty() || pageNumber > pages.size()) {
+            return null;
+        }
+        return templateService.render("tag.ftl", tagModel(displayName, pages.get(pageNumber - 1)));
+    }
+
+    private Post fullPost(Post post) throws IOException {
+        if (post.htmlContent() != null) {
+            return post;
+        }
+        Post parsed = parsePost(inputRoot.resolve(post.sourceRelativePath()));
+        posts.put(post.sourceRelativePath(), parsed);
+        return parsed;
+    }
+
+    private List<Post> fullySortedPosts() throws IOException {
+        parseOnDemand(posts.values());
+        return sortedPosts();
+    }
+
+    private void parseOnDemand(Collection<Post> candidates) throws IOException {
+        List<Callable<Post>> tasks = new ArrayList<>();
+        for (Post post : candidates) {
+            if (post.htmlContent() == null) {
+                tasks.add(() -> fullPost(post));
+            }
+        }
+        if (!tasks.isEmpty()) {
+            workers.invokeAll(tasks);
+            System.out.println("[posts] " + tasks.size() + " parsed on demand");
+        }
+    }
+
+    private Map<String, Integer> tagCounts() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (Post post : posts.values()) {
+            for (TagRef tag : post.tags()) {
+                counts.merge(tag.slug(), 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private List<Path> listingPages(String listingUrl, int postCount) {
+        List<Path> pages = new ArrayList<>();
+        for (int number = 1; number <= Pagination.pageCount(postCount, config.pageSize()); number++) {
+            pages.add(outputRoot.resolve(Pagination.outputRelativePath(listingUrl, number)));
+        }
+        return pages;
+    }
+
+    private static String tagListingUrl(String slug) {
+        return "/tags/" + slug + "/";
+    }
+
+    private AggregateChanges applyInputEvent(Path changedFile, String eventType) throws IOException {
+        Path absolutePath = changedFile.toAbsolutePath().normalize();
+        if (!absolutePath.startsWith(inputRoot) || absolutePath.startsWith(cacheRoot)) {
+            return AggregateChanges.none();
+        }
+
+        Path relativePath = inputRoot.relativize(absolutePath);
+        if (Files.exists(absolutePath) && Files.isDirectory(absolutePath)) {
+            return AggregateChanges.none();
+        }
+        inventory = inventory.update(relativePath);
+
+        boolean isAdoc = relativePath.toString().endsWith(".adoc");
+        if ("DELETE".equals(eventType)) {
+            return handleDelete(relativePath, isAdoc);
+        }
+
         if (isAdoc) {
-            posts.remove(relativePath);
+            return updateSinglePost(relativePath);
+        }
+
+        copySingleAsset(relativePath);
+        if (!isConfigFile(absolutePath)) {
+            return AggregateChanges.none();
+        }
+
+        SiteConfig previousConfig = config;
+        reloadConfig();
+        if (parserSettingsChanged(previousConfig)) {
+            loadAllPosts();
+        }
+        renderAllPosts();
+        return AggregateChanges.all();
+    }
+
+    private AggregateChanges rescanInput() throws IOException {
+        SiteConfig previousConfig = config;
+        reloadConfig();
+        InputInventory.Diff diff = scanInput();
+        for (InputInventory.Entry removed : diff.removed()) {
+            if (removed.kind() == InputInventory.Kind.POST) {
+                posts.remove(removed.relativePath());
+                deletePostOutput(removed.relativePath());
+                System.out.println("[remove] " + toUnixPath(removed.relativePath()));
+            }
+        }
+        if (parserSettingsChanged(previousConfig)) {
+            loadAllPosts();
+        } else {
+            List<Callable<Post>> tasks = new ArrayList<>();
+            for (List<InputInventory.Entry> entries : List.of(diff.added(), diff.modified())) {
+                for (InputInventory.Entry entry : entries) {
+                    if (entry.kind() == InputInventory.Kind.POST) {
+                        tasks.add(() -> parsePost(inputRoot.resolve(entry.relativePath())));
+                    }
+                }
+            }
+            for (Post post : workers.invokeAll(tasks)) {
+                posts.put(post.sourceRelativePath(), post);
+            }
+        }
+        synchronizeAssets();
+        renderAllPosts();
+        return AggregateChanges.all();
+    }
+
+    private void checkCancelled() {
+        if (cancellation.getAsBoolean()) {
+            throw new CancellationException();
+        }
+    }
+
+    private boolean isConfigFile(Path file) {
+        return file.toAbsolutePath().normalize().equals(inputRoot.resolve(SiteConfig.FILE_NAME));
+    }
+
+    private AggregateChanges handleDelete(Path relativePath, boolean isAdoc) throws IOException {
+        if (isAdoc) {
+            Post removed = posts.remove(relativePath);
             deletePostOutput(relativePath);
             System.out.println("[remove] " + toUnixPath(relativePath));
-            renderAggregatedPages();
-            return;
+            if (updatePrismBundle()) {
+                renderPostsWithCode(null);
+            }
+            return AggregateChanges.between(removed, null);
         }
 
-        Path target = outputRoot.resolve(relativePath);
-        Files.deleteIfExists(target);
-        System.out.println("[delete] " + toUnixPath(relativePath));
+        if (assetSynchronizer.remove(relativePath)) {
+            System.out.println("[delete] " + toUnixPath(relativePath));
+        }
+        return AggregateChanges.none();
     }
 
     private void reloadConfig() throws IOException {
         this.config = SiteConfig.load(inputRoot);
     }
 
+    private boolean parserSettingsChanged(SiteConfig previousConfig) {
+        return !previousConfig.baseUrl().equals(config.baseUrl())
+            || previousConfig.highlightMode() != config.highlightMode()
+            || !previousConfig.tagTransliterations().equals(config.tagTransliterations());
+    }
+
+    private Path resolveCacheRoot(String configuredCacheDir) {
+        if (configuredCacheDir == null || configuredCacheDir.isBlank()) {
+            // Next to the output instead of inside it, so the cache is neither served nor deployed.
+            return outputRoot.resolveSibling(outputRoot.getFileName() + DEFAULT_CACHE_SUFFIX);
+        }
+        return inputRoot.resolve(configuredCacheDir).toAbsolutePath().normalize();
+    }
+
+    private void removeLegacyCache() throws IOException {
+        Path legacyCache = outputRoot.resolve(LEGACY_CACHE_DIRECTORY);
+        if (!Files.isDirectory(legacyCache) || cacheRoot.startsWith(legacyCache)) {
+            return;
+        }
+        deleteRecursively(legacyCache);
+        System.out.println("[cache] removed " + LEGACY_CACHE_DIRECTORY + " from the output; the cache now lives in " + cacheRoot);
+    }
+
+    private InputInventory.Diff scanInput() throws IOException {
+        InputInventory previous = inventory;
+        inventory = InputInventory.scan(inputRoot, cacheRoot);
+        InputInventory.Diff diff = previous == null ? null : inventory.diff(previous);
+        if (diff != null) {
+            System.out.println("[scan] " + diff.added().size() + " added, " + diff.modified().size() + " modified, "
+                + diff.removed().size() + " removed");
+        }
+        return diff;
+    }
+
     private void loadAllPosts() throws IOException {
-        posts.clear();
+        List<Path> sources = postSources();
+        List<Callable<Post>> tasks = new ArrayList<>(sources.size());
+        for (Path source : sources) {
+            tasks.add(() -> {
+                try {
+                    return parsePost(source);
+                } catch (Exception ex) {
+                    throw new IllegalStateException("Failed to parse post " + source, ex);
+                }
+            });
+        }
 
-        try (var stream = Files.walk(inputRoot)) {
-            stream
-                .filter(Files::isRegularFile)
-                .filter(path -> path.toString().endsWith(".adoc"))
-                .forEach(path -> {
-                    try {
-                        Post post = postParser.parse(path, inputRoot);
-                        posts.put(post.sourceRelativePath(), post);
-                    } catch (Exception ex) {
-                        throw new IllegalStateException("Failed to parse post " + path, ex);
-                    }
-                });
+        postCache.resetStatistics();
+        replacePosts(workers.invokeAll(tasks));
+        postCache.pruneUnused();
+    }
+
+    private void loadAllMetadata() throws IOException {
+        List<Path> sources = postSources();
+        List<Callable<Post>> tasks = new ArrayList<>(sources.size());
+        for (Path source : sources) {
+            tasks.add(() -> {
+                try {
+                    return parseMetadata(source);
+                } catch (Exception ex) {
+                    throw new IllegalStateException("Failed to parse post " + source, ex);
+                }
+            });
         }
+
+        replacePosts(workers.invokeAll(tasks));
+        System.out.println("[posts] " + posts.size() + " indexed");
     }
 
-    private void copyAllNonAdocAssets() throws IOException {
-        try (var stream = Files.walk(inputRoot)) {
-            stream
-                .filter(Files::isRegularFile)
-                .filter(path -> !path.toString().endsWith(".adoc"))
-                .forEach(path -> {
-                    Path relativePath = inputRoot.relativize(path);
-                    try {
-                        copyFile(path, outputRoot.resolve(relativePath));
-                        System.out.println("[copy] " + toUnixPath(relativePath));
-                    } catch (IOException ex) {
-                        throw new IllegalStateException("Failed copying asset " + path, ex);
-                    }
-                });
+    private List<Path> postSources() {
+        return inventory.posts().stream()
+            .map(entry -> inputRoot.resolve(entry.relativePath()))
+            .toList();
+    }
+
+    private Post parseMetadata(Path source) throws IOException {
+        return new PostParser(null, config.baseUrl(), config.highlightMode(), config.tagSlugger(), BuildProfiler.disabled())
+            .parseMetadata(source, inputRoot);
+    }
+
+    private Post parsePost(Path source) throws IOException {
+        SiteConfig parserConfig = config;
+        Path relativePath = inputRoot.relativize(source);
+        String postKey = toUnixPath(relativePath);
+        try (BuildProfiler.Span span = profiler.span("parse", BuildProfiler.PARSE, postKey).arg("cached", true)) {
+            return postCache.load(
+                source,
+                relativePath,
+                parserConfig.baseUrl(),
+                parserConfig.highlightMode(),
+                parserConfig.tagTransliterations(),
+                () -> {
+                    span.arg("cached", false);
+                    return asciidoctorPool.withEngine(engine -> new PostParser(
+                        engine,
+                        parserConfig.baseUrl(),
+                        parserConfig.highlightMode(),
+                        parserConfig.tagSlugger(),
+                        profiler
+                    ).parse(source, inputRoot));
+                }
+            );
         }
     }
 
-    private void copySingleAsset(Path relativePath) throws IOException {
-        Path source = inputRoot.resolve(relativePath);
-        if (!Files.exists(source)) {
-            return;
+    private void synchronizeAssets() throws IOException {
+        AssetSynchronizer.SyncResult result = assetSynchronizer.synchronize(inventory.assets(), config.assetsMode(), ioWorkers);
+        System.out.println("[assets] " + result.copied() + " copied, " + result.linked() + " linked, "
+            + result.skipped() + " skipped, " + result.removed() + " removed");
+    }
+
+    private void awaitAssets(FutureTask<Void> assets) throws IOException {
+        try {
+            assets.get();
+        } catch (InterruptedException ex) {
+            assets.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while synchronizing assets");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(ex.getCause());
         }
+    }
 
-        copyFile(source, outputRoot.resolve(relativePath));
-        System.out.println("[copy] " + toUnixPath(relativePath));
+    private void copySingleAsset(Path relativePath) throws IOException {
+        if (assetSynchronizer.publish(relativePath, config.assetsMode())) {
+            System.out.println("[copy] " + toUnixPath(relativePath));
+        }
     }
 
     private void writeBundledAssets() throws IOException {
-        for (String descriptor : BUNDLED_ASSETS) {
-            String[] parts = descriptor.split("::");
-            String resourcePath = parts[0];
-            Path targetPath = outputRoot.resolve(parts[1]);
-
-            try (InputStream in = getClass().getClassLoader().getResourceAsStream(resourcePath)) {
-                if (in == null) {
-                    throw new IllegalStateException("Missing bundled asset: " + resourcePath);
+        List<String> previous = readManifest(bundledManifest);
+        if (previous.isEmpty()) {
+            removeUnhashedBundledAssets();
+        }
+
+        int written = 0;
+        for (String outputPath : bundledAssets.outputPaths()) {
+            Path targetPath = outputRoot.resolve(outputPath);
+            if (Files.exists(targetPath)) {
+                continue;
+            }
+            try (WriteIfChangedOutputStream out = new WriteIfChangedOutputStream(targetPath)) {
+                out.write(bundledAssets.content(outputPath));
+                if (out.commit()) {
+                    outputChanged(targetPath);
                 }
-                Files.createDirectories(targetPath.getParent());
-                Files.copy(in, targetPath, StandardCopyOption.REPLACE_EXISTING);
+                profiler.addBytesWritten(out.bytesWritten());
+            }
+            written++;
+        }
+
+        for (String stale : previous) {
+            if (!bundledAssets.isCurrentOutputPath(stale) && Files.deleteIfExists(outputRoot.resolve(stale))) {
+                outputChanged(outputRoot.resolve(stale));
+            }
+        }
+        if (written > 0 || !previous.equals(List.copyOf(bundledAssets.outputPaths()))) {
+            Files.createDirectories(bundledManifest.getParent());
+            Files.write(bundledManifest, bundledAssets.outputPaths(), StandardCharsets.UTF_8);
+        }
+        if (written > 0) {
+            System.out.println("[bundled] " + written + " written");
+        }
+    }
+
+    private void removeUnhashedBundledAssets() throws IOException {
+        for (String logicalPath : bundledAssets.logicalPaths()) {
+            Path legacy = outputRoot.resolve(logicalPath);
+            if (inventory.get(Path.of(logicalPath)) == null && Files.deleteIfExists(legacy)) {
+                outputChanged(legacy);
             }
         }
     }
 
+    private List<String> readManifest(Path manifestFile) throws IOException {
+        try {
+            return Files.readAllLines(manifestFile, StandardCharsets.UTF_8).stream()
+                .filter(line -> !line.isBlank())
+                .toList();
+        } catch (NoSuchFileException ex) {
+            return List.of();
+        }
+    }
+
+    private void compressOutputs() throws IOException {
+        pendingOutputChanges.clear();
+        if (!config.gzip()) {
+            gzipPrecompressor.synchronize(List.of(), config.gzipMinSize(), workers);
+            return;
+        }
+
+        List<Path> outputFiles;
+        try (var stream = Files.walk(outputRoot)) {
+            outputFiles = stream
+                .filter(Files::isRegularFile)
+                .filter(path -> !path.startsWith(cacheRoot))
+                .filter(path -> !path.getFileName().toString().endsWith(GzipPrecompressor.EXTENSION))
+                .sorted()
+                .toList();
+        }
+
+        int compressed = gzipPrecompressor.synchronize(outputFiles, config.gzipMinSize(), workers);
+        pendingOutputChanges.clear();
+        System.out.println("[gzip] " + compressed + " compressed");
+    }
+
+    private void compressChangedOutputs() throws IOException {
+        if (!config.gzip() || pendingOutputChanges.isEmpty()) {
+            return;
+        }
+
+        List<Path> changed = new ArrayList<>(pendingOutputChanges);
+        pendingOutputChanges.removeAll(changed);
+        gzipPrecompressor.update(changed, config.gzipMinSize(), workers);
+    }
+
     private void renderAllPosts() throws IOException {
+        updatePrismBundle();
+        int rendered = 0;
         for (Post post : posts.values()) {
-            renderPost(post);
+            checkCancelled();
+            if (renderPost(post)) {
+                rendered++;
+            }
         }
+        System.out.println("[posts] " + rendered + " rendered, " + (posts.size() - rendered) + " unchanged");
     }
 
-    private void updateSinglePost(Path relativePath) throws IOException {
+    private AggregateChanges updateSinglePost(Path relativePath) throws IOException {
         Path source = inputRoot.resolve(relativePath);
         if (!Files.exists(source)) {
-            return;
+            return AggregateChanges.none();
+        }
+
+        Post post = parsePost(source);
+        Post previous = posts.put(relativePath, post);
+        if (updatePrismBundle()) {
+            renderPostsWithCode(post);
+        } else {
+            renderPost(post);
+        }
+        return AggregateChanges.between(previous, post);
+    }
+
+    private void renderPostsWithCode(Post changed) throws IOException {
+        for (Post post : posts.values()) {
+            if (post.hasCode() || post == changed) {
+                renderPost(post);
+            }
+        }
+    }
+
+    private boolean updatePrismBundle() throws IOException {
+        Set<String> languages = new TreeSet<>();
+        Set<String> plugins = new TreeSet<>();
+        for (Post post : posts.values()) {
+            languages.addAll(post.codeLanguages());
+            plugins.addAll(post.codePlugins());
+        }
+        PrismBundle updated = PrismBundle.of(languages, plugins);
+        if (updated.sameContent(prismBundle)) {
+            return false;
+        }
+
+        for (String outputPath : updated.outputPaths()) {
+            Path targetPath = outputRoot.resolve(outputPath);
+            if (Files.exists(targetPath)) {
+                continue;
+            }
+            try (WriteIfChangedOutputStream out = new WriteIfChangedOutputStream(targetPath)) {
+                out.write(updated.content(outputPath));
+                if (out.commit()) {
+                    outputChanged(targetPath);
+                }
+                profiler.addBytesWritten(out.bytesWritten());
+            }
+        }
+        List<String> previous = prismBundle != null ? prismBundle.outputPaths() : readManifest(prismManifest);
+        for (String stale : previous) {
+            if (!updated.outputPaths().contains(stale) && Files.deleteIfExists(outputRoot.resolve(stale))) {
+                outputChanged(outputRoot.resolve(stale));
+            }
         }
+        Files.createDirectories(prismManifest.getParent());
+        Files.write(prismManifest, updated.outputPaths(), StandardCharsets.UTF_8);
+
+        boolean changed = prismBundle != null;
+        prismBundle = updated;
+        List<String> components = new ArrayList<>(updated.languages());
+        components.addAll(updated.plugins());
+        System.out.println("[prism] bundle: core" + (components.isEmpty() ? "" : ", " + String.join(", ", components)));
+        return changed;
+    }
 
-        Post post = postParser.parse(source, inputRoot);
-        posts.put(relativePath, post);
-        renderPost(post);
+    private boolean renderPost(Post post) throws IOException {
+        boolean written = templateService.renderToFile(
+            "post.ftl",
+            postModel(post),
+            outputRoot.resolve(post.outputRelativePath()),
+            toUnixPath(post.sourceRelativePath())
+        );
+        if (written) {
+            System.out.println("[render] " + toUnixPath(post.sourceRelativePath()) + " -> " + toUnixPath(post.outputRelativePath()));
+        }
+        return written;
     }
 
-    private void renderPost(Post post) throws IOException {
+    Map<String, Object> postModel(Post post) {
         Map<String, Object> model = baseModel(post.title(), "");
 
         Map<String, Object> postModel = new LinkedHashMap<>();
@@ -269,42 +905,98 @@ public final class SiteGenerator implements AutoCloseable {
         postModel.put("url", post.url());
 
         model.put("post", postModel);
-        templateService.renderToFile("post.ftl", model, outputRoot.resolve(post.outputRelativePath()));
-
-        System.out.println("[render] " + toUnixPath(post.sourceRelativePath()) + " -> " + toUnixPath(post.outputRelativePath()));
+        if (post.hasCode() && prismBundle != null) {
+            Map<String, String> prism = new LinkedHashMap<>();
+            prism.put("stylesheet", "/" + prismBundle.stylesheetPath());
+            if (post.hasClientCode()) {
+                prism.put("script", "/" + prismBundle.scriptPath());
+            }
+            model.put("prism", prism);
+        }
+        return model;
     }
 
-    private void renderAggregatedPages() throws IOException {
+    void renderAggregatedPages(AggregateChanges changes) throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+
         List<Post> sortedPosts = sortedPosts();
+        if (changes.affectsAllTags()) {
+            // Full renders (startup, config reloads, rescans) write every listing page again.
+            renderedListings.clear();
+        }
 
-        renderIndexPage(sortedPosts);
-        renderArchivePage(sortedPosts);
-        renderSearchPage();
-        renderTagPages(sortedPosts);
-        renderFeed(sortedPosts);
-        writeSearchIndex(sortedPosts);
+        if (changes.affects(AggregateChanges.Page.INDEX)) {
+            renderIndexPage(sortedPosts);
+        }
+        if (changes.affects(AggregateChanges.Page.ARCHIVE)) {
+            renderArchivePage(sortedPosts);
+        }
+        if (changes.affects(AggregateChanges.Page.SEARCH_PAGE)) {
+            renderSearchPage();
+        }
+        if (changes.affects(AggregateChanges.Page.TAG_PAGES)) {
+            renderTagPages(sortedPosts, changes);
+        }
+        if (changes.affects(AggregateChanges.Page.FEED)) {
+            renderFeed(sortedPosts);
+        }
+        if (changes.affects(AggregateChanges.Page.SEARCH_INDEX)) {
+            writeSearchIndex(sortedPosts);
+        }
+        writeListingsManifest();
     }
 
     private void renderIndexPage(List<Post> sortedPosts) throws IOException {
+        Map<String, String> indexCoverImages = indexCoverImages(sortedPosts);
+        List<Pagination.Page> pages = Pagination.paginate(sortedPosts, config.pageSize(), "/");
+        for (Pagination.Page page : pages) {
+            renderListingPage("index.ftl", indexModel(page, indexCoverImages), page);
+        }
+        removeStaleListingPages("/", pages.size());
+    }
+
+    Map<String, Object> indexModel(List<Post> sortedPosts) throws IOException {
+        return indexModel(sortedPosts, indexCoverImages(sortedPosts));
+    }
+
+    private Map<String, Object> indexModel(List<Post> sortedPosts, Map<String, String> indexCoverImages) {
         Map<String, Object> model = baseModel(config.title(), "");
-        model.put("posts", summariesForTemplate(sortedPosts, true));
-        templateService.renderToFile("index.ftl", model, outputRoot.resolve("index.html"));
+        model.put("posts", summariesForTemplate(sortedPosts, indexCoverImages));
+        return model;
+    }
+
+    private Map<String, Object> indexModel(Pagination.Page page, Map<String, String> indexCoverImages) {
+        Map<String, Object> model = indexModel(page.posts(), indexCoverImages);
+        model.put("pagination", paginationModel(page));
+        return model;
+    }
+
+    private Map<String, String> indexCoverImages(List<Post> sortedPosts) throws IOException {
+        List<String> coverImages = sortedPosts.stream().map(Post::coverImage).toList();
+        return onDemand ? Map.of() : thumbnailService.resolveIndexCoverImages(coverImages, workers);
     }
 
     private void renderArchivePage(List<Post> sortedPosts) throws IOException {
+        templateService.renderToFile("archive.ftl", archiveModel(sortedPosts), outputRoot.resolve("archive.html"));
+    }
+
+    Map<String, Object> archiveModel(List<Post> sortedPosts) {
         Map<String, Object> model = baseModel("Archive", "");
-        model.put("posts", summariesForTemplate(sortedPosts, false));
-        templateService.renderToFile("archive.ftl", model, outputRoot.resolve("archive.html"));
+        model.put("posts", summariesForTemplate(sortedPosts, null));
+        return model;
     }
 
     private void renderSearchPage() throws IOException {
-        Map<String, Object> model = baseModel("Search", "");
-        templateService.renderToFile("search.ftl", model, outputRoot.resolve("search.html"));
+        templateService.renderToFile("search.ftl", searchModel(), outputRoot.resolve("search.html"));
     }
 
-    private void renderTagPages(List<Post> sortedPosts) throws IOException {
-        cleanupOldTagPages();
+    Map<String, Object> searchModel() {
+        return baseModel("Search", "");
+    }
 
+    private void renderTagPages(List<Post> sortedPosts, AggregateChanges changes) throws IOException {
         Map<String, String> displayNameBySlug = new LinkedHashMap<>();
         Map<String, List<Post>> postsBySlug = new LinkedHashMap<>();
 
@@ -315,23 +1007,122 @@ public final class SiteGenerator implements AutoCloseable {
             }
         }
 
+        removeStaleTagPages(postsBySlug.keySet(), changes.affectsAllTags());
         generatedTagSlugs.clear();
         generatedTagSlugs.addAll(postsBySlug.keySet());
 
         for (Map.Entry<String, List<Post>> entry : postsBySlug.entrySet()) {
             String slug = entry.getKey();
+            if (!changes.affectsTag(slug)) {
+                continue;
+            }
+
             String displayName = displayNameBySlug.getOrDefault(slug, slug);
+            List<Pagination.Page> pages = Pagination.paginate(entry.getValue(), config.pageSize(), tagListingUrl(slug));
+            for (Pagination.Page page : pages) {
+                renderListingPage("tag.ftl", tagModel(displayName, page), page);
+            }
+            removeStaleListingPages(tagListingUrl(slug), pages.size());
+        }
+    }
 
-            Map<String, Object> model = baseModel("Tag: " + displayName, "");
-            model.put("tagName", displayName);
-            model.put("posts", summariesForTemplate(entry.getValue(), false));
+    Map<String, Object> tagModel(String displayName, List<Post> taggedPosts) {
+        Map<String, Object> model = baseModel("Tag: " + displayName, "");
+        model.put("tagName", displayName);
+        model.put("posts", summariesForTemplate(taggedPosts, null));
+        return model;
+    }
+
+    private Map<String, Object> tagModel(String displayName, Pagination.Page page) {
+        Map<String, Object> model = tagModel(displayName, page.posts());
+        model.put("pagination", paginationModel(page));
+        return model;
+    }
+
+    private Map<String, Object> paginationModel(Pagination.Page page) {
+        Map<String, Object> pagination = new LinkedHashMap<>();
+        pagination.put("number", page.number());
+        pagination.put("pageCount", page.pageCount());
+        if (page.previousUrl() != null) {
+            pagination.put("previousUrl", page.previousUrl());
+        }
+        if (page.nextUrl() != null) {
+            pagination.put("nextUrl", page.nextUrl());
+        }
+        return pagination;
+    }
+
+    // Listing pages are only rendered again when their window of posts (or anything else in the model) changed.
+    private void renderListingPage(String templateName, Map<String, Object> model, Pagination.Page page) throws IOException {
+        Path outputFile = outputRoot.resolve(page.outputRelativePath());
+        if (model.equals(renderedListings.get(outputFile)) && Files.exists(outputFile)) {
+            return;
+        }
+        templateService.renderToFile(templateName, model, outputFile);
+        renderedListings.put(outputFile, model);
+        if (page.number() > 1) {
+            listingPageFiles.add(toUnixPath(page.outputRelativePath()));
+        }
+    }
+
+    // Only page/N files recorded in listings.manifest are removed, so content published under a page/ folder stays.
+    private void removeStaleListingPages(String listingUrl, int pageCount) throws IOException {
+        String prefix = listingUrl.substring(1);
+        List<String> stalePages = new ArrayList<>();
+        for (String pageFile : listingPageFiles) {
+            if (!pageFile.startsWith(prefix)) {
+                continue;
+            }
+            Matcher page = LISTING_PAGE_FILE.matcher(pageFile.substring(prefix.length()));
+            if (page.matches() && Integer.parseInt(page.group(1)) > pageCount) {
+                stalePages.add(pageFile);
+            }
+        }
+
+        for (String pageFile : stalePages) {
+            listingPageFiles.remove(pageFile);
+            Path file = outputRoot.resolve(pageFile);
+            renderedListings.remove(file);
+            if (!isPublishedContent(Path.of(pageFile)) && Files.deleteIfExists(file)) {
+                outputChanged(file);
+                Files.deleteIfExists(GzipPrecompressor.siblingOf(file));
+                System.out.println("[remove] " + pageFile);
+            }
+            deleteEmptyDirectory(file.getParent());
+            deleteEmptyDirectory(file.getParent().getParent());
+        }
+    }
+
+    private boolean isPublishedContent(Path relativePath) {
+        return inventory.get(relativePath) != null
+            || posts.values().stream().anyMatch(post -> post.outputRelativePath().equals(relativePath));
+    }
+
+    private void deleteEmptyDirectory(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (var stream = Files.list(directory)) {
+            if (stream.findAny().isPresent()) {
+                return;
+            }
+        }
+        Files.delete(directory);
+    }
 
-            Path tagFile = outputRoot.resolve("tags").resolve(slug).resolve("index.html");
-            templateService.renderToFile("tag.ftl", model, tagFile);
+    private void writeListingsManifest() throws IOException {
+        List<String> current = List.copyOf(listingPageFiles);
+        if (!current.equals(readManifest(listingsManifest))) {
+            Files.createDirectories(listingsManifest.getParent());
+            Files.write(listingsManifest, current, StandardCharsets.UTF_8);
         }
     }
 
     private void renderFeed(List<Post> sortedPosts) throws IOException {
+        templateService.renderToFile("feed.ftl", feedModel(sortedPosts), outputRoot.resolve("feed.xml"));
+    }
+
+    Map<String, Object> feedModel(List<Post> sortedPosts) throws IOException {
         Map<String, Object> model = new HashMap<>();
         model.put("siteTitle", config.title());
         model.put("siteDescription", config.description());
@@ -339,10 +1130,13 @@ public final class SiteGenerator implements AutoCloseable {
         model.put("siteLink", config.baseUrl());
         model.put("feedSelf", config.absoluteUrl("/feed.xml"));
 
-        ZonedDateTime now = ZonedDateTime.now(config.zoneId());
-        String nowFormatted = FEED_DATE_FORMATTER.format(now);
-        model.put("pubDate", nowFormatted);
-        model.put("lastBuildDate", nowFormatted);
+        // Dated from the content instead of the clock, so an unchanged site produces a byte-identical feed.
+        ZonedDateTime updated = sortedPosts.isEmpty()
+            ? Files.getLastModifiedTime(inputRoot.resolve(SiteConfig.FILE_NAME)).toInstant().atZone(config.zoneId())
+            : sortedPosts.get(0).date().atStartOfDay(config.zoneId());
+        String updatedFormatted = FEED_DATE_FORMATTER.format(updated);
+        model.put("pubDate", updatedFormatted);
+        model.put("lastBuildDate", updatedFormatted);
 
         List<Map<String, Object>> items = new ArrayList<>();
         for (Post post : sortedPosts) {
@@ -355,54 +1149,86 @@ public final class SiteGenerator implements AutoCloseable {
             items.add(item);
         }
         model.put("items", items);
-
-        templateService.renderToFile("feed.ftl", model, outputRoot.resolve("feed.xml"));
+        return model;
     }
 
-    private void writeSearchIndex(List<Post> sortedPosts) throws IOException {
+    void writeSearchIndex(List<Post> sortedPosts) throws IOException {
         Path searchIndexPath = outputRoot.resolve("assets/search-index.json");
-        Files.createDirectories(searchIndexPath.getParent());
-
-        StringBuilder json = new StringBuilder();
-        json.append("[\n");
-
-        for (int i = 0; i < sortedPosts.size(); i++) {
-            Post post = sortedPosts.get(i);
-            if (i > 0) {
-                json.append(",\n");
+        try (WriteIfChangedOutputStream out = new WriteIfChangedOutputStream(searchIndexPath)) {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writeSearchIndex(sortedPosts, writer);
+            writer.flush();
+            if (out.commit()) {
+                outputChanged(searchIndexPath);
             }
+            profiler.addBytesWritten(out.bytesWritten());
+        }
+    }
+
+    private void writeSearchIndex(List<Post> sortedPosts, Writer writer) throws IOException {
+        LunrIndexBuilder index = new LunrIndexBuilder(SEARCH_INDEX_FIELDS);
+        JsonWriter json = new JsonWriter(writer);
+        json.beginObject();
 
-            json.append("  {")
-                .append(jsonField("title", post.title())).append(",")
-                .append(jsonField("date", post.date().toString())).append(",")
-                .append(jsonField("tags", post.tagsAsText())).append(",")
-                .append(jsonField("url", post.url())).append(",")
-                .append(jsonField("body", post.plainText())).append(",")
-                .append(jsonField("teaser", post.teaser()))
-                .append("}");
+        json.name("documents").beginArray();
+        for (Post post : sortedPosts) {
+            json.beginObject()
+                .name("title").value(post.title())
+                .name("date").value(post.date().toString())
+                .name("tags").value(post.tagsAsText())
+                .name("url").value(post.url())
+                .name("teaser").value(post.teaser() == null ? "" : post.teaser())
+                .endObject();
+
+            Map<String, String> document = new HashMap<>();
+            document.put("title", post.title());
+            document.put("tags", post.tagsAsText());
+            document.put("teaser", post.teaser());
+            document.put("body", post.plainText());
+            index.add(post.url(), document);
         }
+        json.endArray();
 
-        json.append("\n]\n");
-        Files.writeString(searchIndexPath, json.toString(), StandardCharsets.UTF_8);
+        json.name("index");
+        index.writeTo(json);
+        json.endObject();
+        writer.write('\n');
     }
 
-    private void cleanupOldTagPages() throws IOException {
+    private void removeStaleTagPages(Set<String> currentSlugs, boolean scanOutput) throws IOException {
+        Set<String> candidates = new HashSet<>(generatedTagSlugs);
         Path tagsRoot = outputRoot.resolve("tags");
-        if (Files.exists(tagsRoot)) {
-            deleteRecursively(tagsRoot);
+        if (scanOutput && Files.isDirectory(tagsRoot)) {
+            try (var stream = Files.list(tagsRoot)) {
+                stream.filter(Files::isDirectory)
+                    .forEach(directory -> candidates.add(directory.getFileName().toString()));
+            }
+        }
+
+        for (String slug : candidates) {
+            if (currentSlugs.contains(slug)) {
+                continue;
+            }
+            Path tagDirectory = tagsRoot.resolve(slug).normalize();
+            if (tagDirectory.startsWith(tagsRoot) && Files.exists(tagDirectory)) {
+                renderedListings.keySet().removeIf(page -> page.startsWith(tagDirectory));
+                listingPageFiles.removeIf(page -> page.startsWith("tags/" + slug + "/"));
+                deleteRecursively(tagDirectory);
+                System.out.println("[remove] tags/" + slug + "/");
+            }
         }
-        Files.createDirectories(tagsRoot);
     }
 
-    private List<Post> sortedPosts() {
+    List<Post> sortedPosts() {
         return posts.values().stream()
             .sorted(Comparator
                 .comparing(Post::date, Comparator.reverseOrder())
-                .thenComparing(Post::title, String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(Post::title, String.CASE_INSENSITIVE_ORDER)
+                .thenComparing(post -> toUnixPath(post.sourceRelativePath())))
             .toList();
     }
 
-    private List<Map<String, Object>> summariesForTemplate(List<Post> postsToConvert, boolean includeTeaserAndCover) {
+    private List<Map<String, Object>> summariesForTemplate(List<Post> postsToConvert, Map<String, String> indexCoverImages) {
         List<Map<String, Object>> summaries = new ArrayList<>();
         for (Post post : postsToConvert) {
             Map<String, Object> summary = new LinkedHashMap<>();
@@ -410,154 +1236,16 @@ public final class SiteGenerator implements AutoCloseable {
             summary.put("date", formatDate(post.date()));
             summary.put("url", post.url());
             summary.put("tags", tagsForTemplate(post.tags()));
-            if (includeTeaserAndCover) {
+            if (indexCoverImages != null) {
                 summary.put("teaser", post.teaser());
-                summary.put("coverImage", resolveIndexCoverImage(post.coverImage()));
+                String coverImage = post.coverImage();
+                summary.put("coverImage", coverImage == null ? null : indexCoverImages.getOrDefault(coverImage, coverImage));
             }
             summaries.add(summary);
         }
         return summaries;
     }
 
-    private String resolveIndexCoverImage(String coverImage) {
-        if (coverImage == null || coverImage.isBlank()) {
-            return coverImage;
-        }
-
-        String normalizedCover = coverImage.trim();
-        if (!normalizedCover.startsWith("/") || normalizedCover.startsWith("//")) {
-            return normalizedCover;
-        }
-
-        String relativeCoverPath = normalizedCover.substring(1);
-        Path source = outputRoot.resolve(relativeCoverPath).normalize();
-        if (!source.startsWith(outputRoot) || !Files.exists(source) || Files.isDirectory(source)) {
-            return normalizedCover;
-        }
-
-        String extension = extensionOf(source.getFileName().toString());
-        if (!THUMBNAIL_EXTENSIONS.contains(extension)) {
-            return normalizedCover;
-        }
-
-        Path sourceRelativePath = outputRoot.relativize(source);
-        String fileName = source.getFileName().toString();
-        String fileNameWithoutExtension = fileName.substring(0, fileName.length() - extension.length() - 1);
-        String outputExtension = "jpeg".equals(extension) ? "jpg" : extension;
-        String thumbnailFileName = fileNameWithoutExtension + "-thumb." + outputExtension;
-
-        Path thumbnailsRoot = Path.of("assets", "thumbnails");
-        Path thumbnailRelativePath = thumbnailsRoot.resolve(sourceRelativePath).getParent().resolve(thumbnailFileName);
-        Path thumbnailAbsolutePath = outputRoot.resolve(thumbnailRelativePath).normalize();
-        if (!thumbnailAbsolutePath.startsWith(outputRoot)) {
-            return normalizedCover;
-        }
-
-        try {
-            boolean created = createThumbnail(source, thumbnailAbsolutePath, outputExtension);
-            if (created) {
-                return "/" + toUnixPath(thumbnailRelativePath);
-            }
-            return normalizedCover;
-        } catch (IOException ex) {
-            System.err.println("[warn] Failed creating thumbnail for " + normalizedCover + ": " + ex.getMessage());
-            return normalizedCover;
-        }
-    }
-
-    private boolean createThumbnail(Path source, Path target, String format) throws IOException {
-        BufferedImage original = ImageIO.read(source.toFile());
-        if (original == null) {
-            return false;
-        }
-
-        int originalWidth = original.getWidth();
-        int originalHeight = original.getHeight();
-        if (originalWidth <= 0 || originalHeight <= 0) {
-            return false;
-        }
-
-        double scale = Math.min(
-            1.0d,
-            Math.min((double) INDEX_THUMBNAIL_MAX_WIDTH / originalWidth, (double) INDEX_THUMBNAIL_MAX_HEIGHT / originalHeight)
-        );
-
-        int thumbnailWidth = Math.max(1, (int) Math.round(originalWidth * scale));
-        int thumbnailHeight = Math.max(1, (int) Math.round(originalHeight * scale));
-
-        int imageType = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
-        BufferedImage thumbnail = resizeProgressively(original, thumbnailWidth, thumbnailHeight, imageType);
-
-        Files.createDirectories(target.getParent());
-        if (!ImageIO.write(thumbnail, format, target.toFile())) {
-            throw new IOException("Image format not supported for thumbnail generation: " + format);
-        }
-        return true;
-    }
-
-    private BufferedImage resizeProgressively(BufferedImage source, int targetWidth, int targetHeight, int imageType) {
-        BufferedImage current = source;
-        int currentWidth = source.getWidth();
-        int currentHeight = source.getHeight();
-
-        while (currentWidth > targetWidth || currentHeight > targetHeight) {
-            int nextWidth = currentWidth;
-            int nextHeight = currentHeight;
-
-            if (nextWidth > targetWidth) {
-                nextWidth = Math.max(targetWidth, currentWidth / 2);
-            }
-            if (nextHeight > targetHeight) {
-                nextHeight = Math.max(targetHeight, currentHeight / 2);
-            }
-
-            BufferedImage next = resizeTo(current, nextWidth, nextHeight, imageType);
-            if (current != source) {
-                current.flush();
-            }
-
-            current = next;
-            currentWidth = nextWidth;
-            currentHeight = nextHeight;
-        }
-
-        if (currentWidth != targetWidth || currentHeight != targetHeight || current.getType() != imageType) {
-            BufferedImage finalImage = resizeTo(current, targetWidth, targetHeight, imageType);
-            if (current != source) {
-                current.flush();
-            }
-            current = finalImage;
-        }
-
-        return current;
-    }
-
-    private BufferedImage resizeTo(BufferedImage source, int width, int height, int imageType) {
-        BufferedImage resized = new BufferedImage(width, height, imageType);
-        Graphics2D graphics = resized.createGraphics();
-        applyHighQualityHints(graphics);
-        graphics.drawImage(source, 0, 0, width, height, null);
-        graphics.dispose();
-        return resized;
-    }
-
-    private void applyHighQualityHints(Graphics2D graphics) {
-        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
-        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
-        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        graphics.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
-        graphics.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
-        graphics.setRenderingHint(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_ENABLE);
-    }
-
-    private String extensionOf(String fileName) {
-        int dot = fileName.lastIndexOf('.');
-        if (dot <= 0 || dot == fileName.length() - 1) {
-            return "";
-        }
-        return fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
-    }
-
     private List<Map<String, String>> tagsForTemplate(Collection<TagRef> tags) {
         List<Map<String, String>> result = new ArrayList<>();
         for (TagRef tag : tags) {
@@ -569,6 +1257,13 @@ public final class SiteGenerator implements AutoCloseable {
         return result;
     }
 
+    void replacePosts(Collection<Post> replacement) {
+        posts.clear();
+        for (Post post : replacement) {
+            posts.put(post.sourceRelativePath(), post);
+        }
+    }
+
     private Map<String, Object> baseModel(String pageTitle, String searchQuery) {
         Map<String, Object> model = new HashMap<>();
         Map<String, Object> site = new HashMap<>();
@@ -579,6 +1274,7 @@ public final class SiteGenerator implements AutoCloseable {
         site.put("language", config.language());
 
         model.put("site", site);
+        model.put("assets", bundledAssets.urls());
         model.put("pageTitle", pageTitle);
         model.put("searchQuery", searchQuery == null ? "" : searchQuery);
         return model;
@@ -589,9 +1285,9 @@ public final class SiteGenerator implements AutoCloseable {
     }
 
     private String feedDescription(Post post) {
-        String html = post.htmlContent();
+        String html = post.feedHtml();
         if (html != null && !html.isBlank()) {
-            return absolutizeFeedHtml(html);
+            return html;
         }
 
         String content = post.plainText();
@@ -601,82 +1297,10 @@ public final class SiteGenerator implements AutoCloseable {
         return content == null ? "" : content;
     }
 
-    private String absolutizeFeedHtml(String html) {
-        Document document = Jsoup.parseBodyFragment(html);
-
-        for (Element element : document.select("[href]")) {
-            element.attr("href", absolutizeFeedUrl(element.attr("href")));
-        }
-
-        for (Element element : document.select("[src]")) {
-            element.attr("src", absolutizeFeedUrl(element.attr("src")));
-        }
-
-        return document.body().html();
-    }
-
-    private String absolutizeFeedUrl(String value) {
-        if (value == null || value.isBlank()) {
-            return value;
-        }
-
-        String normalized = value.trim();
-        if (normalized.startsWith("#") || normalized.startsWith("?")) {
-            return normalized;
-        }
-
-        if (isAbsoluteOrSpecialUrl(normalized)) {
-            return normalized;
-        }
-
-        if (normalized.startsWith("/")) {
-            return config.absoluteUrl(normalized);
-        }
-
-        return config.absoluteUrl("/" + normalized);
-    }
-
-    private boolean isAbsoluteOrSpecialUrl(String value) {
-        return value.startsWith("http://")
-            || value.startsWith("https://")
-            || value.startsWith("//")
-            || value.startsWith("mailto:")
-            || value.startsWith("tel:")
-            || value.startsWith("data:");
-    }
-
     private String cdataSafe(String text) {
         return text.replace("]]>", "]]]]><![CDATA[>");
     }
 
-    private String jsonField(String key, String value) {
-        return "\"" + escapeJson(key) + "\":\"" + escapeJson(value == null ? "" : value) + "\"";
-    }
-
-    private String escapeJson(String value) {
-        StringBuilder escaped = new StringBuilder(value.length() + 16);
-        for (int i = 0; i < value.length(); i++) {
-            char ch = value.charAt(i);
-            switch (ch) {
-                case '"' -> escaped.append("\\\"");
-                case '\\' -> escaped.append("\\\\");
-                case '\b' -> escaped.append("\\b");
-                case '\f' -> escaped.append("\\f");
-                case '\n' -> escaped.append("\\n");
-                case '\r' -> escaped.append("\\r");
-                case '\t' -> escaped.append("\\t");
-                default -> {
-                    if (ch < 0x20) {
-                        escaped.append(String.format("\\u%04x", (int) ch));
-                    } else {
-                        escaped.append(ch);
-                    }
-                }
-            }
-        }
-        return escaped.toString();
-    }
-
     private void deletePostOutput(Path relativePath) throws IOException {
         String base = removeAdocExtension(toUnixPath(relativePath));
         Path directory = outputRoot.resolve(base);
@@ -685,31 +1309,59 @@ public final class SiteGenerator implements AutoCloseable {
         }
     }
 
-    private void copyFile(Path source, Path target) throws IOException {
-        Files.createDirectories(target.getParent());
-        Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
-    }
-
     private void deleteRecursively(Path root) throws IOException {
         if (!Files.exists(root)) {
             return;
         }
 
         Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+                return dir.equals(cacheRoot) ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
             @Override
             public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
-                Files.deleteIfExists(file);
+                if (Files.deleteIfExists(file)) {
+                    outputChanged(file);
+                }
                 return FileVisitResult.CONTINUE;
             }
 
             @Override
             public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
-                Files.deleteIfExists(dir);
+                if (!cacheRoot.startsWith(dir)) {
+                    Files.deleteIfExists(dir);
+                }
                 return FileVisitResult.CONTINUE;
             }
         });
     }
 
+    private void outputChanged(Path file) {
+        outputListener.outputChanged(file);
+        Set<Path> changes = eventOutputChanges;
+        if (changes != null) {
+            changes.add(file);
+        }
+        if (!onDemand && config.gzip() && !file.getFileName().toString().endsWith(GzipPrecompressor.EXTENSION)) {
+            pendingOutputChanges.add(file);
+        }
+    }
+
+    private List<String> outputUrls(Collection<Path> files) {
+        Set<String> urls = new TreeSet<>();
+        for (Path file : files) {
+            if (!file.startsWith(outputRoot) || file.startsWith(cacheRoot)
+                || file.getFileName().toString().endsWith(GzipPrecompressor.EXTENSION)) {
+                continue;
+            }
+            String url = "/" + toUnixPath(outputRoot.relativize(file));
+            urls.add(url.endsWith("/index.html") ? url.substring(0, url.length() - "index.html".length()) : url);
+        }
+        return List.copyOf(urls);
+    }
+
     private String removeAdocExtension(String value) {
         if (value.endsWith(".adoc")) {
             return value.substring(0, value.length() - 5);
@@ -723,6 +1375,8 @@ public final class SiteGenerator implements AutoCloseable {
 
     @Override
     public void close() {
-        asciidoctor.shutdown();
+        workers.close();
+        ioWorkers.close();
+        asciidoctorPool.close();
     }
 }
@@ -1,39 +1,134 @@
 package guru.interlis.thoth;
 
 import java.text.Normalizer;
-import java.util.Locale;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class TagSlugger {
-    private TagSlugger() {
+    public static final Map<String, String> DEFAULT_TRANSLITERATIONS = Map.of(
+        "Ä", "Ae",
+        "Ö", "Oe",
+        "Ü", "Ue",
+        "ä", "ae",
+        "ö", "oe",
+        "ü", "ue",
+        "ß", "ss"
+    );
+
+    private static final String FALLBACK_SLUG = "tag";
+    private static final int TABLE_SIZE = 0x0800;
+    private static final int CACHE_LIMIT = 4096;
+    private static final TagSlugger DEFAULT = new TagSlugger(DEFAULT_TRANSLITERATIONS);
+
+    private final Map<Integer, String> transliterations;
+    private final String[] table;
+    private final Map<String, String> cache;
+
+    public TagSlugger(Map<String, String> transliterations) {
+        this.transliterations = new HashMap<>();
+        for (Map.Entry<String, String> entry : transliterations.entrySet()) {
+            String key = entry.getKey();
+            if (key.isEmpty() || key.codePointCount(0, key.length()) != 1) {
+                throw new IllegalArgumentException("Transliteration key must be a single character: '" + key + "'");
+            }
+            this.transliterations.put(key.codePointAt(0), entry.getValue());
+        }
+
+        this.table = new String[TABLE_SIZE];
+        for (int codePoint = 0; codePoint < TABLE_SIZE; codePoint++) {
+            table[codePoint] = transliterate(codePoint);
+        }
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+    public static TagSlugger defaults() {
+        return DEFAULT;
     }
 
     public static String slugify(String input) {
+        return DEFAULT.slug(input);
+    }
+
+    public String slug(String input) {
         if (input == null) {
-            return "tag";
+            return FALLBACK_SLUG;
         }
 
-        String value = input.trim();
-        if (value.isEmpty()) {
-            return "tag";
+        String cached = cache.get(input);
+        if (cached != null) {
+            return cached;
         }
 
-        value = value
-            .replace("Ä", "Ae")
-            .replace("Ö", "Oe")
-            .replace("Ü", "Ue")
-            .replace("ä", "ae")
-            .replace("ö", "oe")
-            .replace("ü", "ue")
-            .replace("ß", "ss");
-
-        value = Normalizer.normalize(value, Normalizer.Form.NFD)
-            .replaceAll("\\p{M}+", "")
-            .toLowerCase(Locale.ROOT)
-            .replaceAll("[\\s,]+", "-")
-            .replaceAll("[^a-z0-9-]", "")
-            .replaceAll("-+", "-")
-            .replaceAll("^-|-$", "");
-
-        return value.isEmpty() ? "tag" : value;
+        String slug = slugUncached(input);
+        if (cache.size() >= CACHE_LIMIT) {
+            cache.clear();
+        }
+        cache.put(input, slug);
+        return slug;
+    }
+
+    String slugUncached(String input) {
+        StringBuilder slug = new StringBuilder(input.length());
+        boolean pendingHyphen = false;
+        for (int i = 0; i < input.length(); ) {
+            int codePoint = input.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            // Code points above the table are folded again on every call; only whole slugs are memoised, in slug().
+            String mapped = codePoint < TABLE_SIZE ? table[codePoint] : transliterate(codePoint);
+            for (int j = 0; j < mapped.length(); j++) {
+                char ch = mapped.charAt(j);
+                if (ch == '-') {
+                    pendingHyphen = true;
+                    continue;
+                }
+                if (pendingHyphen && !slug.isEmpty()) {
+                    slug.append('-');
+                }
+                pendingHyphen = false;
+                slug.append(ch);
+            }
+        }
+        return slug.isEmpty() ? FALLBACK_SLUG : slug.toString();
+    }
+
+    private String transliterate(int codePoint) {
+        String replacement = transliterations.get(codePoint);
+        return fold(replacement != null ? replacement : Character.toString(codePoint));
+    }
+
+    private static String fold(String value) {
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder();
+        for (int i = 0; i < decomposed.length(); ) {
+            int codePoint = decomposed.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (isMark(codePoint)) {
+                continue;
+            }
+            int lower = Character.toLowerCase(codePoint);
+            if ((lower >= 'a' && lower <= 'z') || (lower >= '0' && lower <= '9')) {
+                folded.append((char) lower);
+            } else if (isSeparator(lower)) {
+                folded.append('-');
+            }
+        }
+        return folded.toString();
+    }
+
+    private static boolean isMark(int codePoint) {
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK
+            || type == Character.COMBINING_SPACING_MARK
+            || type == Character.ENCLOSING_MARK;
+    }
+
+    private static boolean isSeparator(int ch) {
+        return switch (ch) {
+            case ' ', '\t', '\n', '\u000B', '\f', '\r', ',', '-' -> true;
+            default -> false;
+        };
     }
 }
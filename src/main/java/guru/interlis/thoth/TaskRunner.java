@@ -0,0 +1,94 @@
+package guru.interlis.thoth;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class TaskRunner implements AutoCloseable {
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public TaskRunner(String threadNamePrefix, int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, threadNamePrefix + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int parallelism() {
+        return parallelism;
+    }
+
+    public <T> List<T> invokeAll(List<? extends Callable<T>> tasks) throws IOException {
+        if (tasks.isEmpty()) {
+            return List.of();
+        }
+
+        CompletionService<IndexedResult<T>> completion = new ExecutorCompletionService<>(executor);
+        List<Future<IndexedResult<T>>> futures = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            int index = i;
+            Callable<T> task = tasks.get(i);
+            futures.add(completion.submit(() -> new IndexedResult<>(index, task.call())));
+        }
+
+        Object[] results = new Object[tasks.size()];
+        try {
+            for (int i = 0; i < tasks.size(); i++) {
+                IndexedResult<T> result = completion.take().get();
+                results[result.index()] = result.value();
+            }
+        } catch (ExecutionException ex) {
+            cancelAll(futures);
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            cancelAll(futures);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for parallel tasks");
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> ordered = (List<T>) Arrays.asList(results);
+        return ordered;
+    }
+
+    private void cancelAll(List<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private IOException rethrow(Throwable cause) {
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private record IndexedResult<T>(int index, T value) {
+    }
+}
@@ -7,6 +7,7 @@ import freemarker.template.TemplateException;
 import freemarker.template.TemplateExceptionHandler;
 
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
@@ -16,8 +17,16 @@ import java.util.Map;
 
 public final class TemplateService {
     private final Configuration configuration;
+    private final BuildProfiler profiler;
+    private final OutputListener outputListener;
 
     public TemplateService() {
+        this(BuildProfiler.disabled(), OutputListener.NONE);
+    }
+
+    public TemplateService(BuildProfiler profiler, OutputListener outputListener) {
+        this.profiler = profiler;
+        this.outputListener = outputListener;
         configuration = new Configuration(Configuration.VERSION_2_3_34);
         configuration.setTemplateLoader(new ClassTemplateLoader(getClass(), "/templates"));
         configuration.setDefaultEncoding(StandardCharsets.UTF_8.name());
@@ -36,9 +45,31 @@ public final class TemplateService {
         }
     }
 
-    public void renderToFile(String templateName, Map<String, Object> model, Path outputFile) throws IOException {
-        String content = render(templateName, model);
+    public boolean renderToFile(String templateName, Map<String, Object> model, Path outputFile) throws IOException {
+        return renderToFile(templateName, model, outputFile, null);
+    }
+
+    public boolean renderToFile(String templateName, Map<String, Object> model, Path outputFile, String post) throws IOException {
         Files.createDirectories(outputFile.getParent());
-        Files.writeString(outputFile, content, StandardCharsets.UTF_8);
+        try (WriteIfChangedOutputStream out = new WriteIfChangedOutputStream(outputFile)) {
+            try (BuildProfiler.Span ignored = profiler.span(templateName, BuildProfiler.RENDER, post)) {
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                Template template = configuration.getTemplate(templateName);
+                template.process(model, writer);
+                writer.flush();
+            }
+
+            try (BuildProfiler.Span span = profiler.span(outputFile.getFileName().toString(), BuildProfiler.WRITE, post)) {
+                boolean changed = out.commit();
+                span.arg("changed", changed).arg("bytes", out.bytesWritten());
+                profiler.addBytesWritten(out.bytesWritten());
+                if (changed) {
+                    outputListener.outputChanged(outputFile);
+                }
+                return changed;
+            }
+        } catch (TemplateException ex) {
+            throw new IllegalStateException("Failed to render template " + templateName, ex);
+        }
     }
 }
@@ -5,6 +5,7 @@ import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
 
@@ -42,12 +43,24 @@ public final class ThothCli implements Callable<Integer> {
         @Option(names = "--clean", description = "Delete output directory before build")
         private boolean clean;
 
+        @Option(names = "--profile", paramLabel = "<file>", description = "Write a Chrome trace of the build and print a timing summary")
+        private Path profile;
+
         @Override
         public Integer call() throws Exception {
-            try (SiteGenerator generator = new SiteGenerator(input, output)) {
-                generator.buildAll(clean);
+            BuildProfiler profiler = profile != null ? BuildProfiler.enabled() : BuildProfiler.disabled();
+            try (SiteGenerator generator = new SiteGenerator(input, output, profiler)) {
+                try (BuildProfiler.Span ignored = profiler.span("build", BuildProfiler.PHASE)) {
+                    generator.buildAll(clean);
+                }
                 System.out.println("[done] Build finished.");
             }
+
+            if (profile != null) {
+                profiler.writeTrace(profile);
+                profiler.printSummary(System.out, 10);
+                System.out.println("[profile] trace written to " + profile);
+            }
             return 0;
         }
     }
@@ -63,20 +76,35 @@ public final class ThothCli implements Callable<Integer> {
         @Option(names = "--port", description = "Dev server port")
         private Integer port;
 
+        @Option(names = "--in-memory", description = "Render pages on request instead of building the output directory")
+        private boolean inMemory;
+
         @Override
         public Integer call() throws Exception {
             try (SiteGenerator generator = new SiteGenerator(input, output)) {
-                generator.buildAll(false);
+                if (inMemory) {
+                    generator.prepareOnDemand();
+                } else {
+                    generator.buildAll(false);
+                }
 
                 int resolvedPort = generator.resolveServePort(port);
-                DevServer server = new DevServer(output, resolvedPort);
-                InputWatcher watcher = new InputWatcher(input, generator::handleInputEvent);
+                DevServer server = new DevServer(output, resolvedPort, true, inMemory ? generator : null);
+                generator.setOutputListener(server::invalidate);
+                generator.setRebuildListener(server::publishChanges);
+                RebuildQueue rebuildQueue = new RebuildQueue(generator::handleInputBatch);
+                InputWatcher watcher = new InputWatcher(
+                    input,
+                    Duration.ofMillis(generator.config().watchQuietMillis()),
+                    rebuildQueue::submit
+                );
 
                 Runtime.getRuntime().addShutdownHook(new Thread(() -> {
                     try {
                         watcher.close();
                     } catch (Exception ignored) {
                     }
+                    rebuildQueue.close();
                     server.stop();
                 }));
 
@@ -0,0 +1,325 @@
+package guru.interlis.thoth;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class ThumbnailService {
+    private static final int INDEX_THUMBNAIL_MAX_WIDTH = 360;
+    private static final int INDEX_THUMBNAIL_MAX_HEIGHT = 240;
+    private static final Set<String> THUMBNAIL_EXTENSIONS = Set.of("png", "jpg", "jpeg");
+    private static final String UNREADABLE_MARKER_EXTENSION = ".unreadable";
+
+    private final Path outputRoot;
+    private final Path cacheDirectory;
+    private final Map<Path, SourceHash> sourceHashes;
+    private final Set<String> usedCacheEntries;
+    private final BuildProfiler profiler;
+    private final OutputListener outputListener;
+
+    public ThumbnailService(Path outputRoot, Path cacheDirectory) {
+        this(outputRoot, cacheDirectory, BuildProfiler.disabled(), OutputListener.NONE);
+    }
+
+    public ThumbnailService(Path outputRoot, Path cacheDirectory, BuildProfiler profiler, OutputListener outputListener) {
+        this.outputRoot = outputRoot;
+        this.cacheDirectory = cacheDirectory;
+        this.profiler = profiler;
+        this.outputListener = outputListener;
+        this.sourceHashes = new ConcurrentHashMap<>();
+        this.usedCacheEntries = ConcurrentHashMap.newKeySet();
+    }
+
+    public Map<String, String> resolveIndexCoverImages(Collection<String> coverImages, TaskRunner workers) throws IOException {
+        Map<String, String> resolved = new HashMap<>();
+        Map<String, ThumbnailPlan> plans = new LinkedHashMap<>();
+
+        for (String coverImage : coverImages) {
+            if (coverImage == null || resolved.containsKey(coverImage) || plans.containsKey(coverImage)) {
+                continue;
+            }
+
+            ThumbnailPlan plan = planThumbnail(coverImage);
+            if (plan == null) {
+                resolved.put(coverImage, coverImage.isBlank() ? coverImage : coverImage.trim());
+            } else {
+                plans.put(coverImage, plan);
+            }
+        }
+
+        List<Callable<String>> tasks = new ArrayList<>(plans.size());
+        for (ThumbnailPlan plan : plans.values()) {
+            tasks.add(() -> publishThumbnail(plan));
+        }
+
+        List<String> thumbnails = workers.invokeAll(tasks);
+        int index = 0;
+        for (String coverImage : plans.keySet()) {
+            resolved.put(coverImage, thumbnails.get(index++));
+        }
+        return resolved;
+    }
+
+    public void pruneUnused() throws IOException {
+        if (!Files.isDirectory(cacheDirectory)) {
+            return;
+        }
+
+        try (var stream = Files.list(cacheDirectory)) {
+            for (Path entry : stream.toList()) {
+                if (!usedCacheEntries.contains(entry.getFileName().toString())) {
+                    Files.deleteIfExists(entry);
+                }
+            }
+        }
+        usedCacheEntries.clear();
+    }
+
+    private ThumbnailPlan planThumbnail(String coverImage) {
+        if (coverImage.isBlank()) {
+            return null;
+        }
+
+        String normalizedCover = coverImage.trim();
+        if (!normalizedCover.startsWith("/") || normalizedCover.startsWith("//")) {
+            return null;
+        }
+
+        String relativeCoverPath = normalizedCover.substring(1);
+        Path source = outputRoot.resolve(relativeCoverPath).normalize();
+        if (!source.startsWith(outputRoot) || !Files.exists(source) || Files.isDirectory(source)) {
+            return null;
+        }
+
+        String extension = extensionOf(source.getFileName().toString());
+        if (!THUMBNAIL_EXTENSIONS.contains(extension)) {
+            return null;
+        }
+
+        Path sourceRelativePath = outputRoot.relativize(source);
+        String fileName = source.getFileName().toString();
+        String fileNameWithoutExtension = fileName.substring(0, fileName.length() - extension.length() - 1);
+        String outputExtension = "jpeg".equals(extension) ? "jpg" : extension;
+        String thumbnailFileName = fileNameWithoutExtension + "-thumb." + outputExtension;
+
+        Path thumbnailsRoot = Path.of("assets", "thumbnails");
+        Path thumbnailRelativePath = thumbnailsRoot.resolve(sourceRelativePath).getParent().resolve(thumbnailFileName);
+        Path thumbnailAbsolutePath = outputRoot.resolve(thumbnailRelativePath).normalize();
+        if (!thumbnailAbsolutePath.startsWith(outputRoot)) {
+            return null;
+        }
+
+        return new ThumbnailPlan(normalizedCover, source, thumbnailRelativePath, thumbnailAbsolutePath, outputExtension);
+    }
+
+    private String publishThumbnail(ThumbnailPlan plan) {
+        try {
+            String cacheKey = contentHash(plan.source())
+                + "-" + INDEX_THUMBNAIL_MAX_WIDTH + "x" + INDEX_THUMBNAIL_MAX_HEIGHT
+                + "." + plan.format();
+            Path cached = cacheDirectory.resolve(cacheKey);
+            Path unreadableMarker = cacheDirectory.resolve(cacheKey + UNREADABLE_MARKER_EXTENSION);
+
+            if (Files.exists(unreadableMarker)) {
+                usedCacheEntries.add(unreadableMarker.getFileName().toString());
+                return plan.coverImage();
+            }
+
+            if (!Files.exists(cached)) {
+                Files.createDirectories(cacheDirectory);
+                Path temp = cacheDirectory.resolve(cacheKey + "." + Thread.currentThread().threadId() + ".tmp");
+                try (BuildProfiler.Span span = profiler.span(plan.coverImage(), BuildProfiler.THUMBNAIL)) {
+                    if (!createThumbnail(plan.source(), temp, plan.format())) {
+                        span.arg("decodable", false);
+                        Files.createFile(unreadableMarker);
+                        usedCacheEntries.add(unreadableMarker.getFileName().toString());
+                        return plan.coverImage();
+                    }
+                    span.arg("bytes", Files.size(temp));
+                    Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+            usedCacheEntries.add(cacheKey);
+
+            if (!isSameFile(cached, plan.thumbnailAbsolutePath())) {
+                Files.createDirectories(plan.thumbnailAbsolutePath().getParent());
+                Files.copy(cached, plan.thumbnailAbsolutePath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+                profiler.addBytesWritten(Files.size(plan.thumbnailAbsolutePath()));
+                outputListener.outputChanged(plan.thumbnailAbsolutePath());
+            }
+            return "/" + toUnixPath(plan.thumbnailRelativePath());
+        } catch (IOException ex) {
+            System.err.println("[warn] Failed creating thumbnail for " + plan.coverImage() + ": " + ex.getMessage());
+            return plan.coverImage();
+        }
+    }
+
+    private boolean isSameFile(Path cached, Path published) throws IOException {
+        if (!Files.exists(published)) {
+            return false;
+        }
+
+        BasicFileAttributes cachedAttributes = Files.readAttributes(cached, BasicFileAttributes.class);
+        BasicFileAttributes publishedAttributes = Files.readAttributes(published, BasicFileAttributes.class);
+        return cachedAttributes.size() == publishedAttributes.size()
+            && cachedAttributes.lastModifiedTime().toMillis() == publishedAttributes.lastModifiedTime().toMillis();
+    }
+
+    private String contentHash(Path source) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+
+        SourceHash known = sourceHashes.get(source);
+        if (known != null && known.size() == size && known.modified() == modified) {
+            return known.hash();
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        String hash = HexFormat.of().formatHex(digest.digest());
+        sourceHashes.put(source, new SourceHash(size, modified, hash));
+        return hash;
+    }
+
+    private boolean createThumbnail(Path source, Path target, String format) throws IOException {
+        BufferedImage original = ImageIO.read(source.toFile());
+        if (original == null) {
+            return false;
+        }
+
+        int originalWidth = original.getWidth();
+        int originalHeight = original.getHeight();
+        if (originalWidth <= 0 || originalHeight <= 0) {
+            return false;
+        }
+
+        double scale = Math.min(
+            1.0d,
+            Math.min((double) INDEX_THUMBNAIL_MAX_WIDTH / originalWidth, (double) INDEX_THUMBNAIL_MAX_HEIGHT / originalHeight)
+        );
+
+        int thumbnailWidth = Math.max(1, (int) Math.round(originalWidth * scale));
+        int thumbnailHeight = Math.max(1, (int) Math.round(originalHeight * scale));
+
+        int imageType = "png".equals(format) ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage thumbnail = resizeProgressively(original, thumbnailWidth, thumbnailHeight, imageType);
+
+        Files.createDirectories(target.getParent());
+        if (!ImageIO.write(thumbnail, format, target.toFile())) {
+            throw new IOException("Image format not supported for thumbnail generation: " + format);
+        }
+        return true;
+    }
+
+    private BufferedImage resizeProgressively(BufferedImage source, int targetWidth, int targetHeight, int imageType) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        while (currentWidth > targetWidth || currentHeight > targetHeight) {
+            int nextWidth = currentWidth;
+            int nextHeight = currentHeight;
+
+            if (nextWidth > targetWidth) {
+                nextWidth = Math.max(targetWidth, currentWidth / 2);
+            }
+            if (nextHeight > targetHeight) {
+                nextHeight = Math.max(targetHeight, currentHeight / 2);
+            }
+
+            BufferedImage next = resizeTo(current, nextWidth, nextHeight, imageType);
+            if (current != source) {
+                current.flush();
+            }
+
+            current = next;
+            currentWidth = nextWidth;
+            currentHeight = nextHeight;
+        }
+
+        if (currentWidth != targetWidth || currentHeight != targetHeight || current.getType() != imageType) {
+            BufferedImage finalImage = resizeTo(current, targetWidth, targetHeight, imageType);
+            if (current != source) {
+                current.flush();
+            }
+            current = finalImage;
+        }
+
+        return current;
+    }
+
+    private BufferedImage resizeTo(BufferedImage source, int width, int height, int imageType) {
+        BufferedImage resized = new BufferedImage(width, height, imageType);
+        Graphics2D graphics = resized.createGraphics();
+        applyHighQualityHints(graphics);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return resized;
+    }
+
+    private void applyHighQualityHints(Graphics2D graphics) {
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_ALPHA_INTERPOLATION, RenderingHints.VALUE_ALPHA_INTERPOLATION_QUALITY);
+        graphics.setRenderingHint(RenderingHints.KEY_COLOR_RENDERING, RenderingHints.VALUE_COLOR_RENDER_QUALITY);
+        graphics.setRenderingHint(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_ENABLE);
+    }
+
+    private String extensionOf(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        if (dot <= 0 || dot == fileName.length() - 1) {
+            return "";
+        }
+        return fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private String toUnixPath(Path path) {
+        return path.toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    private record ThumbnailPlan(
+        String coverImage,
+        Path source,
+        Path thumbnailRelativePath,
+        Path thumbnailAbsolutePath,
+        String format
+    ) {
+    }
+
+    private record SourceHash(long size, long modified, String hash) {
+    }
+}
@@ -0,0 +1,168 @@
+package guru.interlis.thoth;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+public final class WriteIfChangedOutputStream extends OutputStream {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path target;
+    private final FileChannel existing;
+    private final ByteBuffer compareBuffer;
+
+    private long matchedBytes;
+    private long writtenBytes;
+    private Path tempFile;
+    private OutputStream tempOut;
+    private boolean finished;
+    private boolean changed;
+
+    public WriteIfChangedOutputStream(Path target) throws IOException {
+        this.target = target;
+        this.existing = Files.isRegularFile(target) ? FileChannel.open(target, StandardOpenOption.READ) : null;
+        this.compareBuffer = existing == null ? null : ByteBuffer.allocate(BUFFER_SIZE).flip();
+        if (existing == null) {
+            startWriting();
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        if (finished) {
+            throw new IOException("Stream already finished: " + target);
+        }
+
+        if (tempOut == null) {
+            int mismatch = compare(bytes, offset, length);
+            if (mismatch < 0) {
+                return;
+            }
+            startWriting();
+            offset += mismatch;
+            length -= mismatch;
+        }
+
+        tempOut.write(bytes, offset, length);
+        writtenBytes += length;
+    }
+
+    public boolean commit() throws IOException {
+        if (finished) {
+            return changed;
+        }
+
+        if (tempOut == null && matchedBytes != existing.size()) {
+            startWriting();
+        }
+
+        finished = true;
+        if (tempOut == null) {
+            changed = false;
+            existing.close();
+            return false;
+        }
+
+        tempOut.close();
+        if (existing != null) {
+            existing.close();
+        }
+        moveIntoPlace();
+        changed = true;
+        return true;
+    }
+
+    public long bytesWritten() {
+        return writtenBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (finished) {
+            return;
+        }
+
+        finished = true;
+        try {
+            if (tempOut != null) {
+                tempOut.close();
+            }
+            if (existing != null) {
+                existing.close();
+            }
+        } finally {
+            if (tempFile != null) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+
+    private int compare(byte[] bytes, int offset, int length) throws IOException {
+        int compared = 0;
+        while (compared < length) {
+            if (!compareBuffer.hasRemaining()) {
+                compareBuffer.clear();
+                int read = existing.read(compareBuffer);
+                compareBuffer.flip();
+                if (read <= 0) {
+                    return compared;
+                }
+            }
+
+            int chunk = Math.min(length - compared, compareBuffer.remaining());
+            int bufferStart = compareBuffer.arrayOffset() + compareBuffer.position();
+            int mismatch = Arrays.mismatch(
+                bytes, offset + compared, offset + compared + chunk,
+                compareBuffer.array(), bufferStart, bufferStart + chunk
+            );
+            if (mismatch >= 0) {
+                matchedBytes += mismatch;
+                return compared + mismatch;
+            }
+
+            compareBuffer.position(compareBuffer.position() + chunk);
+            matchedBytes += chunk;
+            compared += chunk;
+        }
+        return -1;
+    }
+
+    private void startWriting() throws IOException {
+        Files.createDirectories(target.getParent());
+        tempFile = target.resolveSibling("." + target.getFileName() + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+        FileChannel tempChannel = FileChannel.open(tempFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        if (existing != null && matchedBytes > 0) {
+            long copied = 0;
+            while (copied < matchedBytes) {
+                copied += existing.transferTo(copied, matchedBytes - copied, tempChannel);
+            }
+        }
+        writtenBytes = matchedBytes;
+        tempOut = new BufferedOutputStream(Channels.newOutputStream(tempChannel), BUFFER_SIZE);
+    }
+
+    private void moveIntoPlace() throws IOException {
+        try {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        tempFile = null;
+    }
+}
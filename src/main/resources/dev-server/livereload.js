@@ -0,0 +1,73 @@
+(() => {
+  if (!window.EventSource) {
+    return;
+  }
+
+  function normalize(url) {
+    let path = new URL(url, window.location.href).pathname;
+    try {
+      path = decodeURI(path);
+    } catch (error) {
+      // keep the encoded path
+    }
+    if (path.endsWith("/index.html")) {
+      path = path.substring(0, path.length - "index.html".length);
+    }
+    if (!path.endsWith("/") && !/\.[a-z0-9]+$/i.test(path)) {
+      path += "/";
+    }
+    return path;
+  }
+
+  function swapStylesheet(link) {
+    const replacement = link.cloneNode(false);
+    const url = new URL(link.href, window.location.href);
+    url.searchParams.set("livereload", Date.now().toString());
+    replacement.href = url.toString();
+    replacement.addEventListener("load", () => link.remove());
+    link.parentNode.insertBefore(replacement, link.nextSibling);
+  }
+
+  function referencedResources() {
+    const resources = new Set();
+    const selector = "script[src], img[src], source[src], video[src], audio[src], link[href]:not([rel~='stylesheet'])";
+    document.querySelectorAll(selector).forEach((element) => {
+      resources.add(normalize(element.getAttribute("src") || element.getAttribute("href")));
+    });
+    return resources;
+  }
+
+  const source = new EventSource("/__thoth/livereload");
+  source.addEventListener("change", (event) => {
+    const urls = JSON.parse(event.data).urls;
+    const currentPage = normalize(window.location.href);
+    let resources = null;
+    let reload = false;
+
+    urls.forEach((url) => {
+      const changed = normalize(url);
+      if (changed.toLowerCase().endsWith(".css")) {
+        document.querySelectorAll("link[rel~='stylesheet'][href]").forEach((link) => {
+          if (normalize(link.href) === changed) {
+            swapStylesheet(link);
+          }
+        });
+        return;
+      }
+
+      if (changed === currentPage) {
+        reload = true;
+        return;
+      }
+
+      resources = resources || referencedResources();
+      if (resources.has(changed)) {
+        reload = true;
+      }
+    });
+
+    if (reload) {
+      window.location.reload();
+    }
+  });
+})();
@@ -55,23 +55,16 @@
   function fallbackSearch(query, documents) {
     const normalized = query.toLowerCase();
     return documents.filter((doc) => {
-      const blob = `${doc.title} ${doc.tags} ${doc.teaser} ${doc.body}`.toLowerCase();
+      const blob = `${doc.title} ${doc.tags} ${doc.teaser}`.toLowerCase();
       return blob.includes(normalized);
     });
   }
 
-  function lunrSearch(query, documents) {
+  function lunrSearch(query, searchIndex) {
     const docsByUrl = new Map();
-    documents.forEach((doc) => docsByUrl.set(doc.url, doc));
-
-    const index = window.lunr(function () {
-      this.ref("url");
-      this.field("title");
-      this.field("tags");
-      this.field("teaser");
-      this.field("body");
-      documents.forEach((doc) => this.add(doc));
-    });
+    searchIndex.documents.forEach((doc) => docsByUrl.set(doc.url, doc));
+
+    const index = window.lunr.Index.load(searchIndex.index);
 
     let results = [];
     try {
@@ -122,10 +115,10 @@
         }
         return response.json();
       })
-      .then((documents) => {
-        const results = (window.lunr && typeof window.lunr === "function")
-          ? lunrSearch(query, documents)
-          : fallbackSearch(query, documents);
+      .then((searchIndex) => {
+        const results = (window.lunr && window.lunr.Index)
+          ? lunrSearch(query, searchIndex)
+          : fallbackSearch(query, searchIndex.documents);
         renderResults(container, query, results);
       })
       .catch(() => renderMessage(container, "Search index could not be loaded."));
@@ -16,4 +16,5 @@
   </article>
   </#list>
 </section>
+<@layout.pageNav/>
 </@layout.page>
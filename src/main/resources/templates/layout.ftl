@@ -5,35 +5,18 @@
   <meta charset="utf-8">
   <meta name="viewport" content="width=device-width, initial-scale=1">
   <title>${pageTitle?html} | ${site.title?html}</title>
-  <link rel="stylesheet" href="/assets/zurich.css">
-  <link id="theme-style" rel="stylesheet" href="/assets/styles-light.css" data-light="/assets/styles-light.css" data-dark="/assets/styles-dark.css">
-  <link rel="stylesheet" href="/assets/prism/prism.css">
-  <link rel="stylesheet" href="/assets/prism/plugins/line-highlight/prism-line-highlight.min.css">
-  <link rel="stylesheet" href="/assets/prism/plugins/line-numbers/prism-line-numbers.min.css">
+  <link rel="stylesheet" href="${assets["/assets/zurich.css"]}">
+  <link id="theme-style" rel="stylesheet" href="${assets["/assets/styles-light.css"]}" data-light="${assets["/assets/styles-light.css"]}" data-dark="${assets["/assets/styles-dark.css"]}">
+  <#if prism??>
+  <link rel="stylesheet" href="${prism.stylesheet}">
+  </#if>
   <link rel="alternate" type="application/rss+xml" title="${site.title?html}" href="/feed.xml">
-  <script src="/assets/theme.js" defer></script>
-  <script src="/assets/prism/prism.js" defer></script>
-  <script src="/assets/prism/components/prism-markup.min.js" defer></script>
-  <script src="/assets/prism/components/prism-clike.min.js" defer></script>
-  <script src="/assets/prism/components/prism-javascript.min.js" defer></script>
-  <script src="/assets/prism/components/prism-css.min.js" defer></script>
-  <script src="/assets/prism/components/prism-ini.min.js" defer></script>
-  <script src="/assets/prism/components/prism-interlis.js" defer></script>
-  <script src="/assets/prism/components/prism-java.min.js" defer></script>
-  <script src="/assets/prism/components/prism-typescript.min.js" defer></script>
-  <script src="/assets/prism/components/prism-json.min.js" defer></script>
-  <script src="/assets/prism/components/prism-bash.min.js" defer></script>
-  <script src="/assets/prism/components/prism-sql.min.js" defer></script>
-  <script src="/assets/prism/components/prism-python.min.js" defer></script>
-  <script src="/assets/prism/components/prism-yaml.min.js" defer></script>
-  <script src="/assets/prism/components/prism-kotlin.min.js" defer></script>
-  <script src="/assets/prism/components/prism-go.min.js" defer></script>
-  <script src="/assets/prism/components/prism-c.min.js" defer></script>
-  <script src="/assets/prism/components/prism-cpp.min.js" defer></script>
-  <script src="/assets/prism/plugins/line-highlight/prism-line-highlight.min.js" defer></script>
-  <script src="/assets/prism/plugins/line-numbers/prism-line-numbers.min.js" defer></script>
-  <script src="/assets/lunr.min.js" defer></script>
-  <script src="/assets/search.js" defer></script>
+  <script src="${assets["/assets/theme.js"]}" defer></script>
+  <#if prism?? && prism.script??>
+  <script src="${prism.script}" defer></script>
+  </#if>
+  <script src="${assets["/assets/lunr.min.js"]}" defer></script>
+  <script src="${assets["/assets/search.js"]}" defer></script>
 </head>
 <body>
   <nav id="navbar">
@@ -66,3 +49,17 @@
 </body>
 </html>
 </#macro>
+
+<#macro pageNav>
+<#if pagination?? && pagination.pageCount gt 1>
+<nav class="pagination" aria-label="Pages">
+  <#if pagination.previousUrl??>
+  <a class="pagination-previous" href="${pagination.previousUrl?html}" rel="prev">&larr; Newer posts</a>
+  </#if>
+  <span class="pagination-status">Page ${pagination.number?c} of ${pagination.pageCount?c}</span>
+  <#if pagination.nextUrl??>
+  <a class="pagination-next" href="${pagination.nextUrl?html}" rel="next">Older posts &rarr;</a>
+  </#if>
+</nav>
+</#if>
+</#macro>
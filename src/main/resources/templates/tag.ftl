@@ -10,5 +10,6 @@
     </li>
     </#list>
   </ul>
+  <@layout.pageNav/>
 </section>
 </@layout.page>
@@ -0,0 +1,80 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AggregateChangesTest {
+
+    @Test
+    public void bodyOnlyEditTouchesFeedAndSearchIndex() {
+        Post before = post("Title", List.of("Java"), "<p>old</p>", "old");
+        Post after = post("Title", List.of("Java"), "<p>new</p>", "new");
+
+        AggregateChanges changes = AggregateChanges.between(before, after);
+
+        assertTrue(changes.affects(AggregateChanges.Page.FEED));
+        assertTrue(changes.affects(AggregateChanges.Page.SEARCH_INDEX));
+        assertFalse(changes.affects(AggregateChanges.Page.INDEX));
+        assertFalse(changes.affects(AggregateChanges.Page.ARCHIVE));
+        assertFalse(changes.affects(AggregateChanges.Page.TAG_PAGES));
+        assertFalse(changes.affectsTag("java"));
+    }
+
+    @Test
+    public void tagEditTouchesOnlyAffectedTagPages() {
+        Post before = post("Title", List.of("Java", "AI"), "<p>x</p>", "x");
+        Post after = post("Title", List.of("Java", "MCP"), "<p>x</p>", "x");
+
+        AggregateChanges changes = AggregateChanges.between(before, after);
+
+        assertTrue(changes.affects(AggregateChanges.Page.TAG_PAGES));
+        assertTrue(changes.affectsTag("ai"));
+        assertTrue(changes.affectsTag("mcp"));
+        assertFalse(changes.affects(AggregateChanges.Page.INDEX));
+        assertFalse(changes.affects(AggregateChanges.Page.FEED));
+    }
+
+    @Test
+    public void unchangedPostTouchesNothingAndMergeCombines() {
+        Post post = post("Title", List.of("Java"), "<p>x</p>", "x");
+        assertTrue(AggregateChanges.between(post, post).isEmpty());
+
+        AggregateChanges merged = AggregateChanges.between(post, post(
+            "Renamed", List.of("Java"), "<p>x</p>", "x"
+        )).merge(AggregateChanges.between(null, post("Other", List.of("Go"), "<p>y</p>", "y")));
+
+        assertTrue(merged.affects(AggregateChanges.Page.INDEX));
+        assertTrue(merged.affectsTag("java"));
+        assertTrue(merged.affectsTag("go"));
+        assertFalse(merged.affects(AggregateChanges.Page.SEARCH_PAGE));
+        assertTrue(AggregateChanges.all().affectsTag("anything"));
+    }
+
+    private Post post(String title, List<String> tags, String html, String plainText) {
+        return new Post(
+            Path.of("blog/post.adoc"),
+            title,
+            "Jane Doe",
+            LocalDate.parse("2026-01-12"),
+            "published",
+            tags.stream().map(tag -> new TagRef(tag, TagSlugger.slugify(tag))).toList(),
+            "Teaser",
+            null,
+            html,
+            html,
+            plainText,
+            List.of(),
+            List.of(),
+            false,
+            "/blog/post/",
+            "blog/post/",
+            Path.of("blog/post/index.html")
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BuildProfilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void writesTraceEventsAndSlowestPosts() throws Exception {
+        BuildProfiler profiler = BuildProfiler.enabled();
+        try (BuildProfiler.Span ignored = profiler.span("posts.parse", BuildProfiler.PHASE)) {
+            try (BuildProfiler.Span span = profiler.span("parse", BuildProfiler.PARSE, "blog/slow.adoc")) {
+                span.arg("cached", false);
+                Thread.sleep(20);
+            }
+            try (BuildProfiler.Span ignoredFast = profiler.span("parse", BuildProfiler.PARSE, "blog/fast.adoc")) {
+                profiler.addBytesWritten(42);
+            }
+        }
+
+        Path trace = tempDir.resolve("profile/trace.json");
+        profiler.writeTrace(trace);
+        String json = Files.readString(trace, StandardCharsets.UTF_8);
+        assertTrue(json.startsWith("{\"displayTimeUnit\":\"ms\",\"traceEvents\":["));
+        assertTrue(json.contains("\"cat\":\"parse\",\"ph\":\"X\""));
+        assertTrue(json.contains("\"args\":{\"post\":\"blog/slow.adoc\",\"cached\":false}"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        profiler.printSummary(new PrintStream(out, true, StandardCharsets.UTF_8), 1);
+        String summary = out.toString(StandardCharsets.UTF_8);
+        assertTrue(summary.contains("[profile]   posts.parse"));
+        assertTrue(summary.contains("1. blog/slow.adoc"));
+        assertFalse(summary.contains("blog/fast.adoc"));
+        assertTrue(summary.contains("[profile] bytes written: 42"));
+    }
+
+    @Test
+    public void disabledProfilerRecordsNothing() throws Exception {
+        BuildProfiler profiler = BuildProfiler.disabled();
+        try (BuildProfiler.Span span = profiler.span("parse", BuildProfiler.PARSE, "blog/post.adoc")) {
+            span.arg("cached", true);
+        }
+        profiler.addBytesWritten(100);
+
+        Path trace = tempDir.resolve("trace.json");
+        profiler.writeTrace(trace);
+        assertFalse(Files.readString(trace, StandardCharsets.UTF_8).contains("\"ph\":\"X\""));
+    }
+}
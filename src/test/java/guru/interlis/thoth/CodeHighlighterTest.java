@@ -0,0 +1,76 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CodeHighlighterTest {
+
+    @Test
+    public void producesTheSameTokensAsPrism() {
+        assertEquals(
+            "<span class=\"token class-name\">String</span> s <span class=\"token operator\">=</span> "
+                + "<span class=\"token string\">\"a&lt;b\"</span><span class=\"token punctuation\">;</span> "
+                + "<span class=\"token comment\">// x &amp; y</span>",
+            CodeHighlighter.highlight("String s = \"a<b\"; // x & y", "java")
+        );
+        assertEquals(
+            "<span class=\"token builtin class-name\">echo</span> <span class=\"token string\">\""
+                + "<span class=\"token environment constant\">$HOME</span>/<span class=\"token variable\">"
+                + "<span class=\"token variable\">$(</span><span class=\"token function\">date</span>"
+                + "<span class=\"token variable\">)</span></span>\"</span>",
+            CodeHighlighter.highlight("echo \"$HOME/$(date)\"", "bash")
+        );
+        assertEquals(
+            "<span class=\"token keyword\">CLASS</span> A <span class=\"token operator\">=</span>\n"
+                + "  Name <span class=\"token operator\">:</span> <span class=\"token type builtin\">TEXT</span>*"
+                + "<span class=\"token number\">20</span><span class=\"token operator\">;</span>\n"
+                + "<span class=\"token keyword\">END</span> A<span class=\"token operator\">;</span>",
+            CodeHighlighter.highlight("CLASS A =\n  Name : TEXT*20;\nEND A;", "interlis")
+        );
+    }
+
+    @Test
+    public void highlightsLongLiteralsAndComments() {
+        String escaped = "a\\\"".repeat(20_000);
+        assertEquals(
+            "<span class=\"token class-name\">String</span> s <span class=\"token operator\">=</span> "
+                + "<span class=\"token string\">\"" + escaped + "\"</span><span class=\"token punctuation\">;</span> "
+                + "<span class=\"token comment\">/* " + "x".repeat(40_000) + " */</span>",
+            CodeHighlighter.highlight("String s = \"" + escaped + "\"; /* " + "x".repeat(40_000) + " */", "java")
+        );
+        String quoted = "it''s ".repeat(20_000);
+        assertEquals(
+            "<span class=\"token keyword\">SELECT</span> <span class=\"token string\">'" + quoted + "'</span>"
+                + "<span class=\"token punctuation\">;</span>",
+            CodeHighlighter.highlight("SELECT '" + quoted + "';", "sql")
+        );
+        assertEquals(
+            "<span class=\"token key atrule\">key</span><span class=\"token punctuation\">:</span> "
+                + "<span class=\"token string\">\"" + escaped + "\"</span>",
+            CodeHighlighter.highlight("key: \"" + escaped + "\"", "yaml")
+        );
+    }
+
+    @Test
+    public void supportsBundledLanguagesOnly() {
+        assertTrue(CodeHighlighter.supports("yaml"));
+        assertTrue(CodeHighlighter.supports("sql"));
+        assertFalse(CodeHighlighter.supports("markup"));
+        assertFalse(CodeHighlighter.supports("ruby"));
+        assertThrows(IllegalArgumentException.class, () -> CodeHighlighter.highlight("x", "ruby"));
+        assertEquals(CodeHighlighter.Mode.BUILD, CodeHighlighter.Mode.parse(" Build "));
+        assertThrows(IllegalArgumentException.class, () -> CodeHighlighter.Mode.parse("server"));
+    }
+
+    @Test
+    public void countsLineNumberRowsLikePrism() {
+        assertEquals(
+            "<span aria-hidden=\"true\" class=\"line-numbers-rows\"><span></span><span></span></span>",
+            CodeHighlighter.lineNumberRows("a\nb\n")
+        );
+    }
+}
@@ -0,0 +1,256 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DevServerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void servesCachedResponsesUntilInvalidated() throws Exception {
+        Path page = tempDir.resolve("blog/post/index.html");
+        Files.createDirectories(page.getParent());
+        Files.writeString(page, "<p>first</p>", StandardCharsets.UTF_8);
+
+        DevServer server = new DevServer(tempDir, 0);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            HttpResponse<String> first = client.send(request(server, "/blog/post").build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, first.statusCode());
+            assertEquals("<p>first</p>", first.body());
+            assertTrue(first.headers().firstValue("Content-Type").orElseThrow().startsWith("text/html"));
+            String etag = first.headers().firstValue("ETag").orElseThrow();
+            String lastModified = first.headers().firstValue("Last-Modified").orElseThrow();
+
+            HttpResponse<String> revalidated = client.send(
+                request(server, "/blog/post").header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(304, revalidated.statusCode());
+
+            HttpResponse<String> sinceModified = client.send(
+                request(server, "/blog/post/").header("If-Modified-Since", lastModified).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(304, sinceModified.statusCode());
+
+            Files.writeString(page, "<p>second</p>", StandardCharsets.UTF_8);
+            assertEquals("<p>first</p>", client.send(request(server, "/blog/post").build(), HttpResponse.BodyHandlers.ofString()).body());
+
+            server.invalidate(page);
+            HttpResponse<String> changed = client.send(
+                request(server, "/blog/post").header("If-None-Match", etag).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, changed.statusCode());
+            assertEquals("<p>second</p>", changed.body());
+            assertNotEquals(etag, changed.headers().firstValue("ETag").orElseThrow());
+
+            Files.delete(page);
+            server.invalidate(page);
+            assertEquals(404, client.send(request(server, "/blog/post").build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void servesOutputsThatAppearAfterAMiss() throws Exception {
+        Path page = tempDir.resolve("drafts/new/index.html");
+
+        DevServer server = new DevServer(tempDir, 0);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            assertEquals(404, client.send(request(server, "/drafts/new/").build(), HttpResponse.BodyHandlers.ofString()).statusCode());
+
+            Files.createDirectories(page.getParent());
+            Files.writeString(page, "<p>new</p>", StandardCharsets.UTF_8);
+            HttpResponse<String> created = client.send(request(server, "/drafts/new/").build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, created.statusCode());
+            assertEquals("<p>new</p>", created.body());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void evictsResponsesBeyondTheByteBudget() throws Exception {
+        Path small = tempDir.resolve("small.txt");
+        Path large = tempDir.resolve("large.txt");
+        Files.writeString(small, "small", StandardCharsets.UTF_8);
+        Files.writeString(large, "x".repeat(64), StandardCharsets.UTF_8);
+
+        DevServer server = new DevServer(tempDir, 0, false, null, 32);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            assertEquals("small", client.send(request(server, "/small.txt").build(), HttpResponse.BodyHandlers.ofString()).body());
+            assertEquals("x".repeat(64), client.send(request(server, "/large.txt").build(), HttpResponse.BodyHandlers.ofString()).body());
+
+            Files.writeString(small, "SMALL", StandardCharsets.UTF_8);
+            Files.writeString(large, "y".repeat(64), StandardCharsets.UTF_8);
+            assertEquals("small", client.send(request(server, "/small.txt").build(), HttpResponse.BodyHandlers.ofString()).body());
+            assertEquals("y".repeat(64), client.send(request(server, "/large.txt").build(), HttpResponse.BodyHandlers.ofString()).body());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void negotiatesPrecompressedSiblings() throws Exception {
+        Path index = tempDir.resolve("assets/search-index.json");
+        Files.createDirectories(index.getParent());
+        String json = "{\"documents\":[" + "{\"title\":\"Hello\"},".repeat(200) + "{}]}";
+        Files.writeString(index, json, StandardCharsets.UTF_8);
+        GzipPrecompressor precompressor = new GzipPrecompressor(tempDir, tempDir.resolve(".cache/gzip.manifest"), file -> { });
+        try (TaskRunner workers = new TaskRunner("test-gzip", 2)) {
+            assertEquals(1, precompressor.synchronize(List.of(index), 1024, workers));
+        }
+
+        DevServer server = new DevServer(tempDir, 0);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            HttpResponse<byte[]> gzipped = client.send(
+                request(server, "/assets/search-index.json").header("Accept-Encoding", "br, gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals("gzip", gzipped.headers().firstValue("Content-Encoding").orElseThrow());
+            assertEquals("Accept-Encoding", gzipped.headers().firstValue("Vary").orElseThrow());
+            assertTrue(gzipped.headers().firstValue("Content-Type").orElseThrow().startsWith("application/json"));
+            try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.body()))) {
+                assertEquals(json, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+
+            HttpResponse<String> identity = client.send(
+                request(server, "/assets/search-index.json").header("Accept-Encoding", "gzip;q=0").build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertTrue(identity.headers().firstValue("Content-Encoding").isEmpty());
+            assertEquals(json, identity.body());
+            assertNotEquals(gzipped.headers().firstValue("ETag"), identity.headers().firstValue("ETag"));
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void streamsLargeFilesAndServesRanges() throws Exception {
+        byte[] video = new byte[3 * 1024 * 1024 + 17];
+        for (int i = 0; i < video.length; i++) {
+            video[i] = (byte) (i * 31);
+        }
+        Path file = tempDir.resolve("media/clip.mp4");
+        Files.createDirectories(file.getParent());
+        Files.write(file, video);
+
+        DevServer server = new DevServer(tempDir, 0);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            HttpResponse<byte[]> full = client.send(request(server, "/media/clip.mp4").build(), HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(200, full.statusCode());
+            assertArrayEquals(video, full.body());
+            assertEquals("bytes", full.headers().firstValue("Accept-Ranges").orElseThrow());
+            String etag = full.headers().firstValue("ETag").orElseThrow();
+
+            HttpResponse<byte[]> middle = client.send(
+                request(server, "/media/clip.mp4").header("Range", "bytes=1048570-1048579").build(), HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(206, middle.statusCode());
+            assertEquals("bytes 1048570-1048579/" + video.length, middle.headers().firstValue("Content-Range").orElseThrow());
+            assertArrayEquals(Arrays.copyOfRange(video, 1048570, 1048580), middle.body());
+
+            HttpResponse<byte[]> suffix = client.send(
+                request(server, "/media/clip.mp4").header("Range", "bytes=-5").build(), HttpResponse.BodyHandlers.ofByteArray());
+            assertArrayEquals(Arrays.copyOfRange(video, video.length - 5, video.length), suffix.body());
+
+            HttpResponse<byte[]> staleIfRange = client.send(
+                request(server, "/media/clip.mp4").header("Range", "bytes=0-9").header("If-Range", "\"other\"").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(200, staleIfRange.statusCode());
+
+            HttpResponse<byte[]> matchingIfRange = client.send(
+                request(server, "/media/clip.mp4").header("Range", "bytes=0-9").header("If-Range", etag).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(206, matchingIfRange.statusCode());
+
+            HttpResponse<byte[]> unsatisfiable = client.send(
+                request(server, "/media/clip.mp4").header("Range", "bytes=" + video.length + "-").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+            assertEquals(416, unsatisfiable.statusCode());
+            assertEquals("bytes */" + video.length, unsatisfiable.headers().firstValue("Content-Range").orElseThrow());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void servesHashedBundledAssetsAsImmutable() throws Exception {
+        Path hashed = tempDir.resolve(BundledAssets.load().outputPath("assets/theme.js"));
+        Path plain = tempDir.resolve("assets/site.js");
+        Files.createDirectories(hashed.getParent());
+        Files.writeString(hashed, "theme", StandardCharsets.UTF_8);
+        Files.writeString(plain, "site", StandardCharsets.UTF_8);
+
+        DevServer server = new DevServer(tempDir, 0);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            HttpResponse<String> immutable = client.send(
+                request(server, "/" + BundledAssets.load().outputPath("assets/theme.js")).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals("public, max-age=31536000, immutable", immutable.headers().firstValue("Cache-Control").orElseThrow());
+            HttpResponse<String> revalidated = client.send(request(server, "/assets/site.js").build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals("no-cache", revalidated.headers().firstValue("Cache-Control").orElseThrow());
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void injectsLiveReloadAndPushesChangedUrls() throws Exception {
+        Path page = tempDir.resolve("index.html");
+        Files.writeString(page, "<html><body><p>home</p></body></html>", StandardCharsets.UTF_8);
+
+        DevServer server = new DevServer(tempDir, 0, true);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String html = client.send(request(server, "/").build(), HttpResponse.BodyHandlers.ofString()).body();
+            assertEquals("<html><body><p>home</p><script src=\"/__thoth/livereload.js\" defer></script>\n</body></html>", html);
+            assertEquals(200, client.send(request(server, "/__thoth/livereload.js").build(), HttpResponse.BodyHandlers.discarding()).statusCode());
+
+            HttpResponse<InputStream> events = client.send(request(server, "/__thoth/livereload").build(), HttpResponse.BodyHandlers.ofInputStream());
+            assertTrue(events.headers().firstValue("Content-Type").orElseThrow().startsWith("text/event-stream"));
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(events.body(), StandardCharsets.UTF_8))) {
+                assertEquals("retry: 1000", reader.readLine());
+                assertEquals("", reader.readLine());
+
+                server.publishChanges(List.of("/blog/2026/post/", "/assets/styles-light.css"));
+                assertEquals("event: change", reader.readLine());
+                assertEquals("data: {\"urls\":[\"/blog/2026/post/\",\"/assets/styles-light.css\"]}", reader.readLine());
+            }
+        } finally {
+            server.stop();
+        }
+    }
+
+    private HttpRequest.Builder request(DevServer server, String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path));
+    }
+}
@@ -0,0 +1,81 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GzipPrecompressorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void compressesOnlyLargeCompressibleOutputs() throws Exception {
+        Path index = tempDir.resolve("assets/search-index.json");
+        Path image = tempDir.resolve("assets/logo.png");
+        Files.createDirectories(index.getParent());
+        String json = "{\"documents\":[" + "{\"title\":\"Hello\"},".repeat(200) + "{}]}";
+        Files.writeString(index, json, StandardCharsets.UTF_8);
+        Files.writeString(image, "x".repeat(4096), StandardCharsets.UTF_8);
+        Files.writeString(tempDir.resolve("small.css"), "a{}", StandardCharsets.UTF_8);
+
+        List<String> written = new ArrayList<>();
+        GzipPrecompressor precompressor = new GzipPrecompressor(tempDir, tempDir.resolve(".cache/gzip.manifest"), file -> written.add(file.getFileName().toString()));
+        try (TaskRunner workers = new TaskRunner("test-gzip", 2)) {
+            int compressed = precompressor.synchronize(List.of(index, image, tempDir.resolve("small.css")), 1024, workers);
+            assertEquals(1, compressed);
+            assertEquals(List.of("search-index.json.gz"), written);
+            assertEquals(0, precompressor.synchronize(List.of(index, image, tempDir.resolve("small.css")), 1024, workers));
+        }
+        assertTrue(Files.exists(tempDir.resolve("assets/search-index.json.gz")));
+        assertTrue(Files.notExists(tempDir.resolve("small.css.gz")));
+        assertTrue(Files.notExists(tempDir.resolve("assets/logo.png.gz")));
+        assertEquals(Files.getLastModifiedTime(index), Files.getLastModifiedTime(tempDir.resolve("assets/search-index.json.gz")));
+    }
+
+    @Test
+    public void updatesChangedOutputsAndRemovesStaleSiblingsFromManifest() throws Exception {
+        Path page = tempDir.resolve("blog/post/index.html");
+        Path other = tempDir.resolve("blog/other/index.html");
+        Files.createDirectories(page.getParent());
+        Files.createDirectories(other.getParent());
+        Files.writeString(page, "<p>first</p>".repeat(200), StandardCharsets.UTF_8);
+        Files.writeString(other, "<p>other</p>".repeat(200), StandardCharsets.UTF_8);
+        Path manifest = tempDir.resolve(".cache/gzip.manifest");
+
+        try (TaskRunner workers = new TaskRunner("test-gzip", 2)) {
+            GzipPrecompressor precompressor = new GzipPrecompressor(tempDir, manifest, file -> { });
+            assertEquals(2, precompressor.synchronize(List.of(page, other), 1024, workers));
+
+            Files.writeString(page, "<p>second</p>".repeat(200), StandardCharsets.UTF_8);
+            precompressor.update(List.of(page), 1024, workers);
+            assertEquals("<p>second</p>".repeat(200), gunzip(GzipPrecompressor.siblingOf(page)));
+
+            Files.writeString(page, "<p>tiny</p>", StandardCharsets.UTF_8);
+            precompressor.update(List.of(page), 1024, workers);
+            assertTrue(Files.notExists(GzipPrecompressor.siblingOf(page)));
+            assertEquals(List.of("blog/other/index.html"), Files.readAllLines(manifest, StandardCharsets.UTF_8));
+
+            GzipPrecompressor reopened = new GzipPrecompressor(tempDir, manifest, file -> { });
+            reopened.synchronize(List.of(page), 1024, workers);
+        }
+        assertTrue(Files.notExists(GzipPrecompressor.siblingOf(other)));
+        assertEquals(List.of(), Files.readAllLines(manifest, StandardCharsets.UTF_8));
+    }
+
+    private String gunzip(Path file) throws Exception {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InputInventoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void scansPostsAndAssetsOnceAndDiffsAgainstPreviousScan() throws Exception {
+        Path cache = tempDir.resolve(".thoth-cache");
+        write(tempDir.resolve("blog/b.adoc"), "b");
+        write(tempDir.resolve("blog/a.adoc"), "a");
+        write(tempDir.resolve("images/logo.svg"), "<svg/>");
+        write(tempDir.resolve("thoth.properties"), "site.title=x");
+        write(cache.resolve("posts/entry.bin"), "cached");
+
+        InputInventory inventory = InputInventory.scan(tempDir, cache);
+        assertEquals(List.of(Path.of("blog/a.adoc"), Path.of("blog/b.adoc")), relativePaths(inventory.posts()));
+        assertEquals(List.of(Path.of("images/logo.svg"), Path.of("thoth.properties")), relativePaths(inventory.assets()));
+        InputInventory.Entry logo = inventory.get(Path.of("images/logo.svg"));
+        assertEquals(InputInventory.Kind.ASSET, logo.kind());
+        assertEquals(6, logo.size());
+        assertSame(inventory, inventory.update(Path.of("images/logo.svg")));
+
+        Files.delete(tempDir.resolve("blog/b.adoc"));
+        write(tempDir.resolve("blog/c.adoc"), "c");
+        write(tempDir.resolve("images/logo.svg"), "<svg></svg>");
+        InputInventory rescanned = InputInventory.scan(tempDir, cache);
+        InputInventory.Diff diff = rescanned.diff(inventory);
+        assertEquals(List.of(Path.of("blog/c.adoc")), relativePaths(diff.added()));
+        assertEquals(List.of(Path.of("images/logo.svg")), relativePaths(diff.modified()));
+        assertEquals(List.of(Path.of("blog/b.adoc")), relativePaths(diff.removed()));
+
+        InputInventory updated = inventory
+            .update(Path.of("blog/b.adoc"))
+            .update(Path.of("blog/c.adoc"))
+            .update(Path.of("images/logo.svg"));
+        assertTrue(rescanned.diff(updated).isEmpty());
+        assertNull(updated.get(Path.of("blog/b.adoc")));
+    }
+
+    private void write(Path path, String content) throws Exception {
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content, StandardCharsets.UTF_8);
+    }
+
+    private List<Path> relativePaths(List<InputInventory.Entry> entries) {
+        return entries.stream().map(InputInventory.Entry::relativePath).toList();
+    }
+}
@@ -0,0 +1,55 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class InputWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void coalescesBurstsIntoOneBatch() throws Exception {
+        Path post = tempDir.resolve("post.adoc");
+        Path scratch = tempDir.resolve("scratch.tmp");
+        Files.writeString(post, "v0", StandardCharsets.UTF_8);
+
+        BlockingQueue<InputWatcher.Batch> batches = new LinkedBlockingQueue<>();
+        try (InputWatcher watcher = new InputWatcher(tempDir, Duration.ofMillis(300), batches::add)) {
+            watcher.start();
+
+            for (int i = 1; i <= 5; i++) {
+                Files.writeString(post, "v" + i, StandardCharsets.UTF_8);
+            }
+            Files.writeString(scratch, "x", StandardCharsets.UTF_8);
+            Files.delete(scratch);
+            Path nested = tempDir.resolve("blog/2026/new.adoc");
+            Files.createDirectories(nested.getParent());
+            Files.writeString(nested, "new", StandardCharsets.UTF_8);
+
+            InputWatcher.Batch batch = batches.poll(10, TimeUnit.SECONDS);
+            assertNotNull(batch);
+            assertFalse(batch.overflow());
+
+            Map<Path, String> events = batch.events();
+            assertEquals("MODIFY", events.get(post));
+            assertEquals("DELETE", events.get(scratch));
+            assertEquals("CREATE", events.get(nested));
+            assertNull(batches.poll(1, TimeUnit.SECONDS));
+        }
+    }
+}
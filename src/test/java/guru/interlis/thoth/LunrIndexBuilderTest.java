@@ -0,0 +1,57 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LunrIndexBuilderTest {
+
+    @Test
+    public void stemsLikeLunr() {
+        assertEquals("caress", LunrStemmer.stem("caresses"));
+        assertEquals("poni", LunrStemmer.stem("ponies"));
+        assertEquals("agre", LunrStemmer.stem("agreed"));
+        assertEquals("hop", LunrStemmer.stem("hopping"));
+        assertEquals("relat", LunrStemmer.stem("relational"));
+        assertEquals("hope", LunrStemmer.stem("hopeful"));
+        assertEquals("yell", LunrStemmer.stem("yelled"));
+        assertEquals("by", LunrStemmer.stem("by"));
+    }
+
+    @Test
+    public void tokenizesAndTrimsLikeLunr() {
+        assertEquals(List.of("grüsse", "a", "b", "(über)"), LunrIndexBuilder.tokenize("Grüsse a-b (Über)"));
+        assertEquals("ber", LunrIndexBuilder.trim("(über)"));
+        assertEquals("", LunrIndexBuilder.trim("—"));
+    }
+
+    @Test
+    public void writesSerializedIndex() throws Exception {
+        LunrIndexBuilder builder = new LunrIndexBuilder(List.of("title", "body"));
+        builder.add("/one/", Map.of("title", "Hello World", "body", "The worlds are turning"));
+        builder.add("/two/", Map.of("title", "Other", "body", "Hello again"));
+
+        StringWriter out = new StringWriter();
+        builder.writeTo(new JsonWriter(out));
+
+        assertEquals(
+            "{\"version\":\"2.3.9\",\"fields\":[\"title\",\"body\"],"
+                + "\"fieldVectors\":["
+                + "[\"title//one/\",[0,0.129,1,0.129]],"
+                + "[\"body//one/\",[1,0.182,2,0.693]],"
+                + "[\"title//two/\",[]],"
+                + "[\"body//two/\",[0,0.182,3,0.693]]],"
+                + "\"invertedIndex\":["
+                + "[\"again\",{\"_index\":3,\"title\":{},\"body\":{\"/two/\":{}}}],"
+                + "[\"hello\",{\"_index\":0,\"title\":{\"/one/\":{}},\"body\":{\"/two/\":{}}}],"
+                + "[\"turn\",{\"_index\":2,\"title\":{},\"body\":{\"/one/\":{}}}],"
+                + "[\"world\",{\"_index\":1,\"title\":{\"/one/\":{}},\"body\":{\"/one/\":{}}}]],"
+                + "\"pipeline\":[\"stemmer\"]}",
+            out.toString()
+        );
+    }
+}
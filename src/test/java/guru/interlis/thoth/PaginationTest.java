@@ -0,0 +1,72 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PaginationTest {
+
+    @Test
+    public void splitsPostsIntoLinkedPages() {
+        List<Post> posts = posts(5);
+
+        List<Pagination.Page> pages = Pagination.paginate(posts, 2, "/tags/java/");
+
+        assertEquals(3, pages.size());
+        assertEquals(posts.subList(2, 4), pages.get(1).posts());
+        assertEquals(posts.subList(4, 5), pages.get(2).posts());
+        assertNull(pages.get(0).previousUrl());
+        assertEquals("/tags/java/page/2/", pages.get(0).nextUrl());
+        assertEquals("/tags/java/", pages.get(1).previousUrl());
+        assertEquals("/tags/java/page/3/", pages.get(1).nextUrl());
+        assertNull(pages.get(2).nextUrl());
+        assertEquals(Path.of("tags/java/index.html"), pages.get(0).outputRelativePath());
+        assertEquals(Path.of("page/3/index.html"), Pagination.outputRelativePath("/", 3));
+    }
+
+    @Test
+    public void keepsEverythingOnOnePageWhenDisabled() {
+        List<Post> posts = posts(5);
+
+        List<Pagination.Page> pages = Pagination.paginate(posts, 0, "/");
+
+        assertEquals(1, pages.size());
+        assertEquals(posts, pages.get(0).posts());
+        assertNull(pages.get(0).nextUrl());
+        assertEquals(1, Pagination.pageCount(0, 2));
+        assertEquals(1, Pagination.pageCount(5, 0));
+        assertEquals(3, Pagination.pageCount(6, 2));
+    }
+
+    private List<Post> posts(int count) {
+        return IntStream.rangeClosed(1, count).mapToObj(this::post).toList();
+    }
+
+    private Post post(int number) {
+        return new Post(
+            Path.of("blog/post-" + number + ".adoc"),
+            "Post " + number,
+            "Jane Doe",
+            LocalDate.parse("2026-01-12"),
+            "published",
+            List.of(),
+            "Teaser",
+            null,
+            "<p>x</p>",
+            "<p>x</p>",
+            "x",
+            List.of(),
+            List.of(),
+            false,
+            "/blog/post-" + number + "/",
+            "blog/post-" + number + "/",
+            Path.of("blog/post-" + number + "/index.html")
+        );
+    }
+}
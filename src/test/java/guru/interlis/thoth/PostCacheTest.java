@@ -0,0 +1,111 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PostCacheTest {
+
+    @Test
+    public void reusesEntryUntilSourceChanges() throws Exception {
+        Path root = Files.createTempDirectory("thoth-cache-test");
+        Path source = root.resolve("blog/post.adoc");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "first version", StandardCharsets.UTF_8);
+
+        PostCache cache = new PostCache(root.resolve(".thoth-cache/posts"));
+        AtomicInteger parses = new AtomicInteger();
+        Post expected = samplePost();
+        PostCache.PostLoader loader = () -> {
+            parses.incrementAndGet();
+            return expected;
+        };
+
+        assertEquals(expected, cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.CLIENT, Map.of(), loader));
+        assertEquals(expected, cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.CLIENT, Map.of(), loader));
+        assertEquals(1, parses.get());
+        assertEquals(1, cache.hits());
+        assertEquals(1, cache.misses());
+
+        Files.writeString(source, "second version", StandardCharsets.UTF_8);
+        cache.resetStatistics();
+        cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.CLIENT, Map.of(), loader);
+        assertEquals(2, parses.get());
+        assertEquals(0, cache.hits());
+        assertEquals(1, cache.misses());
+
+        cache.load(source, Path.of("blog/post.adoc"), "https://blog.example.org", CodeHighlighter.Mode.CLIENT, Map.of(), loader);
+        assertEquals(3, parses.get());
+        cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.BUILD, Map.of(), loader);
+        assertEquals(4, parses.get());
+        cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.CLIENT, Map.of("ø", "oe"), loader);
+        assertEquals(5, parses.get());
+
+        cache.resetStatistics();
+        cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.CLIENT, Map.of(), loader);
+        cache.pruneUnused();
+        try (var entries = Files.list(root.resolve(".thoth-cache/posts"))) {
+            assertEquals(1, entries.count());
+        }
+    }
+
+    @Test
+    public void missesWhenIncludedFileChanges() throws Exception {
+        Path root = Files.createTempDirectory("thoth-cache-include-test");
+        Path source = root.resolve("blog/post.adoc");
+        Files.createDirectories(source.getParent().resolve("snippets"));
+        Files.writeString(source, "include::snippets/part.adoc[]\n", StandardCharsets.UTF_8);
+        Files.writeString(source.resolveSibling("snippets/part.adoc"), "include::Example.java[tag=main]\n", StandardCharsets.UTF_8);
+        Files.writeString(source.resolveSibling("snippets/Example.java"), "class Example {}", StandardCharsets.UTF_8);
+
+        PostCache cache = new PostCache(root.resolve(".thoth-cache/posts"));
+        AtomicInteger parses = new AtomicInteger();
+        PostCache.PostLoader loader = () -> {
+            parses.incrementAndGet();
+            return samplePost();
+        };
+
+        cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.CLIENT, Map.of(), loader);
+        cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.CLIENT, Map.of(), loader);
+        assertEquals(1, parses.get());
+
+        Files.writeString(source.resolveSibling("snippets/Example.java"), "class Example { int x; }", StandardCharsets.UTF_8);
+        cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.CLIENT, Map.of(), loader);
+        assertEquals(2, parses.get());
+
+        Files.writeString(source, "include::{snippets}/part.adoc[]\n", StandardCharsets.UTF_8);
+        cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.CLIENT, Map.of(), loader);
+        cache.load(source, Path.of("blog/post.adoc"), "https://example.org", CodeHighlighter.Mode.CLIENT, Map.of(), loader);
+        assertEquals(4, parses.get());
+    }
+
+    private Post samplePost() {
+        return new Post(
+            Path.of("blog/post.adoc"),
+            "Grüsse",
+            "Jane Doe",
+            LocalDate.parse("2026-01-12"),
+            "published",
+            List.of(new TagRef("Java", "java"), new TagRef("Zürich", "zuerich")),
+            "Teaser",
+            null,
+            "<p>Body ".repeat(20_000) + "</p>",
+            "<p>Feed</p>",
+            "Body",
+            List.of("java", "yaml"),
+            List.of("line-numbers"),
+            true,
+            "/blog/post/",
+            "blog/post/",
+            Path.of("blog/post/index.html")
+        );
+    }
+}
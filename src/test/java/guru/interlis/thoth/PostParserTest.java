@@ -9,6 +9,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -91,6 +92,8 @@ public class PostParserTest {
 
             assertTrue(html.select("pre.language-javascript > code.language-javascript").size() == 1);
             assertTrue(html.select("pre.language-css > code.language-css").size() == 1);
+            assertEquals(List.of("css", "javascript"), parsed.codeLanguages());
+            assertEquals(List.of(), parsed.codePlugins());
         } finally {
             asciidoctor.shutdown();
         }
@@ -133,6 +136,52 @@ public class PostParserTest {
             assertEquals(2, codeBlocks.size());
             assertTrue(codeBlocks.get(0).classNames().contains("line-numbers"));
             assertFalse(codeBlocks.get(1).classNames().contains("line-numbers"));
+            assertEquals(List.of(PrismBundle.LINE_NUMBERS), parsed.codePlugins());
+        } finally {
+            asciidoctor.shutdown();
+        }
+    }
+
+    @Test
+    public void highlightsSupportedLanguagesAtBuildTime() throws Exception {
+        Path root = Files.createTempDirectory("thoth-parser-highlight-test");
+        Path post = root.resolve("blog/highlight.adoc");
+        Files.createDirectories(post.getParent());
+
+        String content = """
+            ---
+            = Highlighting
+            Jane Doe
+            2026-01-12
+            ---
+            [source,ini,linenums]
+            ----
+            [ch.ehi.ili2db]
+            defaultSrsCode=2056
+            ----
+
+            [source,ruby]
+            ----
+            puts "client side"
+            ----
+            """;
+
+        Files.writeString(post, content, StandardCharsets.UTF_8);
+
+        Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+        try {
+            PostParser parser = new PostParser(asciidoctor, "", CodeHighlighter.Mode.BUILD, BuildProfiler.disabled());
+            Post parsed = parser.parse(post, root);
+            Document html = Jsoup.parseBodyFragment(parsed.htmlContent());
+
+            var ini = html.selectFirst("pre.language-ini.line-numbers > code");
+            assertTrue(ini.hasAttr(CodeHighlighter.HIGHLIGHTED_ATTRIBUTE));
+            assertEquals("[ch.ehi.ili2db]", ini.selectFirst(".token.section").text());
+            assertEquals(2, ini.select(".line-numbers-rows > span").size());
+            assertFalse(html.selectFirst("pre.language-ruby > code").hasAttr(CodeHighlighter.HIGHLIGHTED_ATTRIBUTE));
+            assertTrue(parsed.highlightedCode());
+            assertEquals(List.of("ruby"), parsed.codeLanguages());
+            assertEquals(List.of(), parsed.codePlugins());
         } finally {
             asciidoctor.shutdown();
         }
@@ -168,4 +217,43 @@ public class PostParserTest {
             asciidoctor.shutdown();
         }
     }
+
+    @Test
+    public void producesAbsoluteFeedHtmlAlongsideSiteHtml() throws Exception {
+        Path root = Files.createTempDirectory("thoth-parser-feed-test");
+        Path post = root.resolve("blog/feed.adoc");
+        Files.createDirectories(post.getParent());
+
+        String content = """
+            ---
+            = Feed Links
+            Jane Doe
+            2026-01-12
+            ---
+            See link:other.adoc[the other post], link:https://example.com[outside] and <<intro,the intro>>.
+
+            image::images/diagram.png[Diagram]
+            """;
+
+        Files.writeString(post, content, StandardCharsets.UTF_8);
+
+        Asciidoctor asciidoctor = Asciidoctor.Factory.create();
+        try {
+            PostParser parser = new PostParser(asciidoctor, "https://blog.example.org");
+            Post parsed = parser.parse(post, root);
+            Document html = Jsoup.parseBodyFragment(parsed.htmlContent());
+            Document feed = Jsoup.parseBodyFragment(parsed.feedHtml());
+
+            assertEquals("/blog/other/", html.selectFirst("a[href*=other]").attr("href"));
+            assertEquals("/blog/images/diagram.png", html.selectFirst("img").attr("src"));
+            assertEquals("/blog/images/diagram.png", parsed.coverImage());
+            assertEquals("https://blog.example.org/blog/other/", feed.selectFirst("a[href*=other]").attr("href"));
+            assertEquals("https://example.com", feed.selectFirst("a[href*=example.com]").attr("href"));
+            assertEquals("#intro", feed.selectFirst("a[href^=#]").attr("href"));
+            assertEquals("https://blog.example.org/blog/images/diagram.png", feed.selectFirst("img").attr("src"));
+            assertEquals(html.text(), feed.text());
+        } finally {
+            asciidoctor.shutdown();
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PrismBundleTest {
+
+    @Test
+    public void bundlesOnlyUsedLanguagesWithTheirRequirements() {
+        PrismBundle bundle = PrismBundle.of(List.of("typescript", "unknown", "cpp"), List.of(PrismBundle.LINE_NUMBERS));
+
+        assertEquals(List.of("clike", "javascript", "typescript", "c", "cpp"), bundle.languages());
+        assertEquals(List.of(PrismBundle.LINE_NUMBERS), bundle.plugins());
+        assertTrue(bundle.scriptPath().matches("assets/prism\\.[0-9a-f]{10}\\.js"));
+        assertTrue(PrismBundle.isOutputPath(bundle.stylesheetPath()));
+
+        String script = new String(bundle.content(bundle.scriptPath()), StandardCharsets.UTF_8);
+        assertTrue(script.contains("e.languages.typescript="));
+        assertTrue(script.contains("line-numbers"));
+        assertFalse(script.contains("Prism.languages.markup="));
+        assertFalse(script.contains("Begin prism-"));
+        assertFalse(script.contains("@license"));
+        String stylesheet = new String(bundle.content(bundle.stylesheetPath()), StandardCharsets.UTF_8);
+        assertTrue(stylesheet.contains(".line-numbers"));
+        assertFalse(stylesheet.contains("/*"));
+        assertNull(bundle.content("assets/theme.js"));
+
+        PrismBundle same = PrismBundle.of(List.of("cpp", "typescript"), List.of(PrismBundle.LINE_NUMBERS));
+        assertTrue(same.sameContent(bundle));
+        assertFalse(PrismBundle.of(List.of("cpp"), List.of()).sameContent(bundle));
+    }
+
+    @Test
+    public void stripsFullLineCommentsAndIndentation() {
+        String source = """
+            /**
+             * doc
+             */
+            var a = '//not a comment'; // trailing
+                // note
+            /* inline */ var b = 1;
+
+            """;
+        assertEquals("var a = '//not a comment'; // trailing\nvar b = 1;\n", PrismBundle.stripComments(source));
+    }
+}
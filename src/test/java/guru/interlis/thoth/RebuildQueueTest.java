@@ -0,0 +1,88 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RebuildQueueTest {
+    private static final Path CONFIG = Path.of("in/thoth.properties");
+    private static final Path POST = Path.of("in/blog/post.adoc");
+    private static final Path OTHER = Path.of("in/blog/other.adoc");
+
+    @Test
+    public void cancelsSupersededBuildAndRetriesWithLatestEvents() throws Exception {
+        BlockingQueue<Run> runs = new LinkedBlockingQueue<>();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        try (RebuildQueue queue = new RebuildQueue((batch, cancelled) -> {
+            if (runs.isEmpty() && firstStarted.getCount() > 0) {
+                firstStarted.countDown();
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+                while (!cancelled.getAsBoolean() && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+            }
+            boolean completed = !cancelled.getAsBoolean();
+            runs.add(new Run(batch, completed));
+            return completed;
+        })) {
+            queue.submit(new InputWatcher.Batch(Map.of(CONFIG, "MODIFY"), false));
+            assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+            queue.submit(new InputWatcher.Batch(Map.of(POST, "CREATE"), false));
+            queue.submit(new InputWatcher.Batch(Map.of(CONFIG, "MODIFY", POST, "DELETE"), false));
+
+            Run cancelledRun = runs.poll(10, TimeUnit.SECONDS);
+            assertFalse(cancelledRun.completed());
+            assertEquals(Map.of(CONFIG, "MODIFY"), cancelledRun.batch().events());
+
+            Run retried = runs.poll(10, TimeUnit.SECONDS);
+            assertTrue(retried.completed());
+            assertEquals(List.of(CONFIG, POST), List.copyOf(retried.batch().events().keySet()));
+            assertEquals("DELETE", retried.batch().events().get(POST));
+            assertNull(runs.poll(200, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    public void unrelatedChangesWaitForRunningBuild() throws Exception {
+        BlockingQueue<Run> runs = new LinkedBlockingQueue<>();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (RebuildQueue queue = new RebuildQueue((batch, cancelled) -> {
+            if (firstStarted.getCount() > 0) {
+                firstStarted.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            boolean completed = !cancelled.getAsBoolean();
+            runs.add(new Run(batch, completed));
+            return completed;
+        })) {
+            queue.submit(new InputWatcher.Batch(Map.of(POST, "MODIFY"), false));
+            assertTrue(firstStarted.await(10, TimeUnit.SECONDS));
+            queue.submit(new InputWatcher.Batch(Map.of(OTHER, "MODIFY"), false));
+            release.countDown();
+
+            assertTrue(runs.poll(10, TimeUnit.SECONDS).completed());
+            Run second = runs.poll(10, TimeUnit.SECONDS);
+            assertTrue(second.completed());
+            assertEquals(Map.of(OTHER, "MODIFY"), second.batch().events());
+        }
+    }
+
+    private record Run(InputWatcher.Batch batch, boolean completed) {
+    }
+}
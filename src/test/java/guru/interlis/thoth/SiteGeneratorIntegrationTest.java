@@ -3,11 +3,22 @@ package guru.interlis.thoth;
 import org.jsoup.Jsoup;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SiteGeneratorIntegrationTest {
@@ -77,29 +88,21 @@ public class SiteGeneratorIntegrationTest {
         assertTrue(Files.exists(output.resolve("tags/ai/index.html")));
         assertTrue(Files.exists(output.resolve("tags/java/index.html")));
 
-        assertTrue(Files.exists(output.resolve("assets/styles-light.css")));
-        assertTrue(Files.exists(output.resolve("assets/styles-dark.css")));
-        assertTrue(Files.exists(output.resolve("assets/zurich.css")));
-        assertTrue(Files.exists(output.resolve("assets/fonts/Zurich/306E22_0_0.woff2")));
-        assertTrue(Files.exists(output.resolve("assets/fonts/Zurich/306E22_1_0.woff2")));
-        assertTrue(Files.exists(output.resolve("assets/theme.js")));
-        assertTrue(Files.exists(output.resolve("assets/search.js")));
-        assertTrue(Files.exists(output.resolve("assets/lunr.min.js")));
-        assertTrue(Files.exists(output.resolve("assets/prism/prism.css")));
-        assertTrue(Files.exists(output.resolve("assets/prism/prism.js")));
-        assertTrue(Files.exists(output.resolve("assets/prism/components/prism-ini.min.js")));
-        assertTrue(Files.exists(output.resolve("assets/prism/components/prism-interlis.js")));
-        assertTrue(Files.exists(output.resolve("assets/prism/components/prism-javascript.min.js")));
-        assertTrue(Files.exists(output.resolve("assets/prism/components/prism-css.min.js")));
-        assertTrue(Files.exists(output.resolve("assets/prism/components/prism-java.min.js")));
-        assertTrue(Files.exists(output.resolve("assets/prism/plugins/line-highlight/prism-line-highlight.min.css")));
-        assertTrue(Files.exists(output.resolve("assets/prism/plugins/line-highlight/prism-line-highlight.min.js")));
-        assertTrue(Files.exists(output.resolve("assets/prism/plugins/line-numbers/prism-line-numbers.min.css")));
-        assertTrue(Files.exists(output.resolve("assets/prism/plugins/line-numbers/prism-line-numbers.min.js")));
+        assertTrue(Files.exists(output.resolve(bundled("assets/styles-light.css"))));
+        assertTrue(Files.exists(output.resolve(bundled("assets/styles-dark.css"))));
+        assertTrue(Files.exists(output.resolve(bundled("assets/zurich.css"))));
+        assertTrue(Files.exists(output.resolve(bundled("assets/fonts/Zurich/306E22_0_0.woff2"))));
+        assertTrue(Files.exists(output.resolve(bundled("assets/fonts/Zurich/306E22_1_0.woff2"))));
+        assertTrue(Files.exists(output.resolve(bundled("assets/theme.js"))));
+        assertTrue(Files.exists(output.resolve(bundled("assets/search.js"))));
+        assertTrue(Files.exists(output.resolve(bundled("assets/lunr.min.js"))));
+        PrismBundle prism = PrismBundle.of(List.of("ini"), List.of(PrismBundle.LINE_NUMBERS));
+        assertTrue(Files.exists(output.resolve(prism.scriptPath())));
+        assertTrue(Files.exists(output.resolve(prism.stylesheetPath())));
         assertTrue(Files.exists(output.resolve("assets/search-index.json")));
-        assertTrue(Files.exists(output.resolve("assets/fonts/JetBrainsMono/JetBrainsMono-Regular.woff2")));
-        assertTrue(Files.exists(output.resolve("assets/fonts/JetBrainsMono/JetBrainsMono-Bold.woff2")));
-        assertTrue(Files.exists(output.resolve("assets/fonts/JetBrainsMono/JetBrainsMono-Italic.woff2")));
+        assertTrue(Files.exists(output.resolve(bundled("assets/fonts/JetBrainsMono/JetBrainsMono-Regular.woff2"))));
+        assertTrue(Files.exists(output.resolve(bundled("assets/fonts/JetBrainsMono/JetBrainsMono-Bold.woff2"))));
+        assertTrue(Files.exists(output.resolve(bundled("assets/fonts/JetBrainsMono/JetBrainsMono-Italic.woff2"))));
         assertTrue(Files.exists(output.resolve("assets/thumbnails/blog/2026/images/cover-thumb.png")));
 
         assertTrue(Files.exists(output.resolve("blog/2026/images/cover.png")));
@@ -112,6 +115,7 @@ public class SiteGeneratorIntegrationTest {
         assertTrue(index.contains("Manual teaser override"));
         assertTrue(index.contains("class=\"post-card-body post-card-body--with-cover\""));
         assertTrue(index.contains("class=\"teaser-more\""));
+        assertFalse(index.contains("/assets/prism."));
 
         String archive = Files.readString(output.resolve("archive.html"), StandardCharsets.UTF_8);
         assertTrue(archive.contains("First Post"));
@@ -125,6 +129,7 @@ public class SiteGeneratorIntegrationTest {
         assertTrue(feed.contains("<link>https://example.com/blog/2026/post-two/</link>"));
         assertTrue(feed.contains("<img src=\"https://example.com/blog/2026/images/cover.png\""));
         assertTrue(feed.contains("defaultSrsCode=2056"));
+        assertTrue(feed.contains("<lastBuildDate>Tue, 13 Jan 2026 00:00:00 +0100</lastBuildDate>"));
 
         String searchIndex = Files.readString(output.resolve("assets/search-index.json"), StandardCharsets.UTF_8);
         assertTrue(searchIndex.contains("\"title\":\"Second Post\""));
@@ -134,18 +139,644 @@ public class SiteGeneratorIntegrationTest {
         assertTrue(postHtml.contains("id=\"navbar\""));
         assertTrue(postHtml.contains("id=\"search-input\""));
         assertTrue(postHtml.contains("id=\"theme-toggle\""));
-        assertTrue(postHtml.contains("/assets/prism/prism.css"));
-        assertTrue(postHtml.contains("/assets/prism/prism.js"));
-        assertTrue(postHtml.contains("/assets/prism/components/prism-interlis.js"));
-        assertTrue(postHtml.contains("/assets/prism/plugins/line-highlight/prism-line-highlight.min.js"));
-        assertTrue(postHtml.contains("/assets/prism/plugins/line-numbers/prism-line-numbers.min.js"));
-        assertTrue(postHtml.contains("/assets/zurich.css"));
+        assertTrue(postHtml.contains("<script src=\"/" + prism.scriptPath() + "\" defer>"));
+        assertTrue(postHtml.contains("<link rel=\"stylesheet\" href=\"/" + prism.stylesheetPath() + "\">"));
+        assertTrue(postHtml.contains(bundledUrl("/assets/zurich.css")));
         assertTrue(Jsoup.parse(postHtml).select("pre.language-ini.line-numbers > code.language-ini").size() == 1);
 
-        String searchJs = Files.readString(output.resolve("assets/search.js"), StandardCharsets.UTF_8);
+        String searchJs = Files.readString(output.resolve(bundled("assets/search.js")), StandardCharsets.UTF_8);
         assertTrue(searchJs.contains("lunrSearch"));
     }
 
+    @Test
+    public void writesContentHashedBundledAssetsOnce() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+        write(input.resolve("thoth.properties"), """
+            site.title=Hashed
+            site.description=Hashed assets
+            site.baseUrl=https://example.com
+            site.language=en
+            site.dateFormat=yyyy-MM-dd
+            """);
+        write(input.resolve("blog/post.adoc"), """
+            ---
+            = Post
+            Alice Author
+            2026-01-12
+            ---
+            Body.
+            """);
+        write(output.resolve("assets/zurich.css"), "legacy");
+
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(false);
+        }
+
+        String hashedCss = bundled("assets/zurich.css");
+        assertTrue(hashedCss.matches("assets/zurich\\.[0-9a-f]{10}\\.css"));
+        assertFalse(Files.exists(output.resolve("assets/zurich.css")));
+        String css = Files.readString(output.resolve(hashedCss), StandardCharsets.UTF_8);
+        assertTrue(css.contains(bundledUrl("/assets/fonts/Zurich/306E22_0_0.woff2")));
+        assertTrue(css.contains(bundledUrl("/assets/fonts/Zurich/306E22_0_0.eot") + "?#iefix"));
+        assertTrue(Files.readString(output.resolve("index.html"), StandardCharsets.UTF_8)
+            .contains("href=\"" + bundledUrl("/assets/zurich.css") + "\""));
+
+        write(output.resolve("assets/theme.0123456789.js"), "stale");
+        Files.writeString(output.resolveSibling(output.getFileName() + ".thoth-cache").resolve("bundled.manifest"), "assets/theme.0123456789.js\n",
+            StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Path font = output.resolve(bundled("assets/fonts/Zurich/306E22_0_0.woff2"));
+        Files.writeString(font, "kept", StandardCharsets.UTF_8);
+        write(output.resolve(".thoth-cache/posts/legacy.json"), "{}");
+        List<String> changed = new ArrayList<>();
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.setOutputListener(path -> changed.add(output.relativize(path).toString().replace('\\', '/')));
+            generator.buildAll(false);
+        }
+        assertEquals("kept", Files.readString(font, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(output.resolve("assets/theme.0123456789.js")));
+        assertFalse(Files.exists(output.resolve(".thoth-cache")));
+        assertEquals(List.of("assets/theme.0123456789.js"), changed.stream()
+            .filter(path -> path.startsWith("assets/") && !path.startsWith("assets/search-index"))
+            .toList());
+    }
+
+    @Test
+    public void synchronizesAssetsIncrementally() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        write(input.resolve("thoth.properties"), """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """);
+        write(input.resolve("blog/keep.txt"), "keep");
+        write(input.resolve("blog/old/remove.txt"), "remove");
+
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(false);
+        }
+
+        Path kept = output.resolve("blog/keep.txt");
+        Files.writeString(kept, "KEEP", StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(kept, Files.getLastModifiedTime(input.resolve("blog/keep.txt")));
+        Files.delete(input.resolve("blog/old/remove.txt"));
+
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(false);
+        }
+
+        assertEquals("KEEP", Files.readString(kept, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(output.resolve("blog/old/remove.txt")));
+        assertFalse(Files.exists(output.resolve("blog/old")));
+    }
+
+    @Test
+    public void removesOnlyStaleTagPagesOnIncrementalEdit() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        write(input.resolve("thoth.properties"), """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """);
+        Path post = input.resolve("blog/post.adoc");
+        write(post, """
+            ---
+            = Tagged Post
+            Alice Author
+            2026-01-12
+            :thoth-tags: Java,AI
+            ---
+            Body text.
+            """);
+
+        List<String> rebuiltUrls = new ArrayList<>();
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(true);
+            assertTrue(Files.exists(output.resolve("tags/ai/index.html")));
+            generator.setRebuildListener(rebuiltUrls::addAll);
+
+            write(post, """
+                ---
+                = Tagged Post
+                Alice Author
+                2026-01-12
+                :thoth-tags: Java,MCP
+                ---
+                Body text.
+                """);
+            generator.handleInputEvent(post, "MODIFY");
+        }
+
+        assertFalse(Files.exists(output.resolve("tags/ai")));
+        assertTrue(Files.exists(output.resolve("tags/java/index.html")));
+        assertTrue(Files.exists(output.resolve("tags/mcp/index.html")));
+        assertTrue(rebuiltUrls.containsAll(List.of("/blog/post/", "/tags/ai/", "/tags/mcp/")));
+        assertFalse(rebuiltUrls.contains("/tags/java/"));
+    }
+
+    @Test
+    public void slugsTagsWithConfiguredTransliterations() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        String config = """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """;
+        write(input.resolve("thoth.properties"), config + "tags.transliterate.\\u00f8=oe\n");
+        write(input.resolve("blog/post.adoc"), """
+            ---
+            = Tagged Post
+            Alice Author
+            2026-01-12
+            :thoth-tags: Smørrebrød
+            ---
+            Body text.
+            """);
+
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(true);
+        }
+        assertTrue(Files.exists(output.resolve("tags/smoerrebroed/index.html")));
+
+        write(input.resolve("thoth.properties"), config);
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(false);
+        }
+        assertTrue(Files.exists(output.resolve("tags/smrrebrd/index.html")));
+    }
+
+    @Test
+    public void precompressesOutputsAndRemovesStaleSiblings() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        String config = """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """;
+        write(input.resolve("thoth.properties"), config + "build.gzip=true\nbuild.gzipMinSize=2048\n");
+        Path post = input.resolve("blog/post.adoc");
+        write(post, """
+            ---
+            = Long Post
+            Alice Author
+            2026-01-12
+            ---
+            """ + "A long paragraph of body text. ".repeat(100));
+        Path script = input.resolve("blog/app.js");
+        write(script, "console.log('thoth');\n".repeat(200));
+        write(input.resolve("blog/tiny.css"), "a{}");
+
+        Path postPage = output.resolve("blog/post/index.html");
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(true);
+            assertTrue(Files.exists(GzipPrecompressor.siblingOf(postPage)));
+            assertTrue(Files.exists(GzipPrecompressor.siblingOf(output.resolve("blog/app.js"))));
+            assertTrue(Files.notExists(GzipPrecompressor.siblingOf(output.resolve("blog/tiny.css"))));
+            assertEquals(Files.getLastModifiedTime(postPage), Files.getLastModifiedTime(GzipPrecompressor.siblingOf(postPage)));
+
+            write(post, Files.readString(post, StandardCharsets.UTF_8).replace("Long Post", "Renamed Post"));
+            generator.handleInputEvent(post, "MODIFY");
+            try (var in = new GZIPInputStream(Files.newInputStream(GzipPrecompressor.siblingOf(postPage)))) {
+                assertTrue(new String(in.readAllBytes(), StandardCharsets.UTF_8).contains("Renamed Post"));
+            }
+        }
+
+        List<Path> rewritten = new ArrayList<>();
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.setOutputListener(rewritten::add);
+            generator.buildAll(false);
+        }
+        assertEquals(List.of(), rewritten);
+
+        Files.delete(script);
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(false);
+        }
+        assertTrue(Files.notExists(output.resolve("blog/app.js")));
+        assertTrue(Files.notExists(GzipPrecompressor.siblingOf(output.resolve("blog/app.js"))));
+        assertTrue(Files.exists(GzipPrecompressor.siblingOf(postPage)));
+
+        write(input.resolve("thoth.properties"), config);
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(false);
+        }
+        try (var files = Files.walk(output)) {
+            assertEquals(List.of(), files.filter(file -> file.toString().endsWith(GzipPrecompressor.EXTENSION)).toList());
+        }
+    }
+
+    @Test
+    public void reportsParseFailureWithAssetFailureSuppressed() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        write(input.resolve("thoth.properties"), """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """);
+        write(input.resolve("blog/broken.adoc"), "No front matter here.");
+        write(input.resolve("blog/logo.png"), "png");
+        write(output.resolve("blog/logo.png/occupied.txt"), "directory in the way");
+
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            IllegalStateException failure = assertThrows(IllegalStateException.class, () -> generator.buildAll(false));
+            assertTrue(failure.getMessage().startsWith("Failed to parse post"));
+            assertEquals(1, failure.getSuppressed().length);
+            assertTrue(failure.getSuppressed()[0] instanceof IOException);
+        }
+    }
+
+    @Test
+    public void rebuildsPrismBundleWhenUsedLanguagesChange() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        write(input.resolve("thoth.properties"), """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """);
+        write(input.resolve("blog/java.adoc"), """
+            ---
+            = Java Post
+            Alice Author
+            2026-01-12
+            ---
+            [source,java]
+            ----
+            class A {}
+            ----
+            """);
+        Path plain = input.resolve("blog/plain.adoc");
+        write(plain, """
+            ---
+            = Plain Post
+            Alice Author
+            2026-01-13
+            ---
+            No code here.
+            """);
+
+        PrismBundle javaOnly = PrismBundle.of(List.of("java"), List.of());
+        PrismBundle withYaml = PrismBundle.of(List.of("java", "yaml"), List.of());
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(true);
+            assertEquals(List.of("clike", "java"), javaOnly.languages());
+            assertTrue(Files.readString(output.resolve("blog/java/index.html"), StandardCharsets.UTF_8).contains(javaOnly.scriptPath()));
+            assertFalse(Files.readString(output.resolve("blog/plain/index.html"), StandardCharsets.UTF_8).contains("/assets/prism."));
+
+            write(plain, """
+                ---
+                = Plain Post
+                Alice Author
+                2026-01-13
+                ---
+                [source,yml]
+                ----
+                key: value
+                ----
+                """);
+            generator.handleInputEvent(plain, "MODIFY");
+        }
+
+        assertFalse(Files.exists(output.resolve(javaOnly.scriptPath())));
+        assertTrue(Files.exists(output.resolve(withYaml.scriptPath())));
+        assertTrue(Files.readString(output.resolve("blog/java/index.html"), StandardCharsets.UTF_8).contains(withYaml.scriptPath()));
+        assertTrue(Files.readString(output.resolve("blog/plain/index.html"), StandardCharsets.UTF_8).contains(withYaml.scriptPath()));
+    }
+
+    @Test
+    public void keepsAggregateChangesOfCancelledRebuild() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        write(input.resolve("thoth.properties"), """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """);
+        Path post = input.resolve("blog/post.adoc");
+        write(post, """
+            ---
+            = Tagged Post
+            Alice Author
+            2026-01-12
+            :thoth-tags: Java
+            ---
+            Body text.
+            """);
+
+        List<String> rebuiltUrls = new ArrayList<>();
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(true);
+            generator.setRebuildListener(rebuiltUrls::addAll);
+
+            write(post, """
+                ---
+                = Renamed Post
+                Alice Author
+                2026-01-12
+                :thoth-tags: Kotlin
+                ---
+                Body text.
+                """);
+            AtomicInteger checks = new AtomicInteger();
+            InputWatcher.Batch batch = new InputWatcher.Batch(Map.of(post, "MODIFY"), false);
+            assertFalse(generator.handleInputBatch(batch, () -> checks.incrementAndGet() > 1));
+            assertTrue(rebuiltUrls.isEmpty());
+            assertTrue(Files.exists(output.resolve("tags/java/index.html")));
+
+            assertTrue(generator.handleInputBatch(batch, () -> false));
+        }
+
+        assertFalse(Files.exists(output.resolve("tags/java")));
+        assertTrue(Files.exists(output.resolve("tags/kotlin/index.html")));
+        assertTrue(Files.readString(output.resolve("index.html"), StandardCharsets.UTF_8).contains("Renamed Post"));
+        assertTrue(rebuiltUrls.containsAll(List.of("/blog/post/", "/", "/tags/java/", "/tags/kotlin/")));
+    }
+
+    @Test
+    public void rendersPagesOnDemandWithoutWritingOutput() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        write(input.resolve("thoth.properties"), """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """);
+        Path post = input.resolve("blog/post.adoc");
+        write(post, """
+            ---
+            = Lazy Post
+            Alice Author
+            2026-01-12
+            :thoth-tags: Java
+            ---
+            Lazy body text.
+            """);
+        write(input.resolve("images/logo.svg"), "<svg/>");
+
+        List<String> rebuiltUrls = new ArrayList<>();
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.prepareOnDemand();
+            generator.setRebuildListener(rebuiltUrls::addAll);
+
+            assertTrue(page(generator, "tags/java/index.html").contains("Lazy Post"));
+            assertTrue(page(generator, "archive.html").contains("Lazy Post"));
+            assertTrue(page(generator, "blog/post/index.html").contains("Lazy body text."));
+            assertTrue(page(generator, "assets/search-index.json").contains("\"url\":\"/blog/post/\""));
+            assertTrue(page(generator, "feed.xml").contains("Lazy body text."));
+            assertTrue(generator.renderPage(bundled("assets/zurich.css")).length > 0);
+            assertEquals(input.resolve("images/logo.svg").toAbsolutePath().normalize(), generator.sourceFile("images/logo.svg"));
+            assertNull(generator.sourceFile("blog/post.adoc"));
+            assertNull(generator.renderPage("blog/missing/index.html"));
+            assertNull(generator.renderPage("tags/kotlin/index.html"));
+
+            write(post, """
+                ---
+                = Lazy Post
+                Alice Author
+                2026-01-12
+                :thoth-tags: Kotlin
+                ---
+                Changed body text.
+                """);
+            generator.handleInputEvent(post, "MODIFY");
+
+            assertTrue(page(generator, "blog/post/index.html").contains("Changed body text."));
+            assertTrue(page(generator, "tags/kotlin/index.html").contains("Lazy Post"));
+            assertNull(generator.renderPage("tags/java/index.html"));
+        }
+
+        assertFalse(Files.exists(output.resolve("index.html")));
+        assertFalse(Files.exists(output.resolve("blog")));
+        assertTrue(rebuiltUrls.containsAll(List.of("/blog/post/", "/", "/feed.xml", "/tags/java/", "/tags/kotlin/")));
+    }
+
+    @Test
+    public void publishesAssetsAsLinksWhenConfigured() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+        String config = """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """;
+        Path image = input.resolve("images/photo.jpg");
+        write(image, "not really a jpeg");
+        Path published = output.resolve("images/photo.jpg");
+
+        write(input.resolve("thoth.properties"), config + "assets.mode=hardlink\n");
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(true);
+        }
+        assertTrue(Files.isSameFile(image, published));
+        assertFalse(Files.isSymbolicLink(published));
+
+        write(input.resolve("thoth.properties"), config + "assets.mode=symlink\n");
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(false);
+        }
+        assertTrue(Files.isSymbolicLink(published));
+        assertEquals(image.toAbsolutePath().normalize(), Files.readSymbolicLink(published));
+
+        write(input.resolve("thoth.properties"), config);
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(false);
+        }
+        assertFalse(Files.isSymbolicLink(published));
+        assertFalse(Files.isSameFile(image, published));
+        assertEquals("not really a jpeg", Files.readString(published, StandardCharsets.UTF_8));
+        assertEquals("not really a jpeg", Files.readString(image, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void rescansInputAfterWatcherOverflow() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        write(input.resolve("thoth.properties"), """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """);
+        Path first = input.resolve("blog/first.adoc");
+        write(first, """
+            ---
+            = First Post
+            Alice Author
+            2026-01-12
+            :thoth-tags: Java
+            ---
+            Body text.
+            """);
+
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(true);
+            assertTrue(Files.exists(output.resolve("blog/first/index.html")));
+
+            Files.delete(first);
+            write(input.resolve("blog/second.adoc"), """
+                ---
+                = Second Post
+                Alice Author
+                2026-01-13
+                :thoth-tags: Kotlin
+                ---
+                Body text.
+                """);
+            write(input.resolve("images/logo.svg"), "<svg/>");
+            generator.handleInputBatch(new InputWatcher.Batch(Map.of(), true));
+        }
+
+        assertFalse(Files.exists(output.resolve("blog/first")));
+        assertTrue(Files.exists(output.resolve("blog/second/index.html")));
+        assertTrue(Files.exists(output.resolve("images/logo.svg")));
+        assertFalse(Files.exists(output.resolve("tags/java")));
+        assertTrue(Files.readString(output.resolve("index.html"), StandardCharsets.UTF_8).contains("Second Post"));
+    }
+
+    @Test
+    public void paginatesListingsAndRerendersOnlyChangedWindows() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        write(input.resolve("thoth.properties"), """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            site.pageSize=2
+            """);
+        for (int day = 1; day <= 5; day++) {
+            write(input.resolve("blog/post-" + day + ".adoc"), """
+                ---
+                = Post %d
+                Alice Author
+                2026-01-0%d
+                :thoth-tags: Java
+                :thoth-teaser: Teaser %d
+                ---
+                Body text.
+                """.formatted(day, day, day));
+        }
+
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(true);
+
+            String index = Files.readString(output.resolve("index.html"), StandardCharsets.UTF_8);
+            assertTrue(index.contains("Post 5") && index.contains("Post 4"));
+            assertFalse(index.contains("Post 3"));
+            assertTrue(index.contains("href=\"/page/2/\" rel=\"next\""));
+            String second = Files.readString(output.resolve("page/2/index.html"), StandardCharsets.UTF_8);
+            assertTrue(second.contains("href=\"/\" rel=\"prev\"") && second.contains("href=\"/page/3/\" rel=\"next\""));
+            String last = Files.readString(output.resolve("page/3/index.html"), StandardCharsets.UTF_8);
+            assertTrue(last.contains("Post 1") && last.contains("Page 3 of 3"));
+            assertFalse(last.contains("rel=\"next\""));
+            assertTrue(Files.readString(output.resolve("tags/java/page/3/index.html"), StandardCharsets.UTF_8).contains("Post 1"));
+
+            Files.writeString(output.resolve("page/2/index.html"), "untouched", StandardCharsets.UTF_8);
+            Path postOne = input.resolve("blog/post-1.adoc");
+            write(postOne, Files.readString(postOne, StandardCharsets.UTF_8).replace("Teaser 1", "Changed teaser"));
+            generator.handleInputEvent(postOne, "MODIFY");
+            assertTrue(Files.readString(output.resolve("page/3/index.html"), StandardCharsets.UTF_8).contains("Changed teaser"));
+            assertEquals("untouched", Files.readString(output.resolve("page/2/index.html"), StandardCharsets.UTF_8));
+
+            Files.delete(postOne);
+            generator.handleInputEvent(postOne, "DELETE");
+        }
+
+        assertFalse(Files.exists(output.resolve("page/3")));
+        assertFalse(Files.exists(output.resolve("tags/java/page/3")));
+        assertTrue(Files.exists(output.resolve("tags/java/page/2/index.html")));
+
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.prepareOnDemand();
+            assertTrue(page(generator, "page/2/index.html").contains("Post 3"));
+            assertTrue(page(generator, "tags/java/page/2/index.html").contains("Post 2"));
+            assertNull(generator.renderPage("page/3/index.html"));
+        }
+    }
+
+    @Test
+    public void keepsPublishedContentUnderPageDirectories() throws Exception {
+        Path input = Files.createTempDirectory("thoth-input");
+        Path output = Files.createTempDirectory("thoth-output");
+
+        write(input.resolve("thoth.properties"), """
+            site.title=Thoth Blog
+            site.description=Demo feed
+            site.baseUrl=https://example.com
+            site.language=en-gb
+            site.dateFormat=yyyy-MM-dd
+            """);
+        write(input.resolve("page/2/photo.txt"), "asset");
+        Path post = input.resolve("page/3.adoc");
+        write(post, """
+            ---
+            = Page Three
+            Alice Author
+            2026-01-12
+            ---
+            Body text.
+            """);
+
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(true);
+            write(post, Files.readString(post, StandardCharsets.UTF_8).replace("Page Three", "Renamed"));
+            generator.handleInputEvent(post, "MODIFY");
+        }
+        try (SiteGenerator generator = new SiteGenerator(input, output)) {
+            generator.buildAll(false);
+        }
+
+        assertEquals("asset", Files.readString(output.resolve("page/2/photo.txt"), StandardCharsets.UTF_8));
+        assertTrue(Files.readString(output.resolve("page/3/index.html"), StandardCharsets.UTF_8).contains("Renamed"));
+    }
+
+    private String page(SiteGenerator generator, String outputPath) throws Exception {
+        return new String(generator.renderPage(outputPath), StandardCharsets.UTF_8);
+    }
+
+    private String bundled(String logicalPath) {
+        return BundledAssets.load().outputPath(logicalPath);
+    }
+
+    private String bundledUrl(String logicalUrl) {
+        return BundledAssets.load().urls().get(logicalUrl);
+    }
+
     private void write(Path path, String content) throws Exception {
         Files.createDirectories(path.getParent());
         Files.writeString(path, content, StandardCharsets.UTF_8);
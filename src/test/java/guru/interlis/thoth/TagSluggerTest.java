@@ -2,7 +2,13 @@ package guru.interlis.thoth;
 
 import org.junit.jupiter.api.Test;
 
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class TagSluggerTest {
     @Test
@@ -16,4 +22,67 @@ public class TagSluggerTest {
         assertEquals("gruesse-aus-zuerich", TagSlugger.slugify("Grüsse aus Zürich"));
         assertEquals("mcp-agent", TagSlugger.slugify("MCP & Agent"));
     }
+
+    @Test
+    public void matchesRegexImplementation() {
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            if (Character.isSurrogate((char) codePoint) && codePoint <= Character.MAX_VALUE) {
+                continue;
+            }
+            String input = "a" + Character.toString(codePoint) + "b";
+            assertEquals(regexSlugify(input), TagSlugger.slugify(input), "U+" + Integer.toHexString(codePoint));
+        }
+
+        String alphabet = "aZ9 -,\t_&.Äöüßé́̈İKKǆ😀";
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            assertEquals(regexSlugify(input.toString()), TagSlugger.slugify(input.toString()), input.toString());
+        }
+        assertEquals("tag", TagSlugger.slugify(null));
+    }
+
+    @Test
+    public void usesConfiguredTransliterations() {
+        TagSlugger slugger = new TagSlugger(Map.of("ø", "oe", "Ø", "Oe", "&", " and ", "+", "plus"));
+
+        assertEquals("koebenhavn-and-oerestad", slugger.slug("København & Ørestad"));
+        assertEquals("c-plusplus", slugger.slug("C ++"));
+        assertEquals("zurich", slugger.slug("Zürich"));
+        assertThrows(IllegalArgumentException.class, () -> new TagSlugger(Map.of("ae", "x")));
+    }
+
+    private static String regexSlugify(String input) {
+        if (input == null) {
+            return "tag";
+        }
+
+        String value = input.trim();
+        if (value.isEmpty()) {
+            return "tag";
+        }
+
+        value = value
+            .replace("Ä", "Ae")
+            .replace("Ö", "Oe")
+            .replace("Ü", "Ue")
+            .replace("ä", "ae")
+            .replace("ö", "oe")
+            .replace("ü", "ue")
+            .replace("ß", "ss");
+
+        value = Normalizer.normalize(value, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}+", "")
+            .toLowerCase(Locale.ROOT)
+            .replaceAll("[\\s,]+", "-")
+            .replaceAll("[^a-z0-9-]", "")
+            .replaceAll("-+", "-")
+            .replaceAll("^-|-$", "");
+
+        return value.isEmpty() ? "tag" : value;
+    }
 }
@@ -0,0 +1,55 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class TaskRunnerTest {
+
+    @Test
+    public void returnsResultsInTaskOrder() throws Exception {
+        try (TaskRunner runner = new TaskRunner("test-worker", 4)) {
+            List<Callable<Integer>> tasks = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                int value = i;
+                tasks.add(() -> {
+                    Thread.sleep((20 - value) % 5);
+                    return value;
+                });
+            }
+
+            List<Integer> results = runner.invokeAll(tasks);
+
+            assertEquals(20, results.size());
+            for (int i = 0; i < 20; i++) {
+                assertEquals(i, results.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void propagatesFailureAndStaysUsable() throws Exception {
+        try (TaskRunner runner = new TaskRunner("test-worker", 2)) {
+            List<Callable<String>> failing = List.of(
+                () -> "ok",
+                () -> {
+                    throw new IllegalStateException("Failed to parse post broken.adoc");
+                },
+                () -> {
+                    Thread.sleep(10_000);
+                    return "slow";
+                }
+            );
+
+            IllegalStateException ex = assertThrows(IllegalStateException.class, () -> runner.invokeAll(failing));
+            assertEquals("Failed to parse post broken.adoc", ex.getMessage());
+
+            assertEquals(List.of("a", "b"), runner.invokeAll(List.of(() -> "a", () -> "b")));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ThumbnailServiceTest {
+
+    @Test
+    public void reusesCachedThumbnailsAndRestoresMissingOutput() throws Exception {
+        Path root = Files.createTempDirectory("thoth-thumbnail-test");
+        Path output = root.resolve("out");
+        Path cache = root.resolve("cache/thumbnails");
+        Path cover = output.resolve("blog/images/cover.png");
+        Files.createDirectories(cover.getParent());
+        ImageIO.write(new BufferedImage(1200, 800, BufferedImage.TYPE_INT_ARGB), "png", cover.toFile());
+        Files.writeString(output.resolve("blog/images/broken.png"), "not an image");
+
+        try (TaskRunner workers = new TaskRunner("test-worker", 2)) {
+            ThumbnailService service = new ThumbnailService(output, cache);
+            List<String> covers = List.of("/blog/images/cover.png", "/blog/images/broken.png", "https://example.org/a.png");
+
+            Map<String, String> resolved = service.resolveIndexCoverImages(covers, workers);
+            assertEquals("/assets/thumbnails/blog/images/cover-thumb.png", resolved.get("/blog/images/cover.png"));
+            assertEquals("/blog/images/broken.png", resolved.get("/blog/images/broken.png"));
+            assertEquals("https://example.org/a.png", resolved.get("https://example.org/a.png"));
+
+            Path thumbnail = output.resolve("assets/thumbnails/blog/images/cover-thumb.png");
+            BufferedImage image = ImageIO.read(thumbnail.toFile());
+            assertEquals(360, image.getWidth());
+            assertEquals(240, image.getHeight());
+
+            Files.delete(thumbnail);
+            service.resolveIndexCoverImages(covers, workers);
+            assertTrue(Files.exists(thumbnail));
+            try (var entries = Files.list(cache)) {
+                assertEquals(2, entries.count());
+            }
+        }
+    }
+}
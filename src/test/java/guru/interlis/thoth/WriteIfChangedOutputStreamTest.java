@@ -0,0 +1,69 @@
+package guru.interlis.thoth;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WriteIfChangedOutputStreamTest {
+
+    @Test
+    public void keepsIdenticalFileUntouched() throws Exception {
+        Path file = Files.createTempDirectory("thoth-write-test").resolve("page.html");
+        String content = "<p>" + "same ".repeat(40_000) + "</p>";
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        FileTime before = FileTime.fromMillis(1_000_000L);
+        Files.setLastModifiedTime(file, before);
+
+        assertFalse(write(file, content));
+        assertEquals(before, Files.getLastModifiedTime(file));
+    }
+
+    @Test
+    public void rewritesChangedShorterAndLongerContent() throws Exception {
+        Path file = Files.createTempDirectory("thoth-write-test").resolve("page.html");
+        String base = "prefix ".repeat(20_000);
+
+        assertTrue(write(file, base + "one"));
+        assertTrue(write(file, base + "two"));
+        assertEquals(base + "two", Files.readString(file, StandardCharsets.UTF_8));
+
+        assertTrue(write(file, base));
+        assertEquals(base, Files.readString(file, StandardCharsets.UTF_8));
+
+        assertTrue(write(file, base + "appended"));
+        assertEquals(base + "appended", Files.readString(file, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void discardsUncommittedOutput() throws Exception {
+        Path directory = Files.createTempDirectory("thoth-write-test");
+        Path file = directory.resolve("page.html");
+        Files.writeString(file, "original", StandardCharsets.UTF_8);
+
+        try (WriteIfChangedOutputStream out = new WriteIfChangedOutputStream(file)) {
+            out.write("replacement".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals("original", Files.readString(file, StandardCharsets.UTF_8));
+        try (var entries = Files.list(directory)) {
+            assertEquals(1, entries.count());
+        }
+    }
+
+    private boolean write(Path file, String content) throws Exception {
+        try (WriteIfChangedOutputStream out = new WriteIfChangedOutputStream(file)) {
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            for (int offset = 0; offset < bytes.length; offset += 1000) {
+                out.write(bytes, offset, Math.min(1000, bytes.length - offset));
+            }
+            return out.commit();
+        }
+    }
+}